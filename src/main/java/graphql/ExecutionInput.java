@@ -1,10 +1,12 @@
 package graphql;
 
 import graphql.collect.ImmutableKit;
+import graphql.execution.CancellationToken;
 import graphql.execution.ExecutionId;
 import graphql.execution.RawVariables;
 import org.dataloader.DataLoaderRegistry;
 
+import java.time.Instant;
 import java.util.Locale;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -29,6 +31,8 @@ public class ExecutionInput {
     private final DataLoaderRegistry dataLoaderRegistry;
     private final ExecutionId executionId;
     private final Locale locale;
+    private final CancellationToken cancellationToken;
+    private final Instant deadline;
 
 
     @Internal
@@ -44,6 +48,8 @@ public class ExecutionInput {
         this.locale = builder.locale != null ? builder.locale : Locale.getDefault(); // always have a locale in place
         this.localContext = builder.localContext;
         this.extensions = builder.extensions;
+        this.cancellationToken = builder.cancellationToken;
+        this.deadline = builder.deadline;
     }
 
     /**
@@ -139,6 +145,22 @@ public class ExecutionInput {
         return extensions;
     }
 
+    /**
+     * @return the token that can cancel this execution or null if it has none
+     */
+    @ExperimentalApi
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    /**
+     * @return the time by which this execution is cancelled if it has not finished or null if it has no deadline
+     */
+    @ExperimentalApi
+    public Instant getDeadline() {
+        return deadline;
+    }
+
     /**
      * This helps you transform the current ExecutionInput object into another one by starting a builder with all
      * the current values and allows you to transform it how you want.
@@ -159,7 +181,9 @@ public class ExecutionInput {
                 .variables(this.rawVariables.toMap())
                 .extensions(this.extensions)
                 .executionId(this.executionId)
-                .locale(this.locale);
+                .locale(this.locale)
+                .cancellationToken(this.cancellationToken)
+                .deadline(this.deadline);
 
         builderConsumer.accept(builder);
 
@@ -216,6 +240,8 @@ public class ExecutionInput {
         private DataLoaderRegistry dataLoaderRegistry = EMPTY_DATALOADER_REGISTRY;
         private Locale locale = Locale.getDefault();
         private ExecutionId executionId;
+        private CancellationToken cancellationToken;
+        private Instant deadline;
 
         public Builder query(String query) {
             this.query = assertNotNull(query, () -> "query can't be null");
@@ -348,6 +374,32 @@ public class ExecutionInput {
             return this;
         }
 
+        /**
+         * Sets a token that can be cancelled from another thread to stop the execution, say when the client has gone away
+         *
+         * @param cancellationToken the cancellation token
+         *
+         * @return this builder
+         */
+        @ExperimentalApi
+        public Builder cancellationToken(CancellationToken cancellationToken) {
+            this.cancellationToken = cancellationToken;
+            return this;
+        }
+
+        /**
+         * Sets the time by which the execution is cancelled if it has not finished
+         *
+         * @param deadline the deadline of the execution
+         *
+         * @return this builder
+         */
+        @ExperimentalApi
+        public Builder deadline(Instant deadline) {
+            this.deadline = deadline;
+            return this;
+        }
+
         public ExecutionInput build() {
             return new ExecutionInput(this);
         }
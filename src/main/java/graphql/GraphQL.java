@@ -8,6 +8,7 @@ import graphql.execution.DataFetcherExceptionHandler;
 import graphql.execution.Execution;
 import graphql.execution.ExecutionId;
 import graphql.execution.ExecutionIdProvider;
+import graphql.execution.ExecutionPlanCache;
 import graphql.execution.ExecutionStrategy;
 import graphql.execution.SimpleDataFetcherExceptionHandler;
 import graphql.execution.SubscriptionExecutionStrategy;
@@ -32,6 +33,7 @@ import java.util.Locale;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -93,6 +95,7 @@ public class GraphQL {
     private final PreparsedDocumentProvider preparsedDocumentProvider;
     private final ValueUnboxer valueUnboxer;
     private final boolean doNotAutomaticallyDispatchDataLoader;
+    private final ExecutionPlanCache executionPlanCache;
 
 
     private GraphQL(Builder builder) {
@@ -105,6 +108,7 @@ public class GraphQL {
         this.preparsedDocumentProvider = assertNotNull(builder.preparsedDocumentProvider, () -> "preparsedDocumentProvider must be non null");
         this.valueUnboxer = assertNotNull(builder.valueUnboxer, () -> "valueUnboxer must not be null");
         this.doNotAutomaticallyDispatchDataLoader = builder.doNotAutomaticallyDispatchDataLoader;
+        this.executionPlanCache = builder.executionPlanCache;
     }
 
     /**
@@ -167,6 +171,14 @@ public class GraphQL {
         return valueUnboxer;
     }
 
+    /**
+     * @return the ExecutionPlanCache for this {@link GraphQL} instance or null if there is none
+     */
+    @ExperimentalApi
+    public ExecutionPlanCache getExecutionPlanCache() {
+        return executionPlanCache;
+    }
+
     /**
      * Helps you build a GraphQL object ready to execute queries
      *
@@ -194,7 +206,8 @@ public class GraphQL {
                 .subscriptionExecutionStrategy(this.subscriptionStrategy)
                 .executionIdProvider(Optional.ofNullable(this.idProvider).orElse(builder.idProvider))
                 .instrumentation(Optional.ofNullable(this.instrumentation).orElse(builder.instrumentation))
-                .preparsedDocumentProvider(Optional.ofNullable(this.preparsedDocumentProvider).orElse(builder.preparsedDocumentProvider));
+                .preparsedDocumentProvider(Optional.ofNullable(this.preparsedDocumentProvider).orElse(builder.preparsedDocumentProvider))
+                .executionPlanCache(this.executionPlanCache);
 
         builderConsumer.accept(builder);
 
@@ -213,6 +226,7 @@ public class GraphQL {
         private PreparsedDocumentProvider preparsedDocumentProvider = NoOpPreparsedDocumentProvider.INSTANCE;
         private boolean doNotAutomaticallyDispatchDataLoader = false;
         private ValueUnboxer valueUnboxer = ValueUnboxer.DEFAULT;
+        private ExecutionPlanCache executionPlanCache = null;
 
 
         public Builder(GraphQLSchema graphQLSchema) {
@@ -284,6 +298,21 @@ public class GraphQL {
             return this;
         }
 
+        /**
+         * This allows you to reuse the compiled parts of executing an operation, such as collected fields, across executions
+         * of the same document.  This is only effective when the {@link PreparsedDocumentProvider} hands back the same
+         * document instance for the same query.
+         *
+         * @param executionPlanCache the cache of execution plans to use or null to not use one
+         *
+         * @return this builder
+         */
+        @ExperimentalApi
+        public Builder executionPlanCache(ExecutionPlanCache executionPlanCache) {
+            this.executionPlanCache = executionPlanCache;
+            return this;
+        }
+
         public GraphQL build() {
             // we use the data fetcher exception handler unless they set their own strategy in which case bets are off
             if (queryExecutionStrategy == null) {
@@ -467,7 +496,7 @@ public class GraphQL {
             executionInputRef.set(transformedInput);
             return parseAndValidate(executionInputRef, graphQLSchema, instrumentationState);
         };
-        CompletableFuture<PreparsedDocumentEntry> preparsedDoc = preparsedDocumentProvider.getDocumentAsync(executionInput, computeFunction);
+        CompletableFuture<PreparsedDocumentEntry> preparsedDoc = preparsedDocumentProvider.getDocumentAsync(executionInput, graphQLSchema, computeFunction);
         return preparsedDoc.thenCompose(preparsedDocumentEntry -> {
             if (preparsedDocumentEntry.hasErrors()) {
                 return CompletableFuture.completedFuture(new ExecutionResultImpl(preparsedDocumentEntry.getErrors()));
@@ -528,7 +557,8 @@ public class GraphQL {
 
         Predicate<Class<?>> validationRulePredicate = executionInput.getGraphQLContext().getOrDefault(ParseAndValidate.INTERNAL_VALIDATION_PREDICATE_HINT, r -> true);
         Locale locale = executionInput.getLocale() != null ? executionInput.getLocale() : Locale.getDefault();
-        List<ValidationError> validationErrors = ParseAndValidate.validate(graphQLSchema, document, validationRulePredicate, locale);
+        Executor validationExecutor = executionInput.getGraphQLContext().get(ParseAndValidate.VALIDATION_EXECUTOR);
+        List<ValidationError> validationErrors = ParseAndValidate.validate(graphQLSchema, document, validationRulePredicate, locale, validationExecutor);
 
         validationCtx.onCompleted(validationErrors, null);
         return validationErrors;
@@ -540,7 +570,7 @@ public class GraphQL {
                                                        InstrumentationState instrumentationState
     ) {
 
-        Execution execution = new Execution(queryStrategy, mutationStrategy, subscriptionStrategy, instrumentation, valueUnboxer, doNotAutomaticallyDispatchDataLoader);
+        Execution execution = new Execution(queryStrategy, mutationStrategy, subscriptionStrategy, instrumentation, valueUnboxer, doNotAutomaticallyDispatchDataLoader, executionPlanCache);
         ExecutionId executionId = executionInput.getExecutionId();
 
         return execution.execute(document, graphQLSchema, executionId, executionInput, instrumentationState);
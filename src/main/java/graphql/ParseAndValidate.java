@@ -12,6 +12,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 
 import static java.util.Optional.ofNullable;
@@ -33,6 +34,16 @@ public class ParseAndValidate {
     @Internal
     public static final String INTERNAL_VALIDATION_PREDICATE_HINT = "graphql.ParseAndValidate.Predicate";
 
+    /**
+     * This {@link GraphQLContext} key can be used to supply an {@link Executor} to the Validator so that the overlapping
+     * fields of each operation and fragment are validated in parallel with the other validation rules.  This can
+     * reduce the validation time of large documents, at the cost of running more work in total.
+     *
+     * @see Validator#validateDocument(GraphQLSchema, Document, Predicate, Locale, Executor)
+     */
+    @ExperimentalApi
+    public static final String VALIDATION_EXECUTOR = "graphql.ParseAndValidate.Executor";
+
     /**
      * This can be called to parse and validate a graphql query against a schema, which is useful if you want to know if it would be acceptable
      * for execution.
@@ -118,6 +129,25 @@ public class ParseAndValidate {
         return validator.validateDocument(graphQLSchema, parsedDocument, rulePredicate, locale);
     }
 
+    /**
+     * This can be called to validate a parsed graphql query, running part of the validation on the given executor.
+     *
+     * @param graphQLSchema  the graphql schema to validate against
+     * @param parsedDocument the previously parsed document
+     * @param rulePredicate  this predicate is used to decide what validation rules will be applied
+     * @param locale         the current locale
+     * @param executor       the executor to validate on in parallel or null to validate on the calling thread
+     *
+     * @return a result object that indicates how this operation went
+     *
+     * @see #VALIDATION_EXECUTOR
+     */
+    @ExperimentalApi
+    public static List<ValidationError> validate(@NotNull GraphQLSchema graphQLSchema, @NotNull Document parsedDocument, @NotNull Predicate<Class<?>> rulePredicate, @NotNull Locale locale, Executor executor) {
+        Validator validator = new Validator();
+        return validator.validateDocument(graphQLSchema, parsedDocument, rulePredicate, locale, executor);
+    }
+
     /**
      * This can be called to validate a parsed graphql query, with the JVM default locale.
      *
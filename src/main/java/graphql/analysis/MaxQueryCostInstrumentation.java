@@ -0,0 +1,68 @@
+package graphql.analysis;
+
+import graphql.ExecutionResult;
+import graphql.ExperimentalApi;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import org.jetbrains.annotations.Nullable;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.execution.instrumentation.SimpleInstrumentationContext.noOp;
+
+/**
+ * Prevents execution if the cost of the operation, as calculated by a {@link QueryCostAnalyzer}, is greater than the
+ * specified maxCost.
+ * <p>
+ * Unlike {@link MaxQueryComplexityInstrumentation} this does not traverse the document for every execution, the
+ * {@link QueryCostAnalyzer} caches the costs of operations it has seen before.
+ */
+@ExperimentalApi
+public class MaxQueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    private final long maxCost;
+    private final QueryCostAnalyzer queryCostAnalyzer;
+
+    /**
+     * new Instrumentation with a default {@link QueryCostAnalyzer}
+     *
+     * @param maxCost max allowed cost, otherwise execution will be aborted
+     */
+    public MaxQueryCostInstrumentation(long maxCost) {
+        this(maxCost, QueryCostAnalyzer.newQueryCostAnalyzer().build());
+    }
+
+    /**
+     * new Instrumentation with the given {@link QueryCostAnalyzer}
+     *
+     * @param maxCost           max allowed cost, otherwise execution will be aborted
+     * @param queryCostAnalyzer the analyzer that calculates and caches the costs of operations
+     */
+    public MaxQueryCostInstrumentation(long maxCost, QueryCostAnalyzer queryCostAnalyzer) {
+        this.maxCost = maxCost;
+        this.queryCostAnalyzer = assertNotNull(queryCostAnalyzer, () -> "queryCostAnalyzer can't be null");
+    }
+
+    @Override
+    public @Nullable InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        long cost = queryCostAnalyzer.calculateCost(parameters.getExecutionContext());
+        if (cost > maxCost) {
+            throw mkAbortException(cost, maxCost);
+        }
+        return noOp();
+    }
+
+    /**
+     * Called to generate your own error message or custom exception class
+     *
+     * @param cost    the cost of the operation
+     * @param maxCost the maximum cost allowed
+     *
+     * @return an instance of AbortExecutionException
+     */
+    protected AbortExecutionException mkAbortException(long cost, long maxCost) {
+        return new AbortExecutionException("maximum query cost exceeded " + cost + " > " + maxCost);
+    }
+}
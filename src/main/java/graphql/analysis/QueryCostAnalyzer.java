@@ -0,0 +1,515 @@
+package graphql.analysis;
+
+import com.google.common.collect.MapMaker;
+import graphql.Directives;
+import graphql.ExperimentalApi;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.language.Argument;
+import graphql.language.AstPrinter;
+import graphql.language.ArrayValue;
+import graphql.language.Directive;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.IntValue;
+import graphql.language.ObjectField;
+import graphql.language.ObjectValue;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.Value;
+import graphql.language.VariableReference;
+import graphql.normalized.ExecutableNormalizedField;
+import graphql.normalized.ExecutableNormalizedOperation;
+import graphql.schema.GraphQLAppliedDirective;
+import graphql.schema.GraphQLAppliedDirectiveArgument;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLDirectiveContainer;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLOutputType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLSchemaElement;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.schema.InputValueWithState;
+import graphql.util.BoundedLruCache;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import static graphql.Assert.assertTrue;
+
+/**
+ * This calculates the cost of an operation from its {@link ExecutableNormalizedOperation} using weights that the schema
+ * declares with {@code @cost} and {@code @listSize} directives, in the style of the IBM GraphQL cost directive specification:
+ * <pre>
+ * {@code
+ * directive @cost(weight: String!) on FIELD_DEFINITION | OBJECT | INTERFACE | UNION | SCALAR | ENUM
+ * directive @listSize(assumedSize: Int, slicingArguments: [String!]) on FIELD_DEFINITION
+ * }
+ * </pre>
+ * The cost of a field is the {@code @cost} weight of its field definition (0 by default) plus its list size times the
+ * sum of the {@code @cost} weight of its type (1 for object, interface and union types and 0 for scalars and enums by default)
+ * and the cost of its sub selection.  The list size of a list field is the largest value of its slicing arguments, or
+ * its assumed size if none are given, or the default list size of this analyzer.  Where a sub selection selects different
+ * fields for different object types, the most expensive object type counts.
+ * <p>
+ * Only the values of the slicing arguments can change between executions of the same operation, apart from the fields
+ * that {@code @skip} and {@code @include} directives select.  So the weights of an operation are compiled once per
+ * document, operation, schema and values of the variables used in {@code @skip} and {@code @include} and cached, and
+ * every execution only evaluates the slicing arguments against its variables.  Documents are cached by their printed
+ * form, so the same query hits the cache whether or not it was parsed again, and schemas are only weakly referenced.
+ * <p>
+ * A {@code @cost} weight that is not a number aborts the execution with an {@link AbortExecutionException}.
+ *
+ * @see MaxQueryCostInstrumentation
+ */
+@ExperimentalApi
+public class QueryCostAnalyzer {
+
+    public static final String COST_DIRECTIVE = "cost";
+    public static final String LIST_SIZE_DIRECTIVE = "listSize";
+
+    public static final int DEFAULT_LIST_SIZE = 1;
+    public static final long DEFAULT_MAXIMUM_SIZE = 1_000;
+
+    /**
+     * The maximum number of combinations of {@code @skip} and {@code @include} variable values whose costs are held per
+     * operation.  The costs of other combinations are compiled on every execution.
+     */
+    public static final int MAXIMUM_DIRECTIVE_VARIABLE_COMBINATIONS = 64;
+
+    private static final List<Object> NO_VARIABLE_VALUES = Collections.emptyList();
+
+    private final int defaultListSize;
+    private final BoundedLruCache<OperationKey, OperationCosts> cache;
+    // documents that are handed out again, say by a caching document provider, are only printed once
+    private final ConcurrentMap<Document, String> printedDocuments = new MapMaker().weakKeys().makeMap();
+
+    private QueryCostAnalyzer(Builder builder) {
+        this.defaultListSize = builder.defaultListSize;
+        this.cache = new BoundedLruCache<>(builder.maximumSize, Long.MAX_VALUE, costs -> 1L);
+    }
+
+    /**
+     * Calculates the cost of the operation being executed.  The normalized operation of the execution context is only
+     * created if the cost of the operation has not been compiled for the values of its directive variables before.
+     *
+     * @param executionContext the execution context of the operation
+     *
+     * @return the cost of the operation, which is {@link Long#MAX_VALUE} if it overflows
+     */
+    public long calculateCost(ExecutionContext executionContext) {
+        Map<String, Object> variables = executionContext.getCoercedVariables().toMap();
+        OperationKey key = new OperationKey(printedDocuments.computeIfAbsent(executionContext.getDocument(), AstPrinter::printAstCompact),
+                executionContext.getOperationDefinition().getName(),
+                executionContext.getGraphQLSchema());
+        OperationCosts operationCosts = cache.get(key,
+                k -> new OperationCosts(conditionalVariables(executionContext.getOperationDefinition(), executionContext.getFragmentsByName())),
+                costs -> true).join();
+
+        FieldCost[] rootFields = operationCosts.getRootFields(variables, () -> {
+            ExecutableNormalizedOperation normalizedOperation = executionContext.getNormalizedQueryTree().get();
+            return compile(executionContext.getGraphQLSchema(), normalizedOperation.getTopLevelFields());
+        });
+        try {
+            return FieldCost.sum(rootFields, variables);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * @return the number of operations whose costs are held
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Removes all compiled operation costs
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        printedDocuments.clear();
+    }
+
+    private FieldCost[] compile(GraphQLSchema schema, List<ExecutableNormalizedField> fields) {
+        FieldCost[] fieldCosts = new FieldCost[fields.size()];
+        for (int i = 0; i < fieldCosts.length; i++) {
+            fieldCosts[i] = compile(schema, fields.get(i));
+        }
+        return fieldCosts;
+    }
+
+    private FieldCost compile(GraphQLSchema schema, ExecutableNormalizedField field) {
+        long fieldWeight = 0;
+        long typeWeight = 0;
+        boolean list = false;
+        Integer assumedSize = null;
+        List<Object> slicingValues = new ArrayList<>();
+        // a field that is selected on several object types has a field definition for each of them
+        for (GraphQLFieldDefinition fieldDefinition : field.getFieldDefinitions(schema)) {
+            fieldWeight = Math.max(fieldWeight, weight(fieldDefinition, 0));
+            GraphQLOutputType type = fieldDefinition.getType();
+            GraphQLType namedType = GraphQLTypeUtil.unwrapAll(type);
+            typeWeight = Math.max(typeWeight, weight(namedType, GraphQLTypeUtil.isLeaf(namedType) ? 0 : 1));
+            if (GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(type))) {
+                list = true;
+                GraphQLAppliedDirective listSize = fieldDefinition.getAppliedDirective(LIST_SIZE_DIRECTIVE);
+                if (listSize != null && slicingValues.isEmpty() && assumedSize == null) {
+                    assumedSize = argumentValue(listSize, "assumedSize");
+                    List<String> slicingArguments = argumentValue(listSize, "slicingArguments");
+                    if (slicingArguments != null) {
+                        for (String slicingArgument : slicingArguments) {
+                            Object slicingValue = slicingValue(field, fieldDefinition, slicingArgument);
+                            if (slicingValue != null) {
+                                slicingValues.add(slicingValue);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        int defaultSize = assumedSize != null ? assumedSize : defaultListSize;
+        List<ExecutableNormalizedField> children = field.getChildren();
+        return new FieldCost(fieldWeight, typeWeight, list, defaultSize, slicingValues.toArray(), compile(schema, children), childrenByObjectType(children));
+    }
+
+    private static int[][] childrenByObjectType(List<ExecutableNormalizedField> children) {
+        Map<String, List<Integer>> childrenByObjectType = new LinkedHashMap<>();
+        for (ExecutableNormalizedField child : children) {
+            for (String objectTypeName : child.getObjectTypeNames()) {
+                childrenByObjectType.computeIfAbsent(objectTypeName, name -> new ArrayList<>());
+            }
+        }
+        boolean sameChildren = true;
+        for (int i = 0; i < children.size(); i++) {
+            for (Map.Entry<String, List<Integer>> entry : childrenByObjectType.entrySet()) {
+                if (children.get(i).getObjectTypeNames().contains(entry.getKey())) {
+                    entry.getValue().add(i);
+                } else {
+                    sameChildren = false;
+                }
+            }
+        }
+        if (sameChildren) {
+            return null;
+        }
+        int[][] indices = new int[childrenByObjectType.size()][];
+        int i = 0;
+        for (List<Integer> childIndices : childrenByObjectType.values()) {
+            indices[i++] = childIndices.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return indices;
+    }
+
+    /*
+     * the value of a slicing argument is either known up front or is the name of the variable that provides it
+     */
+    private static Object slicingValue(ExecutableNormalizedField field, GraphQLFieldDefinition fieldDefinition, String slicingArgument) {
+        for (Argument argument : field.getAstArguments()) {
+            if (argument.getName().equals(slicingArgument)) {
+                Value<?> value = argument.getValue();
+                if (value instanceof IntValue) {
+                    return ((IntValue) value).getValue();
+                } else if (value instanceof VariableReference) {
+                    return ((VariableReference) value).getName();
+                }
+                return null;
+            }
+        }
+        GraphQLArgument argumentDefinition = fieldDefinition.getArgument(slicingArgument);
+        if (argumentDefinition != null && argumentDefinition.hasSetDefaultValue()) {
+            InputValueWithState defaultValue = argumentDefinition.getArgumentDefaultValue();
+            Object value = defaultValue.getValue();
+            if (defaultValue.isLiteral() && value instanceof IntValue) {
+                return ((IntValue) value).getValue();
+            } else if (defaultValue.isExternal() && value instanceof Number) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static long weight(GraphQLSchemaElement schemaElement, long defaultWeight) {
+        if (!(schemaElement instanceof GraphQLDirectiveContainer)) {
+            return defaultWeight;
+        }
+        GraphQLAppliedDirective cost = ((GraphQLDirectiveContainer) schemaElement).getAppliedDirective(COST_DIRECTIVE);
+        if (cost == null) {
+            return defaultWeight;
+        }
+        Object weight = argumentValue(cost, "weight");
+        if (weight instanceof Number) {
+            return ((Number) weight).longValue();
+        } else if (weight instanceof String) {
+            try {
+                return (long) Math.ceil(Double.parseDouble(((String) weight).trim()));
+            } catch (NumberFormatException e) {
+                throw new AbortExecutionException("the @cost weight '" + weight + "' of '" + ((GraphQLDirectiveContainer) schemaElement).getName() + "' is not a number");
+            }
+        }
+        return defaultWeight;
+    }
+
+    private static <T> T argumentValue(GraphQLAppliedDirective directive, String name) {
+        GraphQLAppliedDirectiveArgument argument = directive.getArgument(name);
+        return argument == null ? null : argument.getValue();
+    }
+
+    /*
+     * The fields of a normalized operation only depend on the variables that its @skip and @include directives use
+     */
+    private static Set<String> conditionalVariables(OperationDefinition operationDefinition, Map<String, FragmentDefinition> fragmentsByName) {
+        Set<String> variableNames = new TreeSet<>();
+        collectConditionalVariables(operationDefinition.getSelectionSet(), fragmentsByName, variableNames, new HashSet<>());
+        return variableNames;
+    }
+
+    private static void collectConditionalVariables(SelectionSet selectionSet, Map<String, FragmentDefinition> fragmentsByName, Set<String> variableNames, Set<String> visitedFragments) {
+        if (selectionSet == null) {
+            return;
+        }
+        for (Selection<?> selection : selectionSet.getSelections()) {
+            if (selection instanceof Field) {
+                Field field = (Field) selection;
+                collectDirectiveVariables(field.getDirectives(), variableNames);
+                collectConditionalVariables(field.getSelectionSet(), fragmentsByName, variableNames, visitedFragments);
+            } else if (selection instanceof InlineFragment) {
+                InlineFragment inlineFragment = (InlineFragment) selection;
+                collectDirectiveVariables(inlineFragment.getDirectives(), variableNames);
+                collectConditionalVariables(inlineFragment.getSelectionSet(), fragmentsByName, variableNames, visitedFragments);
+            } else if (selection instanceof FragmentSpread) {
+                FragmentSpread fragmentSpread = (FragmentSpread) selection;
+                collectDirectiveVariables(fragmentSpread.getDirectives(), variableNames);
+                FragmentDefinition fragmentDefinition = fragmentsByName.get(fragmentSpread.getName());
+                if (fragmentDefinition != null && visitedFragments.add(fragmentSpread.getName())) {
+                    collectDirectiveVariables(fragmentDefinition.getDirectives(), variableNames);
+                    collectConditionalVariables(fragmentDefinition.getSelectionSet(), fragmentsByName, variableNames, visitedFragments);
+                }
+            }
+        }
+    }
+
+    private static void collectDirectiveVariables(List<Directive> directives, Set<String> variableNames) {
+        for (Directive directive : directives) {
+            if (!directive.getName().equals(Directives.SkipDirective.getName()) && !directive.getName().equals(Directives.IncludeDirective.getName())) {
+                continue;
+            }
+            for (Argument argument : directive.getArguments()) {
+                collectVariables(argument.getValue(), variableNames);
+            }
+        }
+    }
+
+    private static void collectVariables(Value<?> value, Set<String> variableNames) {
+        if (value instanceof VariableReference) {
+            variableNames.add(((VariableReference) value).getName());
+        } else if (value instanceof ArrayValue) {
+            for (Value<?> element : ((ArrayValue) value).getValues()) {
+                collectVariables(element, variableNames);
+            }
+        } else if (value instanceof ObjectValue) {
+            for (ObjectField objectField : ((ObjectValue) value).getObjectFields()) {
+                collectVariables(objectField.getValue(), variableNames);
+            }
+        }
+    }
+
+    public static Builder newQueryCostAnalyzer() {
+        return new Builder();
+    }
+
+    /*
+     * The compiled costs of an operation for each combination of the values of its directive variables
+     */
+    private static class OperationCosts {
+        private final String[] variableNames;
+        private final ConcurrentHashMap<List<Object>, FieldCost[]> rootFieldsByVariableValues = new ConcurrentHashMap<>();
+
+        private OperationCosts(Set<String> variableNames) {
+            this.variableNames = variableNames.toArray(new String[0]);
+        }
+
+        private FieldCost[] getRootFields(Map<String, Object> variables, Supplier<FieldCost[]> compiler) {
+            List<Object> key = NO_VARIABLE_VALUES;
+            if (variableNames.length > 0) {
+                Object[] values = new Object[variableNames.length];
+                for (int i = 0; i < variableNames.length; i++) {
+                    values[i] = variables.get(variableNames[i]);
+                }
+                key = Arrays.asList(values);
+            }
+            FieldCost[] rootFields = rootFieldsByVariableValues.get(key);
+            if (rootFields == null) {
+                rootFields = compiler.get();
+                if (rootFieldsByVariableValues.size() >= MAXIMUM_DIRECTIVE_VARIABLE_COMBINATIONS) {
+                    return rootFields;
+                }
+                FieldCost[] existing = rootFieldsByVariableValues.putIfAbsent(key, rootFields);
+                if (existing != null) {
+                    rootFields = existing;
+                }
+            }
+            return rootFields;
+        }
+    }
+
+    /*
+     * The compiled cost of a normalized field
+     */
+    private static class FieldCost {
+        private final long fieldWeight;
+        private final long typeWeight;
+        private final boolean list;
+        private final int defaultSize;
+        // numbers or the names of the variables that provide them
+        private final Object[] slicingValues;
+        private final FieldCost[] children;
+        // the indices of the children selected for each object type or null if all object types select the same children
+        private final int[][] childrenByObjectType;
+
+        private FieldCost(long fieldWeight, long typeWeight, boolean list, int defaultSize, Object[] slicingValues, FieldCost[] children, int[][] childrenByObjectType) {
+            this.fieldWeight = fieldWeight;
+            this.typeWeight = typeWeight;
+            this.list = list;
+            this.defaultSize = defaultSize;
+            this.slicingValues = slicingValues;
+            this.children = children;
+            this.childrenByObjectType = childrenByObjectType;
+        }
+
+        private long cost(Map<String, Object> variables) {
+            long childrenCost = childrenByObjectType == null ? sum(children, variables) : mostExpensiveObjectType(variables);
+            long size = list ? listSize(variables) : 1;
+            return Math.addExact(fieldWeight, Math.multiplyExact(size, Math.addExact(typeWeight, childrenCost)));
+        }
+
+        private long mostExpensiveObjectType(Map<String, Object> variables) {
+            long[] costs = new long[children.length];
+            for (int i = 0; i < children.length; i++) {
+                costs[i] = children[i].cost(variables);
+            }
+            long max = 0;
+            for (int[] indices : childrenByObjectType) {
+                long cost = 0;
+                for (int index : indices) {
+                    cost = Math.addExact(cost, costs[index]);
+                }
+                max = Math.max(max, cost);
+            }
+            return max;
+        }
+
+        private long listSize(Map<String, Object> variables) {
+            long size = -1;
+            for (Object slicingValue : slicingValues) {
+                Object value = slicingValue instanceof String ? variables.get((String) slicingValue) : slicingValue;
+                if (value instanceof Number) {
+                    size = Math.max(size, ((Number) value).longValue());
+                }
+            }
+            return size < 0 ? defaultSize : size;
+        }
+
+        private static long sum(FieldCost[] fieldCosts, Map<String, Object> variables) {
+            long cost = 0;
+            for (FieldCost fieldCost : fieldCosts) {
+                cost = Math.addExact(cost, fieldCost.cost(variables));
+            }
+            return cost;
+        }
+    }
+
+    /*
+     * The schema is weakly referenced so that the cache does not keep replaced schemas alive.  Their entries can no
+     * longer be hit and are evicted in time.
+     */
+    private static class OperationKey {
+        private final String document;
+        private final String operationName;
+        private final WeakReference<GraphQLSchema> schema;
+        private final int schemaHashCode;
+
+        private OperationKey(String document, String operationName, GraphQLSchema schema) {
+            this.document = document;
+            this.operationName = operationName;
+            this.schema = new WeakReference<>(schema);
+            this.schemaHashCode = System.identityHashCode(schema);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof OperationKey)) {
+                return false;
+            }
+            OperationKey that = (OperationKey) o;
+            GraphQLSchema schema = this.schema.get();
+            return schema != null && schema == that.schema.get()
+                    && document.equals(that.document)
+                    && Objects.equals(operationName, that.operationName);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = document.hashCode();
+            result = 31 * result + Objects.hashCode(operationName);
+            result = 31 * result + schemaHashCode;
+            return result;
+        }
+    }
+
+    public static class Builder {
+        private int defaultListSize = DEFAULT_LIST_SIZE;
+        private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+        /**
+         * Sets the list size of list fields that have no {@code @listSize} directive
+         *
+         * @param defaultListSize the default list size
+         *
+         * @return this builder
+         */
+        public Builder defaultListSize(int defaultListSize) {
+            assertTrue(defaultListSize >= 0, "defaultListSize must not be negative");
+            this.defaultListSize = defaultListSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of operations whose costs are cached
+         *
+         * @param maximumSize the maximum number of operations
+         *
+         * @return this builder
+         */
+        public Builder maximumSize(long maximumSize) {
+            assertTrue(maximumSize > 0, "maximumSize must be greater than zero");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        public QueryCostAnalyzer build() {
+            return new QueryCostAnalyzer(this);
+        }
+    }
+}
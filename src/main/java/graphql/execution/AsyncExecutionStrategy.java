@@ -40,21 +40,30 @@ public class AsyncExecutionStrategy extends AbstractAsyncExecutionStrategy {
     public CompletableFuture<ExecutionResult> execute(ExecutionContext executionContext, ExecutionStrategyParameters parameters) throws NonNullableFieldWasNullException {
         DataLoaderDispatchStrategy dataLoaderDispatcherStrategy = executionContext.getDataLoaderDispatcherStrategy();
         dataLoaderDispatcherStrategy.executionStrategy(executionContext, parameters);
-        Instrumentation instrumentation = executionContext.getInstrumentation();
-        InstrumentationExecutionStrategyParameters instrumentationParameters = new InstrumentationExecutionStrategyParameters(executionContext, parameters);
+        ExecutionStrategyInstrumentationContext executionStrategyCtx;
+        List<String> fieldNames;
+        DeferredExecutionSupport deferredExecutionSupport;
+        Async.CombinedBuilder<FieldValueInfo> futures;
+        // the dispatch strategy is told the field fetches have started however this ends, so that it never waits on them forever
+        try {
+            Instrumentation instrumentation = executionContext.getInstrumentation();
+            InstrumentationExecutionStrategyParameters instrumentationParameters = new InstrumentationExecutionStrategyParameters(executionContext, parameters);
 
-        ExecutionStrategyInstrumentationContext executionStrategyCtx = ExecutionStrategyInstrumentationContext.nonNullCtx(instrumentation.beginExecutionStrategy(instrumentationParameters, executionContext.getInstrumentationState()));
+            executionStrategyCtx = ExecutionStrategyInstrumentationContext.nonNullCtx(instrumentation.beginExecutionStrategy(instrumentationParameters, executionContext.getInstrumentationState()));
 
-        MergedSelectionSet fields = parameters.getFields();
-        List<String> fieldNames = fields.getKeys();
+            MergedSelectionSet fields = parameters.getFields();
+            fieldNames = fields.getKeys();
 
-        Optional<ExecutionResult> isNotSensible = Introspection.isIntrospectionSensible(fields, executionContext);
-        if (isNotSensible.isPresent()) {
-            return CompletableFuture.completedFuture(isNotSensible.get());
-        }
+            Optional<ExecutionResult> isNotSensible = Introspection.isIntrospectionSensible(fields, executionContext);
+            if (isNotSensible.isPresent()) {
+                return CompletableFuture.completedFuture(isNotSensible.get());
+            }
 
-        DeferredExecutionSupport deferredExecutionSupport = createDeferredExecutionSupport(executionContext, parameters);
-        Async.CombinedBuilder<FieldValueInfo> futures = getAsyncFieldValueInfo(executionContext, parameters, deferredExecutionSupport);
+            deferredExecutionSupport = createDeferredExecutionSupport(executionContext, parameters);
+            futures = getAsyncFieldValueInfo(executionContext, parameters, deferredExecutionSupport);
+        } finally {
+            dataLoaderDispatcherStrategy.executionStrategyOnFieldFetchesStarted(executionContext, parameters);
+        }
 
         CompletableFuture<ExecutionResult> overallResult = new CompletableFuture<>();
         executionStrategyCtx.onDispatched();
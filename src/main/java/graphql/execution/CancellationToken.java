@@ -0,0 +1,62 @@
+package graphql.execution;
+
+import graphql.ExperimentalApi;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * A cancellation token can be given to an execution via {@link graphql.ExecutionInput.Builder#cancellationToken(CancellationToken)}
+ * and cancelled from another thread, say when the client that asked for the query has disconnected.
+ * <p>
+ * Once cancelled, no more data fetchers are called, the execution stops waiting for the data fetcher promises that are
+ * still pending and the execution result is completed straight away with an {@link ExecutionCancelledException} error.
+ * The data fetcher promises themselves are left alone, since they may be shared with other executions.
+ * <p>
+ * A token cannot be un-cancelled, so you should create a new one for each execution.
+ */
+@ExperimentalApi
+public class CancellationToken {
+
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final Set<Runnable> listeners = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Cancels the executions this token was given to.  Calling this more than once has no further effect.
+     */
+    public void cancel() {
+        if (cancelled.compareAndSet(false, true)) {
+            for (Runnable listener : listeners) {
+                listener.run();
+            }
+            listeners.clear();
+        }
+    }
+
+    /**
+     * @return true if this token has been cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    /**
+     * The listener is run when this token is cancelled, or straight away if it already has been
+     *
+     * @param listener the listener to run
+     */
+    void addListener(Runnable listener) {
+        listeners.add(assertNotNull(listener));
+        // the token may have been cancelled while the listener was added
+        if (cancelled.get() && listeners.remove(listener)) {
+            listener.run();
+        }
+    }
+
+    void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+}
@@ -17,6 +17,16 @@ public interface DataLoaderDispatchStrategy {
 
     }
 
+    /**
+     * Called once the execution strategy has started fetching all its fields, which is when it stops running synchronously
+     *
+     * @param executionContext the execution context
+     * @param parameters       the parameters of the execution strategy
+     */
+    default void executionStrategyOnFieldFetchesStarted(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+
+    }
+
     default void executionStrategyOnFieldValuesInfo(List<FieldValueInfo> fieldValueInfoList, ExecutionStrategyParameters parameters) {
 
     }
@@ -30,6 +40,16 @@ public interface DataLoaderDispatchStrategy {
 
     }
 
+    /**
+     * Called once an object execution has started fetching all its fields, which is when it stops running synchronously
+     *
+     * @param executionContext the execution context
+     * @param parameters       the parameters of the object execution
+     */
+    default void executeObjectOnFieldFetchesStarted(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+
+    }
+
     default void executeObjectOnFieldValuesInfo(List<FieldValueInfo> fieldValueInfoList, ExecutionStrategyParameters parameters) {
 
     }
@@ -53,4 +73,14 @@ public interface DataLoaderDispatchStrategy {
     default void deferredField(ExecutionContext executionContext, MergedField currentField) {
 
     }
+
+    /**
+     * Called when the items of a list field are going to be streamed, via the @stream directive
+     *
+     * @param executionContext the execution context
+     * @param currentField     the field whose list items are streamed
+     */
+    default void streamedField(ExecutionContext executionContext, MergedField currentField) {
+
+    }
 }
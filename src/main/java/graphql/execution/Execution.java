@@ -12,12 +12,16 @@ import graphql.execution.incremental.IncrementalCallState;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.dataloader.DataLoaderDispatchingContextKeys;
+import graphql.execution.instrumentation.dataloader.EagerDataLoaderDispatchStrategy;
 import graphql.execution.instrumentation.dataloader.FallbackDataLoaderDispatchStrategy;
 import graphql.execution.instrumentation.dataloader.PerLevelDataLoaderDispatchStrategy;
 import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
 import graphql.extensions.ExtensionsBuilder;
 import graphql.incremental.DelayedIncrementalPartialResult;
+import graphql.incremental.IncrementalBatching;
+import graphql.incremental.IncrementalExecutionResult;
 import graphql.incremental.IncrementalExecutionResultImpl;
 import graphql.language.Document;
 import graphql.language.FragmentDefinition;
@@ -34,6 +38,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import static graphql.execution.ExecutionContextBuilder.newExecutionContextBuilder;
 import static graphql.execution.ExecutionStepInfo.newExecutionStepInfo;
@@ -51,6 +56,7 @@ public class Execution {
     private final Instrumentation instrumentation;
     private final ValueUnboxer valueUnboxer;
     private final boolean doNotAutomaticallyDispatchDataLoader;
+    private final ExecutionPlanCache executionPlanCache;
 
     public Execution(ExecutionStrategy queryStrategy,
                      ExecutionStrategy mutationStrategy,
@@ -58,12 +64,23 @@ public class Execution {
                      Instrumentation instrumentation,
                      ValueUnboxer valueUnboxer,
                      boolean doNotAutomaticallyDispatchDataLoader) {
+        this(queryStrategy, mutationStrategy, subscriptionStrategy, instrumentation, valueUnboxer, doNotAutomaticallyDispatchDataLoader, null);
+    }
+
+    public Execution(ExecutionStrategy queryStrategy,
+                     ExecutionStrategy mutationStrategy,
+                     ExecutionStrategy subscriptionStrategy,
+                     Instrumentation instrumentation,
+                     ValueUnboxer valueUnboxer,
+                     boolean doNotAutomaticallyDispatchDataLoader,
+                     ExecutionPlanCache executionPlanCache) {
         this.queryStrategy = queryStrategy != null ? queryStrategy : new AsyncExecutionStrategy();
         this.mutationStrategy = mutationStrategy != null ? mutationStrategy : new AsyncSerialExecutionStrategy();
         this.subscriptionStrategy = subscriptionStrategy != null ? subscriptionStrategy : new AsyncExecutionStrategy();
         this.instrumentation = instrumentation;
         this.valueUnboxer = valueUnboxer;
         this.doNotAutomaticallyDispatchDataLoader = doNotAutomaticallyDispatchDataLoader;
+        this.executionPlanCache = executionPlanCache;
     }
 
     public CompletableFuture<ExecutionResult> execute(Document document, GraphQLSchema graphQLSchema, ExecutionId executionId, ExecutionInput executionInput, InstrumentationState instrumentationState) {
@@ -85,6 +102,11 @@ public class Execution {
             throw rte;
         }
 
+        ExecutionCancellation executionCancellation = ExecutionCancellation.create(executionInput);
+        if (executionCancellation != null && executionCancellation.isCancelled()) {
+            return completedFuture(executionCancellation.getCancelledException().toExecutionResult());
+        }
+
         ExecutionContext executionContext = newExecutionContextBuilder()
                 .instrumentation(instrumentation)
                 .instrumentationState(instrumentationState)
@@ -105,6 +127,8 @@ public class Execution {
                 .locale(executionInput.getLocale())
                 .valueUnboxer(valueUnboxer)
                 .executionInput(executionInput)
+                .executionPlanCache(executionPlanCache)
+                .executionCancellation(executionCancellation)
                 .build();
 
         executionContext.getGraphQLContext().put(ResultNodesInfo.RESULT_NODES_INFO, executionContext.getResultNodesInfo());
@@ -150,13 +174,16 @@ public class Execution {
                 .graphQLContext(graphQLContext)
                 .build();
 
-        MergedSelectionSet fields = fieldCollector.collectFields(
+        Supplier<MergedSelectionSet> fieldsCollector = () -> fieldCollector.collectFields(
                 collectorParameters,
                 operationDefinition.getSelectionSet(),
                 Optional.ofNullable(executionContext.getGraphQLContext())
                         .map(graphqlContext -> graphqlContext.getBoolean(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT))
                         .orElse(false)
         );
+        ExecutionPlan executionPlan = executionContext.getExecutionPlan();
+        MergedSelectionSet fields = executionPlan == null ? fieldsCollector.get() :
+                executionPlan.getRootFields(operationDefinition.getSelectionSet(), operationRootType, collectorParameters.getVariables(), fieldsCollector);
 
         ResultPath path = ResultPath.rootPath();
         ExecutionStepInfo executionStepInfo = newExecutionStepInfo().type(operationRootType).path(path).build();
@@ -197,7 +224,44 @@ public class Execution {
 
         result = result.whenComplete(executeOperationCtx::onCompleted);
 
-        return incrementalSupport(executionContext, result);
+        result = incrementalSupport(executionContext, result);
+
+        return cancellationSupport(executionContext, operation, result);
+    }
+
+    /*
+     * Completes the result as soon as the execution is cancelled, rather than when the fetches that are in flight finish
+     */
+    private CompletableFuture<ExecutionResult> cancellationSupport(ExecutionContext executionContext, OperationDefinition.Operation operation, CompletableFuture<ExecutionResult> result) {
+        ExecutionCancellation executionCancellation = executionContext.getExecutionCancellation();
+        if (executionCancellation == null) {
+            return result;
+        }
+        return executionCancellation.orCancelled(result).whenComplete((er, exception) -> {
+            if (exception != null) {
+                executionCancellation.close();
+            }
+        }).thenApply(er -> {
+            // subscriptions and incremental results keep executing after the result is returned, so they stay cancellable
+            // until their publisher is done
+            if (er instanceof IncrementalExecutionResult) {
+                IncrementalExecutionResult incrementalResult = (IncrementalExecutionResult) er;
+                return IncrementalExecutionResultImpl.fromExecutionResult(er)
+                        .hasNext(incrementalResult.hasNext())
+                        .incremental(incrementalResult.getIncremental())
+                        .incrementalItemPublisher(executionCancellation.closeWhenTerminated(incrementalResult.getIncrementalItemPublisher()))
+                        .build();
+            }
+            if (operation == OperationDefinition.Operation.SUBSCRIPTION && er.getData() instanceof Publisher) {
+                Publisher<Object> publisher = er.getData();
+                return ExecutionResultImpl.newExecutionResult()
+                        .from(er)
+                        .data(executionCancellation.closeWhenTerminated(publisher))
+                        .build();
+            }
+            executionCancellation.close();
+            return er;
+        });
     }
 
     /*
@@ -209,7 +273,10 @@ public class Execution {
             if (incrementalCallState.getIncrementalCallsDetected()) {
                 // we start the rest of the query now to maximize throughput.  We have the initial important results,
                 // and now we can start the rest of the calls as early as possible (even before someone subscribes)
-                Publisher<DelayedIncrementalPartialResult> publisher = incrementalCallState.startDeferredCalls();
+                IncrementalBatching batching = executionContext.getGraphQLContext().get(IncrementalBatching.class);
+                Publisher<DelayedIncrementalPartialResult> publisher = batching != null
+                        ? incrementalCallState.startDeferredCalls(batching)
+                        : incrementalCallState.startDeferredCalls();
 
                 return IncrementalExecutionResultImpl.fromExecutionResult(er)
                         // "hasNext" can, in theory, be "false" when all the incremental items are delivered in the
@@ -228,6 +295,9 @@ public class Execution {
             return DataLoaderDispatchStrategy.NO_OP;
         }
         if (executionStrategy instanceof AsyncExecutionStrategy) {
+            if (executionContext.getGraphQLContext().getBoolean(DataLoaderDispatchingContextKeys.ENABLE_EAGER_DISPATCH)) {
+                return new EagerDataLoaderDispatchStrategy(executionContext);
+            }
             return new PerLevelDataLoaderDispatchStrategy(executionContext);
         } else {
             return new FallbackDataLoaderDispatchStrategy(executionContext);
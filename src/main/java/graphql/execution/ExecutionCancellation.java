@@ -0,0 +1,187 @@
+package graphql.execution;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.Internal;
+import graphql.execution.reactive.DelegatingSubscription;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The cancellation state of an execution that has a {@link CancellationToken} or a deadline.  It is shared by the
+ * {@link ExecutionContext}s of the execution, such as those of the events of a subscription.
+ * <p>
+ * Cancelling completes the execution result straight away, then stops waiting for the data fetcher promises that are still
+ * pending.  Those promises are never cancelled themselves since they may be shared, say by a data loader, so the engine
+ * waits on promises of its own that depend on them and cancels those instead.
+ */
+@Internal
+public class ExecutionCancellation {
+
+    private final CompletableFuture<ExecutionCancelledException> cancelled = new CompletableFuture<>();
+    private final Set<CompletableFuture<Object>> pendingFetches = ConcurrentHashMap.newKeySet();
+    private final CancellationToken cancellationToken;
+    private final Runnable onTokenCancelled = () -> cancel(new ExecutionCancelledException(false));
+    private final CompletableFuture<Void> deadlineTimer;
+
+    private ExecutionCancellation(CancellationToken cancellationToken, Instant deadline) {
+        this.cancellationToken = cancellationToken;
+        if (cancellationToken != null) {
+            cancellationToken.addListener(onTokenCancelled);
+        }
+        long nanos = deadline == null || isCancelled() ? 0 : Duration.between(Instant.now(), deadline).toNanos();
+        if (nanos > 0) {
+            // completing the timer when the execution is done also removes it from the timer thread
+            deadlineTimer = new CompletableFuture<Void>().orTimeout(nanos, TimeUnit.NANOSECONDS);
+            deadlineTimer.whenComplete((v, timeout) -> {
+                if (timeout != null) {
+                    cancel(new ExecutionCancelledException(true));
+                }
+            });
+        } else {
+            deadlineTimer = null;
+            if (deadline != null) {
+                cancel(new ExecutionCancelledException(true));
+            }
+        }
+    }
+
+    /**
+     * @param executionInput the execution input
+     *
+     * @return the cancellation state of the execution or null if it has neither a cancellation token nor a deadline
+     */
+    public static ExecutionCancellation create(ExecutionInput executionInput) {
+        if (executionInput.getCancellationToken() == null && executionInput.getDeadline() == null) {
+            return null;
+        }
+        return new ExecutionCancellation(executionInput.getCancellationToken(), executionInput.getDeadline());
+    }
+
+    public boolean isCancelled() {
+        return cancelled.isDone();
+    }
+
+    /**
+     * @return the error the execution was cancelled with or null if it has not been cancelled
+     */
+    public ExecutionCancelledException getCancelledException() {
+        return cancelled.getNow(null);
+    }
+
+    /**
+     * Cancels the execution, unless it was already cancelled
+     *
+     * @param cancelledException the error to complete the execution result with
+     */
+    public void cancel(ExecutionCancelledException cancelledException) {
+        if (cancelled.complete(cancelledException)) {
+            close();
+            for (CompletableFuture<Object> pendingFetch : pendingFetches) {
+                pendingFetch.cancel(false);
+            }
+            pendingFetches.clear();
+        }
+    }
+
+    /**
+     * Tracks a data fetcher promise so that the execution stops waiting for it if the execution is cancelled
+     *
+     * @param fetch the promise returned by a data fetcher
+     *
+     * @return the promise the execution should wait on, which is cancelled rather than the data fetcher promise
+     */
+    public CompletableFuture<Object> trackFetch(CompletableFuture<Object> fetch) {
+        if (fetch.isDone()) {
+            return fetch;
+        }
+        CompletableFuture<Object> trackedFetch = fetch.thenApply(Function.identity());
+        pendingFetches.add(trackedFetch);
+        trackedFetch.whenComplete((result, exception) -> pendingFetches.remove(trackedFetch));
+        // the execution may have been cancelled while the fetch was added
+        if (isCancelled()) {
+            trackedFetch.cancel(false);
+        }
+        return trackedFetch;
+    }
+
+    /**
+     * @param result the promise to the execution result
+     *
+     * @return a promise to the execution result that is completed with the cancellation error as soon as the execution is cancelled
+     */
+    public CompletableFuture<ExecutionResult> orCancelled(CompletableFuture<ExecutionResult> result) {
+        CompletableFuture<ExecutionResult> overallResult = new CompletableFuture<>();
+        cancelled.thenAccept(cancelledException -> overallResult.complete(cancelledException.toExecutionResult()));
+        result.whenComplete((executionResult, exception) -> {
+            if (exception != null) {
+                overallResult.completeExceptionally(exception);
+            } else {
+                overallResult.complete(executionResult);
+            }
+        });
+        return overallResult;
+    }
+
+    /**
+     * Subscriptions and incremental executions keep executing after their execution result is returned, so they only
+     * stop listening to the cancellation token and the deadline once their publisher is done.
+     *
+     * @param publisher the publisher of a subscription's events or of the incremental results
+     * @param <T>       the type of the published results
+     *
+     * @return a publisher that calls {@link #close()} when the given publisher terminates or its subscription is cancelled
+     */
+    public <T> Publisher<T> closeWhenTerminated(Publisher<T> publisher) {
+        return subscriber -> publisher.subscribe(new Subscriber<T>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscriber.onSubscribe(new DelegatingSubscription(subscription) {
+                    @Override
+                    public void cancel() {
+                        super.cancel();
+                        close();
+                    }
+                });
+            }
+
+            @Override
+            public void onNext(T t) {
+                subscriber.onNext(t);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                close();
+                subscriber.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                close();
+                subscriber.onComplete();
+            }
+        });
+    }
+
+    /**
+     * Stops listening to the cancellation token and the deadline, once the execution is done
+     */
+    public void close() {
+        if (cancellationToken != null) {
+            cancellationToken.removeListener(onTokenCancelled);
+        }
+        if (deadlineTimer != null) {
+            deadlineTimer.complete(null);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package graphql.execution;
+
+import graphql.ExperimentalApi;
+
+/**
+ * This is the error of an execution that was cancelled via its {@link CancellationToken} or that did not finish before its
+ * deadline, see {@link graphql.ExecutionInput#getDeadline()}.
+ */
+@ExperimentalApi
+public class ExecutionCancelledException extends AbortExecutionException {
+
+    private final boolean deadlineExceeded;
+
+    public ExecutionCancelledException(boolean deadlineExceeded) {
+        super(deadlineExceeded ? "Execution did not finish before its deadline" : "Execution was cancelled");
+        this.deadlineExceeded = deadlineExceeded;
+    }
+
+    /**
+     * @return true if the execution was cancelled because its deadline passed rather than via its {@link CancellationToken}
+     */
+    public boolean isDeadlineExceeded() {
+        return deadlineExceeded;
+    }
+}
@@ -4,11 +4,13 @@ package graphql.execution;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import graphql.ExecutionInput;
+import graphql.ExperimentalApi;
 import graphql.GraphQLContext;
 import graphql.GraphQLError;
 import graphql.Internal;
 import graphql.PublicApi;
 import graphql.collect.ImmutableKit;
+import graphql.execution.conditional.ConditionalNodeDecision;
 import graphql.execution.incremental.IncrementalCallState;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.InstrumentationState;
@@ -59,6 +61,9 @@ public class ExecutionContext {
     private final ValueUnboxer valueUnboxer;
     private final ExecutionInput executionInput;
     private final Supplier<ExecutableNormalizedOperation> queryTree;
+    private final ExecutionPlanCache executionPlanCache;
+    private final Supplier<ExecutionPlan> executionPlan;
+    private final ExecutionCancellation executionCancellation;
 
     // this is modified after creation so it needs to be volatile to ensure visibility across Threads
     private volatile DataLoaderDispatchStrategy dataLoaderDispatcherStrategy = DataLoaderDispatchStrategy.NO_OP;
@@ -87,6 +92,22 @@ public class ExecutionContext {
         this.localContext = builder.localContext;
         this.executionInput = builder.executionInput;
         this.queryTree = FpKit.interThreadMemoize(() -> ExecutableNormalizedOperationFactory.createExecutableNormalizedOperation(graphQLSchema, operationDefinition, fragmentsByName, coercedVariables));
+        this.executionPlanCache = builder.executionPlanCache;
+        this.executionPlan = FpKit.interThreadMemoize(this::lookupExecutionPlan);
+        this.executionCancellation = builder.executionCancellation;
+    }
+
+    private ExecutionPlan lookupExecutionPlan() {
+        if (executionPlanCache == null || document == null || operationDefinition == null) {
+            return null;
+        }
+        // field collection then depends on more than the document, the schema and the variables
+        if (graphQLContext != null) {
+            if (graphQLContext.getBoolean(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT) || graphQLContext.hasKey(ConditionalNodeDecision.class)) {
+                return null;
+            }
+        }
+        return executionPlanCache.getExecutionPlan(document, operationDefinition, graphQLSchema, fragmentsByName);
     }
 
 
@@ -273,6 +294,36 @@ public class ExecutionContext {
         return queryTree;
     }
 
+    /**
+     * @return the cache of execution plans in play or null if there is none
+     */
+    public ExecutionPlanCache getExecutionPlanCache() {
+        return executionPlanCache;
+    }
+
+    /**
+     * @return the execution plan of this operation or null if execution plans are not in play for this execution
+     */
+    @Internal
+    public ExecutionPlan getExecutionPlan() {
+        return executionPlan.get();
+    }
+
+    /**
+     * @return the cancellation state of this execution or null if it cannot be cancelled
+     */
+    @Internal
+    public ExecutionCancellation getExecutionCancellation() {
+        return executionCancellation;
+    }
+
+    /**
+     * @return true if this execution has been cancelled via its {@link CancellationToken} or its deadline has passed
+     */
+    public boolean isCancelled() {
+        return executionCancellation != null && executionCancellation.isCancelled();
+    }
+
     @Internal
     public void setDataLoaderDispatcherStrategy(DataLoaderDispatchStrategy dataLoaderDispatcherStrategy) {
         this.dataLoaderDispatcherStrategy = dataLoaderDispatcherStrategy;
@@ -45,6 +45,8 @@ public class ExecutionContextBuilder {
     ValueUnboxer valueUnboxer;
     Object localContext;
     ExecutionInput executionInput;
+    ExecutionPlanCache executionPlanCache;
+    ExecutionCancellation executionCancellation;
 
     /**
      * @return a new builder of {@link graphql.execution.ExecutionContext}s
@@ -90,6 +92,8 @@ public class ExecutionContextBuilder {
         errors = ImmutableList.copyOf(other.getErrors());
         valueUnboxer = other.getValueUnboxer();
         executionInput = other.getExecutionInput();
+        executionPlanCache = other.getExecutionPlanCache();
+        executionCancellation = other.getExecutionCancellation();
     }
 
     public ExecutionContextBuilder instrumentation(Instrumentation instrumentation) {
@@ -203,6 +207,17 @@ public class ExecutionContextBuilder {
         return this;
     }
 
+    public ExecutionContextBuilder executionPlanCache(ExecutionPlanCache executionPlanCache) {
+        this.executionPlanCache = executionPlanCache;
+        return this;
+    }
+
+    @Internal
+    public ExecutionContextBuilder executionCancellation(ExecutionCancellation executionCancellation) {
+        this.executionCancellation = executionCancellation;
+        return this;
+    }
+
     public ExecutionContextBuilder resetErrors() {
         this.errors = emptyList();
         return this;
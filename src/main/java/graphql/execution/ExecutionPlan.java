@@ -0,0 +1,248 @@
+package graphql.execution;
+
+import graphql.Directives;
+import graphql.Internal;
+import graphql.language.Argument;
+import graphql.language.ArrayValue;
+import graphql.language.Directive;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.Node;
+import graphql.language.ObjectField;
+import graphql.language.ObjectValue;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.Value;
+import graphql.language.VariableReference;
+import graphql.schema.GraphQLObjectType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * An execution plan holds the compiled, immutable parts of executing one operation of one document against one schema,
+ * so that they can be reused by every execution of that operation.
+ * <p>
+ * Today this is the result of field collection - the {@link MergedSelectionSet} of sub fields for a given selection
+ * and runtime object type.  Collection is a pure function of the AST, the schema, the object type and the values of the
+ * variables used in {@code @skip} and {@code @include} directives, so each planned selection records which variables
+ * it depends on and keeps a collected field set per distinct combination of their values, up to
+ * {@link #MAXIMUM_DIRECTIVE_VARIABLE_COMBINATIONS} of them.
+ * <p>
+ * Plans are keyed by AST node identity and hence are only reused when the same {@link graphql.language.Document}
+ * instance is executed again, such as when it comes from a caching {@link graphql.execution.preparsed.PreparsedDocumentProvider}.
+ *
+ * @see ExecutionPlanCache
+ */
+@Internal
+public class ExecutionPlan {
+
+    /**
+     * The maximum number of combinations of {@code @skip} and {@code @include} variable values whose collected fields are
+     * held per planned selection.  The fields of other combinations are collected on every execution.
+     */
+    public static final int MAXIMUM_DIRECTIVE_VARIABLE_COMBINATIONS = 64;
+
+    private static final List<Object> NO_VARIABLE_VALUES = Collections.emptyList();
+
+    private final Map<String, FragmentDefinition> fragmentsByName;
+    private final ConcurrentHashMap<SelectionKey, PlannedSelection> plannedSelections = new ConcurrentHashMap<>();
+
+    public ExecutionPlan(Map<String, FragmentDefinition> fragmentsByName) {
+        this.fragmentsByName = fragmentsByName;
+    }
+
+    /**
+     * Gets the collected sub fields of a field for a given object type, collecting them only if this plan has not seen
+     * this combination before
+     *
+     * @param mergedField the field whose sub selection is to be collected
+     * @param objectType  the resolved object type of the field
+     * @param variables   the coerced variables of the current execution
+     * @param collector   the code that actually collects the fields
+     *
+     * @return the collected sub fields
+     */
+    public MergedSelectionSet getSubFields(MergedField mergedField, GraphQLObjectType objectType, Map<String, Object> variables, Supplier<MergedSelectionSet> collector) {
+        List<Field> fields = mergedField.getFields();
+        PlannedSelection plannedSelection = plannedSelections.get(new SelectionKey(fields, objectType));
+        if (plannedSelection == null) {
+            Set<String> variableNames = new TreeSet<>();
+            Set<String> visitedFragments = new HashSet<>();
+            for (Field field : fields) {
+                if (field.getSelectionSet() != null) {
+                    collectConditionalVariables(field.getSelectionSet(), variableNames, visitedFragments);
+                }
+            }
+            plannedSelection = plannedSelections.computeIfAbsent(new SelectionKey(fields, objectType), k -> new PlannedSelection(variableNames));
+        }
+        return plannedSelection.getFields(variables, collector);
+    }
+
+    /**
+     * Gets the collected fields of the operation selection set for the root type, collecting them only if this plan has
+     * not seen this combination before
+     *
+     * @param selectionSet the operation selection set
+     * @param objectType   the operation root type
+     * @param variables    the coerced variables of the current execution
+     * @param collector    the code that actually collects the fields
+     *
+     * @return the collected root fields
+     */
+    public MergedSelectionSet getRootFields(SelectionSet selectionSet, GraphQLObjectType objectType, Map<String, Object> variables, Supplier<MergedSelectionSet> collector) {
+        List<SelectionSet> owners = Collections.singletonList(selectionSet);
+        PlannedSelection plannedSelection = plannedSelections.computeIfAbsent(new SelectionKey(owners, objectType), k -> {
+            Set<String> variableNames = new TreeSet<>();
+            collectConditionalVariables(selectionSet, variableNames, new HashSet<>());
+            return new PlannedSelection(variableNames);
+        });
+        return plannedSelection.getFields(variables, collector);
+    }
+
+    /**
+     * @return the number of distinct selections that have been planned
+     */
+    public int getPlannedSelectionCount() {
+        return plannedSelections.size();
+    }
+
+    /*
+     * Finds the variables referenced by @skip and @include directives on the selections that field collection of this
+     * selection set visits, which is every selection at this level including those reached through fragments, but not the
+     * sub selections of fields
+     */
+    private void collectConditionalVariables(SelectionSet selectionSet, Set<String> variableNames, Set<String> visitedFragments) {
+        for (Selection<?> selection : selectionSet.getSelections()) {
+            if (selection instanceof Field) {
+                collectDirectiveVariables(((Field) selection).getDirectives(), variableNames);
+            } else if (selection instanceof InlineFragment) {
+                InlineFragment inlineFragment = (InlineFragment) selection;
+                collectDirectiveVariables(inlineFragment.getDirectives(), variableNames);
+                collectConditionalVariables(inlineFragment.getSelectionSet(), variableNames, visitedFragments);
+            } else if (selection instanceof FragmentSpread) {
+                FragmentSpread fragmentSpread = (FragmentSpread) selection;
+                collectDirectiveVariables(fragmentSpread.getDirectives(), variableNames);
+                if (visitedFragments.add(fragmentSpread.getName())) {
+                    FragmentDefinition fragmentDefinition = fragmentsByName.get(fragmentSpread.getName());
+                    if (fragmentDefinition != null) {
+                        collectDirectiveVariables(fragmentDefinition.getDirectives(), variableNames);
+                        collectConditionalVariables(fragmentDefinition.getSelectionSet(), variableNames, visitedFragments);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void collectDirectiveVariables(List<Directive> directives, Set<String> variableNames) {
+        for (Directive directive : directives) {
+            // the values of the variables of other directives do not change which fields are collected
+            if (!directive.getName().equals(Directives.SkipDirective.getName()) && !directive.getName().equals(Directives.IncludeDirective.getName())) {
+                continue;
+            }
+            for (Argument argument : directive.getArguments()) {
+                collectVariables(argument.getValue(), variableNames);
+            }
+        }
+    }
+
+    private static void collectVariables(Value<?> value, Set<String> variableNames) {
+        if (value instanceof VariableReference) {
+            variableNames.add(((VariableReference) value).getName());
+        } else if (value instanceof ArrayValue) {
+            for (Value<?> element : ((ArrayValue) value).getValues()) {
+                collectVariables(element, variableNames);
+            }
+        } else if (value instanceof ObjectValue) {
+            for (ObjectField objectField : ((ObjectValue) value).getObjectFields()) {
+                collectVariables(objectField.getValue(), variableNames);
+            }
+        }
+    }
+
+    private static class PlannedSelection {
+        private final String[] variableNames;
+        private final ConcurrentHashMap<List<Object>, MergedSelectionSet> fieldsByVariableValues = new ConcurrentHashMap<>();
+
+        private PlannedSelection(Set<String> variableNames) {
+            this.variableNames = variableNames.toArray(new String[0]);
+        }
+
+        private MergedSelectionSet getFields(Map<String, Object> variables, Supplier<MergedSelectionSet> collector) {
+            List<Object> key = NO_VARIABLE_VALUES;
+            if (variableNames.length > 0) {
+                Object[] values = new Object[variableNames.length];
+                for (int i = 0; i < variableNames.length; i++) {
+                    values[i] = variables.get(variableNames[i]);
+                }
+                key = Arrays.asList(values);
+            }
+            MergedSelectionSet fields = fieldsByVariableValues.get(key);
+            if (fields == null) {
+                fields = collector.get();
+                // the plan lives as long as its document is cached, so it only holds so many combinations of values
+                if (fieldsByVariableValues.size() >= MAXIMUM_DIRECTIVE_VARIABLE_COMBINATIONS) {
+                    return fields;
+                }
+                MergedSelectionSet existing = fieldsByVariableValues.putIfAbsent(key, fields);
+                if (existing != null) {
+                    fields = existing;
+                }
+            }
+            return fields;
+        }
+    }
+
+    /*
+     * A selection is identified by the AST nodes that own it and the object type it is being collected for
+     */
+    private static class SelectionKey {
+        private final List<? extends Node<?>> owners;
+        private final GraphQLObjectType objectType;
+        private final int hashCode;
+
+        private SelectionKey(List<? extends Node<?>> owners, GraphQLObjectType objectType) {
+            this.owners = owners;
+            this.objectType = objectType;
+            int hash = System.identityHashCode(objectType);
+            for (Node<?> owner : owners) {
+                hash = 31 * hash + System.identityHashCode(owner);
+            }
+            this.hashCode = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SelectionKey)) {
+                return false;
+            }
+            SelectionKey that = (SelectionKey) o;
+            if (objectType != that.objectType || owners.size() != that.owners.size()) {
+                return false;
+            }
+            for (int i = 0; i < owners.size(); i++) {
+                if (owners.get(i) != that.owners.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
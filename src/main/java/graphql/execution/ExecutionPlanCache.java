@@ -0,0 +1,123 @@
+package graphql.execution;
+
+import graphql.ExperimentalApi;
+import graphql.language.Document;
+import graphql.language.FragmentDefinition;
+import graphql.language.OperationDefinition;
+import graphql.schema.GraphQLSchema;
+import graphql.util.BoundedLruCache;
+
+import java.util.Map;
+
+import static graphql.Assert.assertTrue;
+
+/**
+ * A cache of {@link ExecutionPlan}s keyed on a document, one of its operations and the schema it is executed against.
+ * <p>
+ * Put one on {@link graphql.GraphQL.Builder#executionPlanCache(ExecutionPlanCache)} and the execution strategies will
+ * reuse the fields collected for each selection rather than re-collecting them for every object of every request.
+ * <p>
+ * Plans are keyed by identity, so this is only useful together with a {@link graphql.execution.preparsed.PreparsedDocumentProvider}
+ * that hands back the same {@link Document} instance for the same query, such as
+ * {@link graphql.execution.preparsed.CachingPreparsedDocumentProvider}.
+ * <p>
+ * Plans are not used when incremental delivery is enabled or when a {@link graphql.execution.conditional.ConditionalNodeDecision}
+ * is present, since field collection then depends on more than the document, schema and variables.
+ */
+@ExperimentalApi
+public class ExecutionPlanCache {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 1_000;
+
+    private final BoundedLruCache<PlanKey, ExecutionPlan> cache;
+
+    private ExecutionPlanCache(Builder builder) {
+        this.cache = new BoundedLruCache<>(builder.maximumSize, Long.MAX_VALUE, plan -> 1L);
+    }
+
+    /**
+     * Gets the plan for the given operation, creating an empty one if there is none
+     *
+     * @param document            the document being executed
+     * @param operationDefinition the operation being executed
+     * @param schema              the schema being executed against
+     * @param fragmentsByName     the fragments of the document
+     *
+     * @return the execution plan
+     */
+    public ExecutionPlan getExecutionPlan(Document document, OperationDefinition operationDefinition, GraphQLSchema schema, Map<String, FragmentDefinition> fragmentsByName) {
+        PlanKey key = new PlanKey(document, operationDefinition, schema);
+        return cache.get(key, k -> new ExecutionPlan(fragmentsByName), plan -> true).join();
+    }
+
+    /**
+     * @return the number of plans held
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Removes all plans from the cache
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public static Builder newExecutionPlanCache() {
+        return new Builder();
+    }
+
+    private static class PlanKey {
+        private final Document document;
+        private final OperationDefinition operationDefinition;
+        private final GraphQLSchema schema;
+
+        private PlanKey(Document document, OperationDefinition operationDefinition, GraphQLSchema schema) {
+            this.document = document;
+            this.operationDefinition = operationDefinition;
+            this.schema = schema;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PlanKey)) {
+                return false;
+            }
+            PlanKey that = (PlanKey) o;
+            return document == that.document && operationDefinition == that.operationDefinition && schema == that.schema;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(document);
+            result = 31 * result + System.identityHashCode(operationDefinition);
+            result = 31 * result + System.identityHashCode(schema);
+            return result;
+        }
+    }
+
+    public static class Builder {
+        private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+        /**
+         * Sets the maximum number of plans the cache will hold
+         *
+         * @param maximumSize the maximum number of plans
+         *
+         * @return this builder
+         */
+        public Builder maximumSize(long maximumSize) {
+            assertTrue(maximumSize > 0, "maximumSize must be greater than zero");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        public ExecutionPlanCache build() {
+            return new ExecutionPlanCache(this);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package graphql.execution;
 
+import graphql.Internal;
 import graphql.PublicApi;
 import graphql.collect.ImmutableMapWithNullValues;
 import graphql.schema.GraphQLFieldDefinition;
@@ -68,13 +69,28 @@ public class ExecutionStepInfo {
     private final Supplier<ImmutableMapWithNullValues<String, Object>> arguments;
 
     private ExecutionStepInfo(Builder builder) {
-        this.fieldDefinition = builder.fieldDefinition;
-        this.field = builder.field;
-        this.path = builder.path;
-        this.parent = builder.parentInfo;
-        this.type = assertNotNull(builder.type, () -> "you must provide a graphql type");
-        this.arguments = builder.arguments;
-        this.fieldContainer = builder.fieldContainer;
+        this(builder.type, builder.path, builder.parentInfo, builder.field, builder.fieldDefinition, builder.fieldContainer, builder.arguments);
+    }
+
+    /*
+     * This is used on the hot paths of execution which create a step info per field and per list element,
+     * so that no builder has to be allocated
+     */
+    @Internal
+    public ExecutionStepInfo(GraphQLOutputType type,
+                             ResultPath path,
+                             ExecutionStepInfo parent,
+                             MergedField field,
+                             GraphQLFieldDefinition fieldDefinition,
+                             GraphQLObjectType fieldContainer,
+                             Supplier<ImmutableMapWithNullValues<String, Object>> arguments) {
+        this.fieldDefinition = fieldDefinition;
+        this.field = field;
+        this.path = path;
+        this.parent = parent;
+        this.type = assertNotNull(type, () -> "you must provide a graphql type");
+        this.arguments = arguments;
+        this.fieldContainer = fieldContainer;
     }
 
     /**
@@ -203,11 +219,21 @@ public class ExecutionStepInfo {
      */
     public ExecutionStepInfo changeTypeWithPreservedNonNull(GraphQLOutputType newType) {
         assertTrue(!GraphQLTypeUtil.isNonNull(newType), () -> "newType can't be non null");
-        if (isNonNullType()) {
-            return newExecutionStepInfo(this).type(GraphQLNonNull.nonNull(newType)).build();
-        } else {
-            return newExecutionStepInfo(this).type(newType).build();
-        }
+        GraphQLOutputType type = isNonNullType() ? GraphQLNonNull.nonNull(newType) : newType;
+        return new ExecutionStepInfo(type, path, parent, field, fieldDefinition, fieldContainer, arguments);
+    }
+
+    /**
+     * This creates the step info of an element of the list that this step info represents
+     *
+     * @param typeInList  the type of the list elements
+     * @param indexedPath the path of the list element
+     *
+     * @return a new step info with this step info as its parent
+     */
+    @Internal
+    public ExecutionStepInfo listElement(GraphQLOutputType typeInList, ResultPath indexedPath) {
+        return new ExecutionStepInfo(typeInList, indexedPath, this, field, fieldDefinition, fieldContainer, arguments);
     }
 
 
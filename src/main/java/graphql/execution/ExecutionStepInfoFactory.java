@@ -10,10 +10,7 @@ public class ExecutionStepInfoFactory {
     public ExecutionStepInfo newExecutionStepInfoForListElement(ExecutionStepInfo executionInfo, ResultPath indexedPath) {
         GraphQLList fieldType = (GraphQLList) executionInfo.getUnwrappedNonNullType();
         GraphQLOutputType typeInList = (GraphQLOutputType) fieldType.getWrappedType();
-        return executionInfo.transform(builder -> builder
-                .parentInfo(executionInfo)
-                .type(typeInList)
-                .path(indexedPath));
+        return executionInfo.listElement(typeInList, indexedPath);
     }
 
 }
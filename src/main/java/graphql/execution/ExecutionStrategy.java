@@ -5,6 +5,7 @@ import com.google.common.collect.Maps;
 import graphql.ExecutionResult;
 import graphql.ExecutionResultImpl;
 import graphql.ExperimentalApi;
+import graphql.GraphQLContext;
 import graphql.GraphQLError;
 import graphql.Internal;
 import graphql.PublicSpi;
@@ -16,6 +17,10 @@ import graphql.collect.ImmutableMapWithNullValues;
 import graphql.execution.directives.QueryDirectives;
 import graphql.execution.directives.QueryDirectivesImpl;
 import graphql.execution.incremental.DeferredExecutionSupport;
+import graphql.execution.incremental.IncrementalUtils;
+import graphql.execution.incremental.StreamSource;
+import graphql.execution.incremental.StreamedCall;
+import graphql.execution.incremental.StreamedExecution;
 import graphql.execution.instrumentation.ExecuteObjectInstrumentationContext;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.InstrumentationContext;
@@ -38,11 +43,13 @@ import graphql.schema.GraphQLArgument;
 import graphql.schema.GraphQLCodeRegistry;
 import graphql.schema.GraphQLEnumType;
 import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLList;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLOutputType;
 import graphql.schema.GraphQLScalarType;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
 import graphql.schema.LightDataFetcher;
 import graphql.util.FpKit;
 import org.jetbrains.annotations.NotNull;
@@ -50,6 +57,7 @@ import org.jetbrains.annotations.NotNull;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
@@ -60,7 +68,6 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 
 import static graphql.execution.Async.exceptionallyCompletedFuture;
-import static graphql.execution.ExecutionStepInfo.newExecutionStepInfo;
 import static graphql.execution.FieldCollectorParameters.newParameters;
 import static graphql.execution.FieldValueInfo.CompleteValueType.ENUM;
 import static graphql.execution.FieldValueInfo.CompleteValueType.LIST;
@@ -136,6 +143,37 @@ public abstract class ExecutionStrategy {
     protected final DataFetcherExceptionHandler dataFetcherExceptionHandler;
     private final ResolveType resolvedType = new ResolveType();
 
+    /*
+     * Whether a strategy class overrides any of the methods that lists of scalars and enums skip when they are completed
+     * in place.  This is worked out once per strategy class.
+     */
+    private static final ClassValue<Boolean> LEAF_VALUE_COMPLETION_OVERRIDDEN = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> strategyClass) {
+            for (Class<?> type = strategyClass; type != null && type != ExecutionStrategy.class; type = type.getSuperclass()) {
+                if (declares(type, "completeValue", ExecutionContext.class, ExecutionStrategyParameters.class)
+                        || declares(type, "completeValueForScalar", ExecutionContext.class, ExecutionStrategyParameters.class, GraphQLScalarType.class, Object.class)
+                        || declares(type, "completeValueForEnum", ExecutionContext.class, ExecutionStrategyParameters.class, GraphQLEnumType.class, Object.class)
+                        || declares(type, "completeValueForNull", ExecutionStrategyParameters.class)
+                        || declares(type, "unboxPossibleDataFetcherResult", ExecutionContext.class, ExecutionStrategyParameters.class, Object.class)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean declares(Class<?> type, String name, Class<?>... parameterTypes) {
+            try {
+                type.getDeclaredMethod(name, parameterTypes);
+                return true;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private final boolean leafValueCompletionOverridden = LEAF_VALUE_COMPLETION_OVERRIDDEN.get(getClass());
+
 
     /**
      * The default execution strategy constructor uses the {@link SimpleDataFetcherExceptionHandler}
@@ -200,18 +238,25 @@ public abstract class ExecutionStrategy {
     executeObject(ExecutionContext executionContext, ExecutionStrategyParameters parameters) throws NonNullableFieldWasNullException {
         DataLoaderDispatchStrategy dataLoaderDispatcherStrategy = executionContext.getDataLoaderDispatcherStrategy();
         dataLoaderDispatcherStrategy.executeObject(executionContext, parameters);
-        Instrumentation instrumentation = executionContext.getInstrumentation();
-        InstrumentationExecutionStrategyParameters instrumentationParameters = new InstrumentationExecutionStrategyParameters(executionContext, parameters);
-
-        ExecuteObjectInstrumentationContext resolveObjectCtx = ExecuteObjectInstrumentationContext.nonNullCtx(
-                instrumentation.beginExecuteObject(instrumentationParameters, executionContext.getInstrumentationState())
-        );
+        ExecuteObjectInstrumentationContext resolveObjectCtx;
+        Async.CombinedBuilder<FieldValueInfo> resolvedFieldFutures;
+        DeferredExecutionSupport deferredExecutionSupport;
+        // the dispatch strategy is told the field fetches have started however this ends, so that it never waits on them forever
+        try {
+            Instrumentation instrumentation = executionContext.getInstrumentation();
+            InstrumentationExecutionStrategyParameters instrumentationParameters = new InstrumentationExecutionStrategyParameters(executionContext, parameters);
 
-        List<String> fieldNames = parameters.getFields().getKeys();
+            resolveObjectCtx = ExecuteObjectInstrumentationContext.nonNullCtx(
+                    instrumentation.beginExecuteObject(instrumentationParameters, executionContext.getInstrumentationState())
+            );
 
-        DeferredExecutionSupport deferredExecutionSupport = createDeferredExecutionSupport(executionContext, parameters);
-        Async.CombinedBuilder<FieldValueInfo> resolvedFieldFutures = getAsyncFieldValueInfo(executionContext, parameters, deferredExecutionSupport);
+            deferredExecutionSupport = createDeferredExecutionSupport(executionContext, parameters);
+            resolvedFieldFutures = getAsyncFieldValueInfo(executionContext, parameters, deferredExecutionSupport);
+        } finally {
+            dataLoaderDispatcherStrategy.executeObjectOnFieldFetchesStarted(executionContext, parameters);
+        }
 
+        List<String> fieldNames = parameters.getFields().getKeys();
         CompletableFuture<Map<String, Object>> overallResult = new CompletableFuture<>();
         List<String> fieldsExecutedOnInitialResult = deferredExecutionSupport.getNonDeferredFieldNames(fieldNames);
         BiConsumer<List<Object>, Throwable> handleResultsConsumer = buildFieldValueMap(fieldsExecutedOnInitialResult, overallResult, executionContext);
@@ -327,8 +372,7 @@ public abstract class ExecutionStrategy {
             MergedField currentField = fields.getSubField(fieldName);
 
             ResultPath fieldPath = parameters.getPath().segment(mkNameForPath(currentField));
-            ExecutionStrategyParameters newParameters = parameters
-                    .transform(builder -> builder.field(currentField).path(fieldPath).parent(parameters));
+            ExecutionStrategyParameters newParameters = parameters.forField(currentField, fieldPath);
 
             if (!deferredExecutionSupport.isDeferredField(currentField)) {
                 Object fieldValueInfo = resolveFieldWithInfo(executionContext, newParameters);
@@ -440,6 +484,11 @@ public abstract class ExecutionStrategy {
     private Object /*CompletableFuture<FetchedValue> | FetchedValue>*/
     fetchField(GraphQLFieldDefinition fieldDef, ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
 
+        ExecutionCancellation executionCancellation = executionContext.getExecutionCancellation();
+        if (executionCancellation != null && executionCancellation.isCancelled()) {
+            return Async.exceptionallyCompletedFuture(executionCancellation.getCancelledException());
+        }
+
         if (incrementAndCheckMaxNodesExceeded(executionContext)) {
             return new FetchedValue(null, Collections.emptyList(), null);
         }
@@ -481,8 +530,11 @@ public abstract class ExecutionStrategy {
                     .build();
         });
 
-        GraphQLCodeRegistry codeRegistry = executionContext.getGraphQLSchema().getCodeRegistry();
-        DataFetcher<?> dataFetcher = codeRegistry.getDataFetcher(parentType, fieldDef);
+        GraphQLSchema graphQLSchema = executionContext.getGraphQLSchema();
+        DataFetcher<?> dataFetcher = graphQLSchema.getFieldDispatchTable().getDataFetcher(parentType, fieldDef);
+        if (dataFetcher == null) {
+            dataFetcher = graphQLSchema.getCodeRegistry().getDataFetcher(parentType, fieldDef);
+        }
 
         Instrumentation instrumentation = executionContext.getInstrumentation();
 
@@ -498,10 +550,16 @@ public abstract class ExecutionStrategy {
         fetchCtx.onDispatched();
         if (fetchedObject instanceof CompletableFuture) {
             @SuppressWarnings("unchecked")
-            CompletableFuture<Object> fetchedValue = (CompletableFuture<Object>) fetchedObject;
+            CompletableFuture<Object> fetchedValue = executionCancellation != null
+                    ? executionCancellation.trackFetch((CompletableFuture<Object>) fetchedObject)
+                    : (CompletableFuture<Object>) fetchedObject;
             return fetchedValue
                     .handle((result, exception) -> {
                         fetchCtx.onCompleted(result, exception);
+                        if (exception != null && executionCancellation != null && executionCancellation.isCancelled()) {
+                            // a fetch that failed because the execution was cancelled is not a data fetcher error
+                            return Async.<Object>exceptionallyCompletedFuture(executionCancellation.getCancelledException());
+                        }
                         if (exception != null) {
                             return handleFetchingException(dataFetchingEnvironment.get(), parameters, exception);
                         } else {
@@ -645,12 +703,8 @@ public abstract class ExecutionStrategy {
 
         NonNullableFieldValidator nonNullableFieldValidator = new NonNullableFieldValidator(executionContext, executionStepInfo);
 
-        ExecutionStrategyParameters newParameters = parameters.transform(builder ->
-                builder.executionStepInfo(executionStepInfo)
-                        .source(fetchedValue.getFetchedValue())
-                        .localContext(fetchedValue.getLocalContext())
-                        .nonNullFieldValidator(nonNullableFieldValidator)
-        );
+        ExecutionStrategyParameters newParameters = parameters.forValue(executionStepInfo, nonNullableFieldValidator,
+                parameters.getPath(), fetchedValue.getFetchedValue(), fetchedValue.getLocalContext());
 
         FieldValueInfo fieldValueInfo = completeValue(executionContext, newParameters);
 
@@ -760,6 +814,14 @@ public abstract class ExecutionStrategy {
      * @return a {@link FieldValueInfo}
      */
     protected FieldValueInfo completeValueForList(ExecutionContext executionContext, ExecutionStrategyParameters parameters, Object result) {
+        StreamedExecution streamedExecution = getStreamedExecution(executionContext, parameters);
+        if (streamedExecution != null) {
+            executionContext.getDataLoaderDispatcherStrategy().streamedField(executionContext, parameters.getField());
+            StreamSource streamSource = StreamSource.of(result);
+            if (streamSource != null) {
+                return completeValueForStreamedList(executionContext, parameters, streamedExecution, streamSource);
+            }
+        }
         Iterable<Object> resultIterable = toIterable(executionContext, parameters, result);
         try {
             resultIterable = parameters.getNonNullFieldValidator().validate(parameters.getPath(), resultIterable);
@@ -794,33 +856,181 @@ public abstract class ExecutionStrategy {
                 instrumentationParams, executionContext.getInstrumentationState()
         ));
 
+        GraphQLType typeInList = GraphQLTypeUtil.unwrapNonNull(((GraphQLList) executionStepInfo.getUnwrappedNonNullType()).getWrappedType());
+        if ((isScalar(typeInList) || isEnum(typeInList)) && completesLeafListsInPlace()) {
+            return completeValueForLeafList(executionContext, parameters, iterableValues, size, typeInList, completeListCtx);
+        }
+
         List<FieldValueInfo> fieldValueInfos = new ArrayList<>(size.orElse(1));
         int index = 0;
         for (Object item : iterableValues) {
             if (incrementAndCheckMaxNodesExceeded(executionContext)) {
                 return new FieldValueInfo(NULL, null, fieldValueInfos);
             }
+            fieldValueInfos.add(completeListElement(executionContext, parameters, item, index));
+            index++;
+        }
+
+        Object listResults = Async.eachPolymorphic(fieldValueInfos, FieldValueInfo::getFieldValueObject);
+        return new FieldValueInfo(LIST, completeListResults(executionContext, listResults, completeListCtx), fieldValueInfos);
+    }
+
+    private StreamedExecution getStreamedExecution(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+        // only the list of the field itself is streamed and not the lists inside it
+        if (parameters.getPath().isListSegment()) {
+            return null;
+        }
+        boolean incrementalSupport = Optional.ofNullable(executionContext.getGraphQLContext())
+                .map(graphqlContext -> graphqlContext.getBoolean(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT))
+                .orElse(false);
+        if (!incrementalSupport) {
+            return null;
+        }
+        return IncrementalUtils.createStreamedExecution(executionContext.getCoercedVariables().toMap(), parameters.getField().getSingleField().getDirectives());
+    }
 
-            ResultPath indexedPath = parameters.getPath().segment(index);
+    /*
+     * The first initialCount items are completed as a normal list and the rest are left in the stream source, to be read
+     * and completed by streamed calls as the subscriber of the incremental results asks for them.  An iterable is read
+     * straight away but a publisher has to be waited on, so a streamed publisher always gives a future list.
+     */
+    private FieldValueInfo completeValueForStreamedList(ExecutionContext executionContext,
+                                                        ExecutionStrategyParameters parameters,
+                                                        StreamedExecution streamedExecution,
+                                                        StreamSource streamSource) {
+        StreamedCall.ItemCompleter itemCompleter = (item, index, deferredCallContext) -> {
+            ExecutionStrategyParameters itemParameters = parameters.transform(builder -> builder.deferredCallContext(deferredCallContext));
+            return completeListElement(executionContext, itemParameters, item, index).getFieldValueFuture();
+        };
+        CompletableFuture<List<Object>> initialItems = streamSource.take(streamedExecution.getInitialCount())
+                .thenCompose(items -> streamSource.hasNext().thenApply(more -> {
+                    if (more) {
+                        executionContext.getIncrementalCallState().enqueue(new StreamedCall(streamedExecution.getLabel(), parameters.getPath(),
+                                items.size(), streamSource, itemCompleter, executionContext.getIncrementalCallState()));
+                    }
+                    return items;
+                }));
+        if (initialItems.isDone() && !initialItems.isCompletedExceptionally()) {
+            return completeValueForList(executionContext, parameters, initialItems.join());
+        }
+        CompletableFuture<Object> listResult = initialItems
+                .thenCompose(items -> completeValueForList(executionContext, parameters, items).getFieldValueFuture());
+        return new FieldValueInfo(LIST, listResult);
+    }
 
-            ExecutionStepInfo stepInfoForListElement = executionStepInfoFactory.newExecutionStepInfoForListElement(executionStepInfo, indexedPath);
+    private FieldValueInfo completeListElement(ExecutionContext executionContext, ExecutionStrategyParameters parameters, Object item, int index) {
+        ResultPath indexedPath = parameters.getPath().segment(index);
 
-            NonNullableFieldValidator nonNullableFieldValidator = new NonNullableFieldValidator(executionContext, stepInfoForListElement);
+        ExecutionStepInfo stepInfoForListElement = executionStepInfoFactory.newExecutionStepInfoForListElement(parameters.getExecutionStepInfo(), indexedPath);
 
-            FetchedValue value = unboxPossibleDataFetcherResult(executionContext, parameters, item);
+        NonNullableFieldValidator nonNullableFieldValidator = new NonNullableFieldValidator(executionContext, stepInfoForListElement);
 
-            ExecutionStrategyParameters newParameters = parameters.transform(builder ->
-                    builder.executionStepInfo(stepInfoForListElement)
-                            .nonNullFieldValidator(nonNullableFieldValidator)
-                            .localContext(value.getLocalContext())
-                            .path(indexedPath)
-                            .source(value.getFetchedValue())
-            );
-            fieldValueInfos.add(completeValue(executionContext, newParameters));
+        FetchedValue value = unboxPossibleDataFetcherResult(executionContext, parameters, item);
+
+        ExecutionStrategyParameters newParameters = parameters.forValue(stepInfoForListElement, nonNullableFieldValidator,
+                indexedPath, value.getFetchedValue(), value.getLocalContext());
+        return completeValue(executionContext, newParameters);
+    }
+
+    /**
+     * Lists of scalars and enums are serialized in a tight loop that does not call {@link #completeValue(ExecutionContext, ExecutionStrategyParameters)}
+     * for their elements, unless an element is null or is a {@link DataFetcherResult}.  This is only done for strategies
+     * that do not override {@link #completeValue}, {@link #completeValueForScalar}, {@link #completeValueForEnum},
+     * {@link #completeValueForNull} or {@link #unboxPossibleDataFetcherResult}, so that every element of such lists is
+     * completed via those methods when a strategy changes how leaf values are completed.
+     *
+     * @return true if lists of scalars and enums can be completed in a tight loop
+     */
+    protected boolean completesLeafListsInPlace() {
+        return !leafValueCompletionOverridden;
+    }
+
+    /*
+     * A list of scalars or enums is serialized in a tight loop without creating a step info and parameters per element.
+     * Only the elements that are null or that are DataFetcherResults are completed like any other list element, and the
+     * elements that fail to serialize or serialize to null are given the same errors and nulls without being serialized
+     * again.  Every element still has a FieldValueInfo in the list FieldValueInfo.
+     */
+    private FieldValueInfo completeValueForLeafList(ExecutionContext executionContext,
+                                                    ExecutionStrategyParameters parameters,
+                                                    Iterable<Object> iterableValues,
+                                                    OptionalInt size,
+                                                    GraphQLType typeInList,
+                                                    InstrumentationContext<Object> completeListCtx) {
+        ValueUnboxer valueUnboxer = executionContext.getValueUnboxer();
+        GraphQLContext graphQLContext = executionContext.getGraphQLContext();
+        Locale locale = executionContext.getLocale();
+        GraphQLScalarType scalarType = isScalar(typeInList) ? (GraphQLScalarType) typeInList : null;
+        GraphQLEnumType enumType = isEnum(typeInList) ? (GraphQLEnumType) typeInList : null;
+
+        FieldValueInfo.CompleteValueType elementType = scalarType != null ? SCALAR : ENUM;
+        List<Object> values = new ArrayList<>(size.orElse(1));
+        List<FieldValueInfo> fieldValueInfos = new ArrayList<>(size.orElse(1));
+        boolean futureValues = false;
+        int index = 0;
+        for (Object item : iterableValues) {
+            if (incrementAndCheckMaxNodesExceeded(executionContext)) {
+                return new FieldValueInfo(NULL, null, fieldValueInfos);
+            }
+            Object serialized = null;
+            FieldValueInfo fieldValueInfo = null;
+            // unboxed twice just like unboxPossibleDataFetcherResult followed by completeValue do
+            Object value = item instanceof DataFetcherResult ? null : valueUnboxer.unbox(valueUnboxer.unbox(item));
+            if (value == null) {
+                fieldValueInfo = completeListElement(executionContext, parameters, item, index);
+            } else {
+                try {
+                    serialized = scalarType != null
+                            ? scalarType.getCoercing().serialize(value, graphQLContext, locale)
+                            : enumType.serialize(value, graphQLContext, locale);
+                    if (serialized == null) {
+                        fieldValueInfo = completeUnserializedListElement(executionContext, parameters, item, index, elementType, null);
+                    }
+                } catch (CoercingSerializeException e) {
+                    fieldValueInfo = completeUnserializedListElement(executionContext, parameters, item, index, elementType, e);
+                }
+            }
+            if (fieldValueInfo != null) {
+                serialized = fieldValueInfo.getFieldValueObject();
+                futureValues |= fieldValueInfo.isFutureValue();
+            } else {
+                fieldValueInfo = new FieldValueInfo(elementType, serialized);
+            }
+            fieldValueInfos.add(fieldValueInfo);
+            values.add(serialized);
             index++;
         }
 
-        Object listResults = Async.eachPolymorphic(fieldValueInfos, FieldValueInfo::getFieldValueObject);
+        Object listResults = futureValues ? Async.eachPolymorphic(values, Function.identity()) : values;
+        return new FieldValueInfo(LIST, completeListResults(executionContext, listResults, completeListCtx), fieldValueInfos);
+    }
+
+    /*
+     * an element of a list of scalars or enums that failed to serialize, or that serialized to null, gets the same error
+     * and null as completeValueForScalar and completeValueForEnum give it, without being serialized again
+     */
+    private FieldValueInfo completeUnserializedListElement(ExecutionContext executionContext,
+                                                           ExecutionStrategyParameters parameters,
+                                                           Object item,
+                                                           int index,
+                                                           FieldValueInfo.CompleteValueType elementType,
+                                                           CoercingSerializeException problem) {
+        ResultPath indexedPath = parameters.getPath().segment(index);
+        ExecutionStepInfo stepInfoForListElement = executionStepInfoFactory.newExecutionStepInfoForListElement(parameters.getExecutionStepInfo(), indexedPath);
+        NonNullableFieldValidator nonNullableFieldValidator = new NonNullableFieldValidator(executionContext, stepInfoForListElement);
+        ExecutionStrategyParameters newParameters = parameters.forValue(stepInfoForListElement, nonNullableFieldValidator,
+                indexedPath, item, parameters.getLocalContext());
+
+        Object serialized = problem == null ? null : handleCoercionProblem(executionContext, newParameters, problem);
+        try {
+            serialized = nonNullableFieldValidator.validate(indexedPath, serialized);
+        } catch (NonNullableFieldWasNullException e) {
+            return new FieldValueInfo(elementType, exceptionallyCompletedFuture(e));
+        }
+        return new FieldValueInfo(elementType, serialized);
+    }
+
+    private Object completeListResults(ExecutionContext executionContext, Object listResults, InstrumentationContext<Object> completeListCtx) {
         Object listOrPromiseToList;
         if (listResults instanceof CompletableFuture) {
             @SuppressWarnings("unchecked")
@@ -843,7 +1053,7 @@ public abstract class ExecutionStrategy {
             completeListCtx.onCompleted(listResults, null);
             listOrPromiseToList = listResults;
         }
-        return new FieldValueInfo(LIST, listOrPromiseToList, fieldValueInfos);
+        return listOrPromiseToList;
     }
 
     protected <T> void handleValueException(CompletableFuture<T> overallResult, Throwable e, ExecutionContext executionContext) {
@@ -944,13 +1154,16 @@ public abstract class ExecutionStrategy {
                 .graphQLContext(executionContext.getGraphQLContext())
                 .build();
 
-        MergedSelectionSet subFields = fieldCollector.collectFields(
+        Supplier<MergedSelectionSet> subFieldsCollector = () -> fieldCollector.collectFields(
                 collectorParameters,
                 parameters.getField(),
                 Optional.ofNullable(executionContext.getGraphQLContext())
                         .map(graphqlContext -> graphqlContext.getBoolean(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT))
                         .orElse(false)
         );
+        ExecutionPlan executionPlan = executionContext.getExecutionPlan();
+        MergedSelectionSet subFields = executionPlan == null ? subFieldsCollector.get() :
+                executionPlan.getSubFields(parameters.getField(), resolvedObjectType, collectorParameters.getVariables(), subFieldsCollector);
 
         ExecutionStepInfo newExecutionStepInfo = executionStepInfo.changeTypeWithPreservedNonNull(resolvedObjectType);
         NonNullableFieldValidator nonNullableFieldValidator = new NonNullableFieldValidator(executionContext, newExecutionStepInfo);
@@ -1044,6 +1257,10 @@ public abstract class ExecutionStrategy {
      * @return a {@link GraphQLFieldDefinition}
      */
     protected GraphQLFieldDefinition getFieldDef(GraphQLSchema schema, GraphQLObjectType parentType, Field field) {
+        GraphQLFieldDefinition fieldDefinition = schema.getFieldDispatchTable().getFieldDefinition(parentType, field.getName());
+        if (fieldDefinition != null) {
+            return fieldDefinition;
+        }
         return Introspection.getFieldDefinition(schema, parentType, field.getName());
     }
 
@@ -1125,15 +1342,7 @@ public abstract class ExecutionStrategy {
         }
 
 
-        return newExecutionStepInfo()
-                .type(fieldType)
-                .fieldDefinition(fieldDefinition)
-                .fieldContainer(fieldContainer)
-                .field(field)
-                .path(parameters.getPath())
-                .parentInfo(parentStepInfo)
-                .arguments(argumentValues)
-                .build();
+        return new ExecutionStepInfo(fieldType, parameters.getPath(), parentStepInfo, field, fieldDefinition, fieldContainer, argumentValues);
     }
 
     @NotNull
@@ -1,5 +1,6 @@
 package graphql.execution;
 
+import graphql.Internal;
 import graphql.PublicApi;
 import graphql.execution.incremental.DeferredCallContext;
 
@@ -90,6 +91,27 @@ public class ExecutionStrategyParameters {
         return builder.build();
     }
 
+    /*
+     * The following are used on the hot paths of execution, which create new parameters per field and per list element,
+     * so that no builder or builder lambda has to be allocated
+     */
+
+    @Internal
+    public ExecutionStrategyParameters forField(MergedField currentField, ResultPath path) {
+        return new ExecutionStrategyParameters(executionStepInfo, source, localContext, fields, nonNullableFieldValidator,
+                path, currentField, this, deferredCallContext);
+    }
+
+    @Internal
+    public ExecutionStrategyParameters forValue(ExecutionStepInfo executionStepInfo,
+                                                NonNullableFieldValidator nonNullableFieldValidator,
+                                                ResultPath path,
+                                                Object source,
+                                                Object localContext) {
+        return new ExecutionStrategyParameters(executionStepInfo, source, localContext, fields, nonNullableFieldValidator,
+                path, currentField, parent, deferredCallContext);
+    }
+
     @Override
     public String toString() {
         return String.format("ExecutionStrategyParameters { path=%s, executionStepInfo=%s, source=%s, fields=%s }",
@@ -34,31 +34,36 @@ public class ResultPath {
     }
 
     private final ResultPath parent;
-    private final Object segment;
+    // a named segment has a name, a list segment has a null name and an index, so that indices are never boxed
+    private final String name;
+    private final int index;
 
     // hash is effective immutable but lazily initialized similar to the hash code of java.lang.String
     private int hash;
 
     private ResultPath() {
         parent = null;
-        segment = null;
+        name = null;
+        index = 0;
     }
 
     private ResultPath(ResultPath parent, String segment) {
         this.parent = assertNotNull(parent, () -> "Must provide a parent path");
-        this.segment = assertNotNull(segment, () -> "Must provide a sub path");
+        this.name = assertNotNull(segment, () -> "Must provide a sub path");
+        this.index = 0;
     }
 
     private ResultPath(ResultPath parent, int segment) {
         this.parent = assertNotNull(parent, () -> "Must provide a parent path");
-        this.segment = segment;
+        this.name = null;
+        this.index = segment;
     }
 
     public int getLevel() {
         int counter = 0;
         ResultPath currentPath = this;
         while (currentPath != null) {
-            if (currentPath.segment instanceof String) {
+            if (currentPath.name != null) {
                 counter++;
             }
             currentPath = currentPath.parent;
@@ -70,7 +75,7 @@ public class ResultPath {
         if (ROOT_PATH.equals(this)) {
             return ROOT_PATH;
         }
-        if (segment instanceof String) {
+        if (name != null) {
             return this;
         }
         return parent;
@@ -80,27 +85,33 @@ public class ResultPath {
      * @return true if the end of the path has a list style segment eg 'a/b[2]'
      */
     public boolean isListSegment() {
-        return segment instanceof Integer;
+        return parent != null && name == null;
     }
 
     /**
      * @return true if the end of the path has a named style segment eg 'a/b[2]/c'
      */
     public boolean isNamedSegment() {
-        return segment instanceof String;
+        return name != null;
     }
 
 
     public String getSegmentName() {
-        return (String) segment;
+        if (isListSegment()) {
+            throw new ClassCastException("The segment of '" + this + "' is a list index");
+        }
+        return name;
     }
 
     public int getSegmentIndex() {
-        return (int) segment;
+        if (!isListSegment()) {
+            throw new ClassCastException("The segment of '" + this + "' is not a list index");
+        }
+        return index;
     }
 
     public Object getSegmentValue() {
-        return segment;
+        return isListSegment() ? (Object) index : name;
     }
 
     public ResultPath getParent() {
@@ -261,8 +272,8 @@ public class ResultPath {
         }
         LinkedList<Object> list = new LinkedList<>();
         ResultPath p = this;
-        while (p.segment != null) {
-            list.addFirst(p.segment);
+        while (p.parent != null) {
+            list.addFirst(p.getSegmentValue());
             p = p.parent;
         }
         return ImmutableList.copyOf(list);
@@ -277,9 +288,9 @@ public class ResultPath {
         }
         LinkedList<String> list = new LinkedList<>();
         ResultPath p = this;
-        while (p.segment != null) {
-            if (p.segment instanceof String) {
-                list.addFirst((String) p.segment);
+        while (p.parent != null) {
+            if (p.name != null) {
+                list.addFirst(p.name);
             }
             p = p.parent;
         }
@@ -304,10 +315,10 @@ public class ResultPath {
     }
 
     public String segmentToString() {
-        if (segment instanceof String) {
-            return "/" + segment;
+        if (name != null) {
+            return "/" + name;
         } else {
-            return "[" + segment + "]";
+            return "[" + index + "]";
         }
     }
 
@@ -322,8 +333,8 @@ public class ResultPath {
 
         ResultPath self = this;
         ResultPath that = (ResultPath) o;
-        while (self.segment != null && that.segment != null) {
-            if (!Objects.equals(self.segment, that.segment)) {
+        while (self.parent != null && that.parent != null) {
+            if (!Objects.equals(self.name, that.name) || self.index != that.index) {
                 return false;
             }
             self = self.parent;
@@ -340,8 +351,8 @@ public class ResultPath {
             h = 1;
             ResultPath self = this;
             while (self != null) {
-                Object value = self.segment;
-                h = 31 * h + (value == null ? 0 : value.hashCode());
+                // the same as hashing the boxed segment values
+                h = 31 * h + (self.name != null ? self.name.hashCode() : self.index);
                 self = self.parent;
             }
             hash = h;
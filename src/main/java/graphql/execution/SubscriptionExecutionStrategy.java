@@ -2,6 +2,7 @@ package graphql.execution;
 
 import graphql.ExecutionResult;
 import graphql.ExecutionResultImpl;
+import graphql.ExperimentalApi;
 import graphql.PublicApi;
 import graphql.execution.instrumentation.ExecutionStrategyInstrumentationContext;
 import graphql.execution.instrumentation.Instrumentation;
@@ -9,6 +10,7 @@ import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionStrategyParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationFieldParameters;
+import graphql.execution.reactive.SubscriptionEventMapping;
 import graphql.execution.reactive.SubscriptionPublisher;
 import graphql.language.Field;
 import graphql.schema.GraphQLFieldDefinition;
@@ -19,6 +21,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 
+import static graphql.Assert.assertNotNull;
 import static graphql.Assert.assertTrue;
 import static graphql.execution.instrumentation.SimpleInstrumentationContext.nonNullCtx;
 import static java.util.Collections.singletonMap;
@@ -37,12 +40,67 @@ import static java.util.Collections.singletonMap;
 @PublicApi
 public class SubscriptionExecutionStrategy extends ExecutionStrategy {
 
+    private final SubscriptionFanOut subscriptionFanOut;
+    private final SubscriptionEventMapping subscriptionEventMapping;
+
     public SubscriptionExecutionStrategy() {
         super();
+        this.subscriptionFanOut = null;
+        this.subscriptionEventMapping = null;
     }
 
     public SubscriptionExecutionStrategy(DataFetcherExceptionHandler dataFetcherExceptionHandler) {
         super(dataFetcherExceptionHandler);
+        this.subscriptionFanOut = null;
+        this.subscriptionEventMapping = null;
+    }
+
+    /**
+     * Creates a strategy that executes each event once per group of identical subscriptions
+     *
+     * @param dataFetcherExceptionHandler the exception handler to use
+     * @param subscriptionFanOut          the fan out that groups the subscriptions
+     *
+     * @see SubscriptionFanOut
+     */
+    @ExperimentalApi
+    public SubscriptionExecutionStrategy(DataFetcherExceptionHandler dataFetcherExceptionHandler, SubscriptionFanOut subscriptionFanOut) {
+        super(dataFetcherExceptionHandler);
+        this.subscriptionFanOut = assertNotNull(subscriptionFanOut);
+        this.subscriptionEventMapping = null;
+    }
+
+    /**
+     * Creates a strategy that maps the events of each subscription as the given {@link SubscriptionEventMapping} says
+     *
+     * @param dataFetcherExceptionHandler the exception handler to use
+     * @param subscriptionEventMapping    how many events can be in flight and the order their results are published in
+     *
+     * @see SubscriptionEventMapping
+     */
+    @ExperimentalApi
+    public SubscriptionExecutionStrategy(DataFetcherExceptionHandler dataFetcherExceptionHandler, SubscriptionEventMapping subscriptionEventMapping) {
+        super(dataFetcherExceptionHandler);
+        this.subscriptionFanOut = null;
+        this.subscriptionEventMapping = assertNotNull(subscriptionEventMapping);
+    }
+
+    /**
+     * Creates a strategy that executes each event once per group of identical subscriptions, and maps the events of each
+     * group as the given {@link SubscriptionEventMapping} says
+     *
+     * @param dataFetcherExceptionHandler the exception handler to use
+     * @param subscriptionFanOut          the fan out that groups the subscriptions
+     * @param subscriptionEventMapping    how many events can be in flight and the order their results are published in
+     *
+     * @see SubscriptionFanOut
+     * @see SubscriptionEventMapping
+     */
+    @ExperimentalApi
+    public SubscriptionExecutionStrategy(DataFetcherExceptionHandler dataFetcherExceptionHandler, SubscriptionFanOut subscriptionFanOut, SubscriptionEventMapping subscriptionEventMapping) {
+        super(dataFetcherExceptionHandler);
+        this.subscriptionFanOut = assertNotNull(subscriptionFanOut);
+        this.subscriptionEventMapping = assertNotNull(subscriptionEventMapping);
     }
 
     @Override
@@ -63,8 +121,18 @@ public class SubscriptionExecutionStrategy extends ExecutionStrategy {
             if (publisher == null) {
                 return new ExecutionResultImpl(null, executionContext.getErrors());
             }
-            Function<Object, CompletionStage<ExecutionResult>> mapperFunction = eventPayload -> executeSubscriptionEvent(executionContext, parameters, eventPayload);
-            SubscriptionPublisher mapSourceToResponse = new SubscriptionPublisher(publisher, mapperFunction);
+            if (subscriptionFanOut != null) {
+                // the events are numbered so that the subscriptions of the group can tell which of them they share
+                SubscriptionFanOut.Group group = subscriptionFanOut.getGroup(executionContext);
+                Function<Object, CompletionStage<ExecutionResult>> mapperFunction = event -> {
+                    SubscriptionFanOut.SequencedEvent sequencedEvent = (SubscriptionFanOut.SequencedEvent) event;
+                    return executeSubscriptionEvent(executionContext, parameters, sequencedEvent.getEventPayload(), sequencedEvent);
+                };
+                SubscriptionPublisher mapSourceToResponse = new SubscriptionPublisher(publisher, group.sequenced(publisher), mapperFunction, subscriptionEventMapping);
+                return new ExecutionResultImpl(mapSourceToResponse, executionContext.getErrors());
+            }
+            Function<Object, CompletionStage<ExecutionResult>> mapperFunction = eventPayload -> executeSubscriptionEvent(executionContext, parameters, eventPayload, null);
+            SubscriptionPublisher mapSourceToResponse = new SubscriptionPublisher(publisher, mapperFunction, subscriptionEventMapping);
             return new ExecutionResultImpl(mapSourceToResponse, executionContext.getErrors());
         });
 
@@ -117,13 +185,9 @@ public class SubscriptionExecutionStrategy extends ExecutionStrategy {
         Note: The {ExecuteSubscriptionEvent()} algorithm is intentionally similar to {ExecuteQuery()} since this is how each event result is produced.
      */
 
-    private CompletableFuture<ExecutionResult> executeSubscriptionEvent(ExecutionContext executionContext, ExecutionStrategyParameters parameters, Object eventPayload) {
+    private CompletableFuture<ExecutionResult> executeSubscriptionEvent(ExecutionContext executionContext, ExecutionStrategyParameters parameters, Object eventPayload, SubscriptionFanOut.SequencedEvent sequencedEvent) {
         Instrumentation instrumentation = executionContext.getInstrumentation();
 
-        ExecutionContext newExecutionContext = executionContext.transform(builder -> builder
-                .root(eventPayload)
-                .resetErrors()
-        );
         ExecutionStrategyParameters newParameters = firstFieldOfSubscriptionSelection(parameters);
         ExecutionStepInfo subscribedFieldStepInfo = createSubscribedFieldStepInfo(executionContext, newParameters);
 
@@ -132,12 +196,10 @@ public class SubscriptionExecutionStrategy extends ExecutionStrategy {
                 i13nFieldParameters, executionContext.getInstrumentationState()
         ));
 
-        FetchedValue fetchedValue = unboxPossibleDataFetcherResult(newExecutionContext, parameters, eventPayload);
-        FieldValueInfo fieldValueInfo = completeField(newExecutionContext, newParameters, fetchedValue);
-        CompletableFuture<ExecutionResult> overallResult = fieldValueInfo
-                .getFieldValueFuture()
-                .thenApply(val -> new ExecutionResultImpl(val, newExecutionContext.getErrors()))
-                .thenApply(executionResult -> wrapWithRootFieldName(newParameters, executionResult));
+        // with a fan out only one subscription of the group executes the event and the others share its result
+        CompletableFuture<ExecutionResult> overallResult = sequencedEvent != null
+                ? sequencedEvent.getMember().execute(sequencedEvent.getSequence(), eventPayload, () -> executeSelectionSet(executionContext, parameters, newParameters, eventPayload))
+                : executeSelectionSet(executionContext, parameters, newParameters, eventPayload);
 
         // dispatch instrumentation so they can know about each subscription event
         subscribedFieldCtx.onDispatched();
@@ -151,6 +213,19 @@ public class SubscriptionExecutionStrategy extends ExecutionStrategy {
         return overallResult;
     }
 
+    private CompletableFuture<ExecutionResult> executeSelectionSet(ExecutionContext executionContext, ExecutionStrategyParameters parameters, ExecutionStrategyParameters newParameters, Object eventPayload) {
+        ExecutionContext newExecutionContext = executionContext.transform(builder -> builder
+                .root(eventPayload)
+                .resetErrors()
+        );
+        FetchedValue fetchedValue = unboxPossibleDataFetcherResult(newExecutionContext, parameters, eventPayload);
+        FieldValueInfo fieldValueInfo = completeField(newExecutionContext, newParameters, fetchedValue);
+        return fieldValueInfo
+                .getFieldValueFuture()
+                .thenApply(val -> new ExecutionResultImpl(val, newExecutionContext.getErrors()))
+                .thenApply(executionResult -> wrapWithRootFieldName(newParameters, executionResult));
+    }
+
     private ExecutionResult wrapWithRootFieldName(ExecutionStrategyParameters parameters, ExecutionResult executionResult) {
         String rootFieldName = getRootFieldName(parameters);
         return new ExecutionResultImpl(
@@ -0,0 +1,326 @@
+package graphql.execution;
+
+import com.google.common.collect.MapMaker;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.ExperimentalApi;
+import graphql.Internal;
+import graphql.language.AstPrinter;
+import graphql.schema.GraphQLSchema;
+import graphql.util.LockKit;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * Subscriptions that share a document, operation and variables and that are in the same partition are put in a group, and
+ * each event is then executed once per group rather than once per subscription, with the same {@link ExecutionResult}
+ * being published to every subscription in the group.
+ * <p>
+ * Put one on {@link SubscriptionExecutionStrategy#SubscriptionExecutionStrategy(DataFetcherExceptionHandler, SubscriptionFanOut)}
+ * to turn this on.
+ * <p>
+ * Events are matched by their position in the source publisher of each subscription, so this is only useful when the source
+ * publishers of the subscriptions in a group publish the same events in the same order, as a shared publisher per topic does.
+ * If the n-th events of two subscriptions are not equal, say because one subscription joined later, then each executes its
+ * own.  A result is held until every subscription of the group has gone past its event.
+ * <p>
+ * Since only one subscription in a group does the work, data fetchers of the selection set must not depend on anything
+ * particular to a subscription other than its variables.  If they depend on, say, the user in the context, then use
+ * {@link Builder#partitionKey(Function)} to put subscriptions of different users into different groups.
+ */
+@ExperimentalApi
+public class SubscriptionFanOut {
+
+    private final Function<ExecutionInput, Object> partitionKey;
+    // groups are referenced by their subscriptions so they go away once they have none
+    private final ConcurrentMap<GroupKey, Group> groups = new MapMaker().weakValues().makeMap();
+
+    private SubscriptionFanOut(Builder builder) {
+        this.partitionKey = builder.partitionKey;
+    }
+
+    /**
+     * @return the number of groups that currently have subscriptions
+     */
+    public int getGroupCount() {
+        return groups.size();
+    }
+
+    @Internal
+    public Group getGroup(ExecutionContext executionContext) {
+        GroupKey key = new GroupKey(executionContext.getGraphQLSchema(),
+                AstPrinter.printAstCompact(executionContext.getDocument()),
+                executionContext.getOperationDefinition().getName(),
+                executionContext.getCoercedVariables().toMap(),
+                partitionKey.apply(executionContext.getExecutionInput()));
+        return groups.computeIfAbsent(key, k -> new Group());
+    }
+
+    /**
+     * Each subscription joins the group when its source publisher is subscribed to, numbers the events of that publisher
+     * and leaves the group when the publisher terminates or is cancelled.
+     * <p>
+     * The result of the n-th event of a subscription is shared with the other subscriptions whose n-th event is the same
+     * event and is forgotten once every subscription that was in the group has gone past it.
+     */
+    @Internal
+    public static class Group {
+        private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+        // the state below is only used while holding the lock
+        private final Set<Member> members = new HashSet<>();
+        private final NavigableMap<Long, Entry> entries = new TreeMap<>();
+
+        public Publisher<Object> sequenced(Publisher<Object> sourcePublisher) {
+            return subscriber -> sourcePublisher.subscribe(new SequencingSubscriber(subscriber, join()));
+        }
+
+        private Member join() {
+            Member member = new Member();
+            lock.runLocked(() -> members.add(member));
+            return member;
+        }
+
+        public int getEntryCount() {
+            return lock.callLocked(entries::size);
+        }
+
+        public class Member {
+            // the sequence number of the last event this member has gone past
+            private long lastSequence;
+
+            public CompletableFuture<ExecutionResult> execute(long sequence, Object eventPayload, Supplier<CompletableFuture<ExecutionResult>> executeEvent) {
+                CompletableFuture<ExecutionResult> result = new CompletableFuture<>();
+                CompletableFuture<ExecutionResult> shared = lock.callLocked(() -> {
+                    passEntries(lastSequence, sequence - 1);
+                    lastSequence = sequence;
+                    Entry entry = entries.get(sequence);
+                    if (entry != null) {
+                        pass(sequence, entry);
+                        // the n-th events of subscriptions that joined at different times may not be the same event
+                        return Objects.equals(entry.eventPayload, eventPayload) ? entry.result : null;
+                    }
+                    int waiting = 0;
+                    for (Member member : members) {
+                        if (member != this && member.lastSequence < sequence) {
+                            waiting++;
+                        }
+                    }
+                    if (waiting > 0) {
+                        entries.put(sequence, new Entry(eventPayload, result, waiting));
+                    }
+                    return null;
+                });
+                if (shared != null) {
+                    return shared;
+                }
+                try {
+                    executeEvent.get().whenComplete((executionResult, throwable) -> {
+                        if (throwable != null) {
+                            result.completeExceptionally(throwable);
+                        } else {
+                            result.complete(executionResult);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+                return result;
+            }
+
+            public void leave() {
+                lock.runLocked(() -> {
+                    if (members.remove(this)) {
+                        passEntries(lastSequence, Long.MAX_VALUE);
+                    }
+                });
+            }
+
+            // this must be called while holding the lock
+            private void passEntries(long fromExclusive, long toInclusive) {
+                if (toInclusive <= fromExclusive) {
+                    return;
+                }
+                List<Long> sequences = new ArrayList<>(entries.subMap(fromExclusive, false, toInclusive, true).keySet());
+                for (Long sequence : sequences) {
+                    pass(sequence, entries.get(sequence));
+                }
+            }
+
+            // this must be called while holding the lock
+            private void pass(long sequence, Entry entry) {
+                if (--entry.waiting <= 0) {
+                    entries.remove(sequence);
+                }
+            }
+        }
+    }
+
+    private static class Entry {
+        private final Object eventPayload;
+        private final CompletableFuture<ExecutionResult> result;
+        private int waiting;
+
+        private Entry(Object eventPayload, CompletableFuture<ExecutionResult> result, int waiting) {
+            this.eventPayload = eventPayload;
+            this.result = result;
+            this.waiting = waiting;
+        }
+    }
+
+    /**
+     * An event of a source publisher together with its sequence number within that publisher
+     */
+    @Internal
+    public static class SequencedEvent {
+        private final Group.Member member;
+        private final long sequence;
+        private final Object eventPayload;
+
+        private SequencedEvent(Group.Member member, long sequence, Object eventPayload) {
+            this.member = member;
+            this.sequence = sequence;
+            this.eventPayload = eventPayload;
+        }
+
+        public Group.Member getMember() {
+            return member;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public Object getEventPayload() {
+            return eventPayload;
+        }
+    }
+
+    @SuppressWarnings("ReactiveStreamsSubscriberImplementation")
+    private static class SequencingSubscriber implements Subscriber<Object> {
+        private final Subscriber<? super Object> downstreamSubscriber;
+        private final Group.Member member;
+        // onNext is called serially so this needs no locking
+        private long sequence;
+
+        private SequencingSubscriber(Subscriber<? super Object> downstreamSubscriber, Group.Member member) {
+            this.downstreamSubscriber = downstreamSubscriber;
+            this.member = member;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            downstreamSubscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    subscription.request(n);
+                }
+
+                @Override
+                public void cancel() {
+                    member.leave();
+                    subscription.cancel();
+                }
+            });
+        }
+
+        @Override
+        public void onNext(Object eventPayload) {
+            downstreamSubscriber.onNext(new SequencedEvent(member, ++sequence, eventPayload));
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            member.leave();
+            downstreamSubscriber.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            member.leave();
+            downstreamSubscriber.onComplete();
+        }
+    }
+
+    private static class GroupKey {
+        private final GraphQLSchema schema;
+        private final String document;
+        private final String operationName;
+        private final Map<String, Object> variables;
+        private final Object partitionKey;
+
+        private GroupKey(GraphQLSchema schema, String document, String operationName, Map<String, Object> variables, Object partitionKey) {
+            this.schema = schema;
+            this.document = document;
+            this.operationName = operationName;
+            this.variables = variables;
+            this.partitionKey = partitionKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof GroupKey)) {
+                return false;
+            }
+            GroupKey that = (GroupKey) o;
+            return schema == that.schema
+                    && document.equals(that.document)
+                    && Objects.equals(operationName, that.operationName)
+                    && variables.equals(that.variables)
+                    && Objects.equals(partitionKey, that.partitionKey);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(schema);
+            result = 31 * result + document.hashCode();
+            result = 31 * result + Objects.hashCode(operationName);
+            result = 31 * result + variables.hashCode();
+            result = 31 * result + Objects.hashCode(partitionKey);
+            return result;
+        }
+    }
+
+    public static Builder newSubscriptionFanOut() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Function<ExecutionInput, Object> partitionKey = executionInput -> null;
+
+        /**
+         * Subscriptions are only grouped together if this function gives equal keys for their {@link ExecutionInput}s.  By
+         * default all subscriptions with the same document, operation and variables are in the same group.
+         *
+         * @param partitionKey a function that gives the partition key of a subscription, such as a user or tenant id from its context
+         *
+         * @return this builder
+         */
+        public Builder partitionKey(Function<ExecutionInput, Object> partitionKey) {
+            this.partitionKey = assertNotNull(partitionKey);
+            return this;
+        }
+
+        public SubscriptionFanOut build() {
+            return new SubscriptionFanOut(this);
+        }
+    }
+}
@@ -3,78 +3,178 @@ package graphql.execution.incremental;
 import graphql.Internal;
 import graphql.execution.reactive.SingleSubscriberPublisher;
 import graphql.incremental.DelayedIncrementalPartialResult;
+import graphql.incremental.IncrementalBatching;
 import graphql.incremental.IncrementalPayload;
 import graphql.util.LockKit;
 import org.reactivestreams.Publisher;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static graphql.Assert.assertNotNull;
 import static graphql.incremental.DelayedIncrementalPartialResultImpl.newIncrementalExecutionResult;
 
 /**
- * This provides support for @defer directives on fields that mean that results will be sent AFTER
+ * This provides support for @defer and @stream directives on fields that mean that results will be sent AFTER
  * the main result is sent via a Publisher stream.
+ * <p>
+ * Deferred calls are all started as soon as the main result is ready, but streamed calls are only started as the
+ * subscriber asks for more results, so that lists are not read any faster than they are consumed.  Streamed calls that
+ * are started by the subscriber asking for more are handed off to the common pool, so that reading and completing list
+ * items never runs inside {@link org.reactivestreams.Subscription#request(long)}.
  */
 @Internal
 public class IncrementalCallState {
     private final AtomicBoolean incrementalCallsDetected = new AtomicBoolean(false);
     private final Deque<IncrementalCall<? extends IncrementalPayload>> incrementalCalls = new ConcurrentLinkedDeque<>();
-    private final SingleSubscriberPublisher<DelayedIncrementalPartialResult> publisher = new SingleSubscriberPublisher<>();
+    private final SingleSubscriberPublisher<DelayedIncrementalPartialResult> publisher = new SingleSubscriberPublisher<>(() -> {
+    }, new StreamedCallDemand());
     private final AtomicInteger pendingCalls = new AtomicInteger();
     private final LockKit.ReentrantLock publisherLock = new LockKit.ReentrantLock();
+    // the batch state is only used while holding the publisherLock
+    private final List<IncrementalPayload> batch = new ArrayList<>();
+    private long batchNumber;
+    private volatile IncrementalBatching batching = IncrementalBatching.newIncrementalBatching().build();
+    // streamed calls are only invoked as the subscriber asks for results, and this state is only used while holding the publisherLock
+    private final Deque<StreamedCall> streamedCalls = new ArrayDeque<>();
+    private boolean started;
+    private boolean cancelled;
+    // how many results the subscriber has asked for and how many have been offered to it
+    private long resultsRequested;
+    private long resultsOffered;
+    // streamed calls that have been invoked but whose payloads are not yet part of an offered result
+    private long streamedCallsPending;
+    private int batchStreamedCount;
 
-    @SuppressWarnings("FutureReturnValueIgnored")
     private void drainIncrementalCalls() {
         IncrementalCall<? extends IncrementalPayload> incrementalCall = incrementalCalls.poll();
 
         while (incrementalCall != null) {
-            incrementalCall.invoke()
-                    .whenComplete((payload, exception) -> {
-                        if (exception != null) {
-                            publisher.offerError(exception);
-                            return;
-                        }
+            invokeIncrementalCall(incrementalCall);
+            incrementalCall = incrementalCalls.poll();
+        }
+        drainStreamedCalls();
+    }
+
+    private void drainStreamedCalls() {
+        StreamedCall streamedCall = pollStreamedCall();
+        while (streamedCall != null) {
+            invokeIncrementalCall(streamedCall);
+            streamedCall = pollStreamedCall();
+        }
+    }
 
-                        // The assigment of `remainingCalls` and `publisher.offer` need to be synchronized to ensure
-                        // `hasNext` is `false` precisely on the last event offered to the publisher.
-                        publisherLock.lock();
-                        final int remainingCalls;
+    private StreamedCall pollStreamedCall() {
+        return publisherLock.callLocked(() -> {
+            if (!started || cancelled || streamedCallsPending >= resultsRequested - resultsOffered) {
+                return null;
+            }
+            StreamedCall streamedCall = streamedCalls.poll();
+            if (streamedCall != null) {
+                streamedCallsPending++;
+            }
+            return streamedCall;
+        });
+    }
 
-                        try {
-                            remainingCalls = pendingCalls.decrementAndGet();
+    @SuppressWarnings("FutureReturnValueIgnored")
+    private void invokeIncrementalCall(IncrementalCall<? extends IncrementalPayload> incrementalCall) {
+        boolean streamed = incrementalCall instanceof StreamedCall;
+        incrementalCall.invoke()
+                .whenComplete((payload, exception) -> {
+                    if (exception != null) {
+                        // payloads that are already ready are still published ahead of the error
+                        publisherLock.runLocked(() -> publishBatch(pendingCalls.get() != 0));
+                        publisher.offerError(exception);
+                        return;
+                    }
 
-                            DelayedIncrementalPartialResult executionResult = newIncrementalExecutionResult()
-                                    .incrementalItems(Collections.singletonList(payload))
-                                    .hasNext(remainingCalls != 0)
-                                    .build();
+                    // The assigment of `remainingCalls` and `publisher.offer` need to be synchronized to ensure
+                    // `hasNext` is `false` precisely on the last event offered to the publisher.
+                    publisherLock.lock();
+                    final int remainingCalls;
 
-                            publisher.offer(executionResult);
-                        } finally {
-                            publisherLock.unlock();
+                    try {
+                        if (streamed) {
+                            batchStreamedCount++;
                         }
+                        remainingCalls = pendingCalls.decrementAndGet();
+                        batch.add(payload);
 
-                        if (remainingCalls == 0) {
-                            publisher.noMoreData();
-                        } else {
-                            // Nested calls were added, let's try to drain the queue again.
-                            drainIncrementalCalls();
+                        if (remainingCalls == 0 || batch.size() >= batching.getMaxBatchSize() || batching.getMaxDelay().isZero()) {
+                            publishBatch(remainingCalls != 0);
+                        } else if (batch.size() == 1) {
+                            // the first payload of a batch starts the clock on it
+                            schedulePublishBatch(batchNumber);
                         }
-                    });
-            incrementalCall = incrementalCalls.poll();
+                    } finally {
+                        publisherLock.unlock();
+                    }
+
+                    if (remainingCalls == 0) {
+                        publisher.noMoreData();
+                    } else {
+                        // Nested calls were added, let's try to drain the queue again.
+                        drainIncrementalCalls();
+                    }
+                });
+    }
+
+    // this must be called while holding the publisherLock
+    private void publishBatch(boolean hasNext) {
+        if (batch.isEmpty()) {
+            return;
         }
+        DelayedIncrementalPartialResult executionResult = newIncrementalExecutionResult()
+                .incrementalItems(new ArrayList<>(batch))
+                .hasNext(hasNext)
+                .build();
+        batch.clear();
+        batchNumber++;
+        resultsOffered++;
+        streamedCallsPending -= batchStreamedCount;
+        batchStreamedCount = 0;
+
+        publisher.offer(executionResult);
+    }
+
+    @SuppressWarnings("FutureReturnValueIgnored")
+    private void schedulePublishBatch(long scheduledBatchNumber) {
+        Executor delayedExecutor = CompletableFuture.delayedExecutor(batching.getMaxDelay().toNanos(), TimeUnit.NANOSECONDS);
+        CompletableFuture.runAsync(() -> publisherLock.runLocked(() -> {
+            // the batch may have filled up and been published before the delay was up
+            if (batchNumber == scheduledBatchNumber) {
+                publishBatch(pendingCalls.get() != 0);
+            }
+        }), delayedExecutor).thenRun(this::drainStreamedCalls);
     }
 
     public void enqueue(IncrementalCall<? extends IncrementalPayload> incrementalCall) {
-        publisherLock.runLocked(() -> {
+        boolean closeCall = publisherLock.callLocked(() -> {
+            if (incrementalCall instanceof StreamedCall && cancelled) {
+                return true;
+            }
             incrementalCallsDetected.set(true);
-            incrementalCalls.offer(incrementalCall);
+            if (incrementalCall instanceof StreamedCall) {
+                streamedCalls.offer((StreamedCall) incrementalCall);
+            } else {
+                incrementalCalls.offer(incrementalCall);
+            }
             pendingCalls.incrementAndGet();
+            return false;
         });
+        if (closeCall) {
+            ((StreamedCall) incrementalCall).close();
+        }
     }
 
     public void enqueue(Collection<IncrementalCall<? extends IncrementalPayload>> calls) {
@@ -91,7 +191,47 @@ public class IncrementalCallState {
      * @return the publisher of deferred results
      */
     public Publisher<DelayedIncrementalPartialResult> startDeferredCalls() {
+        publisherLock.runLocked(() -> started = true);
         drainIncrementalCalls();
         return publisher;
     }
+
+    /**
+     * When this is called the deferred execution will begin, with the payloads published in batches
+     *
+     * @param batching how ready payloads are batched together
+     *
+     * @return the publisher of deferred results
+     */
+    public Publisher<DelayedIncrementalPartialResult> startDeferredCalls(IncrementalBatching batching) {
+        this.batching = assertNotNull(batching);
+        return startDeferredCalls();
+    }
+
+    private class StreamedCallDemand implements SingleSubscriberPublisher.OnDemandCallback {
+        @Override
+        @SuppressWarnings("FutureReturnValueIgnored")
+        public void onDemand(long n) {
+            boolean drain = publisherLock.callLocked(() -> {
+                resultsRequested = resultsRequested + n < 0 ? Long.MAX_VALUE : resultsRequested + n;
+                return started && !cancelled && !streamedCalls.isEmpty();
+            });
+            // this is called by the subscriber and under the publisher's mutex, so the streamed calls are run elsewhere
+            if (drain) {
+                CompletableFuture.runAsync(IncrementalCallState.this::drainStreamedCalls);
+            }
+        }
+
+        @Override
+        public void onCancel() {
+            List<StreamedCall> toClose = publisherLock.callLocked(() -> {
+                cancelled = true;
+                List<StreamedCall> calls = new ArrayList<>(streamedCalls);
+                streamedCalls.clear();
+                return calls;
+            });
+            // the lists being streamed are not read any further once the subscriber has gone
+            toClose.forEach(StreamedCall::close);
+        }
+    }
 }
@@ -0,0 +1,251 @@
+package graphql.execution.incremental;
+
+import graphql.Internal;
+import graphql.util.FpKit;
+import graphql.util.LockKit;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * The items of a streamed list field, which are pulled one at a time so that no more of the list is read than has been
+ * asked for.
+ * <p>
+ * {@link #hasNext()} and {@link #next()} are called one after the other and never at the same time.
+ */
+@Internal
+public interface StreamSource {
+
+    /**
+     * @return a promise that is true if there is another item, in which case {@link #next()} can then be called
+     */
+    CompletableFuture<Boolean> hasNext();
+
+    /**
+     * @return the next item
+     */
+    Object next();
+
+    /**
+     * Stops reading items, say because the subscriber of the incremental results has gone away
+     */
+    void close();
+
+    /**
+     * Reads up to count items
+     *
+     * @param count the most items to read
+     *
+     * @return a promise to the items read
+     */
+    default CompletableFuture<List<Object>> take(int count) {
+        return take(new ArrayList<>(count), count);
+    }
+
+    private CompletableFuture<List<Object>> take(List<Object> items, int count) {
+        while (items.size() < count) {
+            CompletableFuture<Boolean> hasNext = hasNext();
+            if (!hasNext.isDone()) {
+                return hasNext.thenCompose(more -> {
+                    if (!more) {
+                        return CompletableFuture.completedFuture(items);
+                    }
+                    items.add(next());
+                    return take(items, count);
+                });
+            }
+            if (!hasNext.join()) {
+                break;
+            }
+            items.add(next());
+        }
+        return CompletableFuture.completedFuture(items);
+    }
+
+    /**
+     * @param value the value of a list field
+     *
+     * @return a stream source over the value or null if it is not a list
+     */
+    static StreamSource of(Object value) {
+        if (value instanceof Publisher) {
+            //noinspection unchecked
+            return new PublisherStreamSource((Publisher<Object>) value);
+        }
+        if (FpKit.isIterable(value)) {
+            return new IteratorStreamSource(FpKit.toIterable(value).iterator(), value instanceof Stream ? (Stream<?>) value : null);
+        }
+        return null;
+    }
+
+    class IteratorStreamSource implements StreamSource {
+        private final Iterator<Object> iterator;
+        private final Stream<?> stream;
+
+        IteratorStreamSource(Iterator<Object> iterator, Stream<?> stream) {
+            this.iterator = iterator;
+            this.stream = stream;
+        }
+
+        @Override
+        public CompletableFuture<Boolean> hasNext() {
+            try {
+                boolean hasNext = iterator.hasNext();
+                if (!hasNext) {
+                    // nothing more is read from an exhausted stream, so its resources can be released straight away
+                    close();
+                }
+                return CompletableFuture.completedFuture(hasNext);
+            } catch (RuntimeException e) {
+                close();
+                CompletableFuture<Boolean> failed = new CompletableFuture<>();
+                failed.completeExceptionally(e);
+                return failed;
+            }
+        }
+
+        @Override
+        public Object next() {
+            return iterator.next();
+        }
+
+        @Override
+        public void close() {
+            if (stream != null) {
+                stream.close();
+            }
+        }
+    }
+
+    /**
+     * Requests one item at a time from the publisher, and only when asked if there is another
+     */
+    @SuppressWarnings("ReactiveStreamsSubscriberImplementation")
+    class PublisherStreamSource implements StreamSource, Subscriber<Object> {
+        private final Publisher<Object> publisher;
+        private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+        private Subscription subscription;
+        private CompletableFuture<Boolean> pendingHasNext;
+        private boolean subscribed;
+        private boolean hasItem;
+        private Object item;
+        private boolean done;
+        private Throwable throwable;
+        private boolean closed;
+
+        PublisherStreamSource(Publisher<Object> publisher) {
+            this.publisher = publisher;
+        }
+
+        @Override
+        public CompletableFuture<Boolean> hasNext() {
+            CompletableFuture<Boolean> hasNext = new CompletableFuture<>();
+            boolean subscribe = false;
+            Subscription requestFrom = null;
+            lock.lock();
+            try {
+                if (hasItem) {
+                    hasNext.complete(true);
+                } else if (throwable != null) {
+                    hasNext.completeExceptionally(throwable);
+                } else if (done || closed) {
+                    hasNext.complete(false);
+                } else {
+                    pendingHasNext = hasNext;
+                    subscribe = !subscribed;
+                    subscribed = true;
+                    requestFrom = subscription;
+                }
+            } finally {
+                lock.unlock();
+            }
+            // the publisher is subscribed to when the first item is wanted and asked for one when onSubscribe is called
+            if (subscribe) {
+                publisher.subscribe(this);
+            } else if (requestFrom != null) {
+                requestFrom.request(1);
+            }
+            return hasNext;
+        }
+
+        @Override
+        public Object next() {
+            return lock.callLocked(() -> {
+                Object next = item;
+                item = null;
+                hasItem = false;
+                return next;
+            });
+        }
+
+        @Override
+        public void close() {
+            Subscription toCancel = lock.callLocked(() -> {
+                closed = true;
+                return subscription;
+            });
+            if (toCancel != null) {
+                toCancel.cancel();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            boolean cancel = lock.callLocked(() -> {
+                this.subscription = subscription;
+                return closed;
+            });
+            if (cancel) {
+                subscription.cancel();
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onNext(Object o) {
+            CompletableFuture<Boolean> hasNext = lock.callLocked(() -> {
+                item = o;
+                hasItem = true;
+                return takePendingHasNext();
+            });
+            if (hasNext != null) {
+                hasNext.complete(true);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            CompletableFuture<Boolean> hasNext = lock.callLocked(() -> {
+                throwable = t;
+                return takePendingHasNext();
+            });
+            if (hasNext != null) {
+                hasNext.completeExceptionally(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            CompletableFuture<Boolean> hasNext = lock.callLocked(() -> {
+                done = true;
+                return takePendingHasNext();
+            });
+            if (hasNext != null) {
+                hasNext.complete(false);
+            }
+        }
+
+        private CompletableFuture<Boolean> takePendingHasNext() {
+            CompletableFuture<Boolean> hasNext = pendingHasNext;
+            pendingHasNext = null;
+            return hasNext;
+        }
+    }
+}
@@ -1,19 +1,108 @@
 package graphql.execution.incremental;
 
+import graphql.GraphQLError;
 import graphql.Internal;
+import graphql.execution.NonNullableFieldWasNullError;
+import graphql.execution.NonNullableFieldWasNullException;
+import graphql.execution.ResultPath;
 import graphql.incremental.StreamPayload;
 
+import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Represents a call that fetches data that was streamed, via the @stream directive.
  * <p>
- * This is a placeholder class, created to showcase the proposed structure that accommodates both @defer and @stream execution.
+ * Each call reads and completes one item of the list.  Once it has its item, it checks whether the list has another and,
+ * if so, enqueues the call for that item before its own payload is published, so that `hasNext` stays true until the
+ * last item.  Streamed calls are only invoked when the subscriber of the incremental results has asked for more, see
+ * {@link IncrementalCallState}.
+ * <p>
+ * For example, this query:
+ * <pre>
+ * {
+ *     posts @stream(initialCount: 1) {
+ *         title
+ *     }
+ * }
+ * </pre>
+ * Will send the first post with the initial result and then have one `StreamedCall` per remaining post.
  */
 @Internal
 public class StreamedCall implements IncrementalCall<StreamPayload> {
+
+    /**
+     * Completes a list item, in the same way as the items that are not streamed are
+     */
+    public interface ItemCompleter {
+        CompletableFuture<Object> completeItem(Object item, int index, DeferredCallContext deferredCallContext);
+    }
+
+    private final String label;
+    private final ResultPath listPath;
+    private final int index;
+    private final StreamSource streamSource;
+    private final ItemCompleter itemCompleter;
+    private final IncrementalCallState incrementalCallState;
+
+    public StreamedCall(String label, ResultPath listPath, int index, StreamSource streamSource, ItemCompleter itemCompleter, IncrementalCallState incrementalCallState) {
+        this.label = label;
+        this.listPath = listPath;
+        this.index = index;
+        this.streamSource = streamSource;
+        this.itemCompleter = itemCompleter;
+        this.incrementalCallState = incrementalCallState;
+    }
+
     @Override
     public CompletableFuture<StreamPayload> invoke() {
-        throw new UnsupportedOperationException("Not implemented yet.");
+        DeferredCallContext deferredCallContext = new DeferredCallContext();
+        ResultPath itemPath = listPath.segment(index);
+
+        CompletableFuture<Object> completedItem;
+        try {
+            completedItem = itemCompleter.completeItem(streamSource.next(), index, deferredCallContext);
+        } catch (RuntimeException e) {
+            completedItem = new CompletableFuture<>();
+            completedItem.completeExceptionally(e);
+        }
+        return completedItem
+                .thenCompose(value -> streamSource.hasNext().thenApply(more -> {
+                    if (more) {
+                        incrementalCallState.enqueue(new StreamedCall(label, listPath, index + 1, streamSource, itemCompleter, incrementalCallState));
+                    }
+                    return StreamPayload.newStreamedItem()
+                            .items(Collections.singletonList(value))
+                            .errors(deferredCallContext.getErrors())
+                            .path(itemPath)
+                            .label(label)
+                            .build();
+                }))
+                .handle((payload, throwable) -> {
+                    if (throwable == null) {
+                        return payload;
+                    }
+                    Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                    if (cause instanceof NonNullableFieldWasNullException) {
+                        // a non-null item that is null ends the stream, with the error in place of the item
+                        streamSource.close();
+                        GraphQLError error = new NonNullableFieldWasNullError((NonNullableFieldWasNullException) cause);
+                        return StreamPayload.newStreamedItem()
+                                .errors(Collections.singletonList(error))
+                                .path(itemPath)
+                                .label(label)
+                                .build();
+                    }
+                    streamSource.close();
+                    throw cause instanceof CompletionException ? (CompletionException) cause : new CompletionException(cause);
+                });
+    }
+
+    /**
+     * Stops reading the list, say because the subscriber of the incremental results has gone away
+     */
+    public void close() {
+        streamSource.close();
     }
 }
@@ -0,0 +1,31 @@
+package graphql.execution.incremental;
+
+import graphql.ExperimentalApi;
+
+import javax.annotation.Nullable;
+
+/**
+ * Represents details about the stream execution that can be associated with a list {@link graphql.execution.MergedField}.
+ */
+@ExperimentalApi
+public class StreamedExecution {
+    private final String label;
+    private final int initialCount;
+
+    public StreamedExecution(String label, int initialCount) {
+        this.label = label;
+        this.initialCount = initialCount;
+    }
+
+    @Nullable
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return the number of list items that are sent with the initial result
+     */
+    public int getInitialCount() {
+        return initialCount;
+    }
+}
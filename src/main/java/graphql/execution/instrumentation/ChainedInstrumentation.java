@@ -50,8 +50,23 @@ public class ChainedInstrumentation implements Instrumentation {
 
     protected final ImmutableList<Instrumentation> instrumentations;
 
+    // the indexes of the instrumentations that override each of the hooks called per object or per field, so
+    // that the ones that inherit the no-op implementation are never called for them
+    private final int[] beginExecuteObjectIndexes;
+    private final int[] beginFieldExecutionIndexes;
+    private final int[] beginFieldFetchIndexes;
+    private final int[] beginFieldCompletionIndexes;
+    private final int[] beginFieldListCompletionIndexes;
+    private final int[] instrumentDataFetcherIndexes;
+
     public ChainedInstrumentation(List<Instrumentation> instrumentations) {
         this.instrumentations = ImmutableList.copyOf(assertNotNull(instrumentations));
+        this.beginExecuteObjectIndexes = overridingIndexes(this.instrumentations, "beginExecuteObject", InstrumentationExecutionStrategyParameters.class, InstrumentationState.class);
+        this.beginFieldExecutionIndexes = overridingIndexes(this.instrumentations, "beginFieldExecution", InstrumentationFieldParameters.class, InstrumentationState.class);
+        this.beginFieldFetchIndexes = overridingIndexes(this.instrumentations, "beginFieldFetch", InstrumentationFieldFetchParameters.class, InstrumentationState.class);
+        this.beginFieldCompletionIndexes = overridingIndexes(this.instrumentations, "beginFieldCompletion", InstrumentationFieldCompleteParameters.class, InstrumentationState.class);
+        this.beginFieldListCompletionIndexes = overridingIndexes(this.instrumentations, "beginFieldListCompletion", InstrumentationFieldCompleteParameters.class, InstrumentationState.class);
+        this.instrumentDataFetcherIndexes = overridingIndexes(this.instrumentations, "instrumentDataFetcher", DataFetcher.class, InstrumentationFieldFetchParameters.class, InstrumentationState.class);
     }
 
     public ChainedInstrumentation(Instrumentation... instrumentations) {
@@ -78,6 +93,29 @@ public class ChainedInstrumentation implements Instrumentation {
         return new ChainedInstrumentationContext<>(chainedMapAndDropNulls(chainedInstrumentationState, mapper));
     }
 
+    /*
+     * Calls the mapper for the instrumentations at the given indexes only.  The parameters are passed through rather
+     * than captured so that the mapper lambdas don't need to be allocated per call.
+     */
+    private <P, T> InstrumentationContext<T> chainedCtx(int[] indexes, InstrumentationState state, P parameters, ChainedInstrumentationFunction<Instrumentation, InstrumentationState, P, InstrumentationContext<T>> mapper) {
+        if (indexes.length == 0) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        ChainedInstrumentationState chainedInstrumentationState = (ChainedInstrumentationState) state;
+        if (indexes.length == 1) {
+            int index = indexes[0];
+            return mapper.apply(instrumentations.get(index), chainedInstrumentationState.getState(index), parameters);
+        }
+        ImmutableList.Builder<InstrumentationContext<T>> contexts = ImmutableList.builderWithExpectedSize(indexes.length);
+        for (int index : indexes) {
+            InstrumentationContext<T> context = mapper.apply(instrumentations.get(index), chainedInstrumentationState.getState(index), parameters);
+            if (context != null) {
+                contexts.add(context);
+            }
+        }
+        return new ChainedInstrumentationContext<>(contexts.build());
+    }
+
     private <T> T chainedInstrument(InstrumentationState state, T input, ChainedInstrumentationFunction<Instrumentation, InstrumentationState, T, T> mapper) {
         ChainedInstrumentationState chainedInstrumentationState = (ChainedInstrumentationState) state;
         for (int i = 0; i < instrumentations.size(); i++) {
@@ -88,6 +126,26 @@ public class ChainedInstrumentation implements Instrumentation {
         return input;
     }
 
+    private static int[] overridingIndexes(List<Instrumentation> instrumentations, String methodName, Class<?>... parameterTypes) {
+        int[] indexes = new int[instrumentations.size()];
+        int count = 0;
+        for (int i = 0; i < instrumentations.size(); i++) {
+            if (overrides(instrumentations.get(i).getClass(), methodName, parameterTypes)) {
+                indexes[count++] = i;
+            }
+        }
+        return Arrays.copyOf(indexes, count);
+    }
+
+    private static boolean overrides(Class<?> instrumentationClass, String methodName, Class<?>... parameterTypes) {
+        try {
+            Class<?> declaringClass = instrumentationClass.getMethod(methodName, parameterTypes).getDeclaringClass();
+            return declaringClass != Instrumentation.class && declaringClass != SimplePerformantInstrumentation.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
     protected <T> ImmutableList<T> chainedMapAndDropNulls(InstrumentationState state, BiFunction<Instrumentation, InstrumentationState, T> mapper) {
         ChainedInstrumentationState chainedInstrumentationState = (ChainedInstrumentationState) state;
         ImmutableList.Builder<T> result = ImmutableList.builderWithExpectedSize(instrumentations.size());
@@ -154,15 +212,22 @@ public class ChainedInstrumentation implements Instrumentation {
 
     @Override
     public @Nullable ExecuteObjectInstrumentationContext beginExecuteObject(InstrumentationExecutionStrategyParameters parameters, InstrumentationState state) {
-        if (instrumentations.isEmpty()) {
+        int[] indexes = beginExecuteObjectIndexes;
+        if (indexes.length == 0) {
             return ExecuteObjectInstrumentationContext.NOOP;
         }
-        BiFunction<Instrumentation, InstrumentationState, ExecuteObjectInstrumentationContext> mapper = (instrumentation, specificState) -> instrumentation.beginExecuteObject(parameters, specificState);
         ChainedInstrumentationState chainedInstrumentationState = (ChainedInstrumentationState) state;
-         if (instrumentations.size() == 1) {
-            return mapper.apply(instrumentations.get(0), chainedInstrumentationState.getState(0));
+        if (indexes.length == 1) {
+            return instrumentations.get(indexes[0]).beginExecuteObject(parameters, chainedInstrumentationState.getState(indexes[0]));
+        }
+        ImmutableList.Builder<ExecuteObjectInstrumentationContext> contexts = ImmutableList.builderWithExpectedSize(indexes.length);
+        for (int index : indexes) {
+            ExecuteObjectInstrumentationContext context = instrumentations.get(index).beginExecuteObject(parameters, chainedInstrumentationState.getState(index));
+            if (context != null) {
+                contexts.add(context);
+            }
         }
-        return new ChainedExecuteObjectInstrumentationContext(chainedMapAndDropNulls(chainedInstrumentationState, mapper));
+        return new ChainedExecuteObjectInstrumentationContext(contexts.build());
     }
 
     @ExperimentalApi
@@ -179,23 +244,23 @@ public class ChainedInstrumentation implements Instrumentation {
 
     @Override
     public @Nullable InstrumentationContext<Object> beginFieldExecution(InstrumentationFieldParameters parameters, InstrumentationState state) {
-        return chainedCtx(state, (instrumentation, specificState) -> instrumentation.beginFieldExecution(parameters, specificState));
+        return chainedCtx(beginFieldExecutionIndexes, state, parameters, (instrumentation, specificState, fieldParameters) -> instrumentation.beginFieldExecution(fieldParameters, specificState));
     }
 
     @Override
     public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
-        return chainedCtx(state, (instrumentation, specificState) -> instrumentation.beginFieldFetch(parameters, specificState));
+        return chainedCtx(beginFieldFetchIndexes, state, parameters, (instrumentation, specificState, fieldParameters) -> instrumentation.beginFieldFetch(fieldParameters, specificState));
     }
 
     @Override
     public @Nullable InstrumentationContext<Object> beginFieldCompletion(InstrumentationFieldCompleteParameters parameters, InstrumentationState state) {
-        return chainedCtx(state, (instrumentation, specificState) -> instrumentation.beginFieldCompletion(parameters, specificState));
+        return chainedCtx(beginFieldCompletionIndexes, state, parameters, (instrumentation, specificState, fieldParameters) -> instrumentation.beginFieldCompletion(fieldParameters, specificState));
     }
 
 
     @Override
     public @Nullable InstrumentationContext<Object> beginFieldListCompletion(InstrumentationFieldCompleteParameters parameters, InstrumentationState state) {
-        return chainedCtx(state, (instrumentation, specificState) -> instrumentation.beginFieldListCompletion(parameters, specificState));
+        return chainedCtx(beginFieldListCompletionIndexes, state, parameters, (instrumentation, specificState, fieldParameters) -> instrumentation.beginFieldListCompletion(fieldParameters, specificState));
     }
 
     @NotNull
@@ -228,8 +293,15 @@ public class ChainedInstrumentation implements Instrumentation {
     @NotNull
     @Override
     public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
-        return chainedInstrument(state, dataFetcher, (Instrumentation instrumentation, InstrumentationState specificState, DataFetcher<?> accumulator) ->
-                instrumentation.instrumentDataFetcher(accumulator, parameters, specificState));
+        int[] indexes = instrumentDataFetcherIndexes;
+        if (indexes.length == 0) {
+            return dataFetcher;
+        }
+        ChainedInstrumentationState chainedInstrumentationState = (ChainedInstrumentationState) state;
+        for (int index : indexes) {
+            dataFetcher = instrumentations.get(index).instrumentDataFetcher(dataFetcher, parameters, chainedInstrumentationState.getState(index));
+        }
+        return dataFetcher;
     }
 
     @NotNull
@@ -277,12 +349,16 @@ public class ChainedInstrumentation implements Instrumentation {
 
         @Override
         public void onDispatched() {
-            contexts.forEach(InstrumentationContext::onDispatched);
+            for (int i = 0; i < contexts.size(); i++) {
+                contexts.get(i).onDispatched();
+            }
         }
 
         @Override
         public void onCompleted(T result, Throwable t) {
-            contexts.forEach(context -> context.onCompleted(result, t));
+            for (int i = 0; i < contexts.size(); i++) {
+                contexts.get(i).onCompleted(result, t);
+            }
         }
     }
 
@@ -0,0 +1,35 @@
+package graphql.execution.instrumentation.dataloader;
+
+import graphql.ExperimentalApi;
+import graphql.GraphQLContext;
+
+/**
+ * {@link GraphQLContext} keys that control how {@link org.dataloader.DataLoader}s are dispatched during execution.
+ */
+@ExperimentalApi
+public final class DataLoaderDispatchingContextKeys {
+
+    private DataLoaderDispatchingContextKeys() {
+    }
+
+    /**
+     * When associated with true, data loaders are dispatched as soon as the engine has no more work it can do without
+     * them, rather than when every field of a level has been fetched.  This lets independent parts of a query progress
+     * without waiting on a slow field elsewhere at the same level, at the cost of potentially smaller batches.
+     * <p>
+     * This only applies to queries executed with {@link graphql.execution.AsyncExecutionStrategy}.
+     */
+    public static final String ENABLE_EAGER_DISPATCH = "__GJ_enable_eager_data_loader_dispatch";
+
+    /**
+     * Enables or disables eager data loader dispatching for an execution
+     *
+     * @param graphQLContext the context of the execution
+     * @param enabled        true to dispatch eagerly
+     *
+     * @see #ENABLE_EAGER_DISPATCH
+     */
+    public static void setEnableEagerDispatch(GraphQLContext graphQLContext, boolean enabled) {
+        graphQLContext.put(ENABLE_EAGER_DISPATCH, enabled);
+    }
+}
@@ -0,0 +1,93 @@
+package graphql.execution.instrumentation.dataloader;
+
+import graphql.Internal;
+import graphql.execution.DataLoaderDispatchStrategy;
+import graphql.execution.ExecutionContext;
+import graphql.execution.ExecutionStrategyParameters;
+import graphql.schema.DataFetcher;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dispatches the data loaders as soon as the engine runs out of work it can do without them, rather than waiting for
+ * a whole level of fields to be fetched like {@link PerLevelDataLoaderDispatchStrategy} does.
+ * <p>
+ * Every strategy and object execution is counted as running from when it starts until all its field fetches have been
+ * started.  When nothing is running, every field that could be fetched has been, so pending loads are dispatched.
+ * <p>
+ * Batches that are already in flight do not hold back newly queued loads, so a slow batch does not delay unrelated parts
+ * of the query.  A batch completing also triggers a dispatch, so that loads chained off the results of other loads are
+ * dispatched too.
+ */
+@Internal
+public class EagerDataLoaderDispatchStrategy implements DataLoaderDispatchStrategy {
+
+    private final ExecutionContext executionContext;
+    private final AtomicInteger running = new AtomicInteger();
+
+    public EagerDataLoaderDispatchStrategy(ExecutionContext executionContext) {
+        this.executionContext = executionContext;
+    }
+
+    @Override
+    public void executionStrategy(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+        running.incrementAndGet();
+    }
+
+    @Override
+    public void executionStrategyOnFieldFetchesStarted(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+        finishedRunning();
+    }
+
+    @Override
+    public void executeObject(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+        running.incrementAndGet();
+    }
+
+    @Override
+    public void executeObjectOnFieldFetchesStarted(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+        finishedRunning();
+    }
+
+    @Override
+    public void fieldFetched(ExecutionContext executionContext,
+                             ExecutionStrategyParameters executionStrategyParameters,
+                             DataFetcher<?> dataFetcher,
+                             Object fetchedValue) {
+        // fetches outside a counted execution, such as deferred fields, would otherwise have nothing to dispatch them
+        if (running.get() == 0) {
+            dispatch();
+        }
+    }
+
+    private void finishedRunning() {
+        if (running.decrementAndGet() == 0) {
+            dispatch();
+        }
+    }
+
+    private void batchCompleted() {
+        if (running.get() == 0) {
+            dispatch();
+        }
+    }
+
+    private void dispatch() {
+        DataLoaderRegistry dataLoaderRegistry = executionContext.getDataLoaderRegistry();
+        while (dataLoaderRegistry.dispatchDepth() > 0) {
+            // the dispatch counts as running so that batches completing during it don't dispatch on their own
+            running.incrementAndGet();
+            for (DataLoader<?, ?> dataLoader : dataLoaderRegistry.getDataLoaders()) {
+                if (dataLoader.dispatchDepth() > 0) {
+                    dataLoader.dispatch().whenComplete((values, throwable) -> batchCompleted());
+                }
+            }
+            // batches that completed straight away may have queued more loads
+            if (running.decrementAndGet() != 0) {
+                return;
+            }
+        }
+    }
+}
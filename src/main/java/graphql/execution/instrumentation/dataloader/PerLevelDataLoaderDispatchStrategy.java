@@ -1,6 +1,5 @@
 package graphql.execution.instrumentation.dataloader;
 
-import graphql.Assert;
 import graphql.Internal;
 import graphql.execution.DataLoaderDispatchStrategy;
 import graphql.execution.ExecutionContext;
@@ -8,12 +7,13 @@ import graphql.execution.ExecutionStrategyParameters;
 import graphql.execution.FieldValueInfo;
 import graphql.execution.MergedField;
 import graphql.schema.DataFetcher;
-import graphql.util.LockKit;
 import org.dataloader.DataLoaderRegistry;
 
-import java.util.LinkedHashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Internal
 public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStrategy {
@@ -22,73 +22,110 @@ public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStr
     private final ExecutionContext executionContext;
 
 
+    /*
+     * The call stack counts, per level, how many strategy calls, on field value calls and fetches are still outstanding.
+     * It is lock free: each counter is an atomic "expected minus happened" count and the readiness of a level is
+     * decided by reading them in dependency order.
+     *
+     * A counter may transiently be wrong (even negative) while the level above it is still adding expectations, but
+     * once the level above is ready and all its on field value calls have happened, the expectations of this level are
+     * final and its counters only ever go down.  Each update that adds expectations to a level is made before the
+     * update that marks the cause as done, so reading a counter of zero means every expectation it depends on is visible.
+     */
     private static class CallStack {
 
-        private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
-        private final LevelMap expectedFetchCountPerLevel = new LevelMap();
-        private final LevelMap fetchCountPerLevel = new LevelMap();
-        private final LevelMap expectedStrategyCallsPerLevel = new LevelMap();
-        private final LevelMap happenedStrategyCallsPerLevel = new LevelMap();
-        private final LevelMap happenedOnFieldValueCallsPerLevel = new LevelMap();
-
-        private final Set<Integer> dispatchedLevels = new LinkedHashSet<>();
+        private final AtomicReference<Level[]> levels = new AtomicReference<>(newLevels(new Level[0], 16));
 
         public CallStack() {
-            expectedStrategyCallsPerLevel.set(1, 1);
-        }
-
-        void increaseExpectedFetchCount(int level, int count) {
-            expectedFetchCountPerLevel.increment(level, count);
-        }
-
-        void increaseFetchCount(int level) {
-            fetchCountPerLevel.increment(level, 1);
+            Level level1 = level(1);
+            level1.outstandingStrategyCalls.set(1);
+            level1.outstandingOnFieldValueCalls.set(1);
         }
 
-        void increaseExpectedStrategyCalls(int level, int count) {
-            expectedStrategyCallsPerLevel.increment(level, count);
+        private static Level[] newLevels(Level[] existing, int size) {
+            Level[] result = Arrays.copyOf(existing, size);
+            for (int i = existing.length; i < size; i++) {
+                result[i] = new Level();
+            }
+            return result;
+        }
+
+        Level level(int level) {
+            Level[] current = levels.get();
+            while (level >= current.length) {
+                Level[] grown = newLevels(current, Math.max(level + 1, current.length * 2));
+                if (levels.compareAndSet(current, grown)) {
+                    current = grown;
+                } else {
+                    current = levels.get();
+                }
+            }
+            return current[level];
         }
 
-        void increaseHappenedStrategyCalls(int level) {
-            happenedStrategyCallsPerLevel.increment(level, 1);
+        void strategyCallHappened(int level, int fieldCount) {
+            Level currentLevel = level(level);
+            // expectations first - see the class comment
+            currentLevel.outstandingFetches.addAndGet(fieldCount);
+            currentLevel.outstandingStrategyCalls.decrementAndGet();
         }
 
-        void increaseHappenedOnFieldValueCalls(int level) {
-            happenedOnFieldValueCallsPerLevel.increment(level, 1);
+        void onFieldValueCallHappened(int level, int expectedStrategyCallsOnNextLevel) {
+            if (expectedStrategyCallsOnNextLevel > 0) {
+                Level nextLevel = level(level + 1);
+                nextLevel.outstandingStrategyCalls.addAndGet(expectedStrategyCallsOnNextLevel);
+                nextLevel.outstandingOnFieldValueCalls.addAndGet(expectedStrategyCallsOnNextLevel);
+            }
+            level(level).outstandingOnFieldValueCalls.decrementAndGet();
         }
 
-        boolean allStrategyCallsHappened(int level) {
-            return happenedStrategyCallsPerLevel.get(level) == expectedStrategyCallsPerLevel.get(level);
+        void fetchHappened(int level) {
+            level(level).outstandingFetches.decrementAndGet();
         }
 
-        boolean allOnFieldCallsHappened(int level) {
-            return happenedOnFieldValueCallsPerLevel.get(level) == expectedStrategyCallsPerLevel.get(level);
+        boolean levelReady(int level) {
+            if (level == 1) {
+                // level 1 is special: there is only one strategy call and that's it
+                return level(1).outstandingFetches.get() == 0;
+            }
+            if (!levelReady(level - 1)) {
+                return false;
+            }
+            if (level(level - 1).outstandingOnFieldValueCalls.get() != 0) {
+                return false;
+            }
+            Level currentLevel = level(level);
+            return currentLevel.outstandingStrategyCalls.get() == 0 && currentLevel.outstandingFetches.get() == 0;
         }
 
-        boolean allFetchesHappened(int level) {
-            return fetchCountPerLevel.get(level) == expectedFetchCountPerLevel.get(level);
+        boolean dispatchIfNotDispatchedBefore(int level) {
+            // two threads can both see a level become ready - only one of them dispatches it
+            return level(level).dispatched.compareAndSet(false, true);
         }
 
         @Override
         public String toString() {
-            return "CallStack{" +
-                    "expectedFetchCountPerLevel=" + expectedFetchCountPerLevel +
-                    ", fetchCountPerLevel=" + fetchCountPerLevel +
-                    ", expectedStrategyCallsPerLevel=" + expectedStrategyCallsPerLevel +
-                    ", happenedStrategyCallsPerLevel=" + happenedStrategyCallsPerLevel +
-                    ", happenedOnFieldValueCallsPerLevel=" + happenedOnFieldValueCallsPerLevel +
-                    ", dispatchedLevels" + dispatchedLevels +
-                    '}';
+            StringBuilder result = new StringBuilder("CallStack{");
+            Level[] current = levels.get();
+            for (int i = 1; i < current.length; i++) {
+                result.append("level=").append(i).append(",").append(current[i]).append(" ");
+            }
+            return result.append('}').toString();
         }
+    }
 
+    private static class Level {
+        private final AtomicInteger outstandingStrategyCalls = new AtomicInteger();
+        private final AtomicInteger outstandingOnFieldValueCalls = new AtomicInteger();
+        private final AtomicInteger outstandingFetches = new AtomicInteger();
+        private final AtomicBoolean dispatched = new AtomicBoolean();
 
-        public boolean dispatchIfNotDispatchedBefore(int level) {
-            if (dispatchedLevels.contains(level)) {
-                Assert.assertShouldNeverHappen("level " + level + " already dispatched");
-                return false;
-            }
-            dispatchedLevels.add(level);
-            return true;
+        @Override
+        public String toString() {
+            return "outstandingStrategyCalls=" + outstandingStrategyCalls +
+                    ",outstandingOnFieldValueCalls=" + outstandingOnFieldValueCalls +
+                    ",outstandingFetches=" + outstandingFetches +
+                    ",dispatched=" + dispatched;
         }
     }
 
@@ -102,6 +139,11 @@ public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStr
         throw new UnsupportedOperationException("Data Loaders cannot be used to resolve deferred fields");
     }
 
+    @Override
+    public void streamedField(ExecutionContext executionContext, MergedField currentField) {
+        throw new UnsupportedOperationException("Data Loaders cannot be used to resolve streamed fields");
+    }
+
     @Override
     public void executionStrategy(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
         int curLevel = parameters.getExecutionStepInfo().getPath().getLevel() + 1;
@@ -116,9 +158,7 @@ public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStr
 
     public void executionStrategyOnFieldValuesException(Throwable t, ExecutionStrategyParameters executionStrategyParameters) {
         int curLevel = executionStrategyParameters.getPath().getLevel() + 1;
-        callStack.lock.runLocked(() ->
-                callStack.increaseHappenedOnFieldValueCalls(curLevel)
-        );
+        callStack.onFieldValueCallHappened(curLevel, 0);
     }
 
 
@@ -138,39 +178,23 @@ public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStr
     @Override
     public void executeObjectOnFieldValuesException(Throwable t, ExecutionStrategyParameters parameters) {
         int curLevel = parameters.getPath().getLevel() + 1;
-        callStack.lock.runLocked(() ->
-                callStack.increaseHappenedOnFieldValueCalls(curLevel)
-        );
+        callStack.onFieldValueCallHappened(curLevel, 0);
     }
 
 
     private void increaseCallCounts(int curLevel, ExecutionStrategyParameters executionStrategyParameters) {
         int fieldCount = executionStrategyParameters.getFields().size();
-        callStack.lock.runLocked(() -> {
-            callStack.increaseExpectedFetchCount(curLevel, fieldCount);
-            callStack.increaseHappenedStrategyCalls(curLevel);
-        });
+        callStack.strategyCallHappened(curLevel, fieldCount);
     }
 
     private void onFieldValuesInfoDispatchIfNeeded(List<FieldValueInfo> fieldValueInfoList, int curLevel, ExecutionStrategyParameters parameters) {
-        boolean dispatchNeeded = callStack.lock.callLocked(() ->
-                handleOnFieldValuesInfo(fieldValueInfoList, curLevel)
-        );
-        if (dispatchNeeded) {
+        int expectedStrategyCalls = getCountForList(fieldValueInfoList);
+        callStack.onFieldValueCallHappened(curLevel, expectedStrategyCalls);
+        if (dispatchIfNeeded(curLevel + 1)) {
             dispatch(curLevel);
         }
     }
 
-    //
-// thread safety: called with callStack.lock
-//
-    private boolean handleOnFieldValuesInfo(List<FieldValueInfo> fieldValueInfos, int curLevel) {
-        callStack.increaseHappenedOnFieldValueCalls(curLevel);
-        int expectedStrategyCalls = getCountForList(fieldValueInfos);
-        callStack.increaseExpectedStrategyCalls(curLevel + 1, expectedStrategyCalls);
-        return dispatchIfNeeded(curLevel + 1);
-    }
-
     private int getCountForList(List<FieldValueInfo> fieldValueInfos) {
         int result = 0;
         for (FieldValueInfo fieldValueInfo : fieldValueInfos) {
@@ -190,45 +214,25 @@ public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStr
                              DataFetcher<?> dataFetcher,
                              Object fetchedValue) {
         int level = executionStrategyParameters.getPath().getLevel();
-        boolean dispatchNeeded = callStack.lock.callLocked(() -> {
-            callStack.increaseFetchCount(level);
-            return dispatchIfNeeded(level);
-        });
-        if (dispatchNeeded) {
+        callStack.fetchHappened(level);
+        if (dispatchIfNeeded(level)) {
             dispatch(level);
         }
 
     }
 
 
-    //
-// thread safety : called with callStack.lock
-//
     private boolean dispatchIfNeeded(int level) {
-        boolean ready = levelReady(level);
+        boolean ready = callStack.levelReady(level);
         if (ready) {
             return callStack.dispatchIfNotDispatchedBefore(level);
         }
         return false;
     }
 
-    //
-// thread safety: called with callStack.lock
-//
-    private boolean levelReady(int level) {
-        if (level == 1) {
-            // level 1 is special: there is only one strategy call and that's it
-            return callStack.allFetchesHappened(1);
-        }
-        if (levelReady(level - 1) && callStack.allOnFieldCallsHappened(level - 1)
-                && callStack.allStrategyCallsHappened(level) && callStack.allFetchesHappened(level)) {
-
-            return true;
-        }
-        return false;
-    }
-
     void dispatch(int level) {
+        // a cancelled execution still dispatches: the registry may be shared with other executions
+        // and the data fetcher promises waiting on its loads are left to complete
         DataLoaderRegistry dataLoaderRegistry = executionContext.getDataLoaderRegistry();
         dataLoaderRegistry.dispatchAll();
     }
@@ -0,0 +1,54 @@
+package graphql.execution.instrumentation.metrics;
+
+import graphql.Internal;
+import graphql.schema.FieldCoordinates;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics recorded for one field of one object type
+ */
+@Internal
+public final class FieldMetrics {
+
+    private final FieldCoordinates coordinates;
+    private final Histogram fetchNanos = new Histogram();
+    private final Histogram completionNanos = new Histogram();
+    private final Histogram listSizes = new Histogram();
+    private final LongAdder errorCount = new LongAdder();
+
+    public FieldMetrics(FieldCoordinates coordinates) {
+        this.coordinates = coordinates;
+    }
+
+    public FieldCoordinates getCoordinates() {
+        return coordinates;
+    }
+
+    public void recordFetch(long nanos) {
+        fetchNanos.record(nanos);
+    }
+
+    public void recordCompletion(long nanos) {
+        completionNanos.record(nanos);
+    }
+
+    public void recordListSize(int size) {
+        listSizes.record(size);
+    }
+
+    public void recordError() {
+        errorCount.increment();
+    }
+
+    public FieldMetricsSnapshot snapshot() {
+        return new FieldMetricsSnapshot(coordinates, fetchNanos.snapshot(), completionNanos.snapshot(), listSizes.snapshot(), errorCount.sum());
+    }
+
+    public void reset() {
+        fetchNanos.reset();
+        completionNanos.reset();
+        listSizes.reset();
+        errorCount.reset();
+    }
+}
@@ -0,0 +1,243 @@
+package graphql.execution.instrumentation.metrics;
+
+import graphql.ExperimentalApi;
+import graphql.execution.DataFetcherResult;
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.ExecutionStrategyParameters;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldCompleteParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLNamedType;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * This instrumentation aggregates per field metrics across all the operations it sees: the time taken to fetch
+ * each field, the time taken to complete it, the sizes of the lists it returns and the number of fetches that
+ * failed.  The values are kept in lock free log linear histograms per {@link FieldCoordinates} and can be read at
+ * any time via {@link #getSnapshot()}, for example to export them to a metrics system.
+ * <p>
+ * Unlike {@link graphql.execution.instrumentation.tracing.TracingInstrumentation} nothing is kept per operation, so
+ * the memory used depends only on the number of distinct fields executed.  Recording a value does not allocate once a
+ * field has been seen, and a {@link graphql.schema.DataFetchingEnvironment} is never created on behalf of this
+ * instrumentation.
+ * <p>
+ * Operations can be sampled with {@link Builder#sampleRate(double)} to reduce the overhead further, in which case
+ * either all or none of the fields of an operation are recorded.
+ */
+@ExperimentalApi
+public class FieldMetricsInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final InstrumentationState SAMPLED = new InstrumentationState() {
+    };
+
+    private final double sampleRate;
+    private final boolean includeTrivialDataFetchers;
+    private final LongSupplier nanoTime;
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, FieldMetrics>> metricsByType = new ConcurrentHashMap<>();
+
+    private FieldMetricsInstrumentation(Builder builder) {
+        this.sampleRate = builder.sampleRate;
+        this.includeTrivialDataFetchers = builder.includeTrivialDataFetchers;
+        this.nanoTime = builder.nanoTime;
+    }
+
+    public static Builder newFieldMetricsInstrumentation() {
+        return new Builder();
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public boolean isIncludeTrivialDataFetchers() {
+        return includeTrivialDataFetchers;
+    }
+
+    /**
+     * Returns a copy of the metrics recorded so far.  Values recorded while the snapshot is taken may or may not be
+     * included in it.
+     *
+     * @return a map of field coordinates to the metrics of that field
+     */
+    public Map<FieldCoordinates, FieldMetricsSnapshot> getSnapshot() {
+        Map<FieldCoordinates, FieldMetricsSnapshot> snapshot = new LinkedHashMap<>();
+        for (ConcurrentHashMap<String, FieldMetrics> metricsByField : metricsByType.values()) {
+            for (FieldMetrics fieldMetrics : metricsByField.values()) {
+                snapshot.put(fieldMetrics.getCoordinates(), fieldMetrics.snapshot());
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Clears all the metrics recorded so far, for example after they have been exported
+     */
+    public void reset() {
+        for (ConcurrentHashMap<String, FieldMetrics> metricsByField : metricsByType.values()) {
+            for (FieldMetrics fieldMetrics : metricsByField.values()) {
+                fieldMetrics.reset();
+            }
+        }
+    }
+
+    @Override
+    public @Nullable InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        if (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            return SAMPLED;
+        }
+        return null;
+    }
+
+    @Override
+    public @Nullable InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+        if (state != SAMPLED || (parameters.isTrivialDataFetcher() && !includeTrivialDataFetchers)) {
+            return null;
+        }
+        // the field step info has not been created yet, so use the parent one rather than force its creation
+        ExecutionStrategyParameters strategyParameters = parameters.getExecutionStrategyParameters();
+        GraphQLNamedType parentType = (GraphQLNamedType) strategyParameters.getExecutionStepInfo().getUnwrappedNonNullType();
+        FieldMetrics fieldMetrics = fieldMetrics(parentType.getName(), strategyParameters.getField().getName());
+        return new FetchContext(fieldMetrics, nanoTime.getAsLong());
+    }
+
+    @Override
+    public @Nullable InstrumentationContext<Object> beginFieldCompletion(InstrumentationFieldCompleteParameters parameters, InstrumentationState state) {
+        if (state != SAMPLED) {
+            return null;
+        }
+        return new CompletionContext(fieldMetrics(parameters.getExecutionStepInfo()), nanoTime.getAsLong());
+    }
+
+    @Override
+    public @Nullable InstrumentationContext<Object> beginFieldListCompletion(InstrumentationFieldCompleteParameters parameters, InstrumentationState state) {
+        if (state != SAMPLED) {
+            return null;
+        }
+        Object list = parameters.getFetchedValue();
+        if (list instanceof Collection) {
+            fieldMetrics(parameters.getExecutionStepInfo()).recordListSize(((Collection<?>) list).size());
+        }
+        return null;
+    }
+
+    private FieldMetrics fieldMetrics(ExecutionStepInfo executionStepInfo) {
+        return fieldMetrics(executionStepInfo.getObjectType().getName(), executionStepInfo.getFieldDefinition().getName());
+    }
+
+    private FieldMetrics fieldMetrics(String typeName, String fieldName) {
+        // get before computeIfAbsent since it never locks and the metrics exist for all but the first execution
+        ConcurrentHashMap<String, FieldMetrics> metricsByField = metricsByType.get(typeName);
+        if (metricsByField == null) {
+            metricsByField = metricsByType.computeIfAbsent(typeName, k -> new ConcurrentHashMap<>());
+        }
+        FieldMetrics fieldMetrics = metricsByField.get(fieldName);
+        if (fieldMetrics == null) {
+            fieldMetrics = metricsByField.computeIfAbsent(fieldName, k -> new FieldMetrics(FieldCoordinates.coordinates(typeName, fieldName)));
+        }
+        return fieldMetrics;
+    }
+
+    private class FetchContext implements InstrumentationContext<Object> {
+        private final FieldMetrics fieldMetrics;
+        private final long startNanos;
+
+        private FetchContext(FieldMetrics fieldMetrics, long startNanos) {
+            this.fieldMetrics = fieldMetrics;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void onDispatched() {
+        }
+
+        @Override
+        public void onCompleted(Object result, Throwable t) {
+            fieldMetrics.recordFetch(nanoTime.getAsLong() - startNanos);
+            if (t != null || (result instanceof DataFetcherResult && ((DataFetcherResult<?>) result).hasErrors())) {
+                fieldMetrics.recordError();
+            }
+        }
+    }
+
+    private class CompletionContext implements InstrumentationContext<Object> {
+        private final FieldMetrics fieldMetrics;
+        private final long startNanos;
+
+        private CompletionContext(FieldMetrics fieldMetrics, long startNanos) {
+            this.fieldMetrics = fieldMetrics;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void onDispatched() {
+        }
+
+        @Override
+        public void onCompleted(Object result, Throwable t) {
+            fieldMetrics.recordCompletion(nanoTime.getAsLong() - startNanos);
+        }
+    }
+
+    public static class Builder {
+        private double sampleRate = 1;
+        private boolean includeTrivialDataFetchers;
+        private LongSupplier nanoTime = System::nanoTime;
+
+        /**
+         * Sets the fraction of operations whose fields are recorded.  By default, all operations are recorded.
+         *
+         * @param sampleRate a value between 0 and 1
+         *
+         * @return this builder
+         */
+        public Builder sampleRate(double sampleRate) {
+            assertTrue(sampleRate >= 0 && sampleRate <= 1, "sampleRate must be between 0 and 1");
+            this.sampleRate = sampleRate;
+            return this;
+        }
+
+        /**
+         * By default trivial data fetchers (those that simply pull data from an object into a field) are not
+         * included in the fetch metrics since they are cheap and usually many, but you can control this behavior.
+         * The completion metrics and list sizes are recorded for all fields.
+         *
+         * @param includeTrivialDataFetchers the flag on whether to record trivial data fetchers
+         *
+         * @return this builder
+         */
+        public Builder includeTrivialDataFetchers(boolean includeTrivialDataFetchers) {
+            this.includeTrivialDataFetchers = includeTrivialDataFetchers;
+            return this;
+        }
+
+        /**
+         * Sets the clock used to time fields, which is {@link System#nanoTime()} by default
+         *
+         * @param nanoTime a source of nanosecond times
+         *
+         * @return this builder
+         */
+        public Builder nanoTime(LongSupplier nanoTime) {
+            this.nanoTime = assertNotNull(nanoTime);
+            return this;
+        }
+
+        public FieldMetricsInstrumentation build() {
+            return new FieldMetricsInstrumentation(this);
+        }
+    }
+}
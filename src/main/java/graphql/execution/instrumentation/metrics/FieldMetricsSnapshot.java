@@ -0,0 +1,76 @@
+package graphql.execution.instrumentation.metrics;
+
+import graphql.ExperimentalApi;
+import graphql.Internal;
+import graphql.schema.FieldCoordinates;
+
+/**
+ * A point in time copy of the metrics that {@link FieldMetricsInstrumentation} recorded for one field.  Times are
+ * in nanoseconds.
+ */
+@ExperimentalApi
+public class FieldMetricsSnapshot {
+
+    private final FieldCoordinates coordinates;
+    private final HistogramSnapshot fetchTime;
+    private final HistogramSnapshot completionTime;
+    private final HistogramSnapshot listSize;
+    private final long errorCount;
+
+    @Internal
+    public FieldMetricsSnapshot(FieldCoordinates coordinates, HistogramSnapshot fetchTime, HistogramSnapshot completionTime, HistogramSnapshot listSize, long errorCount) {
+        this.coordinates = coordinates;
+        this.fetchTime = fetchTime;
+        this.completionTime = completionTime;
+        this.listSize = listSize;
+        this.errorCount = errorCount;
+    }
+
+    /**
+     * @return the coordinates of the field
+     */
+    public FieldCoordinates getCoordinates() {
+        return coordinates;
+    }
+
+    /**
+     * @return the time from the start of the data fetcher call until its value was available
+     */
+    public HistogramSnapshot getFetchTime() {
+        return fetchTime;
+    }
+
+    /**
+     * @return the time from the start of the completion of the fetched value until the field value was complete,
+     * which includes the time taken by any child fields
+     */
+    public HistogramSnapshot getCompletionTime() {
+        return completionTime;
+    }
+
+    /**
+     * @return the sizes of the lists returned by the field, which is empty for fields that are not lists
+     */
+    public HistogramSnapshot getListSize() {
+        return listSize;
+    }
+
+    /**
+     * @return the number of fetches that threw an exception or returned a {@link graphql.execution.DataFetcherResult}
+     * with errors
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    @Override
+    public String toString() {
+        return "FieldMetricsSnapshot{" +
+                "coordinates=" + coordinates +
+                ", fetchTime=" + fetchTime +
+                ", completionTime=" + completionTime +
+                ", listSize=" + listSize +
+                ", errorCount=" + errorCount +
+                '}';
+    }
+}
@@ -0,0 +1,94 @@
+package graphql.execution.instrumentation.metrics;
+
+import graphql.ExperimentalApi;
+import graphql.Internal;
+
+import static graphql.Assert.assertTrue;
+
+/**
+ * A point in time copy of the values recorded in a histogram of {@link FieldMetricsInstrumentation}.  Values are
+ * bucketed, so percentiles are accurate to about 6% of the value.
+ */
+@ExperimentalApi
+public class HistogramSnapshot {
+
+    private final long[] bucketCounts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    @Internal
+    public HistogramSnapshot(long[] bucketCounts, long count, long sum, long max) {
+        this.bucketCounts = bucketCounts;
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    /**
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the sum of the recorded values
+     */
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * @return the largest recorded value
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return the mean of the recorded values or 0 if there are none
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Returns the value that the given percentage of recorded values are less than or equal to, for example
+     * {@code getValueAtPercentile(99)} is the 99th percentile
+     *
+     * @param percentile the percentile between 0 and 100
+     *
+     * @return the value at the percentile or 0 if there are no values
+     */
+    public long getValueAtPercentile(double percentile) {
+        assertTrue(percentile >= 0 && percentile <= 100, "percentile must be between 0 and 100");
+        long total = 0;
+        for (long bucketCount : bucketCounts) {
+            total += bucketCount;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            seen += bucketCounts[i];
+            if (seen >= rank) {
+                return Math.min(Histogram.bucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "HistogramSnapshot{" +
+                "count=" + count +
+                ", mean=" + getMean() +
+                ", p50=" + getValueAtPercentile(50) +
+                ", p99=" + getValueAtPercentile(99) +
+                ", max=" + max +
+                '}';
+    }
+}
@@ -29,6 +29,16 @@ public class InstrumentationFieldFetchParameters extends InstrumentationFieldPar
         return environment.get();
     }
 
+    /**
+     * The parameters of the field being fetched, which unlike {@link #getEnvironment()} are available without creating
+     * a {@link DataFetchingEnvironment}
+     *
+     * @return the execution strategy parameters of the field
+     */
+    public ExecutionStrategyParameters getExecutionStrategyParameters() {
+        return executionStrategyParameters;
+    }
+
     public boolean isTrivialDataFetcher() {
         return trivialDataFetcher;
     }
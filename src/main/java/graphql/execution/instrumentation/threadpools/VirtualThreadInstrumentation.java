@@ -0,0 +1,247 @@
+package graphql.execution.instrumentation.threadpools;
+
+import graphql.ExperimentalApi;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * This instrumentation runs each non-trivial {@link DataFetcher} on its own virtual thread, so that blocking data
+ * fetchers, such as ones making JDBC calls, can be used without blocking the calling thread or tuning a thread pool.
+ * <p>
+ * Virtual threads need Java 21 or later.  On earlier runtimes the fetches are run on a fallback {@link Executor}, which
+ * by default is a shared cached pool of daemon threads.  You can check {@link #isVirtualThreadsSupported()} to see which
+ * applies.
+ * <p>
+ * Trivial data fetchers such as {@link graphql.schema.PropertyDataFetcher} are always run in place since they
+ * don't block and handing them off would only add overhead.
+ * <p>
+ * The number of fetches that run at the same time for any one request can be capped with
+ * {@link Builder#maxConcurrentFetchesPerRequest(int)}.  Fetches over the cap are queued without blocking any thread
+ * and started as earlier fetches of the same request finish.  A data fetcher that returns a {@link CompletionStage} counts
+ * as running until that stage completes.
+ *
+ * @see ExecutorInstrumentation
+ */
+@ExperimentalApi
+public class VirtualThreadInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final ExecutorService VIRTUAL_THREAD_EXECUTOR = createVirtualThreadExecutor();
+
+    private final Executor fetchExecutor;
+    private final int maxConcurrentFetchesPerRequest;
+
+    private VirtualThreadInstrumentation(Builder builder) {
+        this.fetchExecutor = VIRTUAL_THREAD_EXECUTOR != null ? VIRTUAL_THREAD_EXECUTOR : builder.fallbackExecutor();
+        this.maxConcurrentFetchesPerRequest = builder.maxConcurrentFetchesPerRequest;
+    }
+
+    /**
+     * @return true if this runtime supports virtual threads and hence data fetchers will be run on them
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    /**
+     * @return the executor that data fetchers are run on
+     */
+    public Executor getFetchExecutor() {
+        return fetchExecutor;
+    }
+
+    public int getMaxConcurrentFetchesPerRequest() {
+        return maxConcurrentFetchesPerRequest;
+    }
+
+    public static Builder newVirtualThreadInstrumentation() {
+        return new Builder();
+    }
+
+    @Override
+    public @Nullable InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        if (maxConcurrentFetchesPerRequest == Integer.MAX_VALUE) {
+            return null;
+        }
+        return new FetchLimiter(fetchExecutor, maxConcurrentFetchesPerRequest);
+    }
+
+    @Override
+    public @NotNull DataFetcher<?> instrumentDataFetcher(DataFetcher<?> originalDataFetcher, InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+        if (parameters.isTrivialDataFetcher()) {
+            return originalDataFetcher;
+        }
+        FetchLimiter limiter = state instanceof FetchLimiter ? (FetchLimiter) state : null;
+        return environment -> {
+            CompletableFuture<CompletionStage<?>> invokedCF = new CompletableFuture<>();
+            Runnable fetch = () -> invokeOriginalDF(originalDataFetcher, environment, invokedCF);
+            if (limiter != null) {
+                limiter.submit(fetch, invokedCF);
+            } else {
+                execute(fetchExecutor, fetch, invokedCF);
+            }
+            return invokedCF.thenCompose(cs -> cs);
+        };
+    }
+
+    private static void invokeOriginalDF(DataFetcher<?> originalDataFetcher, DataFetchingEnvironment environment, CompletableFuture<CompletionStage<?>> invokedCF) {
+        Object value;
+        try {
+            value = originalDataFetcher.get(environment);
+        } catch (Throwable e) {
+            invokedCF.completeExceptionally(e);
+            return;
+        }
+        if (value instanceof CompletionStage) {
+            invokedCF.complete((CompletionStage<?>) value);
+        } else {
+            invokedCF.complete(CompletableFuture.completedFuture(value));
+        }
+    }
+
+    private static boolean execute(Executor executor, Runnable task, CompletableFuture<?> invokedCF) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RuntimeException e) {
+            // typically a RejectedExecutionException because the executor has been shut down
+            invokedCF.completeExceptionally(e);
+            return false;
+        }
+    }
+
+    /*
+     * Java 21 has Executors.newVirtualThreadPerTaskExecutor() but we are compiled for earlier versions, so we look it up
+     */
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            MethodHandle factory = MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+            return (ExecutorService) factory.invoke();
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /*
+     * Limits the number of fetches of a single request that are running at once.  Fetches over the limit are queued
+     * rather than blocking the calling thread and are started by the fetches that finish before them.  An asynchronous
+     * fetch holds its permit until the stage it returned completes.
+     */
+    private static class FetchLimiter implements InstrumentationState {
+        private final Executor executor;
+        private final int maxConcurrentFetches;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final ConcurrentLinkedQueue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+        private FetchLimiter(Executor executor, int maxConcurrentFetches) {
+            this.executor = executor;
+            this.maxConcurrentFetches = maxConcurrentFetches;
+        }
+
+        private void submit(Runnable fetch, CompletableFuture<CompletionStage<?>> invokedCF) {
+            // the invoked promise is only completed once the fetch has started, or has failed to start
+            invokedCF.whenComplete((stage, exception) -> {
+                if (stage == null) {
+                    release();
+                } else {
+                    stage.whenComplete((value, fetchException) -> release());
+                }
+            });
+            pending.add(() -> execute(executor, fetch, invokedCF));
+            drain();
+        }
+
+        private void release() {
+            inFlight.decrementAndGet();
+            drain();
+        }
+
+        private void drain() {
+            while (!pending.isEmpty()) {
+                int running = inFlight.get();
+                if (running >= maxConcurrentFetches) {
+                    // the fetch that brings the count back under the limit will drain the queue
+                    return;
+                }
+                if (!inFlight.compareAndSet(running, running + 1)) {
+                    continue;
+                }
+                Runnable start = pending.poll();
+                if (start == null) {
+                    inFlight.decrementAndGet();
+                } else {
+                    start.run();
+                }
+            }
+        }
+    }
+
+    public static class Builder {
+        private Executor fallbackExecutor;
+        private int maxConcurrentFetchesPerRequest = Integer.MAX_VALUE;
+
+        /**
+         * Sets the executor to use when the runtime does not support virtual threads.  By default, a shared cached
+         * pool of daemon threads is used.
+         *
+         * @param fallbackExecutor the executor to use before Java 21
+         *
+         * @return this builder
+         */
+        public Builder fallbackExecutor(Executor fallbackExecutor) {
+            this.fallbackExecutor = assertNotNull(fallbackExecutor);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of data fetchers of any one request that can run at the same time.  By default,
+         * this is unlimited.
+         *
+         * @param maxConcurrentFetchesPerRequest the maximum number of concurrent fetches per request
+         *
+         * @return this builder
+         */
+        public Builder maxConcurrentFetchesPerRequest(int maxConcurrentFetchesPerRequest) {
+            assertTrue(maxConcurrentFetchesPerRequest > 0, "maxConcurrentFetchesPerRequest must be greater than zero");
+            this.maxConcurrentFetchesPerRequest = maxConcurrentFetchesPerRequest;
+            return this;
+        }
+
+        private Executor fallbackExecutor() {
+            return fallbackExecutor != null ? fallbackExecutor : DefaultFallbackExecutor.EXECUTOR;
+        }
+
+        public VirtualThreadInstrumentation build() {
+            return new VirtualThreadInstrumentation(this);
+        }
+    }
+
+    // created on first use so that nothing is started on runtimes that have virtual threads
+    private static class DefaultFallbackExecutor {
+        private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+        private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "graphql-java-fetch-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
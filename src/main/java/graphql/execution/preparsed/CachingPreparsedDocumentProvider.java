@@ -0,0 +1,211 @@
+package graphql.execution.preparsed;
+
+import graphql.ExecutionInput;
+import graphql.PublicApi;
+import graphql.language.Document;
+import graphql.language.Node;
+import graphql.schema.GraphQLSchema;
+import graphql.util.BoundedLruCache;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * A {@link PreparsedDocumentProvider} that keeps parsed and validated documents in a bounded, in memory, least recently
+ * used cache.
+ * <p>
+ * Documents are keyed on the query text, the operation name and the identity of the {@link GraphQLSchema} they were
+ * validated against, so the one provider can safely be shared between {@link graphql.GraphQL} instances with
+ * different schemas.  Note that a cached entry keeps its schema reachable until it is evicted.
+ * <p>
+ * The cache is bounded by a maximum weight, where by default the weight of an entry is an estimate of the size of
+ * its AST in nodes, and optionally by a maximum number of entries.  Concurrent requests for the same missing query will
+ * only parse and validate it once.
+ * <p>
+ * Since cache hits do not call back into the engine, the {@link graphql.execution.instrumentation.Instrumentation}
+ * parse and validation callbacks only happen when a document is loaded into the cache.
+ */
+@PublicApi
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+    /**
+     * The default maximum weight of the cache, which is the total number of AST nodes retained
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 1_000_000;
+
+    private final BoundedLruCache<CacheKey, PreparsedDocumentEntry> cache;
+    private final boolean cacheInvalidDocuments;
+
+    private CachingPreparsedDocumentProvider(Builder builder) {
+        this.cache = new BoundedLruCache<>(builder.maximumSize, builder.maximumWeight, builder.weigher);
+        this.cacheInvalidDocuments = builder.cacheInvalidDocuments;
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return getDocumentAsync(executionInput, null, parseAndValidateFunction);
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, GraphQLSchema graphQLSchema, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        CacheKey key = new CacheKey(executionInput.getQuery(), executionInput.getOperationName(), graphQLSchema);
+        return cache.get(key,
+                k -> parseAndValidateFunction.apply(executionInput),
+                entry -> cacheInvalidDocuments || !entry.hasErrors());
+    }
+
+    /**
+     * @return a snapshot of the statistics of this cache
+     */
+    public PreparsedDocumentCacheStats getStats() {
+        return new PreparsedDocumentCacheStats(
+                cache.getHitCount(),
+                cache.getMissCount(),
+                cache.getLoadCount(),
+                cache.getLoadFailureCount(),
+                cache.getTotalLoadTimeNanos(),
+                cache.getEvictionCount(),
+                cache.size(),
+                cache.weight());
+    }
+
+    /**
+     * Removes all documents from the cache
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Estimates the weight of a document entry as the number of AST nodes in its document plus the number of errors
+     *
+     * @param entry the entry to weigh
+     *
+     * @return the estimated weight of the entry
+     */
+    public static long estimateWeight(PreparsedDocumentEntry entry) {
+        long weight = entry.getErrors() == null ? 0 : entry.getErrors().size();
+        Document document = entry.getDocument();
+        if (document == null) {
+            return Math.max(1, weight);
+        }
+        Deque<Node<?>> stack = new ArrayDeque<>();
+        stack.push(document);
+        while (!stack.isEmpty()) {
+            Node<?> node = stack.pop();
+            weight++;
+            for (Node<?> child : node.getChildren()) {
+                stack.push(child);
+            }
+        }
+        return weight;
+    }
+
+    public static Builder newCachingPreparsedDocumentProvider() {
+        return new Builder();
+    }
+
+    private static class CacheKey {
+        private final String query;
+        private final String operationName;
+        private final GraphQLSchema schema;
+        private final int hashCode;
+
+        private CacheKey(String query, String operationName, GraphQLSchema schema) {
+            this.query = query;
+            this.operationName = operationName;
+            this.schema = schema;
+            this.hashCode = 31 * (31 * Objects.hashCode(query) + Objects.hashCode(operationName)) + System.identityHashCode(schema);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return schema == that.schema
+                    && Objects.equals(query, that.query)
+                    && Objects.equals(operationName, that.operationName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    public static class Builder {
+        private long maximumSize = Long.MAX_VALUE;
+        private long maximumWeight = DEFAULT_MAXIMUM_WEIGHT;
+        private ToLongFunction<PreparsedDocumentEntry> weigher = CachingPreparsedDocumentProvider::estimateWeight;
+        private boolean cacheInvalidDocuments = false;
+
+        /**
+         * Sets the maximum number of documents the cache will hold.  By default, there is no limit on the number of
+         * documents, only on their total weight.
+         *
+         * @param maximumSize the maximum number of entries
+         *
+         * @return this builder
+         */
+        public Builder maximumSize(long maximumSize) {
+            assertTrue(maximumSize > 0, "maximumSize must be greater than zero");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum total weight of the documents the cache will hold.  The least recently used documents are
+         * evicted when this is exceeded.
+         *
+         * @param maximumWeight the maximum weight
+         *
+         * @return this builder
+         */
+        public Builder maximumWeight(long maximumWeight) {
+            assertTrue(maximumWeight > 0, "maximumWeight must be greater than zero");
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         * Sets the function used to weigh documents.  By default this is {@link #estimateWeight(PreparsedDocumentEntry)}
+         *
+         * @param weigher the weigher to use
+         *
+         * @return this builder
+         */
+        public Builder weigher(ToLongFunction<PreparsedDocumentEntry> weigher) {
+            this.weigher = assertNotNull(weigher);
+            return this;
+        }
+
+        /**
+         * By default, documents that failed parsing or validation are not retained, so that a flood of bad queries can't
+         * evict the good ones.  This allows you to cache them as well.
+         *
+         * @param cacheInvalidDocuments true if invalid documents should be cached
+         *
+         * @return this builder
+         */
+        public Builder cacheInvalidDocuments(boolean cacheInvalidDocuments) {
+            this.cacheInvalidDocuments = cacheInvalidDocuments;
+            return this;
+        }
+
+        public CachingPreparsedDocumentProvider build() {
+            return new CachingPreparsedDocumentProvider(this);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package graphql.execution.preparsed;
+
+import graphql.PublicApi;
+
+/**
+ * An immutable snapshot of the statistics of a cache of {@link PreparsedDocumentEntry}s such as
+ * {@link CachingPreparsedDocumentProvider}.
+ */
+@PublicApi
+public class PreparsedDocumentCacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long loadCount;
+    private final long loadFailureCount;
+    private final long totalLoadTimeNanos;
+    private final long evictionCount;
+    private final long size;
+    private final long weight;
+
+    public PreparsedDocumentCacheStats(long hitCount, long missCount, long loadCount, long loadFailureCount, long totalLoadTimeNanos, long evictionCount, long size, long weight) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadCount = loadCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTimeNanos = totalLoadTimeNanos;
+        this.evictionCount = evictionCount;
+        this.size = size;
+        this.weight = weight;
+    }
+
+    /**
+     * @return the number of times a lookup found a document already in the cache (or being loaded)
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of times a lookup had to parse and validate a document
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the total number of lookups
+     */
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * @return the ratio of lookups that were hits or 1.0 if there have been no lookups
+     */
+    public double getHitRate() {
+        long requestCount = getRequestCount();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * @return the number of successful parse and validate loads
+     */
+    public long getLoadCount() {
+        return loadCount;
+    }
+
+    /**
+     * @return the number of parse and validate loads that threw an exception
+     */
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    /**
+     * @return the total time in nanoseconds spent loading documents
+     */
+    public long getTotalLoadTimeNanos() {
+        return totalLoadTimeNanos;
+    }
+
+    /**
+     * @return the average time in nanoseconds spent loading a document
+     */
+    public double getAverageLoadPenaltyNanos() {
+        long totalLoads = loadCount + loadFailureCount;
+        return totalLoads == 0 ? 0.0 : (double) totalLoadTimeNanos / totalLoads;
+    }
+
+    /**
+     * @return the number of documents that have been evicted to keep the cache within its bounds
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the number of documents in the cache at the time of the snapshot
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the total estimated weight of the documents in the cache at the time of the snapshot
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    @Override
+    public String toString() {
+        return "PreparsedDocumentCacheStats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", loadCount=" + loadCount +
+                ", loadFailureCount=" + loadFailureCount +
+                ", totalLoadTimeNanos=" + totalLoadTimeNanos +
+                ", evictionCount=" + evictionCount +
+                ", size=" + size +
+                ", weight=" + weight +
+                '}';
+    }
+}
@@ -3,6 +3,7 @@ package graphql.execution.preparsed;
 
 import graphql.ExecutionInput;
 import graphql.PublicSpi;
+import graphql.schema.GraphQLSchema;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
@@ -25,6 +26,21 @@ public interface PreparsedDocumentProvider {
      * @return a promise to an {@link PreparsedDocumentEntry}
      */
     CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction);
+
+    /**
+     * This is the method the graphql engine calls.  It is given the {@link GraphQLSchema} the document will be validated against
+     * so that caching implementations can key on it, since a document that is valid for one schema may not be valid for another.
+     * <p>
+     * By default, this delegates to {@link #getDocumentAsync(ExecutionInput, Function)}
+     *
+     * @param executionInput           The {@link graphql.ExecutionInput} containing the query
+     * @param graphQLSchema            The schema the query will be validated and executed against
+     * @param parseAndValidateFunction If the query has not be pre-parsed, this function MUST be called to parse and validate it
+     * @return a promise to an {@link PreparsedDocumentEntry}
+     */
+    default CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, GraphQLSchema graphQLSchema, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return getDocumentAsync(executionInput, parseAndValidateFunction);
+    }
 }
 
 
@@ -3,37 +3,74 @@ package graphql.execution.preparsed.persisted;
 import graphql.Assert;
 import graphql.ExecutionInput;
 import graphql.PublicApi;
+import graphql.execution.preparsed.CachingPreparsedDocumentProvider;
+import graphql.execution.preparsed.PreparsedDocumentCacheStats;
 import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.util.BoundedLruCache;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
 
 /**
  * A PersistedQueryCache that is just an in memory map of known queries.
+ * <p>
+ * By default, the cache is unbounded, but you can bound it by the number of entries, by the total estimated weight
+ * of the cached documents and by how long an entry lives after it was compiled.  When bounded, the least recently
+ * used entries are evicted first.
+ * <p>
+ * The parse and validation of a missing query is done outside any lock, so a slow compilation never blocks lookups for
+ * other queries, and concurrent misses for the same query id share the one compilation.
  */
 @PublicApi
 public class InMemoryPersistedQueryCache implements PersistedQueryCache {
 
-    private final Map<Object, PreparsedDocumentEntry> cache = new ConcurrentHashMap<>();
+    private final BoundedLruCache<Object, PreparsedDocumentEntry> cache;
     private final Map<Object, String> knownQueries;
 
     public InMemoryPersistedQueryCache(Map<Object, String> knownQueries) {
+        this(knownQueries, new BoundedLruCache<>(Long.MAX_VALUE, Long.MAX_VALUE, entry -> 1L));
+    }
+
+    private InMemoryPersistedQueryCache(Map<Object, String> knownQueries, BoundedLruCache<Object, PreparsedDocumentEntry> cache) {
         this.knownQueries = Assert.assertNotNull(knownQueries);
+        this.cache = cache;
     }
 
     public Map<Object, String> getKnownQueries() {
         return knownQueries;
     }
 
+    /**
+     * @return a snapshot of the statistics of this cache
+     */
+    public PreparsedDocumentCacheStats getStats() {
+        return new PreparsedDocumentCacheStats(
+                cache.getHitCount(),
+                cache.getMissCount(),
+                cache.getLoadCount(),
+                cache.getLoadFailureCount(),
+                cache.getTotalLoadTimeNanos(),
+                cache.getEvictionCount(),
+                cache.size(),
+                cache.weight());
+    }
+
+    /**
+     * Removes all compiled queries from the cache.  The known queries are retained.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
     @Override
     public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(Object persistedQueryId, ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss) throws PersistedQueryNotFound {
-        PreparsedDocumentEntry documentEntry = cache.compute(persistedQueryId, (k, v) -> {
-            if (v != null) {
-                return v;
-            }
-
+        return cache.get(persistedQueryId, k -> {
             //get the query from the execution input. Make sure it's not null, empty or the APQ marker.
             // if it is, fallback to the known queries.
             String queryText = executionInput.getQuery();
@@ -45,8 +82,7 @@ public class InMemoryPersistedQueryCache implements PersistedQueryCache {
                 throw new PersistedQueryNotFound(persistedQueryId);
             }
             return onCacheMiss.apply(queryText);
-        });
-        return CompletableFuture.completedFuture(documentEntry);
+        }, entry -> true);
     }
 
     public static Builder newInMemoryPersistedQueryCache() {
@@ -55,14 +91,77 @@ public class InMemoryPersistedQueryCache implements PersistedQueryCache {
 
     public static class Builder {
         private final Map<Object, String> knownQueries = new HashMap<>();
+        private long maximumSize = Long.MAX_VALUE;
+        private long maximumWeight = Long.MAX_VALUE;
+        private ToLongFunction<PreparsedDocumentEntry> weigher = CachingPreparsedDocumentProvider::estimateWeight;
+        private Duration expireAfterWrite = null;
 
         public Builder addQuery(Object key, String queryText) {
             knownQueries.put(key, queryText);
             return this;
         }
 
+        /**
+         * Sets the maximum number of compiled queries the cache will hold
+         *
+         * @param maximumSize the maximum number of entries
+         *
+         * @return this builder
+         */
+        public Builder maximumSize(long maximumSize) {
+            assertTrue(maximumSize > 0, "maximumSize must be greater than zero");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum total weight of the compiled queries the cache will hold.  By default, the weight of an entry is
+         * {@link CachingPreparsedDocumentProvider#estimateWeight(PreparsedDocumentEntry)} which is the number of AST nodes
+         * in the document, and so is proportional to the memory it retains.  Use {@link #weigher(ToLongFunction)} if you
+         * would rather budget in approximate bytes.
+         *
+         * @param maximumWeight the maximum weight
+         *
+         * @return this builder
+         */
+        public Builder maximumWeight(long maximumWeight) {
+            assertTrue(maximumWeight > 0, "maximumWeight must be greater than zero");
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         * Sets the function used to weigh compiled queries when a {@link #maximumWeight(long)} is set
+         *
+         * @param weigher the weigher to use
+         *
+         * @return this builder
+         */
+        public Builder weigher(ToLongFunction<PreparsedDocumentEntry> weigher) {
+            this.weigher = assertNotNull(weigher);
+            return this;
+        }
+
+        /**
+         * Sets how long a compiled query is kept after it was compiled.  By default, entries do not expire.
+         *
+         * @param expireAfterWrite the time to live of an entry
+         *
+         * @return this builder
+         */
+        public Builder expireAfterWrite(Duration expireAfterWrite) {
+            assertNotNull(expireAfterWrite);
+            assertTrue(!expireAfterWrite.isNegative() && !expireAfterWrite.isZero(), "expireAfterWrite must be positive");
+            this.expireAfterWrite = expireAfterWrite;
+            return this;
+        }
+
         public InMemoryPersistedQueryCache build() {
-            return new InMemoryPersistedQueryCache(knownQueries);
+            // there is no point weighing entries if the weight is unbounded
+            ToLongFunction<PreparsedDocumentEntry> weigher = maximumWeight == Long.MAX_VALUE ? entry -> 1L : this.weigher;
+            long expireAfterWriteNanos = expireAfterWrite == null ? Long.MAX_VALUE : expireAfterWrite.toNanos();
+            BoundedLruCache<Object, PreparsedDocumentEntry> cache = new BoundedLruCache<>(maximumSize, maximumWeight, weigher, expireAfterWriteNanos, System::nanoTime);
+            return new InMemoryPersistedQueryCache(knownQueries, cache);
         }
     }
 }
@@ -9,6 +9,7 @@ import graphql.execution.preparsed.PreparsedDocumentProvider;
 
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Function;
 
 import static graphql.Assert.assertNotNull;
@@ -56,7 +57,7 @@ public abstract class PersistedQuerySupport implements PreparsedDocumentProvider
                     }
                     ExecutionInput newEI = executionInput.transform(builder -> builder.query(queryText));
                     return parseAndValidateFunction.apply(newEI);
-                });
+                }).exceptionally(this::handleAsyncPersistedQueryError);
             }
             // ok there is no query id - we assume the query is indeed ready to go as is - ie its not a persisted query
             return completedFuture(parseAndValidateFunction.apply(executionInput));
@@ -65,6 +66,19 @@ public abstract class PersistedQuerySupport implements PreparsedDocumentProvider
         }
     }
 
+    private PreparsedDocumentEntry handleAsyncPersistedQueryError(Throwable throwable) {
+        // a cache may share the outcome of one compilation with concurrent callers, in which case the error arrives
+        // via the future rather than being thrown
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        if (cause instanceof PersistedQueryError) {
+            return mkMissingError((PersistedQueryError) cause);
+        }
+        if (throwable instanceof CompletionException) {
+            throw (CompletionException) throwable;
+        }
+        throw new CompletionException(throwable);
+    }
+
     /**
      * This method is required for concrete types to work out the query id (often a hash) that should be used to look
      * up the persisted query in the cache.
@@ -0,0 +1,299 @@
+package graphql.execution.reactive;
+
+import graphql.Internal;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * A reactive Publisher that bridges over another Publisher of `U` and maps the results to type `D` via a CompletionStage
+ * like {@link CompletionStageMappingPublisher} does, but that bounds the number of events in flight, and publishes the
+ * results in the order given by a {@link SubscriptionEventMapping}.
+ * <p>
+ * All the state of a subscriber is only touched from a {@link NonBlockingMutexExecutor} so the signals of the upstream
+ * publisher, the completion of the mapped stages and the requests of the downstream subscriber can all arrive on
+ * different threads, and the downstream subscriber is still signalled serially.
+ *
+ * @param <D> the down stream type
+ * @param <U> the up stream type to be mapped to
+ */
+@SuppressWarnings("ReactiveStreamsPublisherImplementation")
+@Internal
+public class BoundedCompletionStageMappingPublisher<D, U> implements Publisher<D> {
+    private final Publisher<U> upstreamPublisher;
+    private final Function<U, CompletionStage<D>> mapper;
+    private final SubscriptionEventMapping eventMapping;
+
+    /**
+     * You need the following :
+     *
+     * @param upstreamPublisher an upstream source of data
+     * @param mapper            a mapper function that turns upstream data into a promise of mapped D downstream data
+     * @param eventMapping      how many events can be in flight and the order their results are published in
+     */
+    public BoundedCompletionStageMappingPublisher(Publisher<U> upstreamPublisher, Function<U, CompletionStage<D>> mapper, SubscriptionEventMapping eventMapping) {
+        this.upstreamPublisher = upstreamPublisher;
+        this.mapper = mapper;
+        this.eventMapping = assertNotNull(eventMapping);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super D> downstreamSubscriber) {
+        assertNotNull(downstreamSubscriber, () -> "Subscriber passed to subscribe must not be null");
+        upstreamPublisher.subscribe(new BoundedSubscriber(downstreamSubscriber));
+    }
+
+    /**
+     * Get instance of an upstreamPublisher
+     *
+     * @return upstream instance of {@link Publisher}
+     */
+    public Publisher<U> getUpstreamPublisher() {
+        return upstreamPublisher;
+    }
+
+    private class Slot {
+        private boolean done;
+        private D value;
+        private Throwable throwable;
+    }
+
+    @SuppressWarnings("ReactiveStreamsSubscriberImplementation")
+    private class BoundedSubscriber implements Subscriber<U> {
+        private final Subscriber<? super D> downstreamSubscriber;
+        private final SubscriptionEventMapping.Mode mode = eventMapping.getMode();
+        private final NonBlockingMutexExecutor mutex = new NonBlockingMutexExecutor();
+
+        // the state below is only used from the mutex
+        private Subscription upstreamSubscription;
+        private long demand;
+        private long upstreamOutstanding;
+        // events being mapped or waiting to be published
+        private int pending;
+        // ORDERED has every pending event in arrival order, UNORDERED has the finished ones in completion order
+        private final Deque<Slot> slots = new ArrayDeque<>();
+        // LATEST has at most one event being mapped, one waiting to be mapped and one result waiting to be published
+        private boolean mapping;
+        private boolean hasLatestEvent;
+        private U latestEvent;
+        private Slot latestResult;
+        private boolean upstreamDone;
+        private Throwable upstreamError;
+        private boolean terminated;
+
+        private BoundedSubscriber(Subscriber<? super D> downstreamSubscriber) {
+            this.downstreamSubscriber = downstreamSubscriber;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            mutex.execute(() -> {
+                upstreamSubscription = subscription;
+                downstreamSubscriber.onSubscribe(new Subscription() {
+                    @Override
+                    public void request(long n) {
+                        mutex.execute(() -> {
+                            if (terminated) {
+                                return;
+                            }
+                            if (n <= 0) {
+                                fail(new IllegalArgumentException("Reactive streams rule 3.9 - subscription.request(n) must be > 0"));
+                                return;
+                            }
+                            demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                            drain();
+                        });
+                    }
+
+                    @Override
+                    public void cancel() {
+                        mutex.execute(() -> {
+                            if (!terminated) {
+                                terminate();
+                                upstreamSubscription.cancel();
+                            }
+                        });
+                    }
+                });
+                if (mode == SubscriptionEventMapping.Mode.LATEST) {
+                    subscription.request(Long.MAX_VALUE);
+                }
+            });
+        }
+
+        @Override
+        public void onNext(U u) {
+            mutex.execute(() -> {
+                if (terminated) {
+                    return;
+                }
+                if (mode != SubscriptionEventMapping.Mode.LATEST) {
+                    upstreamOutstanding--;
+                    map(u);
+                } else if (!mapping) {
+                    map(u);
+                } else {
+                    // this replaces any event that has not started mapping yet
+                    if (!hasLatestEvent) {
+                        pending++;
+                    }
+                    hasLatestEvent = true;
+                    latestEvent = u;
+                }
+                drain();
+            });
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            mutex.execute(() -> {
+                upstreamDone = true;
+                upstreamError = t;
+                drain();
+            });
+        }
+
+        @Override
+        public void onComplete() {
+            mutex.execute(() -> {
+                upstreamDone = true;
+                drain();
+            });
+        }
+
+        private void map(U u) {
+            Slot slot = new Slot();
+            pending++;
+            mapping = true;
+            if (mode == SubscriptionEventMapping.Mode.ORDERED) {
+                slots.add(slot);
+            }
+            CompletionStage<D> completionStage;
+            try {
+                completionStage = mapper.apply(u);
+            } catch (RuntimeException throwable) {
+                CompletableFuture<D> failed = new CompletableFuture<>();
+                failed.completeExceptionally(throwable);
+                completionStage = failed;
+            }
+            completionStage.whenComplete((d, throwable) -> mutex.execute(() -> {
+                slot.done = true;
+                slot.value = d;
+                slot.throwable = throwable;
+                mapped(slot);
+            }));
+        }
+
+        private void mapped(Slot slot) {
+            if (terminated) {
+                return;
+            }
+            if (slot.throwable != null && mode != SubscriptionEventMapping.Mode.ORDERED) {
+                fail(slot.throwable);
+                return;
+            }
+            if (mode == SubscriptionEventMapping.Mode.UNORDERED) {
+                slots.add(slot);
+            } else if (mode == SubscriptionEventMapping.Mode.LATEST) {
+                mapping = false;
+                if (latestResult != null) {
+                    // a newer result replaces one that has not been requested yet
+                    pending--;
+                }
+                latestResult = slot;
+                if (hasLatestEvent) {
+                    U u = latestEvent;
+                    hasLatestEvent = false;
+                    latestEvent = null;
+                    pending--;
+                    map(u);
+                }
+            }
+            drain();
+        }
+
+        private void drain() {
+            if (terminated) {
+                return;
+            }
+            while (true) {
+                Slot slot = nextToPublish();
+                if (slot == null) {
+                    break;
+                }
+                if (slot.throwable != null) {
+                    fail(slot.throwable);
+                    return;
+                }
+                if (demand == 0) {
+                    break;
+                }
+                removeNextToPublish();
+                pending--;
+                if (demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+                downstreamSubscriber.onNext(slot.value);
+                if (terminated) {
+                    return;
+                }
+            }
+            if (upstreamDone && pending == 0) {
+                terminate();
+                if (upstreamError != null) {
+                    downstreamSubscriber.onError(upstreamError);
+                } else {
+                    downstreamSubscriber.onComplete();
+                }
+                return;
+            }
+            if (mode != SubscriptionEventMapping.Mode.LATEST && !upstreamDone) {
+                long wanted = Math.min(demand, eventMapping.getMaxInFlight()) - pending - upstreamOutstanding;
+                if (wanted > 0) {
+                    upstreamOutstanding += wanted;
+                    upstreamSubscription.request(wanted);
+                }
+            }
+        }
+
+        private Slot nextToPublish() {
+            if (mode == SubscriptionEventMapping.Mode.LATEST) {
+                return latestResult;
+            }
+            Slot slot = slots.peek();
+            return slot != null && slot.done ? slot : null;
+        }
+
+        private void removeNextToPublish() {
+            if (mode == SubscriptionEventMapping.Mode.LATEST) {
+                latestResult = null;
+            } else {
+                slots.poll();
+            }
+        }
+
+        private void fail(Throwable throwable) {
+            terminate();
+            downstreamSubscriber.onError(throwable);
+            //
+            // as with CompletionStageMappingPublisher, the upstream publisher does not know about an exception
+            // in the mapping, so we cancel it so that no more messages flow
+            upstreamSubscription.cancel();
+        }
+
+        private void terminate() {
+            terminated = true;
+            slots.clear();
+            latestEvent = null;
+            latestResult = null;
+        }
+    }
+}
@@ -29,6 +29,7 @@ public class SingleSubscriberPublisher<T> implements Publisher<T> {
     private final Deque<T> dataQ = new ConcurrentLinkedDeque<>();
     private final NonBlockingMutexExecutor mutex = new NonBlockingMutexExecutor();
     private final OnSubscriptionCallback subscriptionCallback;
+    private final OnDemandCallback demandCallback;
 
     private Subscriber<? super T> subscriber;
     private Throwable pendingThrowable = null;
@@ -50,7 +51,19 @@ public class SingleSubscriberPublisher<T> implements Publisher<T> {
      * @param subscriptionCallback the callback when some ones
      */
     public SingleSubscriberPublisher(OnSubscriptionCallback subscriptionCallback) {
+        this(subscriptionCallback, OnDemandCallback.NOOP);
+    }
+
+    /**
+     * The producing code can provide a callback to know when the subscriber attaches and another to know when the
+     * subscriber asks for more data, so that it need only produce data as it is asked for
+     *
+     * @param subscriptionCallback the callback when some ones subscribes
+     * @param demandCallback       the callback when the subscriber asks for more data or cancels
+     */
+    public SingleSubscriberPublisher(OnSubscriptionCallback subscriptionCallback, OnDemandCallback demandCallback) {
         this.subscriptionCallback = assertNotNull(subscriptionCallback);
+        this.demandCallback = assertNotNull(demandCallback);
     }
 
 
@@ -162,6 +175,7 @@ public class SingleSubscriberPublisher<T> implements Publisher<T> {
                         if (old < Long.MAX_VALUE) {
                             demand = ((old + n) < 0) ? Long.MAX_VALUE : (old + n); // Overflow protection
                         }
+                        demandCallback.onDemand(n);
                         if (old == 0) {
                             maybeReadInMutex();
                         }
@@ -176,6 +190,7 @@ public class SingleSubscriberPublisher<T> implements Publisher<T> {
                 if (running) {
                     subscriber = null;
                     running = false;
+                    demandCallback.onCancel();
                 }
             });
         }
@@ -191,4 +206,32 @@ public class SingleSubscriberPublisher<T> implements Publisher<T> {
          */
         void onSubscription();
     }
+
+    /**
+     * This is called as the subscriber asks for more data
+     */
+    public interface OnDemandCallback {
+        OnDemandCallback NOOP = new OnDemandCallback() {
+            @Override
+            public void onDemand(long n) {
+            }
+
+            @Override
+            public void onCancel() {
+            }
+        };
+
+        /**
+         * The call back when the subscriber has asked for more data
+         *
+         * @param n how many more items the subscriber has asked for
+         */
+        void onDemand(long n);
+
+        /**
+         * The call back when the subscriber has cancelled its subscription.  Its perhaps a good time to stop
+         * producing data
+         */
+        void onCancel();
+    }
 }
@@ -0,0 +1,93 @@
+package graphql.execution.reactive;
+
+import graphql.ExperimentalApi;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * This controls how the events of a subscription are mapped into {@link graphql.ExecutionResult}s by a {@link SubscriptionPublisher}.
+ * <p>
+ * Without one, every event the upstream publisher sends is executed straight away and the results are published in the order
+ * they finish.  With one, at most {@link #getMaxInFlight()} events are being executed or waiting to be published at any one
+ * time, and no more than that are requested from the upstream publisher, so a burst of events cannot queue up unbounded
+ * work.
+ * <p>
+ * Put one on {@link graphql.execution.SubscriptionExecutionStrategy#SubscriptionExecutionStrategy(graphql.execution.DataFetcherExceptionHandler, graphql.execution.SubscriptionFanOut, SubscriptionEventMapping)}
+ * to use it.
+ */
+@ExperimentalApi
+public class SubscriptionEventMapping {
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 16;
+
+    public enum Mode {
+        /**
+         * Results are published in the order their events finish executing
+         */
+        UNORDERED,
+        /**
+         * Results are published in the order the events arrived, holding back results that finish early
+         */
+        ORDERED,
+        /**
+         * The upstream publisher is drained as fast as it sends and one event is executed at a time.  Events that arrive
+         * while one is executing replace each other so only the latest is executed next, and a result that has not been
+         * requested yet is replaced by a newer one.  This suits high frequency streams where only the current value matters.
+         */
+        LATEST
+    }
+
+    private final Mode mode;
+    private final int maxInFlight;
+
+    private SubscriptionEventMapping(Builder builder) {
+        this.mode = builder.mode;
+        this.maxInFlight = builder.maxInFlight;
+    }
+
+    /**
+     * @return the order in which results are published
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return the most events that can be executing or waiting to be published at once.  This is not used in {@link Mode#LATEST} mode.
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public static Builder newSubscriptionEventMapping() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Mode mode = Mode.UNORDERED;
+        private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+
+        public Builder mode(Mode mode) {
+            this.mode = assertNotNull(mode);
+            return this;
+        }
+
+        /**
+         * Sets the most events that can be executing or waiting to be published at once
+         *
+         * @param maxInFlight the maximum number of events in flight
+         *
+         * @return this builder
+         */
+        public Builder maxInFlight(int maxInFlight) {
+            assertTrue(maxInFlight > 0, "maxInFlight must be greater than zero");
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        public SubscriptionEventMapping build() {
+            return new SubscriptionEventMapping(this);
+        }
+    }
+}
@@ -24,7 +24,8 @@ import java.util.function.Function;
 @PublicApi
 public class SubscriptionPublisher implements Publisher<ExecutionResult> {
 
-    private final CompletionStageMappingPublisher<ExecutionResult, Object> mappingPublisher;
+    private final Publisher<Object> upstreamPublisher;
+    private final Publisher<ExecutionResult> mappingPublisher;
 
     /**
      * Subscription consuming code is not expected to create instances of this class
@@ -34,15 +35,46 @@ public class SubscriptionPublisher implements Publisher<ExecutionResult> {
      */
     @Internal
     public  SubscriptionPublisher(Publisher<Object> upstreamPublisher, Function<Object, CompletionStage<ExecutionResult>> mapper) {
+        this.upstreamPublisher = upstreamPublisher;
         mappingPublisher = new CompletionStageMappingPublisher<>(upstreamPublisher, mapper);
     }
 
+    /**
+     * Subscription consuming code is not expected to create instances of this class
+     *
+     * @param upstreamPublisher the original publisher of objects that then have a graphql selection set applied to them
+     * @param mapper            a mapper that turns object into promises to execution results which are then published on this stream
+     * @param eventMapping      how many events can be in flight and the order their results are published in, or null to map them unbounded
+     */
+    @Internal
+    public SubscriptionPublisher(Publisher<Object> upstreamPublisher, Function<Object, CompletionStage<ExecutionResult>> mapper, SubscriptionEventMapping eventMapping) {
+        this(upstreamPublisher, upstreamPublisher, mapper, eventMapping);
+    }
+
+    /**
+     * Subscription consuming code is not expected to create instances of this class
+     *
+     * @param upstreamPublisher the original publisher of objects that then have a graphql selection set applied to them
+     * @param mappedPublisher   the publisher whose objects are mapped, which wraps the upstream publisher
+     * @param mapper            a mapper that turns the objects of the mapped publisher into promises to execution results which are then published on this stream
+     * @param eventMapping      how many events can be in flight and the order their results are published in, or null to map them unbounded
+     */
+    @Internal
+    public SubscriptionPublisher(Publisher<Object> upstreamPublisher, Publisher<Object> mappedPublisher, Function<Object, CompletionStage<ExecutionResult>> mapper, SubscriptionEventMapping eventMapping) {
+        this.upstreamPublisher = upstreamPublisher;
+        if (eventMapping == null) {
+            mappingPublisher = new CompletionStageMappingPublisher<>(mappedPublisher, mapper);
+        } else {
+            mappingPublisher = new BoundedCompletionStageMappingPublisher<>(mappedPublisher, mapper, eventMapping);
+        }
+    }
+
     /**
      * @return the underlying Publisher that was providing raw objects to the subscription field, whose published values are then mapped
      * to execution results
      */
     public Publisher<Object> getUpstreamPublisher() {
-        return mappingPublisher.getUpstreamPublisher();
+        return upstreamPublisher;
     }
 
     @Override
@@ -0,0 +1,92 @@
+package graphql.incremental;
+
+import graphql.ExperimentalApi;
+
+import java.time.Duration;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * By default each deferred payload is published in its own {@link DelayedIncrementalPartialResult} as soon as it is ready.
+ * Put one of these into the {@link graphql.GraphQLContext} of an execution, keyed by this class, and ready payloads are
+ * collected and published together once {@link #getMaxBatchSize()} of them are ready or {@link #getMaxDelay()} has passed
+ * since the first of them was ready, whichever comes first.  This means fewer, larger results and so fewer transport frames.
+ *
+ * <pre>{@code
+ *      graphQLContext.put(IncrementalBatching.class, IncrementalBatching.newIncrementalBatching()
+ *              .maxBatchSize(50)
+ *              .maxDelay(Duration.ofMillis(20))
+ *              .build());
+ * }</pre>
+ * <p>
+ * The last payloads are always published straight away, so batching never delays the end of the stream.  A
+ * {@link #getMaxBatchSize()} greater than one needs a {@link #getMaxDelay()} too, since with no delay every payload
+ * is published as soon as it is ready.
+ * <p>
+ * The items of a @stream field are only read as the subscriber asks for more results, so they fill a batch no faster than
+ * results are requested.  A subscriber that asks for one result at a time gets each streamed item on its own, after it has
+ * waited the full {@link #getMaxDelay()}, so a subscriber of streamed results should ask for as many results as it wants
+ * batched together, or the delay should be kept short.
+ */
+@ExperimentalApi
+public class IncrementalBatching {
+
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+
+    private IncrementalBatching(Builder builder) {
+        this.maxBatchSize = builder.maxBatchSize;
+        this.maxDelay = builder.maxDelay;
+    }
+
+    /**
+     * @return the number of ready payloads that causes them to be published
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * @return the longest a ready payload waits for others before it is published
+     */
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    public static Builder newIncrementalBatching() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int maxBatchSize = 1;
+        private Duration maxDelay = Duration.ZERO;
+
+        /**
+         * @param maxBatchSize the number of ready payloads that causes them to be published
+         *
+         * @return this builder
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            assertTrue(maxBatchSize > 0, "maxBatchSize must be greater than zero");
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * @param maxDelay the longest a ready payload waits for others before it is published
+         *
+         * @return this builder
+         */
+        public Builder maxDelay(Duration maxDelay) {
+            assertTrue(!assertNotNull(maxDelay).isNegative(), "maxDelay must not be negative");
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        public IncrementalBatching build() {
+            assertTrue(maxBatchSize == 1 || !maxDelay.isZero(), "a maxBatchSize greater than one needs a maxDelay greater than zero");
+            return new IncrementalBatching(this);
+        }
+    }
+}
@@ -0,0 +1,551 @@
+package graphql.parser;
+
+import graphql.Internal;
+import graphql.language.SourceLocation;
+import graphql.parser.exceptions.ParseCancelledException;
+
+import java.util.Arrays;
+
+/**
+ * A hand written lexer of graphql executable documents, used by {@link RecursiveDescentParser}.  It produces the same
+ * tokens with the same line and column positions as the ANTLR lexer, so that the AST built from them is the same.
+ * <p>
+ * Tokens are lexed on demand and held in arrays rather than as token objects.  Comments and ignored characters are
+ * counted towards the token limits like {@link SafeTokenSource} does, but they are only kept when the parser options
+ * ask for them to be captured.
+ */
+@Internal
+public class DocumentLexer {
+
+    static final int EOF = 0;
+    static final int NAME = 1;
+    static final int INT = 2;
+    static final int FLOAT = 3;
+    static final int STRING = 4;
+    static final int BLOCK_STRING = 5;
+    static final int BANG = 6;
+    static final int DOLLAR = 7;
+    static final int AMP = 8;
+    static final int PAREN_L = 9;
+    static final int PAREN_R = 10;
+    static final int SPREAD = 11;
+    static final int COLON = 12;
+    static final int EQUALS = 13;
+    static final int AT = 14;
+    static final int BRACKET_L = 15;
+    static final int BRACKET_R = 16;
+    static final int BRACE_L = 17;
+    static final int PIPE = 18;
+    static final int BRACE_R = 19;
+
+    // the kinds of hidden tokens, which mirror the comment and whitespace rules of the ANTLR lexer
+    static final int COMMENT = 0;
+    static final int LF = 1;
+    static final int CR = 2;
+    static final int TAB = 3;
+    static final int COMMA = 4;
+    static final int SPACE = 5;
+    static final int OTHER_WHITESPACE = 6;
+
+    private final String input;
+    private final int length;
+    private final ParserEnvironment environment;
+    private final MultiSourceReader multiSourceReader;
+    private final int maxTokens;
+    private final int maxWhitespaceTokens;
+    private final boolean keepComments;
+    private final boolean keepWhitespace;
+
+    // like ANTLR, lines are 1 based and only advanced by \n, while columns are 0 based and count code points
+    private int offset;
+    private int line = 1;
+    private int lineStart;
+    private boolean lineHasSurrogatePairs;
+
+    private int grammarTokenCount;
+    private int commentTokenCount;
+    private int whitespaceTokenCount;
+
+    private int tokenCount;
+    private int[] kinds = new int[64];
+    private int[] starts = new int[64];
+    private int[] ends = new int[64];
+    private int[] lines = new int[64];
+    private int[] columns = new int[64];
+    // the hidden tokens before a token are the ones from hiddenFrom to hiddenTo
+    private int[] hiddenFrom = new int[64];
+    private int[] hiddenTo = new int[64];
+
+    private int hiddenCount;
+    private int[] hiddenKinds = new int[16];
+    private int[] hiddenStarts = new int[16];
+    private int[] hiddenEnds = new int[16];
+    private int[] hiddenLines = new int[16];
+    private int[] hiddenColumns = new int[16];
+
+    public DocumentLexer(String input, MultiSourceReader multiSourceReader, ParserEnvironment environment, ParserOptions parserOptions) {
+        this.input = input;
+        this.length = input.length();
+        this.multiSourceReader = multiSourceReader;
+        this.environment = environment;
+        this.maxTokens = parserOptions.getMaxTokens();
+        this.maxWhitespaceTokens = parserOptions.getMaxWhitespaceTokens();
+        this.keepComments = parserOptions.isCaptureLineComments();
+        this.keepWhitespace = parserOptions.isCaptureIgnoredChars();
+    }
+
+    int kind(int token) {
+        int index = fill(token);
+        return kinds[index];
+    }
+
+    String text(int token) {
+        token = fill(token);
+        if (kinds[token] == EOF) {
+            return "<EOF>";
+        }
+        return input.substring(starts[token], ends[token]);
+    }
+
+    boolean textEquals(int token, String text) {
+        token = fill(token);
+        return ends[token] - starts[token] == text.length() && input.startsWith(text, starts[token]);
+    }
+
+    int line(int token) {
+        int index = fill(token);
+        return lines[index];
+    }
+
+    int column(int token) {
+        int index = fill(token);
+        return columns[index];
+    }
+
+    int hiddenFrom(int token) {
+        int index = fill(token);
+        return hiddenFrom[index];
+    }
+
+    int hiddenTo(int token) {
+        int index = fill(token);
+        return hiddenTo[index];
+    }
+
+    int hiddenKind(int hidden) {
+        return hiddenKinds[hidden];
+    }
+
+    String hiddenText(int hidden) {
+        return input.substring(hiddenStarts[hidden], hiddenEnds[hidden]);
+    }
+
+    int hiddenLine(int hidden) {
+        return hiddenLines[hidden];
+    }
+
+    int hiddenColumn(int hidden) {
+        return hiddenColumns[hidden];
+    }
+
+    /*
+     * lexes up to the given token and returns its index, or the index of the EOF token if the token is past it.
+     * The token arrays may be grown by this, so they must only be read after it returns
+     */
+    private int fill(int token) {
+        while (token >= tokenCount) {
+            if (tokenCount > 0 && kinds[tokenCount - 1] == EOF) {
+                return tokenCount - 1;
+            }
+            lexToken();
+        }
+        return token;
+    }
+
+    private void lexToken() {
+        int from = hiddenCount;
+        skipIgnored();
+        int start = offset;
+        int startLine = line;
+        int startColumn = columnOf(start);
+        int kind;
+        if (offset >= length) {
+            kind = EOF;
+        } else {
+            char c = input.charAt(offset);
+            switch (c) {
+                case '!':
+                    kind = punctuator(BANG);
+                    break;
+                case '$':
+                    kind = punctuator(DOLLAR);
+                    break;
+                case '&':
+                    kind = punctuator(AMP);
+                    break;
+                case '(':
+                    kind = punctuator(PAREN_L);
+                    break;
+                case ')':
+                    kind = punctuator(PAREN_R);
+                    break;
+                case ':':
+                    kind = punctuator(COLON);
+                    break;
+                case '=':
+                    kind = punctuator(EQUALS);
+                    break;
+                case '@':
+                    kind = punctuator(AT);
+                    break;
+                case '[':
+                    kind = punctuator(BRACKET_L);
+                    break;
+                case ']':
+                    kind = punctuator(BRACKET_R);
+                    break;
+                case '{':
+                    kind = punctuator(BRACE_L);
+                    break;
+                case '|':
+                    kind = punctuator(PIPE);
+                    break;
+                case '}':
+                    kind = punctuator(BRACE_R);
+                    break;
+                case '.':
+                    if (!input.startsWith("...", offset)) {
+                        throw lexerError(start, startLine, startColumn);
+                    }
+                    offset += 3;
+                    kind = SPREAD;
+                    break;
+                case '"':
+                    kind = lexString(start, startLine, startColumn);
+                    break;
+                default:
+                    if (isNameStart(c)) {
+                        kind = lexName();
+                    } else if (c == '-' || isDigit(c)) {
+                        kind = lexNumber(start, startLine, startColumn);
+                    } else {
+                        throw lexerError(start, startLine, startColumn);
+                    }
+            }
+        }
+        addToken(kind, start, startLine, startColumn, from);
+        if (++grammarTokenCount > maxTokens) {
+            throw tooManyTokens(maxTokens, text(tokenCount - 1), startLine, startColumn, "grammar");
+        }
+    }
+
+    private int punctuator(int kind) {
+        offset++;
+        return kind;
+    }
+
+    private void skipIgnored() {
+        while (offset < length) {
+            char c = input.charAt(offset);
+            int kind;
+            switch (c) {
+                case ' ':
+                    kind = SPACE;
+                    break;
+                case '\t':
+                    kind = TAB;
+                    break;
+                case ',':
+                    kind = COMMA;
+                    break;
+                case '\n':
+                    kind = LF;
+                    break;
+                case '\r':
+                    kind = CR;
+                    break;
+                case '\u2028':
+                case '\u2029':
+                case '\ufeff':
+                    kind = OTHER_WHITESPACE;
+                    break;
+                case '#':
+                    lexComment();
+                    continue;
+                default:
+                    return;
+            }
+            int start = offset;
+            int startLine = line;
+            int startColumn = columnOf(start);
+            offset++;
+            if (c == '\n') {
+                newLine();
+            }
+            if (++whitespaceTokenCount > maxWhitespaceTokens) {
+                throw tooManyTokens(maxWhitespaceTokens, String.valueOf(c), startLine, startColumn, "whitespace");
+            }
+            if (keepWhitespace) {
+                addHidden(kind, start, startLine, startColumn);
+            }
+        }
+    }
+
+    private void lexComment() {
+        int start = offset;
+        int startLine = line;
+        int startColumn = columnOf(start);
+        offset++;
+        while (offset < length) {
+            char c = input.charAt(offset);
+            if (c == '\n' || c == '\r') {
+                break;
+            }
+            if (Character.isSurrogate(c)) {
+                // a lone surrogate ends the comment and is then not recognised as a token
+                if (!isSurrogatePair(offset)) {
+                    break;
+                }
+                offset += 2;
+            } else {
+                offset++;
+            }
+        }
+        if (++commentTokenCount > maxTokens) {
+            throw tooManyTokens(maxTokens, input.substring(start, offset), startLine, startColumn, "comments");
+        }
+        if (keepComments) {
+            addHidden(COMMENT, start, startLine, startColumn);
+        }
+    }
+
+    private int lexName() {
+        offset++;
+        while (offset < length && isNameContinue(input.charAt(offset))) {
+            offset++;
+        }
+        return NAME;
+    }
+
+    private int lexNumber(int start, int startLine, int startColumn) {
+        if (input.charAt(offset) == '-') {
+            offset++;
+        }
+        if (peek() == '0') {
+            offset++;
+        } else if (isDigit(peek())) {
+            skipDigits();
+        } else {
+            throw lexerError(start, startLine, startColumn);
+        }
+        int kind = INT;
+        if (peek() == '.') {
+            offset++;
+            if (!isDigit(peek())) {
+                throw lexerError(start, startLine, startColumn);
+            }
+            skipDigits();
+            kind = FLOAT;
+        }
+        if (peek() == 'e' || peek() == 'E') {
+            offset++;
+            if (peek() == '+' || peek() == '-') {
+                offset++;
+            }
+            if (!isDigit(peek())) {
+                throw lexerError(start, startLine, startColumn);
+            }
+            skipDigits();
+            kind = FLOAT;
+        }
+        // like the ANTLR predicates, numbers can't be directly followed by a digit, a dot or a name
+        char next = peek();
+        if (isDigit(next) || next == '.' || isNameStart(next)) {
+            throw lexerError(start, startLine, startColumn);
+        }
+        return kind;
+    }
+
+    private void skipDigits() {
+        while (isDigit(peek())) {
+            offset++;
+        }
+    }
+
+    private int lexString(int start, int startLine, int startColumn) {
+        if (input.startsWith("\"\"\"", offset)) {
+            return lexBlockString(start, startLine, startColumn);
+        }
+        offset++;
+        while (offset < length) {
+            char c = input.charAt(offset);
+            if (c == '"') {
+                offset++;
+                return STRING;
+            }
+            if (c == '\n' || c == '\r') {
+                break;
+            }
+            if (c == '\\') {
+                offset++;
+                skipEscape(start, startLine, startColumn);
+            } else if (Character.isSurrogate(c)) {
+                skipSurrogatePair(start, startLine, startColumn);
+            } else {
+                offset++;
+            }
+        }
+        throw lexerError(start, startLine, startColumn);
+    }
+
+    private void skipEscape(int start, int startLine, int startColumn) {
+        char c = peek();
+        if (c == 'u') {
+            offset++;
+            if (peek() == '{') {
+                offset++;
+                if (!isHex(peek())) {
+                    throw lexerError(start, startLine, startColumn);
+                }
+                while (isHex(peek())) {
+                    offset++;
+                }
+                if (peek() != '}') {
+                    throw lexerError(start, startLine, startColumn);
+                }
+                offset++;
+            } else {
+                for (int i = 0; i < 4; i++) {
+                    if (!isHex(peek())) {
+                        throw lexerError(start, startLine, startColumn);
+                    }
+                    offset++;
+                }
+            }
+        } else if (c == '"' || c == '\\' || c == '/' || c == 'b' || c == 'f' || c == 'n' || c == 'r' || c == 't') {
+            offset++;
+        } else {
+            throw lexerError(start, startLine, startColumn);
+        }
+    }
+
+    private int lexBlockString(int start, int startLine, int startColumn) {
+        offset += 3;
+        while (offset < length) {
+            char c = input.charAt(offset);
+            if (c == '"' && input.startsWith("\"\"\"", offset)) {
+                offset += 3;
+                return BLOCK_STRING;
+            }
+            if (c == '\\' && input.startsWith("\\\"\"\"", offset)) {
+                offset += 4;
+            } else if (c == '\n') {
+                offset++;
+                newLine();
+            } else if (Character.isSurrogate(c)) {
+                skipSurrogatePair(start, startLine, startColumn);
+            } else {
+                offset++;
+            }
+        }
+        throw lexerError(start, startLine, startColumn);
+    }
+
+    private void skipSurrogatePair(int start, int startLine, int startColumn) {
+        if (!isSurrogatePair(offset)) {
+            throw lexerError(start, startLine, startColumn);
+        }
+        offset += 2;
+        lineHasSurrogatePairs = true;
+    }
+
+    private boolean isSurrogatePair(int at) {
+        return Character.isHighSurrogate(input.charAt(at)) && at + 1 < length && Character.isLowSurrogate(input.charAt(at + 1));
+    }
+
+    private void newLine() {
+        line++;
+        lineStart = offset;
+        lineHasSurrogatePairs = false;
+    }
+
+    private int columnOf(int at) {
+        return lineHasSurrogatePairs ? input.codePointCount(lineStart, at) : at - lineStart;
+    }
+
+    private char peek() {
+        return offset < length ? input.charAt(offset) : 0;
+    }
+
+    private static boolean isNameStart(char c) {
+        return c == '_' || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isNameContinue(char c) {
+        return isNameStart(c) || isDigit(c);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHex(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private void addToken(int kind, int start, int startLine, int startColumn, int from) {
+        if (tokenCount == kinds.length) {
+            int newLength = tokenCount * 2;
+            kinds = Arrays.copyOf(kinds, newLength);
+            starts = Arrays.copyOf(starts, newLength);
+            ends = Arrays.copyOf(ends, newLength);
+            lines = Arrays.copyOf(lines, newLength);
+            columns = Arrays.copyOf(columns, newLength);
+            hiddenFrom = Arrays.copyOf(hiddenFrom, newLength);
+            hiddenTo = Arrays.copyOf(hiddenTo, newLength);
+        }
+        kinds[tokenCount] = kind;
+        starts[tokenCount] = start;
+        ends[tokenCount] = offset;
+        lines[tokenCount] = startLine;
+        columns[tokenCount] = startColumn;
+        hiddenFrom[tokenCount] = from;
+        hiddenTo[tokenCount] = hiddenCount;
+        tokenCount++;
+    }
+
+    private void addHidden(int kind, int start, int startLine, int startColumn) {
+        if (hiddenCount == hiddenKinds.length) {
+            int newLength = hiddenCount * 2;
+            hiddenKinds = Arrays.copyOf(hiddenKinds, newLength);
+            hiddenStarts = Arrays.copyOf(hiddenStarts, newLength);
+            hiddenEnds = Arrays.copyOf(hiddenEnds, newLength);
+            hiddenLines = Arrays.copyOf(hiddenLines, newLength);
+            hiddenColumns = Arrays.copyOf(hiddenColumns, newLength);
+        }
+        hiddenKinds[hiddenCount] = kind;
+        hiddenStarts[hiddenCount] = start;
+        hiddenEnds[hiddenCount] = offset;
+        hiddenLines[hiddenCount] = startLine;
+        hiddenColumns[hiddenCount] = startColumn;
+        hiddenCount++;
+    }
+
+    private InvalidSyntaxException lexerError(int start, int startLine, int startColumn) {
+        // the same message as the ANTLR lexer gives, which includes the text up to and including the unexpected character
+        String text = input.substring(start, Math.min(offset + 1, length))
+                .replace("\n", "\\n")
+                .replace("\r", "\\r")
+                .replace("\t", "\\t");
+        String antlrMsg = "token recognition error at: '" + text + "'";
+        SourceLocation sourceLocation = AntlrHelper.createSourceLocation(multiSourceReader, startLine, startColumn);
+        String preview = AntlrHelper.createPreview(multiSourceReader, startLine);
+        String msg = environment.getI18N().msg("InvalidSyntax.full", antlrMsg, sourceLocation.getLine(), sourceLocation.getColumn());
+        return new InvalidSyntaxException(msg, sourceLocation, null, preview, null);
+    }
+
+    private InvalidSyntaxException tooManyTokens(int maxCount, String text, int startLine, int startColumn, String tokenType) {
+        SourceLocation sourceLocation = AntlrHelper.createSourceLocation(multiSourceReader, startLine, startColumn);
+        return new ParseCancelledException(environment.getI18N(), sourceLocation, text, maxCount, tokenType);
+    }
+}
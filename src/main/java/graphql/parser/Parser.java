@@ -169,9 +169,30 @@ public class Parser {
             Document doc = toLanguage.createDocument(documentContext);
             return new Object[]{documentContext, doc};
         };
+        ParserOptions parserOptions = environment.getParserOptions();
+        parserOptions = Optional.ofNullable(parserOptions).orElse(ParserOptions.getDefaultParserOptions());
+        if (parserOptions.isRecursiveDescentParsing()) {
+            return parseDocumentRecursiveDescent(environment, parserOptions, nodeFunction);
+        }
         return (Document) parseImpl(environment, nodeFunction);
     }
 
+    private Document parseDocumentRecursiveDescent(ParserEnvironment environment, ParserOptions parserOptions, BiFunction<GraphqlParser, GraphqlAntlrToLanguage, Object[]> nodeFunction) throws InvalidSyntaxException {
+        MultiSourceReader multiSourceReader = setupMultiSourceReader(environment, parserOptions);
+
+        SafeTokenReader safeTokenReader = setupSafeTokenReader(environment, parserOptions, multiSourceReader);
+
+        String input = readFully(safeTokenReader);
+
+        Document document = new RecursiveDescentParser(input, multiSourceReader, environment, parserOptions).parseDocument();
+        if (document != null) {
+            return document;
+        }
+        // type system definitions are only understood by the ANTLR parser - the document has been fully read by now, so the
+        // multi source reader can still map the lines of the input back to their sources
+        return (Document) parseImpl(environment, parserOptions, multiSourceReader, CharStreams.fromString(input), nodeFunction);
+    }
+
     private Value<?> parseValueImpl(String input) throws InvalidSyntaxException {
         BiFunction<GraphqlParser, GraphqlAntlrToLanguage, Object[]> nodeFunction = (parser, toLanguage) -> {
             GraphqlParser.ValueContext documentContext = parser.value();
@@ -212,6 +233,10 @@ public class Parser {
 
         CodePointCharStream charStream = setupCharStream(safeTokenReader);
 
+        return parseImpl(environment, parserOptions, multiSourceReader, charStream, nodeFunction);
+    }
+
+    private Node<?> parseImpl(ParserEnvironment environment, ParserOptions parserOptions, MultiSourceReader multiSourceReader, CodePointCharStream charStream, BiFunction<GraphqlParser, GraphqlAntlrToLanguage, Object[]> nodeFunction) throws InvalidSyntaxException {
         GraphqlLexer lexer = setupGraphqlLexer(environment, multiSourceReader, charStream);
 
         // this lexer wrapper allows us to stop lexing when too many tokens are in place.  This prevents DOS attacks.
@@ -290,6 +315,21 @@ public class Parser {
         return charStream;
     }
 
+    @NotNull
+    private static String readFully(SafeTokenReader safeTokenReader) {
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[4096];
+        try {
+            int read;
+            while ((read = safeTokenReader.read(buffer, 0, buffer.length)) != -1) {
+                sb.append(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
     @NotNull
     private static GraphqlLexer setupGraphqlLexer(ParserEnvironment environment, MultiSourceReader multiSourceReader, CodePointCharStream charStream) {
         GraphqlLexer lexer = new GraphqlLexer(charStream);
@@ -1,5 +1,6 @@
 package graphql.parser;
 
+import graphql.ExperimentalApi;
 import graphql.PublicApi;
 
 import java.util.function.Consumer;
@@ -190,12 +191,14 @@ public class ParserOptions {
     private final int maxWhitespaceTokens;
     private final int maxRuleDepth;
     private final ParsingListener parsingListener;
+    private final boolean recursiveDescentParsing;
 
     private ParserOptions(Builder builder) {
         this.captureIgnoredChars = builder.captureIgnoredChars;
         this.captureSourceLocation = builder.captureSourceLocation;
         this.captureLineComments = builder.captureLineComments;
         this.readerTrackData = builder.readerTrackData;
+        this.recursiveDescentParsing = builder.recursiveDescentParsing;
         this.maxCharacters = builder.maxCharacters;
         this.maxTokens = builder.maxTokens;
         this.maxWhitespaceTokens = builder.maxWhitespaceTokens;
@@ -298,6 +301,20 @@ public class ParserOptions {
         return parsingListener;
     }
 
+    /**
+     * Controls whether documents are parsed with a hand written recursive descent parser rather than the ANTLR generated one.
+     * It produces the same AST and honours the same limits, but only for executable documents.  Documents that contain type system
+     * definitions are handed over to the ANTLR parser, as are {@link Parser#parseValue(String)} and {@link Parser#parseType(String)}.
+     * <p>
+     * Note that {@link Parser#getAntlrToLanguage} overrides are not called when this is enabled.
+     *
+     * @return true if the recursive descent parser is used for documents
+     */
+    @ExperimentalApi
+    public boolean isRecursiveDescentParsing() {
+        return recursiveDescentParsing;
+    }
+
     public ParserOptions transform(Consumer<Builder> builderConsumer) {
         Builder builder = new Builder(this);
         builderConsumer.accept(builder);
@@ -319,6 +336,7 @@ public class ParserOptions {
         private int maxTokens = MAX_QUERY_TOKENS;
         private int maxWhitespaceTokens = MAX_WHITESPACE_TOKENS;
         private int maxRuleDepth = MAX_RULE_DEPTH;
+        private boolean recursiveDescentParsing = false;
 
         Builder() {
         }
@@ -332,6 +350,8 @@ public class ParserOptions {
             this.maxWhitespaceTokens = parserOptions.maxWhitespaceTokens;
             this.maxRuleDepth = parserOptions.maxRuleDepth;
             this.parsingListener = parserOptions.parsingListener;
+            this.readerTrackData = parserOptions.readerTrackData;
+            this.recursiveDescentParsing = parserOptions.recursiveDescentParsing;
         }
 
         public Builder captureIgnoredChars(boolean captureIgnoredChars) {
@@ -379,6 +399,12 @@ public class ParserOptions {
             return this;
         }
 
+        @ExperimentalApi
+        public Builder recursiveDescentParsing(boolean recursiveDescentParsing) {
+            this.recursiveDescentParsing = recursiveDescentParsing;
+            return this;
+        }
+
         public ParserOptions build() {
             return new ParserOptions(this);
         }
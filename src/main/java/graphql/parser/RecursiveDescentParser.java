@@ -0,0 +1,746 @@
+package graphql.parser;
+
+import com.google.common.collect.ImmutableList;
+import graphql.Internal;
+import graphql.language.Argument;
+import graphql.language.ArrayValue;
+import graphql.language.BooleanValue;
+import graphql.language.Comment;
+import graphql.language.Definition;
+import graphql.language.Directive;
+import graphql.language.Document;
+import graphql.language.EnumValue;
+import graphql.language.Field;
+import graphql.language.FloatValue;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.IgnoredChar;
+import graphql.language.IgnoredChars;
+import graphql.language.InlineFragment;
+import graphql.language.IntValue;
+import graphql.language.ListType;
+import graphql.language.NodeBuilder;
+import graphql.language.NonNullType;
+import graphql.language.NullValue;
+import graphql.language.ObjectField;
+import graphql.language.ObjectValue;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.SourceLocation;
+import graphql.language.StringValue;
+import graphql.language.Type;
+import graphql.language.TypeName;
+import graphql.language.Value;
+import graphql.language.VariableDefinition;
+import graphql.language.VariableReference;
+import graphql.parser.exceptions.MoreTokensSyntaxException;
+import graphql.parser.exceptions.ParseCancelledTooDeepException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static graphql.collect.ImmutableKit.emptyList;
+import static graphql.parser.DocumentLexer.AT;
+import static graphql.parser.DocumentLexer.BANG;
+import static graphql.parser.DocumentLexer.BLOCK_STRING;
+import static graphql.parser.DocumentLexer.BRACE_L;
+import static graphql.parser.DocumentLexer.BRACE_R;
+import static graphql.parser.DocumentLexer.BRACKET_L;
+import static graphql.parser.DocumentLexer.BRACKET_R;
+import static graphql.parser.DocumentLexer.COLON;
+import static graphql.parser.DocumentLexer.COMMENT;
+import static graphql.parser.DocumentLexer.DOLLAR;
+import static graphql.parser.DocumentLexer.EOF;
+import static graphql.parser.DocumentLexer.EQUALS;
+import static graphql.parser.DocumentLexer.FLOAT;
+import static graphql.parser.DocumentLexer.INT;
+import static graphql.parser.DocumentLexer.NAME;
+import static graphql.parser.DocumentLexer.PAREN_L;
+import static graphql.parser.DocumentLexer.PAREN_R;
+import static graphql.parser.DocumentLexer.SPREAD;
+import static graphql.parser.DocumentLexer.STRING;
+import static graphql.parser.StringValueParsing.parseSingleQuotedString;
+import static graphql.parser.StringValueParsing.parseTripleQuotedString;
+
+/**
+ * A hand written recursive descent parser of graphql executable documents, which builds the same AST as
+ * {@link GraphqlAntlrToLanguage} does from the ANTLR parse tree without the cost of the ANTLR machinery.
+ * <p>
+ * The rule depth is counted as if the ANTLR grammar rules had been entered, so that {@link ParserOptions#getMaxRuleDepth()}
+ * accepts the same documents with both parsers.
+ * <p>
+ * Type system definitions are not parsed, and {@link #parseDocument()} returns null for documents that contain them.
+ */
+@Internal
+public class RecursiveDescentParser {
+
+    private final DocumentLexer lexer;
+    private final MultiSourceReader multiSourceReader;
+    private final ParserEnvironment environment;
+    private final ParserOptions parserOptions;
+    private final ParsingListener parsingListener;
+    private final int maxRuleDepth;
+
+    private int pos;
+    private int depth;
+
+    public RecursiveDescentParser(String input, MultiSourceReader multiSourceReader, ParserEnvironment environment, ParserOptions parserOptions) {
+        this.lexer = new DocumentLexer(input, multiSourceReader, environment, parserOptions);
+        this.multiSourceReader = multiSourceReader;
+        this.environment = environment;
+        this.parserOptions = parserOptions;
+        this.parsingListener = parserOptions.getParsingListener();
+        this.maxRuleDepth = parserOptions.getMaxRuleDepth();
+    }
+
+    /**
+     * @return the parsed document or null if the document contains type system definitions
+     *
+     * @throws InvalidSyntaxException if the document is not valid graphql syntax
+     */
+    public Document parseDocument() throws InvalidSyntaxException {
+        Document document;
+        try {
+            document = parseExecutableDocument();
+        } catch (InvalidSyntaxException e) {
+            reportConsumedTokens();
+            throw e;
+        }
+        // a document handed over to the ANTLR parser has its tokens reported by that parser instead
+        if (document != null) {
+            reportConsumedTokens();
+        }
+        return document;
+    }
+
+    private Document parseExecutableDocument() {
+        int start = pos;
+        enterRule();
+        List<Definition> definitions = new ArrayList<>();
+        do {
+            if (isTypeSystemDefinitionStart()) {
+                return null;
+            }
+            enterRule();
+            if (at(BRACE_L) || isOperationType()) {
+                definitions.add(parseOperationDefinition());
+            } else if (atName("fragment")) {
+                definitions.add(parseFragmentDefinition());
+            } else {
+                throw unexpectedToken();
+            }
+            exitRule();
+        } while (at(BRACE_L) || isOperationType() || atName("fragment") || isTypeSystemDefinitionStart());
+
+        Document.Builder document = Document.newDocument();
+        addCommonData(document, start);
+        document.definitions(definitions);
+        exitRule();
+
+        if (!at(EOF)) {
+            throw new MoreTokensSyntaxException(environment.getI18N(), tokenSourceLocation(pos), lexer.text(pos), preview(pos));
+        }
+        return document.build();
+    }
+
+    private boolean isOperationType() {
+        return atName("query") || atName("mutation") || atName("subscription");
+    }
+
+    private boolean isTypeSystemDefinitionStart() {
+        if (at(STRING) || at(BLOCK_STRING)) {
+            // a description
+            return true;
+        }
+        return atName("schema") || atName("scalar") || atName("type") || atName("interface") || atName("union")
+                || atName("enum") || atName("input") || atName("directive") || atName("extend");
+    }
+
+    private OperationDefinition parseOperationDefinition() {
+        int start = pos;
+        enterRule();
+        OperationDefinition.Builder operationDefinition = OperationDefinition.newOperationDefinition();
+        if (at(BRACE_L)) {
+            operationDefinition.operation(OperationDefinition.Operation.QUERY);
+            operationDefinition.variableDefinitions(emptyList());
+            operationDefinition.directives(emptyList());
+        } else {
+            operationDefinition.operation(parseOperationType());
+            if (at(NAME)) {
+                operationDefinition.name(parseName());
+            }
+            operationDefinition.variableDefinitions(at(PAREN_L) ? parseVariableDefinitions() : emptyList());
+            operationDefinition.directives(parseOptionalDirectives());
+        }
+        operationDefinition.selectionSet(parseSelectionSet());
+        addCommonData(operationDefinition, start);
+        exitRule();
+        return operationDefinition.build();
+    }
+
+    private OperationDefinition.Operation parseOperationType() {
+        checkLeafRuleDepth(1);
+        OperationDefinition.Operation operation;
+        if (atName("query")) {
+            operation = OperationDefinition.Operation.QUERY;
+        } else if (atName("mutation")) {
+            operation = OperationDefinition.Operation.MUTATION;
+        } else {
+            operation = OperationDefinition.Operation.SUBSCRIPTION;
+        }
+        consume();
+        return operation;
+    }
+
+    private List<VariableDefinition> parseVariableDefinitions() {
+        enterRule();
+        expect(PAREN_L);
+        List<VariableDefinition> variableDefinitions = new ArrayList<>();
+        do {
+            variableDefinitions.add(parseVariableDefinition());
+        } while (!at(PAREN_R));
+        expect(PAREN_R);
+        exitRule();
+        return variableDefinitions;
+    }
+
+    private VariableDefinition parseVariableDefinition() {
+        int start = pos;
+        enterRule();
+        VariableDefinition.Builder variableDefinition = VariableDefinition.newVariableDefinition();
+        variableDefinition.name(parseVariable());
+        expect(COLON);
+        variableDefinition.type(parseType());
+        if (at(EQUALS)) {
+            enterRule();
+            consume();
+            variableDefinition.defaultValue(parseValue(true));
+            exitRule();
+        }
+        variableDefinition.directives(parseOptionalDirectives());
+        addCommonData(variableDefinition, start);
+        exitRule();
+        return variableDefinition.build();
+    }
+
+    private String parseVariable() {
+        enterRule();
+        expect(DOLLAR);
+        String name = parseName();
+        exitRule();
+        return name;
+    }
+
+    private FragmentDefinition parseFragmentDefinition() {
+        int start = pos;
+        enterRule();
+        consume();
+        FragmentDefinition.Builder fragmentDefinition = FragmentDefinition.newFragmentDefinition();
+        fragmentDefinition.name(parseFragmentName());
+        enterRule();
+        if (!atName("on")) {
+            throw unexpectedToken();
+        }
+        consume();
+        enterRule();
+        // like the ANTLR parser, the type condition of a fragment definition has no source location
+        fragmentDefinition.typeCondition(TypeName.newTypeName().name(parseName()).build());
+        exitRule();
+        exitRule();
+        fragmentDefinition.directives(parseOptionalDirectives());
+        fragmentDefinition.selectionSet(parseSelectionSet());
+        addCommonData(fragmentDefinition, start);
+        exitRule();
+        return fragmentDefinition.build();
+    }
+
+    private SelectionSet parseSelectionSet() {
+        int start = pos;
+        enterRule();
+        expect(BRACE_L);
+        List<Selection> selections = new ArrayList<>();
+        do {
+            enterRule();
+            if (at(NAME)) {
+                selections.add(parseField());
+            } else if (at(SPREAD)) {
+                if (kind(pos + 1) == NAME && !lexer.textEquals(pos + 1, "on")) {
+                    selections.add(parseFragmentSpread());
+                } else {
+                    selections.add(parseInlineFragment());
+                }
+            } else {
+                throw unexpectedToken();
+            }
+            exitRule();
+        } while (!at(BRACE_R));
+        expect(BRACE_R);
+        SelectionSet.Builder selectionSet = SelectionSet.newSelectionSet();
+        addCommonData(selectionSet, start);
+        selectionSet.selections(selections);
+        exitRule();
+        return selectionSet.build();
+    }
+
+    private Field parseField() {
+        int start = pos;
+        enterRule();
+        Field.Builder field = Field.newField();
+        if (kind(pos + 1) == COLON) {
+            enterRule();
+            field.alias(parseName());
+            consume();
+            exitRule();
+        }
+        field.name(parseName());
+        field.arguments(at(PAREN_L) ? parseArguments() : emptyList());
+        field.directives(parseOptionalDirectives());
+        if (at(BRACE_L)) {
+            field.selectionSet(parseSelectionSet());
+        }
+        addCommonData(field, start);
+        exitRule();
+        return field.build();
+    }
+
+    private FragmentSpread parseFragmentSpread() {
+        int start = pos;
+        enterRule();
+        consume();
+        FragmentSpread.Builder fragmentSpread = FragmentSpread.newFragmentSpread().name(parseFragmentName());
+        fragmentSpread.directives(parseOptionalDirectives());
+        addCommonData(fragmentSpread, start);
+        exitRule();
+        return fragmentSpread.build();
+    }
+
+    private InlineFragment parseInlineFragment() {
+        int start = pos;
+        enterRule();
+        consume();
+        InlineFragment.Builder inlineFragment = InlineFragment.newInlineFragment();
+        if (atName("on")) {
+            enterRule();
+            consume();
+            inlineFragment.typeCondition(parseTypeName());
+            exitRule();
+        }
+        inlineFragment.directives(parseOptionalDirectives());
+        inlineFragment.selectionSet(parseSelectionSet());
+        addCommonData(inlineFragment, start);
+        exitRule();
+        return inlineFragment.build();
+    }
+
+    private Type<?> parseType() {
+        enterRule();
+        Type<?> type;
+        if (at(BRACKET_L) ? isNonNullListType() : kind(pos + 1) == BANG) {
+            type = parseNonNullType();
+        } else if (at(BRACKET_L)) {
+            type = parseListType();
+        } else {
+            type = parseTypeName();
+        }
+        exitRule();
+        return type;
+    }
+
+    private boolean isNonNullListType() {
+        int nesting = 0;
+        int i = pos;
+        while (true) {
+            int kind = kind(i++);
+            if (kind == BRACKET_L) {
+                nesting++;
+            } else if (kind == BRACKET_R) {
+                nesting--;
+                if (nesting == 0) {
+                    return kind(i) == BANG;
+                }
+            } else if (kind == EOF) {
+                return false;
+            }
+        }
+    }
+
+    private NonNullType parseNonNullType() {
+        int start = pos;
+        enterRule();
+        NonNullType.Builder nonNullType = NonNullType.newNonNullType();
+        nonNullType.type(at(BRACKET_L) ? parseListType() : parseTypeName());
+        expect(BANG);
+        addCommonData(nonNullType, start);
+        exitRule();
+        return nonNullType.build();
+    }
+
+    private ListType parseListType() {
+        int start = pos;
+        enterRule();
+        expect(BRACKET_L);
+        ListType.Builder listType = ListType.newListType();
+        listType.type(parseType());
+        expect(BRACKET_R);
+        addCommonData(listType, start);
+        exitRule();
+        return listType.build();
+    }
+
+    private TypeName parseTypeName() {
+        int start = pos;
+        enterRule();
+        TypeName.Builder typeName = TypeName.newTypeName();
+        typeName.name(parseName());
+        addCommonData(typeName, start);
+        exitRule();
+        return typeName.build();
+    }
+
+    private List<Directive> parseOptionalDirectives() {
+        if (!at(AT)) {
+            return emptyList();
+        }
+        enterRule();
+        List<Directive> directives = new ArrayList<>();
+        do {
+            directives.add(parseDirective());
+        } while (at(AT));
+        exitRule();
+        return directives;
+    }
+
+    private Directive parseDirective() {
+        int start = pos;
+        enterRule();
+        consume();
+        Directive.Builder directive = Directive.newDirective();
+        directive.name(parseName());
+        directive.arguments(at(PAREN_L) ? parseArguments() : emptyList());
+        addCommonData(directive, start);
+        exitRule();
+        return directive.build();
+    }
+
+    private List<Argument> parseArguments() {
+        enterRule();
+        expect(PAREN_L);
+        List<Argument> arguments = new ArrayList<>();
+        do {
+            arguments.add(parseArgument());
+        } while (!at(PAREN_R));
+        expect(PAREN_R);
+        exitRule();
+        return arguments;
+    }
+
+    private Argument parseArgument() {
+        int start = pos;
+        enterRule();
+        Argument.Builder argument = Argument.newArgument();
+        argument.name(parseName());
+        expect(COLON);
+        argument.value(parseValue(false));
+        addCommonData(argument, start);
+        exitRule();
+        return argument.build();
+    }
+
+    private Value<?> parseValue(boolean constant) {
+        int start = pos;
+        enterRule();
+        Value<?> value;
+        switch (kind(pos)) {
+            case DOLLAR:
+                if (constant) {
+                    throw unexpectedToken();
+                }
+                value = addCommonData(VariableReference.newVariableReference().name(parseVariable()), start).build();
+                break;
+            case INT:
+                value = addCommonData(IntValue.newIntValue().value(new BigInteger(lexer.text(consume()))), start).build();
+                break;
+            case FLOAT:
+                value = addCommonData(FloatValue.newFloatValue().value(parseFloat(consume())), start).build();
+                break;
+            case STRING:
+                value = addCommonData(StringValue.newStringValue().value(parseSingleQuotedString(environment.getI18N(), lexer.text(pos), tokenSourceLocation(consume()))), start).build();
+                break;
+            case BLOCK_STRING:
+                value = addCommonData(StringValue.newStringValue().value(parseTripleQuotedString(lexer.text(consume()))), start).build();
+                break;
+            case NAME:
+                value = parseNameValue(start);
+                break;
+            case BRACKET_L:
+                value = parseArrayValue(start, constant);
+                break;
+            case BRACE_L:
+                value = parseObjectValue(start, constant);
+                break;
+            default:
+                throw unexpectedToken();
+        }
+        exitRule();
+        return value;
+    }
+
+    private BigDecimal parseFloat(int token) {
+        String text = lexer.text(token);
+        try {
+            return new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            SourceLocation sourceLocation = tokenSourceLocation(token);
+            String msg = environment.getI18N().msg("InvalidSyntaxBail.full", text, sourceLocation.getLine(), sourceLocation.getColumn());
+            throw new InvalidSyntaxException(msg, sourceLocation, text, preview(token), e);
+        }
+    }
+
+    private Value<?> parseNameValue(int start) {
+        if (atName("true") || atName("false")) {
+            boolean value = atName("true");
+            consume();
+            return addCommonData(BooleanValue.newBooleanValue().value(value), start).build();
+        }
+        if (atName("null")) {
+            consume();
+            return addCommonData(NullValue.newNullValue(), start).build();
+        }
+        // enumValue, enumValueName and, for all names other than "on", baseName
+        checkLeafRuleDepth(atName("on") ? 2 : 3);
+        String name = lexer.text(consume());
+        return addCommonData(EnumValue.newEnumValue().name(name), start).build();
+    }
+
+    private ArrayValue parseArrayValue(int start, boolean constant) {
+        enterRule();
+        consume();
+        List<Value> values = new ArrayList<>();
+        while (!at(BRACKET_R)) {
+            values.add(parseValue(constant));
+        }
+        consume();
+        exitRule();
+        ArrayValue.Builder arrayValue = ArrayValue.newArrayValue();
+        addCommonData(arrayValue, start);
+        return arrayValue.values(values).build();
+    }
+
+    private ObjectValue parseObjectValue(int start, boolean constant) {
+        enterRule();
+        consume();
+        List<ObjectField> objectFields = new ArrayList<>();
+        while (!at(BRACE_R)) {
+            enterRule();
+            String name = parseName();
+            expect(COLON);
+            // like the ANTLR parser, object fields have no source location
+            objectFields.add(ObjectField.newObjectField().name(name).value(parseValue(constant)).build());
+            exitRule();
+        }
+        consume();
+        exitRule();
+        ObjectValue.Builder objectValue = ObjectValue.newObjectValue();
+        addCommonData(objectValue, start);
+        return objectValue.objectFields(objectFields).build();
+    }
+
+    private String parseName() {
+        if (!at(NAME)) {
+            throw unexpectedToken();
+        }
+        // name and, for all names other than the keywords that are tokens of their own, baseName
+        boolean baseName = !(atName("true") || atName("false") || atName("null") || atName("on"));
+        checkLeafRuleDepth(baseName ? 2 : 1);
+        return lexer.text(consume());
+    }
+
+    private String parseFragmentName() {
+        if (!at(NAME) || atName("on")) {
+            throw unexpectedToken();
+        }
+        boolean baseName = !(atName("true") || atName("false") || atName("null"));
+        checkLeafRuleDepth(baseName ? 2 : 1);
+        return lexer.text(consume());
+    }
+
+    private boolean at(int kind) {
+        return lexer.kind(pos) == kind;
+    }
+
+    private boolean atName(String name) {
+        return lexer.kind(pos) == NAME && lexer.textEquals(pos, name);
+    }
+
+    private int kind(int token) {
+        return lexer.kind(token);
+    }
+
+    private void expect(int kind) {
+        if (!at(kind)) {
+            throw unexpectedToken();
+        }
+        consume();
+    }
+
+    private int consume() {
+        return pos++;
+    }
+
+    /*
+     * tokens are consumed strictly in order, so the ones consumed are all the tokens before the current position.  They
+     * are only reported once it is known that this parser, rather than the ANTLR one, is parsing the document
+     */
+    private void reportConsumedTokens() {
+        if (parsingListener == ParsingListener.NOOP) {
+            return;
+        }
+        for (int token = 0; token < pos; token++) {
+            String text = lexer.text(token);
+            int line = lexer.line(token);
+            int column = lexer.column(token);
+            parsingListener.onToken(new ParsingListener.Token() {
+                @Override
+                public String getText() {
+                    return text;
+                }
+
+                @Override
+                public int getLine() {
+                    return line;
+                }
+
+                @Override
+                public int getCharPositionInLine() {
+                    return column;
+                }
+            });
+        }
+    }
+
+    private void enterRule() {
+        depth++;
+        if (depth > maxRuleDepth) {
+            throw tooDeep();
+        }
+    }
+
+    private void exitRule() {
+        depth--;
+    }
+
+    /*
+     * checks the depth of rules that only match a single token without building the calls for them
+     */
+    private void checkLeafRuleDepth(int rules) {
+        if (depth + rules > maxRuleDepth) {
+            throw tooDeep();
+        }
+    }
+
+    private <B extends NodeBuilder> B addCommonData(B nodeBuilder, int start) {
+        if (parserOptions.isCaptureLineComments()) {
+            List<Comment> comments = getComments(start);
+            if (!comments.isEmpty()) {
+                nodeBuilder.comments(comments);
+            }
+        }
+        nodeBuilder.sourceLocation(getSourceLocation(start));
+        if (parserOptions.isCaptureIgnoredChars()) {
+            // the ignored chars to the right are the ones in front of the token after the last one of the node
+            nodeBuilder.ignoredChars(new IgnoredChars(getIgnoredChars(start), getIgnoredChars(pos)));
+        }
+        return nodeBuilder;
+    }
+
+    private List<Comment> getComments(int token) {
+        int from = lexer.hiddenFrom(token);
+        int to = lexer.hiddenTo(token);
+        if (from == to) {
+            return emptyList();
+        }
+        ImmutableList.Builder<Comment> comments = ImmutableList.builder();
+        for (int hidden = from; hidden < to; hidden++) {
+            if (lexer.hiddenKind(hidden) != COMMENT) {
+                continue;
+            }
+            String text = lexer.hiddenText(hidden).substring(1);
+            SourceLocation sourceLocation = SourceLocation.EMPTY;
+            if (parserOptions.isCaptureSourceLocation()) {
+                // like the ANTLR parser, comment columns are 0 based
+                MultiSourceReader.SourceAndLine sourceAndLine = multiSourceReader.getSourceAndLineFromOverallLine(lexer.hiddenLine(hidden) - 1);
+                sourceLocation = new SourceLocation(sourceAndLine.getLine() + 1, lexer.hiddenColumn(hidden), sourceAndLine.getSourceName());
+            }
+            comments.add(new Comment(text, sourceLocation));
+        }
+        return comments.build();
+    }
+
+    private List<IgnoredChar> getIgnoredChars(int token) {
+        int from = lexer.hiddenFrom(token);
+        int to = lexer.hiddenTo(token);
+        if (from == to) {
+            return emptyList();
+        }
+        ImmutableList.Builder<IgnoredChar> ignoredChars = ImmutableList.builder();
+        for (int hidden = from; hidden < to; hidden++) {
+            IgnoredChar.IgnoredCharKind kind;
+            switch (lexer.hiddenKind(hidden)) {
+                case COMMENT:
+                    continue;
+                case DocumentLexer.LF:
+                    kind = IgnoredChar.IgnoredCharKind.LF;
+                    break;
+                case DocumentLexer.CR:
+                    kind = IgnoredChar.IgnoredCharKind.CR;
+                    break;
+                case DocumentLexer.TAB:
+                    kind = IgnoredChar.IgnoredCharKind.TAB;
+                    break;
+                case DocumentLexer.COMMA:
+                    kind = IgnoredChar.IgnoredCharKind.COMMA;
+                    break;
+                case DocumentLexer.SPACE:
+                    kind = IgnoredChar.IgnoredCharKind.SPACE;
+                    break;
+                default:
+                    kind = IgnoredChar.IgnoredCharKind.OTHER;
+            }
+            SourceLocation sourceLocation = SourceLocation.EMPTY;
+            if (parserOptions.isCaptureSourceLocation()) {
+                sourceLocation = AntlrHelper.createSourceLocation(multiSourceReader, lexer.hiddenLine(hidden), lexer.hiddenColumn(hidden));
+            }
+            ignoredChars.add(new IgnoredChar(lexer.hiddenText(hidden), kind, sourceLocation));
+        }
+        return ignoredChars.build();
+    }
+
+    private SourceLocation getSourceLocation(int token) {
+        if (parserOptions.isCaptureSourceLocation()) {
+            return tokenSourceLocation(token);
+        }
+        return SourceLocation.EMPTY;
+    }
+
+    private SourceLocation tokenSourceLocation(int token) {
+        return AntlrHelper.createSourceLocation(multiSourceReader, lexer.line(token), lexer.column(token));
+    }
+
+    private String preview(int token) {
+        return AntlrHelper.createPreview(multiSourceReader, lexer.line(token));
+    }
+
+    private InvalidSyntaxException unexpectedToken() {
+        SourceLocation sourceLocation = tokenSourceLocation(pos);
+        String offendingToken = lexer.text(pos);
+        String msg = environment.getI18N().msg("InvalidSyntaxBail.full", offendingToken, sourceLocation.getLine(), sourceLocation.getColumn());
+        return new InvalidSyntaxException(msg, sourceLocation, offendingToken, preview(pos), null);
+    }
+
+    private InvalidSyntaxException tooDeep() {
+        return new ParseCancelledTooDeepException(environment.getI18N(), tokenSourceLocation(pos), lexer.text(pos), maxRuleDepth, "grammar");
+    }
+}
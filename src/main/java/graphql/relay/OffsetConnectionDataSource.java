@@ -0,0 +1,34 @@
+package graphql.relay;
+
+import graphql.PublicSpi;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.List;
+
+/**
+ * A source of data that can be read by offset, such as a random access list or a database table read
+ * with offset and limit, which {@link WindowedConnection} pages through.
+ *
+ * @param <T> the type of the elements
+ */
+@PublicSpi
+public interface OffsetConnectionDataSource<T> {
+
+    /**
+     * @param environment the data fetching environment of the connection field
+     *
+     * @return the total number of elements in the data source
+     */
+    int getTotalCount(DataFetchingEnvironment environment);
+
+    /**
+     * This is only called with windows that lie within the total count of the data source
+     *
+     * @param environment the data fetching environment of the connection field
+     * @param offset      the offset of the first element to return
+     * @param count       the number of elements to return
+     *
+     * @return the elements from offset up to offset + count
+     */
+    List<T> getSlice(DataFetchingEnvironment environment, int offset, int count);
+}
@@ -0,0 +1,43 @@
+package graphql.relay;
+
+import graphql.Internal;
+
+import java.nio.charset.StandardCharsets;
+
+import static java.lang.String.format;
+import static java.util.Base64.getDecoder;
+import static java.util.Base64.getEncoder;
+
+/**
+ * The offset based cursors that {@link SimpleListConnection} and {@link WindowedConnection} create, which are
+ * the base64 encoding of a prefix followed by the offset of the element.
+ */
+@Internal
+public class OffsetCursors {
+
+    public static String createCursor(String prefix, int offset) {
+        byte[] bytes = (prefix + offset).getBytes(StandardCharsets.UTF_8);
+        return getEncoder().encodeToString(bytes);
+    }
+
+    public static int getOffsetFromCursor(String prefix, String cursor, int defaultValue) {
+        if (cursor == null) {
+            return defaultValue;
+        }
+        byte[] decode;
+        try {
+            decode = getDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(format("The cursor is not in base64 format : '%s'", cursor), e);
+        }
+        String string = new String(decode, StandardCharsets.UTF_8);
+        if (prefix.length() > string.length()) {
+            throw new InvalidCursorException(format("The cursor prefix is missing from the cursor : '%s'", cursor));
+        }
+        try {
+            return Integer.parseInt(string.substring(prefix.length()));
+        } catch (NumberFormatException nfe) {
+            throw new InvalidCursorException(format("The cursor was not created by this class  : '%s'", cursor), nfe);
+        }
+    }
+}
@@ -6,15 +6,12 @@ import graphql.collect.ImmutableKit;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
 import static graphql.Assert.assertNotNull;
 import static graphql.Assert.assertTrue;
 import static java.lang.String.format;
-import static java.util.Base64.getDecoder;
-import static java.util.Base64.getEncoder;
 
 @PublicApi
 public class SimpleListConnection<T> implements DataFetcher<Connection<T>>, TrivialDataFetcher<Connection<T>> {
@@ -126,28 +123,10 @@ public class SimpleListConnection<T> implements DataFetcher<Connection<T>>, Triv
     }
 
     private int getOffsetFromCursor(String cursor, int defaultValue) {
-        if (cursor == null) {
-            return defaultValue;
-        }
-        byte[] decode;
-        try {
-            decode = getDecoder().decode(cursor);
-        } catch (IllegalArgumentException e) {
-            throw new InvalidCursorException(format("The cursor is not in base64 format : '%s'", cursor), e);
-        }
-        String string = new String(decode, StandardCharsets.UTF_8);
-        if (prefix.length() > string.length()) {
-            throw new InvalidCursorException(format("The cursor prefix is missing from the cursor : '%s'", cursor));
-        }
-        try {
-            return Integer.parseInt(string.substring(prefix.length()));
-        } catch (NumberFormatException nfe) {
-            throw new InvalidCursorException(format("The cursor was not created by this class  : '%s'", cursor), nfe);
-        }
+        return OffsetCursors.getOffsetFromCursor(prefix, cursor, defaultValue);
     }
 
     private String createCursor(int offset) {
-        byte[] bytes = (prefix + Integer.toString(offset)).getBytes(StandardCharsets.UTF_8);
-        return getEncoder().encodeToString(bytes);
+        return OffsetCursors.createCursor(prefix, offset);
     }
 }
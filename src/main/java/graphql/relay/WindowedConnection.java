@@ -0,0 +1,135 @@
+package graphql.relay;
+
+import graphql.PublicApi;
+import graphql.collect.ImmutableKit;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+import static java.lang.String.format;
+
+/**
+ * A connection data fetcher that pages like {@link SimpleListConnection} and creates the same cursors, but which
+ * works out the window of offsets that the after, before, first and last arguments select before it reads any
+ * data.  Only the elements of the returned page are read from the {@link OffsetConnectionDataSource} and only
+ * their edges and cursors are created, so the cost of a page does not grow with the size of the data.
+ *
+ * @param <T> the type of the elements
+ */
+@PublicApi
+public class WindowedConnection<T> implements DataFetcher<Connection<T>> {
+
+    private final String prefix;
+    private final OffsetConnectionDataSource<T> dataSource;
+
+    public WindowedConnection(OffsetConnectionDataSource<T> dataSource, String prefix) {
+        this.dataSource = assertNotNull(dataSource, () -> "dataSource cannot be null");
+        assertTrue(prefix != null && !prefix.isEmpty(), () -> "prefix cannot be null or empty");
+        this.prefix = prefix;
+    }
+
+    public WindowedConnection(OffsetConnectionDataSource<T> dataSource) {
+        this(dataSource, SimpleListConnection.DUMMY_CURSOR_PREFIX);
+    }
+
+    public WindowedConnection(List<T> data, String prefix) {
+        this(listDataSource(assertNotNull(data, () -> " data cannot be null")), prefix);
+    }
+
+    public WindowedConnection(List<T> data) {
+        this(data, SimpleListConnection.DUMMY_CURSOR_PREFIX);
+    }
+
+    private static <T> OffsetConnectionDataSource<T> listDataSource(List<T> data) {
+        return new OffsetConnectionDataSource<T>() {
+            @Override
+            public int getTotalCount(DataFetchingEnvironment environment) {
+                return data.size();
+            }
+
+            @Override
+            public List<T> getSlice(DataFetchingEnvironment environment, int offset, int count) {
+                return data.subList(offset, offset + count);
+            }
+        };
+    }
+
+    @Override
+    public Connection<T> get(DataFetchingEnvironment environment) {
+        int totalCount = dataSource.getTotalCount(environment);
+        if (totalCount == 0) {
+            return emptyConnection();
+        }
+
+        int afterOffset = getOffsetFromCursor(environment.getArgument("after"), -1);
+        int begin = Math.min(Math.max(afterOffset, -1), totalCount - 1) + 1;
+        int beforeOffset = getOffsetFromCursor(environment.getArgument("before"), totalCount);
+        int end = Math.max(Math.min(beforeOffset, totalCount), 0);
+
+        if (begin > end) {
+            begin = end;
+        }
+        if (begin == end) {
+            return emptyConnection();
+        }
+
+        Integer first = environment.getArgument("first");
+        Integer last = environment.getArgument("last");
+
+        if (first != null) {
+            if (first < 0) {
+                throw new InvalidPageSizeException(format("The page size must not be negative: 'first'=%s", first));
+            }
+            end = begin + Math.min(first, end - begin);
+        }
+        if (last != null) {
+            if (last < 0) {
+                throw new InvalidPageSizeException(format("The page size must not be negative: 'last'=%s", last));
+            }
+            begin = last > end - begin ? begin : end - last;
+        }
+
+        if (begin == end) {
+            return emptyConnection();
+        }
+
+        List<T> slice = dataSource.getSlice(environment, begin, end - begin);
+        List<Edge<T>> edges = new ArrayList<>(slice.size());
+        int offset = begin;
+        for (T object : slice) {
+            edges.add(new DefaultEdge<>(object, new DefaultConnectionCursor(createCursor(offset++))));
+        }
+        if (edges.isEmpty()) {
+            return emptyConnection();
+        }
+
+        PageInfo pageInfo = new DefaultPageInfo(
+                edges.get(0).getCursor(),
+                edges.get(edges.size() - 1).getCursor(),
+                begin != 0,
+                offset != totalCount
+        );
+
+        return new DefaultConnection<>(
+                edges,
+                pageInfo
+        );
+    }
+
+    private Connection<T> emptyConnection() {
+        PageInfo pageInfo = new DefaultPageInfo(null, null, false, false);
+        return new DefaultConnection<>(ImmutableKit.emptyList(), pageInfo);
+    }
+
+    private int getOffsetFromCursor(String cursor, int defaultValue) {
+        return OffsetCursors.getOffsetFromCursor(prefix, cursor, defaultValue);
+    }
+
+    private String createCursor(int offset) {
+        return OffsetCursors.createCursor(prefix, offset);
+    }
+}
@@ -1,5 +1,6 @@
 package graphql.schema;
 
+import graphql.Internal;
 import graphql.PublicApi;
 
 import java.util.concurrent.CompletionStage;
@@ -20,7 +21,7 @@ public class DataFetcherFactories {
      * @return a data fetcher factory that always returns the provided data fetcher
      */
     public static <T> DataFetcherFactory<T> useDataFetcher(DataFetcher<T> dataFetcher) {
-        return fieldDefinition -> dataFetcher;
+        return new ConstantDataFetcherFactory<>(dataFetcher);
     }
 
     /**
@@ -44,4 +45,20 @@ public class DataFetcherFactories {
         };
     }
 
+    /*
+     * a named class so that the code registry can tell that the data fetcher of the factory never changes
+     */
+    @Internal
+    public static class ConstantDataFetcherFactory<T> implements DataFetcherFactory<T> {
+        private final DataFetcher<T> dataFetcher;
+
+        public ConstantDataFetcherFactory(DataFetcher<T> dataFetcher) {
+            this.dataFetcher = dataFetcher;
+        }
+
+        @Override
+        public DataFetcher<T> get(DataFetcherFactoryEnvironment environment) {
+            return dataFetcher;
+        }
+    }
 }
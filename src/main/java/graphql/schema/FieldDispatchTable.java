@@ -0,0 +1,115 @@
+package graphql.schema;
+
+import com.google.common.collect.ImmutableMap;
+import graphql.Internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static graphql.schema.visibility.DefaultGraphqlFieldVisibility.DEFAULT_FIELD_VISIBILITY;
+
+/**
+ * This resolves the field definitions and data fetchers of the fields of an object type once per schema, so that the
+ * execution engine does not have to look them up through the field visibility and the code registry for every field
+ * it fetches.  The fields of an object type are resolved the first time one of them is asked for.
+ * <p>
+ * Field definitions are only resolved if the schema uses the default field visibility, and data fetchers are only
+ * resolved if their {@link DataFetcherFactory} is known to always return the same data fetcher.  Otherwise this returns
+ * null and the caller should look them up as usual.
+ */
+@Internal
+public class FieldDispatchTable {
+
+    private final GraphQLSchema schema;
+    private final Map<String, ObjectTypeFields> objectTypeFields = new ConcurrentHashMap<>();
+
+    public FieldDispatchTable(GraphQLSchema schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * This looks up fields the same way as {@link graphql.introspection.Introspection#getFieldDefinition(GraphQLSchema, GraphQLFieldsContainer, String)}
+     *
+     * @param objectType the object type of the field
+     * @param fieldName  the name of the field
+     *
+     * @return the field definition or null if it must be looked up as usual
+     */
+    public GraphQLFieldDefinition getFieldDefinition(GraphQLObjectType objectType, String fieldName) {
+        ObjectTypeFields fields = getObjectTypeFields(objectType);
+        if (fields == null || !fields.visibleFieldDefinitions) {
+            return null;
+        }
+        ResolvedField resolvedField = fields.fields.get(fieldName);
+        return resolvedField == null ? null : resolvedField.fieldDefinition;
+    }
+
+    /**
+     * @param objectType      the object type of the field
+     * @param fieldDefinition the definition of the field
+     *
+     * @return the data fetcher of the field or null if it must be looked up in the code registry
+     */
+    public DataFetcher<?> getDataFetcher(GraphQLObjectType objectType, GraphQLFieldDefinition fieldDefinition) {
+        ObjectTypeFields fields = getObjectTypeFields(objectType);
+        if (fields == null) {
+            return null;
+        }
+        ResolvedField resolvedField = fields.fields.get(fieldDefinition.getName());
+        if (resolvedField == null || resolvedField.fieldDefinition != fieldDefinition) {
+            return null;
+        }
+        return resolvedField.dataFetcher;
+    }
+
+    private ObjectTypeFields getObjectTypeFields(GraphQLObjectType objectType) {
+        ObjectTypeFields fields = objectTypeFields.get(objectType.getName());
+        if (fields == null) {
+            if (schema.getType(objectType.getName()) != objectType) {
+                // not an object type of this schema
+                return null;
+            }
+            fields = objectTypeFields.computeIfAbsent(objectType.getName(), name -> new ObjectTypeFields(schema, objectType));
+        }
+        return fields.objectType == objectType ? fields : null;
+    }
+
+    private static class ObjectTypeFields {
+        private final GraphQLObjectType objectType;
+        private final boolean visibleFieldDefinitions;
+        private final ImmutableMap<String, ResolvedField> fields;
+
+        ObjectTypeFields(GraphQLSchema schema, GraphQLObjectType objectType) {
+            GraphQLCodeRegistry codeRegistry = schema.getCodeRegistry();
+            this.objectType = objectType;
+            this.visibleFieldDefinitions = codeRegistry.getFieldVisibility() == DEFAULT_FIELD_VISIBILITY;
+
+            // like Introspection.getFieldDefinition, the fields of the type take precedence over the system fields
+            Map<String, GraphQLFieldDefinition> fieldDefinitions = new LinkedHashMap<>();
+            for (GraphQLFieldDefinition fieldDefinition : objectType.getFieldDefinitions()) {
+                fieldDefinitions.put(fieldDefinition.getName(), fieldDefinition);
+            }
+            if (schema.getQueryType() == objectType) {
+                fieldDefinitions.putIfAbsent(schema.getIntrospectionSchemaFieldDefinition().getName(), schema.getIntrospectionSchemaFieldDefinition());
+                fieldDefinitions.putIfAbsent(schema.getIntrospectionTypeFieldDefinition().getName(), schema.getIntrospectionTypeFieldDefinition());
+            }
+            fieldDefinitions.putIfAbsent(schema.getIntrospectionTypenameFieldDefinition().getName(), schema.getIntrospectionTypenameFieldDefinition());
+
+            ImmutableMap.Builder<String, ResolvedField> fields = ImmutableMap.builderWithExpectedSize(fieldDefinitions.size());
+            fieldDefinitions.forEach((name, fieldDefinition) ->
+                    fields.put(name, new ResolvedField(fieldDefinition, codeRegistry.getStableDataFetcher(objectType, fieldDefinition))));
+            this.fields = fields.build();
+        }
+    }
+
+    private static class ResolvedField {
+        private final GraphQLFieldDefinition fieldDefinition;
+        private final DataFetcher<?> dataFetcher;
+
+        ResolvedField(GraphQLFieldDefinition fieldDefinition, DataFetcher<?> dataFetcher) {
+            this.fieldDefinition = fieldDefinition;
+            this.dataFetcher = dataFetcher;
+        }
+    }
+}
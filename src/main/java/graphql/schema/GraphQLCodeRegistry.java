@@ -28,6 +28,8 @@ import static graphql.schema.visibility.DefaultGraphqlFieldVisibility.DEFAULT_FI
 @PublicApi
 public class GraphQLCodeRegistry {
 
+    private static final DataFetcherFactory<?> DEFAULT_DATA_FETCHER_FACTORY = env -> PropertyDataFetcher.fetching(env.getFieldDefinition().getName());
+
     private final Map<FieldCoordinates, DataFetcherFactory<?>> dataFetcherMap;
     private final Map<String, DataFetcherFactory<?>> systemDataFetcherMap;
     private final Map<String, TypeResolver> typeResolverMap;
@@ -84,10 +86,32 @@ public class GraphQLCodeRegistry {
         return hasDataFetcherImpl(coordinates, dataFetcherMap, systemDataFetcherMap);
     }
 
+    /*
+     * Returns the data fetcher of a field if its factory is known to always return the same data fetcher, so it can be
+     * resolved once per schema, otherwise null.  Factories in general can't be cached since they may bind data fetchers late.
+     */
+    @Internal
+    public DataFetcher<?> getStableDataFetcher(GraphQLObjectType parentType, GraphQLFieldDefinition fieldDefinition) {
+        DataFetcherFactory<?> dataFetcherFactory = getDataFetcherFactory(FieldCoordinates.coordinates(parentType, fieldDefinition), fieldDefinition, dataFetcherMap, systemDataFetcherMap, defaultDataFetcherFactory);
+        if (dataFetcherFactory == DEFAULT_DATA_FETCHER_FACTORY || dataFetcherFactory instanceof DataFetcherFactories.ConstantDataFetcherFactory) {
+            return dataFetcherFactory.get(newDataFetchingFactoryEnvironment()
+                    .fieldDefinition(fieldDefinition)
+                    .build());
+        }
+        return null;
+    }
+
     private static DataFetcher<?> getDataFetcherImpl(FieldCoordinates coordinates, GraphQLFieldDefinition fieldDefinition, Map<FieldCoordinates, DataFetcherFactory<?>> dataFetcherMap, Map<String, DataFetcherFactory<?>> systemDataFetcherMap, DataFetcherFactory<?> defaultDataFetcherFactory) {
         assertNotNull(coordinates);
         assertNotNull(fieldDefinition);
 
+        DataFetcherFactory<?> dataFetcherFactory = getDataFetcherFactory(coordinates, fieldDefinition, dataFetcherMap, systemDataFetcherMap, defaultDataFetcherFactory);
+        return dataFetcherFactory.get(newDataFetchingFactoryEnvironment()
+                .fieldDefinition(fieldDefinition)
+                .build());
+    }
+
+    private static DataFetcherFactory<?> getDataFetcherFactory(FieldCoordinates coordinates, GraphQLFieldDefinition fieldDefinition, Map<FieldCoordinates, DataFetcherFactory<?>> dataFetcherMap, Map<String, DataFetcherFactory<?>> systemDataFetcherMap, DataFetcherFactory<?> defaultDataFetcherFactory) {
         DataFetcherFactory<?> dataFetcherFactory = systemDataFetcherMap.get(fieldDefinition.getName());
         if (dataFetcherFactory == null) {
             dataFetcherFactory = dataFetcherMap.get(coordinates);
@@ -95,9 +119,7 @@ public class GraphQLCodeRegistry {
                 dataFetcherFactory = defaultDataFetcherFactory;
             }
         }
-        return dataFetcherFactory.get(newDataFetchingFactoryEnvironment()
-                .fieldDefinition(fieldDefinition)
-                .build());
+        return dataFetcherFactory;
     }
 
     private static boolean hasDataFetcherImpl(FieldCoordinates coords, Map<FieldCoordinates, DataFetcherFactory<?>> dataFetcherMap, Map<String, DataFetcherFactory<?>> systemDataFetcherMap) {
@@ -189,7 +211,7 @@ public class GraphQLCodeRegistry {
         private final Map<String, DataFetcherFactory<?>> systemDataFetcherMap = new LinkedHashMap<>();
         private final Map<String, TypeResolver> typeResolverMap = new HashMap<>();
         private GraphqlFieldVisibility fieldVisibility = DEFAULT_FIELD_VISIBILITY;
-        private DataFetcherFactory<?> defaultDataFetcherFactory = env -> PropertyDataFetcher.fetching(env.getFieldDefinition().getName());
+        private DataFetcherFactory<?> defaultDataFetcherFactory = DEFAULT_DATA_FETCHER_FACTORY;
         private boolean changed = false;
 
         private Builder() {
@@ -1,18 +1,34 @@
 package graphql.schema.idl;
 
+import graphql.ExperimentalApi;
 import graphql.GraphQLError;
 import graphql.PublicApi;
+import graphql.introspection.Introspection;
 import graphql.language.OperationTypeDefinition;
+import graphql.language.SDLDefinition;
+import graphql.language.TypeDefinition;
 import graphql.schema.GraphQLCodeRegistry;
 import graphql.schema.GraphQLDirective;
+import graphql.schema.GraphQLNamedType;
 import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLSchemaElement;
 import graphql.schema.GraphQLType;
 import graphql.schema.idl.errors.SchemaProblem;
-
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
+import static graphql.Assert.assertNotNull;
 import static graphql.schema.idl.SchemaGeneratorHelper.buildDescription;
 
 
@@ -103,7 +119,7 @@ public class SchemaGenerator {
 
         schemaGeneratorHelper.addDirectivesIncludedByDefault(typeRegistryCopy);
 
-        List<GraphQLError> errors = typeChecker.checkTypeRegistry(typeRegistryCopy, wiring);
+        List<GraphQLError> errors = typeChecker.checkTypeRegistry(typeRegistryCopy, wiring, options.getForkJoinPool());
         if (!errors.isEmpty()) {
             throw new SchemaProblem(errors);
         }
@@ -113,13 +129,251 @@ public class SchemaGenerator {
         return makeExecutableSchemaImpl(typeRegistryCopy, wiring, operationTypeDefinitions, options);
     }
 
+    /**
+     * This rebuilds a schema previously made by this generator after some of the SDL it was made from has changed.
+     * Only the types named by the changed definitions and the types that refer to them, directly or indirectly, are
+     * built again.  All the other types of the previous schema are reused as they are, which is much faster for large
+     * schemas and keeps the identity of the unchanged types.
+     *
+     * @param previousSchema     the schema made from the type registry before it changed
+     * @param typeRegistry       the complete type registry after the change
+     * @param wiring             the runtime wiring, which should be the one the previous schema was made with
+     * @param changedDefinitions the definitions that were added, changed or removed
+     *
+     * @return an executable schema
+     *
+     * @throws SchemaProblem if there are problems in assembling a schema such as missing type resolvers or no operations defined
+     * @see #rebuildExecutableSchema(Options, GraphQLSchema, TypeDefinitionRegistry, RuntimeWiring, Collection)
+     */
+    @ExperimentalApi
+    public GraphQLSchema rebuildExecutableSchema(GraphQLSchema previousSchema,
+                                                 TypeDefinitionRegistry typeRegistry,
+                                                 RuntimeWiring wiring,
+                                                 Collection<? extends SDLDefinition> changedDefinitions) throws SchemaProblem {
+        return rebuildExecutableSchema(Options.defaultOptions(), previousSchema, typeRegistry, wiring, changedDefinitions);
+    }
+
+    /**
+     * This rebuilds a schema previously made by this generator after some of the SDL it was made from has changed.
+     * Only the types named by the changed definitions and the types that refer to them, directly or indirectly, are
+     * built again.  All the other types of the previous schema are reused as they are, which is much faster for large
+     * schemas and keeps the identity of the unchanged types.
+     * <p>
+     * The whole type registry is still checked and the new schema is still validated.  Changes to directive
+     * definitions or to the schema definition and its extensions can affect any element, so the whole schema is built
+     * again for those, as it is when a rebuilt type needs a {@link SchemaDirectiveWiring}.
+     *
+     * @param options            the controlling options, which should be the ones the previous schema was made with
+     * @param previousSchema     the schema made from the type registry before it changed
+     * @param typeRegistry       the complete type registry after the change
+     * @param wiring             the runtime wiring, which should be the one the previous schema was made with
+     * @param changedDefinitions the definitions that were added, changed or removed
+     *
+     * @return an executable schema
+     *
+     * @throws SchemaProblem if there are problems in assembling a schema such as missing type resolvers or no operations defined
+     */
+    @ExperimentalApi
+    public GraphQLSchema rebuildExecutableSchema(Options options,
+                                                 GraphQLSchema previousSchema,
+                                                 TypeDefinitionRegistry typeRegistry,
+                                                 RuntimeWiring wiring,
+                                                 Collection<? extends SDLDefinition> changedDefinitions) throws SchemaProblem {
+        assertNotNull(previousSchema, () -> "previousSchema can't be null");
+
+        TypeDefinitionRegistry typeRegistryCopy = new TypeDefinitionRegistry();
+        typeRegistryCopy.merge(typeRegistry);
+
+        schemaGeneratorHelper.addDirectivesIncludedByDefault(typeRegistryCopy);
+
+        List<GraphQLError> errors = typeChecker.checkTypeRegistry(typeRegistryCopy, wiring, options.getForkJoinPool());
+        if (!errors.isEmpty()) {
+            throw new SchemaProblem(errors);
+        }
+
+        Map<String, OperationTypeDefinition> operationTypeDefinitions = SchemaExtensionsChecker.gatherOperationDefs(typeRegistry);
+
+        Set<String> changedTypeNames = new LinkedHashSet<>();
+        for (SDLDefinition<?> changedDefinition : changedDefinitions) {
+            if (!(changedDefinition instanceof TypeDefinition)) {
+                return makeExecutableSchemaImpl(typeRegistryCopy, wiring, operationTypeDefinitions, options);
+            }
+            changedTypeNames.add(((TypeDefinition<?>) changedDefinition).getName());
+        }
+
+        GraphQLSchema graphQLSchema = rebuildExecutableSchemaImpl(previousSchema, changedTypeNames, typeRegistryCopy, wiring, operationTypeDefinitions, options);
+        if (graphQLSchema == null) {
+            return makeExecutableSchemaImpl(typeRegistryCopy, wiring, operationTypeDefinitions, options);
+        }
+        return graphQLSchema;
+    }
+
+    private GraphQLSchema rebuildExecutableSchemaImpl(GraphQLSchema previousSchema,
+                                                      Set<String> changedTypeNames,
+                                                      TypeDefinitionRegistry typeRegistry,
+                                                      RuntimeWiring wiring,
+                                                      Map<String, OperationTypeDefinition> operationTypeDefinitions,
+                                                      Options options) {
+        Map<String, Set<String>> referencedTypeNames = referencedTypeNames(previousSchema);
+        Set<String> rebuiltTypeNames = dependentTypeNames(changedTypeNames, referencedTypeNames);
+
+        SchemaGeneratorHelper.BuildContext buildCtx = new SchemaGeneratorHelper.BuildContext(typeRegistry, wiring, operationTypeDefinitions, options);
+        // the types that are not rebuilt do not refer to any rebuilt type, so they can be used as they are
+        for (GraphQLNamedType type : previousSchema.getAllTypesAsList()) {
+            if (!rebuiltTypeNames.contains(type.getName()) && !Introspection.isIntrospectionTypes(type)) {
+                buildCtx.putExistingType(type);
+            }
+        }
+
+        GraphQLSchema.Builder schemaBuilder = GraphQLSchema.newSchema().validationPool(options.getForkJoinPool());
+
+        Set<GraphQLDirective> additionalDirectives = schemaGeneratorHelper.buildAdditionalDirectiveDefinitions(buildCtx);
+        schemaBuilder.additionalDirectives(additionalDirectives);
+
+        schemaGeneratorHelper.buildSchemaDirectivesAndExtensions(buildCtx, schemaBuilder);
+
+        schemaGeneratorHelper.buildOperations(buildCtx, schemaBuilder);
+
+        for (String typeName : rebuiltTypeNames) {
+            Optional<TypeDefinition> typeDefinition = typeRegistry.getType(typeName);
+            if (typeDefinition.isPresent()) {
+                GraphQLNamedType rebuiltType = schemaGeneratorHelper.buildNamedType(buildCtx, typeDefinition.get());
+                referencedTypeNames.put(typeName, referencedTypeNames(rebuiltType));
+            } else {
+                referencedTypeNames.remove(typeName);
+            }
+        }
+        if (buildCtx.isDirectiveWiringRequired()) {
+            return null;
+        }
+
+        // as when a schema is made, the types that cannot be reached from the operation types or directives are additional types
+        Set<String> reachableTypeNames = reachableTypeNames(rootTypeNames(typeRegistry, operationTypeDefinitions, additionalDirectives), referencedTypeNames);
+        Set<GraphQLType> additionalTypes = new LinkedHashSet<>();
+        for (String typeName : typeRegistry.types().keySet()) {
+            if (!reachableTypeNames.contains(typeName)) {
+                additionalTypes.add(buildCtx.getBuiltType(typeName));
+            }
+        }
+        for (String typeName : typeRegistry.scalars().keySet()) {
+            if (!reachableTypeNames.contains(typeName) && !ScalarInfo.isGraphqlSpecifiedScalar(typeName)) {
+                additionalTypes.add(buildCtx.getBuiltType(typeName));
+            }
+        }
+        schemaBuilder.additionalTypes(additionalTypes);
+
+        GraphQLCodeRegistry builtCodeRegistry = buildCtx.getCodeRegistry().build();
+        GraphQLCodeRegistry codeRegistry = GraphQLCodeRegistry.newCodeRegistry(previousSchema.getCodeRegistry())
+                .dataFetchers(builtCodeRegistry)
+                .typeResolvers(builtCodeRegistry)
+                .fieldVisibility(wiring.getFieldVisibility())
+                .build();
+        schemaBuilder.codeRegistry(codeRegistry);
+
+        typeRegistry.schemaDefinition().ifPresent(schemaDefinition -> {
+            String description = buildDescription(buildCtx, schemaDefinition, schemaDefinition.getDescription());
+            schemaBuilder.description(description);
+        });
+        return schemaBuilder.build();
+    }
+
+    /**
+     * @return the names of the types each type of the schema refers to, whether directly or via a type reference
+     */
+    private static Map<String, Set<String>> referencedTypeNames(GraphQLSchema schema) {
+        Map<String, Set<String>> referencedTypeNames = new HashMap<>();
+        for (GraphQLNamedType type : schema.getAllTypesAsList()) {
+            referencedTypeNames.put(type.getName(), referencedTypeNames(type));
+        }
+        return referencedTypeNames;
+    }
+
+    private static Set<String> referencedTypeNames(GraphQLSchemaElement element) {
+        Set<String> typeNames = new LinkedHashSet<>();
+        for (GraphQLSchemaElement child : element.getChildrenWithTypeReferences().getChildrenAsList()) {
+            collectReferencedTypeNames(child, typeNames);
+        }
+        return typeNames;
+    }
+
+    private static void collectReferencedTypeNames(GraphQLSchemaElement element, Set<String> typeNames) {
+        // type references are named types too
+        if (element instanceof GraphQLNamedType) {
+            typeNames.add(((GraphQLNamedType) element).getName());
+            return;
+        }
+        for (GraphQLSchemaElement child : element.getChildrenWithTypeReferences().getChildrenAsList()) {
+            collectReferencedTypeNames(child, typeNames);
+        }
+    }
+
+    /**
+     * @return the names of the operation types and of the types used by the directive definitions, which is what
+     * {@link SchemaGeneratorHelper#buildOperations} and {@link SchemaGeneratorHelper#buildAdditionalDirectiveDefinitions}
+     * start from
+     */
+    private static Set<String> rootTypeNames(TypeDefinitionRegistry typeRegistry,
+                                             Map<String, OperationTypeDefinition> operationTypeDefinitions,
+                                             Set<GraphQLDirective> directives) {
+        Set<String> rootTypeNames = new LinkedHashSet<>();
+        for (String operation : new String[]{"query", "mutation", "subscription"}) {
+            OperationTypeDefinition operationTypeDefinition = operationTypeDefinitions.get(operation);
+            if (operationTypeDefinition != null) {
+                rootTypeNames.add(operationTypeDefinition.getTypeName().getName());
+            } else if (operation.equals("query") || !typeRegistry.schemaDefinition().isPresent()) {
+                // without a schema definition the operation types are found by their default names
+                rootTypeNames.add(Character.toUpperCase(operation.charAt(0)) + operation.substring(1));
+            }
+        }
+        for (GraphQLDirective directive : directives) {
+            rootTypeNames.addAll(referencedTypeNames(directive));
+        }
+        return rootTypeNames;
+    }
+
+    private static Set<String> reachableTypeNames(Set<String> rootTypeNames, Map<String, Set<String>> referencedTypeNames) {
+        Set<String> reachableTypeNames = new LinkedHashSet<>(rootTypeNames);
+        Deque<String> toVisit = new ArrayDeque<>(rootTypeNames);
+        while (!toVisit.isEmpty()) {
+            for (String referencedTypeName : referencedTypeNames.getOrDefault(toVisit.pop(), Collections.emptySet())) {
+                if (reachableTypeNames.add(referencedTypeName)) {
+                    toVisit.push(referencedTypeName);
+                }
+            }
+        }
+        return reachableTypeNames;
+    }
+
+    /**
+     * @return the changed type names plus the names of all the types that refer to them, directly or indirectly
+     */
+    private static Set<String> dependentTypeNames(Set<String> changedTypeNames, Map<String, Set<String>> referencedTypeNames) {
+        Map<String, Set<String>> referringTypeNames = new HashMap<>();
+        referencedTypeNames.forEach((typeName, referenced) -> {
+            for (String referencedTypeName : referenced) {
+                referringTypeNames.computeIfAbsent(referencedTypeName, k -> new LinkedHashSet<>()).add(typeName);
+            }
+        });
+
+        Set<String> dependentTypeNames = new LinkedHashSet<>(changedTypeNames);
+        Deque<String> toVisit = new ArrayDeque<>(changedTypeNames);
+        while (!toVisit.isEmpty()) {
+            for (String referringTypeName : referringTypeNames.getOrDefault(toVisit.pop(), Collections.emptySet())) {
+                if (dependentTypeNames.add(referringTypeName)) {
+                    toVisit.push(referringTypeName);
+                }
+            }
+        }
+        return dependentTypeNames;
+    }
+
     private GraphQLSchema makeExecutableSchemaImpl(TypeDefinitionRegistry typeRegistry,
                                                    RuntimeWiring wiring,
                                                    Map<String, OperationTypeDefinition> operationTypeDefinitions,
                                                    Options options) {
         SchemaGeneratorHelper.BuildContext buildCtx = new SchemaGeneratorHelper.BuildContext(typeRegistry, wiring, operationTypeDefinitions, options);
 
-        GraphQLSchema.Builder schemaBuilder = GraphQLSchema.newSchema();
+        GraphQLSchema.Builder schemaBuilder = GraphQLSchema.newSchema().validationPool(options.getForkJoinPool());
 
         Set<GraphQLDirective> additionalDirectives = schemaGeneratorHelper.buildAdditionalDirectiveDefinitions(buildCtx);
         schemaBuilder.additionalDirectives(additionalDirectives);
@@ -164,11 +418,17 @@ public class SchemaGenerator {
         private final boolean useCommentsAsDescription;
         private final boolean captureAstDefinitions;
         private final boolean useAppliedDirectivesOnly;
+        private final ForkJoinPool forkJoinPool;
 
         Options(boolean useCommentsAsDescription, boolean captureAstDefinitions, boolean useAppliedDirectivesOnly) {
+            this(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly, null);
+        }
+
+        Options(boolean useCommentsAsDescription, boolean captureAstDefinitions, boolean useAppliedDirectivesOnly, ForkJoinPool forkJoinPool) {
             this.useCommentsAsDescription = useCommentsAsDescription;
             this.captureAstDefinitions = captureAstDefinitions;
             this.useAppliedDirectivesOnly = useAppliedDirectivesOnly;
+            this.forkJoinPool = forkJoinPool;
         }
 
         public boolean isUseCommentsAsDescription() {
@@ -183,6 +443,11 @@ public class SchemaGenerator {
             return useAppliedDirectivesOnly;
         }
 
+        @Nullable
+        public ForkJoinPool getForkJoinPool() {
+            return forkJoinPool;
+        }
+
         public static Options defaultOptions() {
             return new Options(true, true, false);
         }
@@ -197,7 +462,7 @@ public class SchemaGenerator {
          * @return a new Options object
          */
         public Options useCommentsAsDescriptions(boolean useCommentsAsDescription) {
-            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly);
+            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly, forkJoinPool);
         }
 
         /**
@@ -209,7 +474,7 @@ public class SchemaGenerator {
          * @return a new Options object
          */
         public Options captureAstDefinitions(boolean captureAstDefinitions) {
-            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly);
+            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly, forkJoinPool);
         }
 
         /**
@@ -222,7 +487,25 @@ public class SchemaGenerator {
          * @return a new Options object
          */
         public Options useAppliedDirectivesOnly(boolean useAppliedDirectivesOnly) {
-            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly);
+            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly, forkJoinPool);
+        }
+
+        /**
+         * Large schemas can be built faster by running the type registry checks and the schema validation rules in
+         * parallel.  By default, this is off and the whole schema is built on the calling thread.  The types themselves
+         * are always built on the calling thread.
+         * <p>
+         * The checks call {@link WiringFactory} methods such as {@link WiringFactory#providesScalar(ScalarWiringEnvironment)}
+         * from the pool threads, so the {@link RuntimeWiring} must be safe to use from multiple threads.
+         *
+         * @param forkJoinPool the pool to use, for example {@link ForkJoinPool#commonPool()}, or null to build on the
+         *                     calling thread only
+         *
+         * @return a new Options object
+         */
+        @ExperimentalApi
+        public Options forkJoinPool(ForkJoinPool forkJoinPool) {
+            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly, forkJoinPool);
         }
     }
 }
\ No newline at end of file
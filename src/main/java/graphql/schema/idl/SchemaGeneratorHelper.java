@@ -48,6 +48,7 @@ import graphql.schema.GraphQLInputType;
 import graphql.schema.GraphQLInterfaceType;
 import graphql.schema.GraphQLNamedInputType;
 import graphql.schema.GraphQLNamedOutputType;
+import graphql.schema.GraphQLNamedType;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLOutputType;
 import graphql.schema.GraphQLScalarType;
@@ -184,6 +185,24 @@ public class SchemaGeneratorHelper {
             }
         }
 
+        /**
+         * Records a type of an existing schema as already built, so that it is reused rather than built again
+         *
+         * @param existingType the type to reuse
+         */
+        void putExistingType(GraphQLNamedType existingType) {
+            if (existingType instanceof GraphQLNamedOutputType) {
+                putOutputType((GraphQLNamedOutputType) existingType);
+            } else {
+                putInputType((GraphQLNamedInputType) existingType);
+            }
+        }
+
+        GraphQLNamedType getBuiltType(String typeName) {
+            GraphQLOutputType outputType = outputGTypes.get(typeName);
+            return (GraphQLNamedType) (outputType != null ? outputType : inputGTypes.get(typeName));
+        }
+
         RuntimeWiring getWiring() {
             return wiring;
         }
@@ -773,6 +792,15 @@ public class SchemaGeneratorHelper {
         return typeInfo.decorate(outputType);
     }
 
+    GraphQLNamedType buildNamedType(BuildContext buildCtx, TypeDefinition<?> typeDefinition) {
+        TypeName typeName = TypeName.newTypeName().name(typeDefinition.getName()).build();
+        if (typeDefinition instanceof InputObjectTypeDefinition) {
+            return (GraphQLNamedType) buildInputType(buildCtx, typeName);
+        }
+        GraphQLOutputType outputType = buildOutputType(buildCtx, typeName);
+        return (GraphQLNamedType) outputType;
+    }
+
     GraphQLFieldDefinition buildField(BuildContext buildCtx, TypeDefinition<?> parentType, FieldDefinition fieldDef) {
         GraphQLFieldDefinition.Builder builder = GraphQLFieldDefinition.newFieldDefinition();
         builder.definition(buildCtx.isCaptureAstDefinitions() ? fieldDef : null);
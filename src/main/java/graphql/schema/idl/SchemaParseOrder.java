@@ -139,6 +139,13 @@ public class SchemaParseOrder implements Serializable {
         return this;
     }
 
+    /**
+     * This removes all the {@link SDLDefinition}s from the order
+     */
+    void clear() {
+        definitionOrder.clear();
+    }
+
     private <T extends SDLDefinition<?>> List<SDLDefinition<?>> definitionList(T sdlDefinition) {
         String location = ofNullable(sdlDefinition.getSourceLocation())
                 .map(SourceLocation::getSourceName).orElse("");
@@ -28,6 +28,7 @@ import graphql.schema.idl.errors.MissingTypeResolverError;
 import graphql.schema.idl.errors.NonUniqueArgumentError;
 import graphql.schema.idl.errors.NonUniqueNameError;
 import graphql.schema.idl.errors.SchemaProblem;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -36,6 +37,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -53,33 +56,66 @@ import static java.util.stream.Collectors.toList;
 public class SchemaTypeChecker {
 
     public List<GraphQLError> checkTypeRegistry(TypeDefinitionRegistry typeRegistry, RuntimeWiring wiring) throws SchemaProblem {
+        return checkTypeRegistry(typeRegistry, wiring, null);
+    }
+
+    /**
+     * Checks the type registry, running the independent checks in parallel on the given pool if there is one.  The
+     * errors are returned in the same order either way.
+     *
+     * @param typeRegistry the type registry to check
+     * @param wiring       the runtime wiring
+     * @param forkJoinPool the pool to run the checks on or null to run them on the calling thread
+     *
+     * @return the errors found
+     *
+     * @throws SchemaProblem if the registry can't be checked
+     */
+    public List<GraphQLError> checkTypeRegistry(TypeDefinitionRegistry typeRegistry, RuntimeWiring wiring, @Nullable ForkJoinPool forkJoinPool) throws SchemaProblem {
+        List<Consumer<List<GraphQLError>>> checks = typeRegistryChecks(typeRegistry, wiring);
         List<GraphQLError> errors = new ArrayList<>();
-        checkForMissingTypes(errors, typeRegistry);
+        if (forkJoinPool == null) {
+            checks.forEach(check -> check.accept(errors));
+            return errors;
+        }
+        // the checks only read the registry, so they can run at the same time as long as each one has its own error list
+        List<ForkJoinTask<List<GraphQLError>>> tasks = new ArrayList<>(checks.size());
+        for (Consumer<List<GraphQLError>> check : checks) {
+            tasks.add(forkJoinPool.submit(() -> {
+                List<GraphQLError> checkErrors = new ArrayList<>();
+                check.accept(checkErrors);
+                return checkErrors;
+            }));
+        }
+        for (ForkJoinTask<List<GraphQLError>> task : tasks) {
+            errors.addAll(task.join());
+        }
+        return errors;
+    }
 
-        SchemaTypeExtensionsChecker typeExtensionsChecker = new SchemaTypeExtensionsChecker();
+    private List<Consumer<List<GraphQLError>>> typeRegistryChecks(TypeDefinitionRegistry typeRegistry, RuntimeWiring wiring) {
+        List<Consumer<List<GraphQLError>>> checks = new ArrayList<>();
+        checks.add(errors -> checkForMissingTypes(errors, typeRegistry));
 
-        typeExtensionsChecker.checkTypeExtensions(errors, typeRegistry);
+        checks.add(errors -> new SchemaTypeExtensionsChecker().checkTypeExtensions(errors, typeRegistry));
 
-        ImplementingTypesChecker implementingTypesChecker = new ImplementingTypesChecker();
-        implementingTypesChecker.checkImplementingTypes(errors, typeRegistry);
+        checks.add(errors -> new ImplementingTypesChecker().checkImplementingTypes(errors, typeRegistry));
 
-        UnionTypesChecker unionTypesChecker = new UnionTypesChecker();
-        unionTypesChecker.checkUnionType(errors, typeRegistry);
+        checks.add(errors -> new UnionTypesChecker().checkUnionType(errors, typeRegistry));
 
-        SchemaExtensionsChecker.checkSchemaInvariants(errors, typeRegistry);
+        checks.add(errors -> SchemaExtensionsChecker.checkSchemaInvariants(errors, typeRegistry));
 
-        checkScalarImplementationsArePresent(errors, typeRegistry, wiring);
-        checkTypeResolversArePresent(errors, typeRegistry, wiring);
+        checks.add(errors -> checkScalarImplementationsArePresent(errors, typeRegistry, wiring));
+        checks.add(errors -> checkTypeResolversArePresent(errors, typeRegistry, wiring));
 
-        checkFieldsAreSensible(errors, typeRegistry);
+        checks.add(errors -> checkFieldsAreSensible(errors, typeRegistry));
 
         //check directive definitions before checking directive usages
-        checkDirectiveDefinitions(typeRegistry, errors);
+        checks.add(errors -> checkDirectiveDefinitions(typeRegistry, errors));
 
-        SchemaTypeDirectivesChecker directivesChecker = new SchemaTypeDirectivesChecker(typeRegistry, wiring);
-        directivesChecker.checkTypeDirectives(errors);
+        checks.add(errors -> new SchemaTypeDirectivesChecker(typeRegistry, wiring).checkTypeDirectives(errors));
 
-        return errors;
+        return checks;
     }
 
     private void checkForMissingTypes(List<GraphQLError> errors, TypeDefinitionRegistry typeRegistry) {
@@ -0,0 +1,1055 @@
+package graphql.schema.idl;
+
+import graphql.ExperimentalApi;
+import graphql.GraphQLError;
+import graphql.language.Argument;
+import graphql.language.ArrayValue;
+import graphql.language.BooleanValue;
+import graphql.language.Comment;
+import graphql.language.Description;
+import graphql.language.Directive;
+import graphql.language.DirectiveDefinition;
+import graphql.language.DirectiveLocation;
+import graphql.language.EnumTypeDefinition;
+import graphql.language.EnumTypeExtensionDefinition;
+import graphql.language.EnumValue;
+import graphql.language.EnumValueDefinition;
+import graphql.language.FieldDefinition;
+import graphql.language.FloatValue;
+import graphql.language.InputObjectTypeDefinition;
+import graphql.language.InputObjectTypeExtensionDefinition;
+import graphql.language.InputValueDefinition;
+import graphql.language.IntValue;
+import graphql.language.InterfaceTypeDefinition;
+import graphql.language.InterfaceTypeExtensionDefinition;
+import graphql.language.ListType;
+import graphql.language.Node;
+import graphql.language.NonNullType;
+import graphql.language.NullValue;
+import graphql.language.ObjectField;
+import graphql.language.ObjectTypeDefinition;
+import graphql.language.ObjectTypeExtensionDefinition;
+import graphql.language.ObjectValue;
+import graphql.language.OperationTypeDefinition;
+import graphql.language.SDLDefinition;
+import graphql.language.ScalarTypeDefinition;
+import graphql.language.ScalarTypeExtensionDefinition;
+import graphql.language.SchemaDefinition;
+import graphql.language.SchemaExtensionDefinition;
+import graphql.language.SourceLocation;
+import graphql.language.StringValue;
+import graphql.language.Type;
+import graphql.language.TypeDefinition;
+import graphql.language.TypeName;
+import graphql.language.UnionTypeDefinition;
+import graphql.language.UnionTypeExtensionDefinition;
+import graphql.language.Value;
+import graphql.language.VariableReference;
+import graphql.schema.idl.errors.SchemaProblem;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static graphql.Assert.assertShouldNeverHappen;
+import static graphql.Assert.assertTrue;
+
+/**
+ * This writes a {@link TypeDefinitionRegistry} in a compact binary form and reads it back, which is much faster than
+ * parsing the SDL the registry was made from and much smaller than java serialisation of it.  A service can write its
+ * registry at build time and read it at startup, and since reading works from a {@link ByteBuffer} the data can come
+ * from a memory mapped file.
+ * <p>
+ * The data starts with a magic number and a format version followed by a table of all the distinct strings used, so
+ * that names, descriptions and source names are stored once and referred to by index.  Data written by a different
+ * format version is rejected rather than misread, in which case the registry should be made from the SDL again.
+ * <p>
+ * The definitions are kept with their descriptions, directives, comments, source locations and additional data as
+ * well as the order in which they were parsed, so a schema built from a read registry is the same as one built from
+ * the original.  The ignored characters of nodes are not kept.
+ * <p>
+ * The executable {@link graphql.schema.GraphQLSchema} is not written since its runtime wiring is code, so build it from
+ * the read registry with {@link SchemaGenerator} as usual.
+ */
+@ExperimentalApi
+public class TypeDefinitionRegistrySerializer {
+
+    static final int MAGIC = 0x47514C52; // "GQLR"
+    static final int FORMAT_VERSION = 1;
+
+    private static final int HAS_SOURCE_LOCATION = 1;
+    private static final int HAS_COMMENTS = 1 << 1;
+    private static final int HAS_ADDITIONAL_DATA = 1 << 2;
+
+    private static final byte OBJECT_TYPE = 1;
+    private static final byte OBJECT_TYPE_EXTENSION = 2;
+    private static final byte INTERFACE_TYPE = 3;
+    private static final byte INTERFACE_TYPE_EXTENSION = 4;
+    private static final byte UNION_TYPE = 5;
+    private static final byte UNION_TYPE_EXTENSION = 6;
+    private static final byte ENUM_TYPE = 7;
+    private static final byte ENUM_TYPE_EXTENSION = 8;
+    private static final byte SCALAR_TYPE = 9;
+    private static final byte SCALAR_TYPE_EXTENSION = 10;
+    private static final byte INPUT_OBJECT_TYPE = 11;
+    private static final byte INPUT_OBJECT_TYPE_EXTENSION = 12;
+    private static final byte DIRECTIVE_DEFINITION = 13;
+    private static final byte SCHEMA_DEFINITION = 14;
+    private static final byte SCHEMA_EXTENSION = 15;
+
+    private static final byte TYPE_NAME = 1;
+    private static final byte LIST_TYPE = 2;
+    private static final byte NON_NULL_TYPE = 3;
+
+    private static final byte STRING_VALUE = 1;
+    private static final byte INT_VALUE = 2;
+    private static final byte FLOAT_VALUE = 3;
+    private static final byte BOOLEAN_VALUE = 4;
+    private static final byte NULL_VALUE = 5;
+    private static final byte ENUM_VALUE = 6;
+    private static final byte ARRAY_VALUE = 7;
+    private static final byte OBJECT_VALUE = 8;
+    private static final byte VARIABLE_REFERENCE = 9;
+
+    /**
+     * Writes the registry into a byte array
+     *
+     * @param typeRegistry the registry to write
+     *
+     * @return the binary form of the registry
+     */
+    public byte[] serialize(TypeDefinitionRegistry typeRegistry) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new Writer().write(typeRegistry, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes the registry to an output stream
+     *
+     * @param typeRegistry the registry to write
+     * @param outputStream the stream to write to, which is not closed
+     *
+     * @throws IOException if the stream cannot be written to
+     */
+    public void serialize(TypeDefinitionRegistry typeRegistry, OutputStream outputStream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new Writer().write(typeRegistry, out);
+        out.writeTo(outputStream);
+    }
+
+    /**
+     * Reads a registry written by {@link #serialize(TypeDefinitionRegistry)}
+     *
+     * @param bytes the binary form of a registry
+     *
+     * @return a new registry
+     */
+    public TypeDefinitionRegistry deserialize(byte[] bytes) {
+        return deserialize(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Reads a registry written by {@link #serialize(TypeDefinitionRegistry)} from the remaining bytes of a buffer, for
+     * example a {@link java.nio.MappedByteBuffer} of a file.  The position of the buffer is not changed.
+     *
+     * @param buffer the binary form of a registry
+     *
+     * @return a new registry
+     */
+    public TypeDefinitionRegistry deserialize(ByteBuffer buffer) {
+        return new Reader(buffer.slice()).read();
+    }
+
+    private static class Writer {
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+        private final Map<SDLDefinition<?>, Integer> definitionIndexes = new IdentityHashMap<>();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        void write(TypeDefinitionRegistry typeRegistry, ByteArrayOutputStream out) {
+            // definitions are written in the order of the maps of the registry so that adding them back in
+            // the same order gives the same maps
+            List<SDLDefinition<?>> definitions = new ArrayList<>();
+            typeRegistry.schemaDefinition().ifPresent(definitions::add);
+            definitions.addAll(typeRegistry.getSchemaExtensionDefinitions());
+            definitions.addAll(typeRegistry.getDirectiveDefinitions().values());
+            for (TypeDefinition<?> typeDefinition : typeRegistry.types().values()) {
+                definitions.add(typeDefinition);
+            }
+            typeRegistry.scalars().forEach((name, scalar) -> {
+                // the specification scalars are always present in a registry
+                if (ScalarInfo.GRAPHQL_SPECIFICATION_SCALARS_DEFINITIONS.get(name) != scalar) {
+                    definitions.add(scalar);
+                }
+            });
+            typeRegistry.objectTypeExtensions().values().forEach(definitions::addAll);
+            typeRegistry.interfaceTypeExtensions().values().forEach(definitions::addAll);
+            typeRegistry.unionTypeExtensions().values().forEach(definitions::addAll);
+            typeRegistry.enumTypeExtensions().values().forEach(definitions::addAll);
+            typeRegistry.scalarTypeExtensions().values().forEach(definitions::addAll);
+            typeRegistry.inputObjectTypeExtensions().values().forEach(definitions::addAll);
+
+            writeInt(definitions.size());
+            for (SDLDefinition<?> definition : definitions) {
+                definitionIndexes.put(definition, definitionIndexes.size());
+                writeDefinition(definition);
+            }
+
+            Map<String, List<SDLDefinition<?>>> parseOrder = typeRegistry.getParseOrder().getInOrder();
+            writeInt(parseOrder.size());
+            parseOrder.forEach((sourceName, parsed) -> {
+                writeString(sourceName);
+                List<Integer> indexes = new ArrayList<>(parsed.size());
+                for (SDLDefinition<?> definition : parsed) {
+                    Integer index = definitionIndexes.get(definition);
+                    if (index != null) {
+                        indexes.add(index);
+                    }
+                }
+                writeInt(indexes.size());
+                indexes.forEach(this::writeInt);
+            });
+
+            writeFixedInt(out, MAGIC);
+            writeFixedInt(out, FORMAT_VERSION);
+            writeVarInt(out, strings.size());
+            for (String string : strings.keySet()) {
+                byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(out, utf8.length);
+                out.write(utf8, 0, utf8.length);
+            }
+            byte[] bodyBytes = body.toByteArray();
+            out.write(bodyBytes, 0, bodyBytes.length);
+        }
+
+        private void writeDefinition(SDLDefinition<?> definition) {
+            // extensions are sub classes of the definitions they extend so are checked first
+            if (definition instanceof ObjectTypeExtensionDefinition) {
+                writeObjectType(OBJECT_TYPE_EXTENSION, (ObjectTypeDefinition) definition);
+            } else if (definition instanceof ObjectTypeDefinition) {
+                writeObjectType(OBJECT_TYPE, (ObjectTypeDefinition) definition);
+            } else if (definition instanceof InterfaceTypeExtensionDefinition) {
+                writeInterfaceType(INTERFACE_TYPE_EXTENSION, (InterfaceTypeDefinition) definition);
+            } else if (definition instanceof InterfaceTypeDefinition) {
+                writeInterfaceType(INTERFACE_TYPE, (InterfaceTypeDefinition) definition);
+            } else if (definition instanceof UnionTypeExtensionDefinition) {
+                writeUnionType(UNION_TYPE_EXTENSION, (UnionTypeDefinition) definition);
+            } else if (definition instanceof UnionTypeDefinition) {
+                writeUnionType(UNION_TYPE, (UnionTypeDefinition) definition);
+            } else if (definition instanceof EnumTypeExtensionDefinition) {
+                writeEnumType(ENUM_TYPE_EXTENSION, (EnumTypeDefinition) definition);
+            } else if (definition instanceof EnumTypeDefinition) {
+                writeEnumType(ENUM_TYPE, (EnumTypeDefinition) definition);
+            } else if (definition instanceof ScalarTypeExtensionDefinition) {
+                writeScalarType(SCALAR_TYPE_EXTENSION, (ScalarTypeDefinition) definition);
+            } else if (definition instanceof ScalarTypeDefinition) {
+                writeScalarType(SCALAR_TYPE, (ScalarTypeDefinition) definition);
+            } else if (definition instanceof InputObjectTypeExtensionDefinition) {
+                writeInputObjectType(INPUT_OBJECT_TYPE_EXTENSION, (InputObjectTypeDefinition) definition);
+            } else if (definition instanceof InputObjectTypeDefinition) {
+                writeInputObjectType(INPUT_OBJECT_TYPE, (InputObjectTypeDefinition) definition);
+            } else if (definition instanceof DirectiveDefinition) {
+                writeDirectiveDefinition((DirectiveDefinition) definition);
+            } else if (definition instanceof SchemaExtensionDefinition) {
+                SchemaExtensionDefinition schemaExtension = (SchemaExtensionDefinition) definition;
+                writeByte(SCHEMA_EXTENSION);
+                writeNode(schemaExtension);
+                writeDirectives(schemaExtension.getDirectives());
+                writeOperationTypeDefinitions(schemaExtension.getOperationTypeDefinitions());
+            } else if (definition instanceof SchemaDefinition) {
+                SchemaDefinition schemaDefinition = (SchemaDefinition) definition;
+                writeByte(SCHEMA_DEFINITION);
+                writeNode(schemaDefinition);
+                writeDescription(schemaDefinition.getDescription());
+                writeDirectives(schemaDefinition.getDirectives());
+                writeOperationTypeDefinitions(schemaDefinition.getOperationTypeDefinitions());
+            } else {
+                assertShouldNeverHappen("Unexpected definition %s", definition.getClass().getName());
+            }
+        }
+
+        private void writeObjectType(byte kind, ObjectTypeDefinition definition) {
+            writeTypeDefinitionStart(kind, definition, definition.getDescription(), definition.getDirectives());
+            writeTypes(definition.getImplements());
+            writeFieldDefinitions(definition.getFieldDefinitions());
+        }
+
+        private void writeInterfaceType(byte kind, InterfaceTypeDefinition definition) {
+            writeTypeDefinitionStart(kind, definition, definition.getDescription(), definition.getDirectives());
+            writeTypes(definition.getImplements());
+            writeFieldDefinitions(definition.getFieldDefinitions());
+        }
+
+        private void writeUnionType(byte kind, UnionTypeDefinition definition) {
+            writeTypeDefinitionStart(kind, definition, definition.getDescription(), definition.getDirectives());
+            writeTypes(definition.getMemberTypes());
+        }
+
+        private void writeEnumType(byte kind, EnumTypeDefinition definition) {
+            writeTypeDefinitionStart(kind, definition, definition.getDescription(), definition.getDirectives());
+            writeInt(definition.getEnumValueDefinitions().size());
+            for (EnumValueDefinition enumValueDefinition : definition.getEnumValueDefinitions()) {
+                writeNode(enumValueDefinition);
+                writeString(enumValueDefinition.getName());
+                writeDescription(enumValueDefinition.getDescription());
+                writeDirectives(enumValueDefinition.getDirectives());
+            }
+        }
+
+        private void writeScalarType(byte kind, ScalarTypeDefinition definition) {
+            writeTypeDefinitionStart(kind, definition, definition.getDescription(), definition.getDirectives());
+        }
+
+        private void writeInputObjectType(byte kind, InputObjectTypeDefinition definition) {
+            writeTypeDefinitionStart(kind, definition, definition.getDescription(), definition.getDirectives());
+            writeInputValueDefinitions(definition.getInputValueDefinitions());
+        }
+
+        private void writeTypeDefinitionStart(byte kind, TypeDefinition<?> definition, Description description, List<Directive> directives) {
+            writeByte(kind);
+            writeNode(definition);
+            writeString(definition.getName());
+            writeDescription(description);
+            writeDirectives(directives);
+        }
+
+        private void writeDirectiveDefinition(DirectiveDefinition definition) {
+            writeByte(DIRECTIVE_DEFINITION);
+            writeNode(definition);
+            writeString(definition.getName());
+            writeDescription(definition.getDescription());
+            writeBoolean(definition.isRepeatable());
+            writeInputValueDefinitions(definition.getInputValueDefinitions());
+            writeInt(definition.getDirectiveLocations().size());
+            for (DirectiveLocation directiveLocation : definition.getDirectiveLocations()) {
+                writeNode(directiveLocation);
+                writeString(directiveLocation.getName());
+            }
+        }
+
+        private void writeOperationTypeDefinitions(List<OperationTypeDefinition> operationTypeDefinitions) {
+            writeInt(operationTypeDefinitions.size());
+            for (OperationTypeDefinition operationTypeDefinition : operationTypeDefinitions) {
+                writeNode(operationTypeDefinition);
+                writeString(operationTypeDefinition.getName());
+                writeType(operationTypeDefinition.getTypeName());
+            }
+        }
+
+        private void writeFieldDefinitions(List<FieldDefinition> fieldDefinitions) {
+            writeInt(fieldDefinitions.size());
+            for (FieldDefinition fieldDefinition : fieldDefinitions) {
+                writeNode(fieldDefinition);
+                writeString(fieldDefinition.getName());
+                writeDescription(fieldDefinition.getDescription());
+                writeType(fieldDefinition.getType());
+                writeInputValueDefinitions(fieldDefinition.getInputValueDefinitions());
+                writeDirectives(fieldDefinition.getDirectives());
+            }
+        }
+
+        private void writeInputValueDefinitions(List<InputValueDefinition> inputValueDefinitions) {
+            writeInt(inputValueDefinitions.size());
+            for (InputValueDefinition inputValueDefinition : inputValueDefinitions) {
+                writeNode(inputValueDefinition);
+                writeString(inputValueDefinition.getName());
+                writeDescription(inputValueDefinition.getDescription());
+                writeType(inputValueDefinition.getType());
+                Value<?> defaultValue = inputValueDefinition.getDefaultValue();
+                writeBoolean(defaultValue != null);
+                if (defaultValue != null) {
+                    writeValue(defaultValue);
+                }
+                writeDirectives(inputValueDefinition.getDirectives());
+            }
+        }
+
+        private void writeDirectives(List<Directive> directives) {
+            writeInt(directives.size());
+            for (Directive directive : directives) {
+                writeNode(directive);
+                writeString(directive.getName());
+                writeInt(directive.getArguments().size());
+                for (Argument argument : directive.getArguments()) {
+                    writeNode(argument);
+                    writeString(argument.getName());
+                    writeValue(argument.getValue());
+                }
+            }
+        }
+
+        private void writeTypes(List<Type> types) {
+            writeInt(types.size());
+            for (Type<?> type : types) {
+                writeType(type);
+            }
+        }
+
+        private void writeType(Type<?> type) {
+            if (type instanceof TypeName) {
+                writeByte(TYPE_NAME);
+                writeNode(type);
+                writeString(((TypeName) type).getName());
+            } else if (type instanceof ListType) {
+                writeByte(LIST_TYPE);
+                writeNode(type);
+                writeType(((ListType) type).getType());
+            } else if (type instanceof NonNullType) {
+                writeByte(NON_NULL_TYPE);
+                writeNode(type);
+                writeType(((NonNullType) type).getType());
+            } else {
+                assertShouldNeverHappen("Unexpected type %s", type.getClass().getName());
+            }
+        }
+
+        private void writeValue(Value<?> value) {
+            if (value instanceof StringValue) {
+                writeByte(STRING_VALUE);
+                writeNode(value);
+                writeString(((StringValue) value).getValue());
+            } else if (value instanceof IntValue) {
+                writeByte(INT_VALUE);
+                writeNode(value);
+                writeString(((IntValue) value).getValue().toString());
+            } else if (value instanceof FloatValue) {
+                writeByte(FLOAT_VALUE);
+                writeNode(value);
+                writeString(((FloatValue) value).getValue().toString());
+            } else if (value instanceof BooleanValue) {
+                writeByte(BOOLEAN_VALUE);
+                writeNode(value);
+                writeBoolean(((BooleanValue) value).isValue());
+            } else if (value instanceof NullValue) {
+                writeByte(NULL_VALUE);
+                writeNode(value);
+            } else if (value instanceof EnumValue) {
+                writeByte(ENUM_VALUE);
+                writeNode(value);
+                writeString(((EnumValue) value).getName());
+            } else if (value instanceof ArrayValue) {
+                List<Value> values = ((ArrayValue) value).getValues();
+                writeByte(ARRAY_VALUE);
+                writeNode(value);
+                writeInt(values.size());
+                for (Value<?> element : values) {
+                    writeValue(element);
+                }
+            } else if (value instanceof ObjectValue) {
+                List<ObjectField> objectFields = ((ObjectValue) value).getObjectFields();
+                writeByte(OBJECT_VALUE);
+                writeNode(value);
+                writeInt(objectFields.size());
+                for (ObjectField objectField : objectFields) {
+                    writeNode(objectField);
+                    writeString(objectField.getName());
+                    writeValue(objectField.getValue());
+                }
+            } else if (value instanceof VariableReference) {
+                writeByte(VARIABLE_REFERENCE);
+                writeNode(value);
+                writeString(((VariableReference) value).getName());
+            } else {
+                assertShouldNeverHappen("Unexpected value %s", value.getClass().getName());
+            }
+        }
+
+        private void writeNode(Node<?> node) {
+            SourceLocation sourceLocation = node.getSourceLocation();
+            List<Comment> comments = node.getComments();
+            Map<String, String> additionalData = node.getAdditionalData();
+            int flags = (sourceLocation != null ? HAS_SOURCE_LOCATION : 0)
+                    | (!comments.isEmpty() ? HAS_COMMENTS : 0)
+                    | (!additionalData.isEmpty() ? HAS_ADDITIONAL_DATA : 0);
+            writeByte(flags);
+            if (sourceLocation != null) {
+                writeSourceLocation(sourceLocation);
+            }
+            if (!comments.isEmpty()) {
+                writeInt(comments.size());
+                for (Comment comment : comments) {
+                    writeString(comment.getContent());
+                    writeBoolean(comment.getSourceLocation() != null);
+                    if (comment.getSourceLocation() != null) {
+                        writeSourceLocation(comment.getSourceLocation());
+                    }
+                }
+            }
+            if (!additionalData.isEmpty()) {
+                writeInt(additionalData.size());
+                additionalData.forEach((key, value) -> {
+                    writeString(key);
+                    writeString(value);
+                });
+            }
+        }
+
+        private void writeDescription(Description description) {
+            writeBoolean(description != null);
+            if (description != null) {
+                writeString(description.getContent());
+                writeBoolean(description.isMultiLine());
+                writeBoolean(description.getSourceLocation() != null);
+                if (description.getSourceLocation() != null) {
+                    writeSourceLocation(description.getSourceLocation());
+                }
+            }
+        }
+
+        private void writeSourceLocation(SourceLocation sourceLocation) {
+            // lines and columns are -1 when unknown so are zig zag encoded
+            writeInt((sourceLocation.getLine() << 1) ^ (sourceLocation.getLine() >> 31));
+            writeInt((sourceLocation.getColumn() << 1) ^ (sourceLocation.getColumn() >> 31));
+            writeString(sourceLocation.getSourceName());
+        }
+
+        private void writeString(String string) {
+            // 0 is null so that nullable strings need no extra flag
+            writeInt(string == null ? 0 : strings.computeIfAbsent(string, k -> strings.size() + 1));
+        }
+
+        private void writeBoolean(boolean value) {
+            body.write(value ? 1 : 0);
+        }
+
+        private void writeByte(int value) {
+            body.write(value);
+        }
+
+        private void writeInt(int value) {
+            writeVarInt(body, value);
+        }
+
+        private static void writeVarInt(ByteArrayOutputStream out, int value) {
+            while ((value & ~0x7F) != 0) {
+                out.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+
+        private static void writeFixedInt(ByteArrayOutputStream out, int value) {
+            out.write(value >>> 24);
+            out.write(value >>> 16);
+            out.write(value >>> 8);
+            out.write(value);
+        }
+    }
+
+    private static class Reader {
+        private final ByteBuffer buffer;
+        private String[] strings;
+
+        // the parts common to all nodes, which the node builders do not share an interface for
+        private SourceLocation sourceLocation;
+        private List<Comment> comments;
+        private Map<String, String> additionalData;
+
+        Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        TypeDefinitionRegistry read() {
+            assertTrue(buffer.remaining() >= 8 && buffer.getInt() == MAGIC, "The data is not a serialized TypeDefinitionRegistry");
+            int version = buffer.getInt();
+            assertTrue(version == FORMAT_VERSION, "The TypeDefinitionRegistry was serialized with format version %s but only version %s can be read", version, FORMAT_VERSION);
+
+            strings = new String[readInt() + 1];
+            for (int i = 1; i < strings.length; i++) {
+                strings[i] = readUtf8(readInt());
+            }
+
+            TypeDefinitionRegistry typeRegistry = new TypeDefinitionRegistry();
+            SDLDefinition<?>[] definitions = new SDLDefinition<?>[readInt()];
+            for (int i = 0; i < definitions.length; i++) {
+                definitions[i] = readDefinition();
+                Optional<GraphQLError> error = typeRegistry.add(definitions[i]);
+                if (error.isPresent()) {
+                    throw new SchemaProblem(Collections.singletonList(error.get()));
+                }
+            }
+
+            // adding the definitions tracked them in the order of the registry maps rather than the parsed order
+            SchemaParseOrder parseOrder = typeRegistry.getParseOrder();
+            parseOrder.clear();
+            int sourceCount = readInt();
+            for (int i = 0; i < sourceCount; i++) {
+                readString();
+                int count = readInt();
+                for (int j = 0; j < count; j++) {
+                    parseOrder.addDefinition(definitions[readInt()]);
+                }
+            }
+            return typeRegistry;
+        }
+
+        private SDLDefinition<?> readDefinition() {
+            byte kind = buffer.get();
+            switch (kind) {
+                case OBJECT_TYPE:
+                case OBJECT_TYPE_EXTENSION:
+                    return readObjectType(kind);
+                case INTERFACE_TYPE:
+                case INTERFACE_TYPE_EXTENSION:
+                    return readInterfaceType(kind);
+                case UNION_TYPE:
+                case UNION_TYPE_EXTENSION:
+                    return readUnionType(kind);
+                case ENUM_TYPE:
+                case ENUM_TYPE_EXTENSION:
+                    return readEnumType(kind);
+                case SCALAR_TYPE:
+                case SCALAR_TYPE_EXTENSION:
+                    return readScalarType(kind);
+                case INPUT_OBJECT_TYPE:
+                case INPUT_OBJECT_TYPE_EXTENSION:
+                    return readInputObjectType(kind);
+                case DIRECTIVE_DEFINITION:
+                    return readDirectiveDefinition();
+                case SCHEMA_DEFINITION:
+                    return readSchemaDefinition();
+                case SCHEMA_EXTENSION:
+                    return readSchemaExtension();
+                default:
+                    return assertShouldNeverHappen("Unexpected definition kind %s", kind);
+            }
+        }
+
+        private SDLDefinition<?> readObjectType(byte kind) {
+            readNode();
+            if (kind == OBJECT_TYPE_EXTENSION) {
+                return ObjectTypeExtensionDefinition.newObjectTypeExtensionDefinition()
+                        .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                        .name(readString())
+                        .description(readDescription())
+                        .directives(readDirectives())
+                        .implementz(readTypes())
+                        .fieldDefinitions(readFieldDefinitions())
+                        .build();
+            }
+            return ObjectTypeDefinition.newObjectTypeDefinition()
+                    .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                    .name(readString())
+                    .description(readDescription())
+                    .directives(readDirectives())
+                    .implementz(readTypes())
+                    .fieldDefinitions(readFieldDefinitions())
+                    .build();
+        }
+
+        private SDLDefinition<?> readInterfaceType(byte kind) {
+            readNode();
+            if (kind == INTERFACE_TYPE_EXTENSION) {
+                return InterfaceTypeExtensionDefinition.newInterfaceTypeExtensionDefinition()
+                        .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                        .name(readString())
+                        .description(readDescription())
+                        .directives(readDirectives())
+                        .implementz(readTypes())
+                        .definitions(readFieldDefinitions())
+                        .build();
+            }
+            return InterfaceTypeDefinition.newInterfaceTypeDefinition()
+                    .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                    .name(readString())
+                    .description(readDescription())
+                    .directives(readDirectives())
+                    .implementz(readTypes())
+                    .definitions(readFieldDefinitions())
+                    .build();
+        }
+
+        private SDLDefinition<?> readUnionType(byte kind) {
+            readNode();
+            if (kind == UNION_TYPE_EXTENSION) {
+                return UnionTypeExtensionDefinition.newUnionTypeExtensionDefinition()
+                        .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                        .name(readString())
+                        .description(readDescription())
+                        .directives(readDirectives())
+                        .memberTypes(readTypes())
+                        .build();
+            }
+            return UnionTypeDefinition.newUnionTypeDefinition()
+                    .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                    .name(readString())
+                    .description(readDescription())
+                    .directives(readDirectives())
+                    .memberTypes(readTypes())
+                    .build();
+        }
+
+        private SDLDefinition<?> readEnumType(byte kind) {
+            readNode();
+            SourceLocation sourceLocation = this.sourceLocation;
+            List<Comment> comments = this.comments;
+            Map<String, String> additionalData = this.additionalData;
+            String name = readString();
+            Description description = readDescription();
+            List<Directive> directives = readDirectives();
+            List<EnumValueDefinition> enumValueDefinitions = new ArrayList<>();
+            int count = readInt();
+            for (int i = 0; i < count; i++) {
+                readNode();
+                enumValueDefinitions.add(EnumValueDefinition.newEnumValueDefinition()
+                        .sourceLocation(this.sourceLocation).comments(this.comments).additionalData(this.additionalData)
+                        .name(readString())
+                        .description(readDescription())
+                        .directives(readDirectives())
+                        .build());
+            }
+            if (kind == ENUM_TYPE_EXTENSION) {
+                return EnumTypeExtensionDefinition.newEnumTypeExtensionDefinition()
+                        .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                        .name(name)
+                        .description(description)
+                        .directives(directives)
+                        .enumValueDefinitions(enumValueDefinitions)
+                        .build();
+            }
+            return EnumTypeDefinition.newEnumTypeDefinition()
+                    .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                    .name(name)
+                    .description(description)
+                    .directives(directives)
+                    .enumValueDefinitions(enumValueDefinitions)
+                    .build();
+        }
+
+        private SDLDefinition<?> readScalarType(byte kind) {
+            readNode();
+            if (kind == SCALAR_TYPE_EXTENSION) {
+                return ScalarTypeExtensionDefinition.newScalarTypeExtensionDefinition()
+                        .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                        .name(readString())
+                        .description(readDescription())
+                        .directives(readDirectives())
+                        .build();
+            }
+            return ScalarTypeDefinition.newScalarTypeDefinition()
+                    .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                    .name(readString())
+                    .description(readDescription())
+                    .directives(readDirectives())
+                    .build();
+        }
+
+        private SDLDefinition<?> readInputObjectType(byte kind) {
+            readNode();
+            if (kind == INPUT_OBJECT_TYPE_EXTENSION) {
+                return InputObjectTypeExtensionDefinition.newInputObjectTypeExtensionDefinition()
+                        .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                        .name(readString())
+                        .description(readDescription())
+                        .directives(readDirectives())
+                        .inputValueDefinitions(readInputValueDefinitions())
+                        .build();
+            }
+            return InputObjectTypeDefinition.newInputObjectDefinition()
+                    .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                    .name(readString())
+                    .description(readDescription())
+                    .directives(readDirectives())
+                    .inputValueDefinitions(readInputValueDefinitions())
+                    .build();
+        }
+
+        private DirectiveDefinition readDirectiveDefinition() {
+            readNode();
+            DirectiveDefinition.Builder builder = DirectiveDefinition.newDirectiveDefinition()
+                    .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                    .name(readString())
+                    .description(readDescription())
+                    .repeatable(readBoolean())
+                    .inputValueDefinitions(readInputValueDefinitions());
+            List<DirectiveLocation> directiveLocations = new ArrayList<>();
+            int count = readInt();
+            for (int i = 0; i < count; i++) {
+                readNode();
+                directiveLocations.add(DirectiveLocation.newDirectiveLocation()
+                        .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                        .name(readString())
+                        .build());
+            }
+            return builder.directiveLocations(directiveLocations).build();
+        }
+
+        private SchemaDefinition readSchemaDefinition() {
+            readNode();
+            return SchemaDefinition.newSchemaDefinition()
+                    .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                    .description(readDescription())
+                    .directives(readDirectives())
+                    .operationTypeDefinitions(readOperationTypeDefinitions())
+                    .build();
+        }
+
+        private SchemaExtensionDefinition readSchemaExtension() {
+            readNode();
+            return SchemaExtensionDefinition.newSchemaExtensionDefinition()
+                    .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                    .directives(readDirectives())
+                    .operationTypeDefinitions(readOperationTypeDefinitions())
+                    .build();
+        }
+
+        private List<OperationTypeDefinition> readOperationTypeDefinitions() {
+            int count = readInt();
+            List<OperationTypeDefinition> operationTypeDefinitions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                readNode();
+                OperationTypeDefinition.Builder builder = OperationTypeDefinition.newOperationTypeDefinition()
+                        .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                        .name(readString());
+                operationTypeDefinitions.add(builder.typeName((TypeName) readType()).build());
+            }
+            return operationTypeDefinitions;
+        }
+
+        private List<FieldDefinition> readFieldDefinitions() {
+            int count = readInt();
+            List<FieldDefinition> fieldDefinitions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                readNode();
+                FieldDefinition.Builder builder = FieldDefinition.newFieldDefinition()
+                        .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                        .name(readString())
+                        .description(readDescription());
+                fieldDefinitions.add(builder
+                        .type(readType())
+                        .inputValueDefinitions(readInputValueDefinitions())
+                        .directives(readDirectives())
+                        .build());
+            }
+            return fieldDefinitions;
+        }
+
+        private List<InputValueDefinition> readInputValueDefinitions() {
+            int count = readInt();
+            List<InputValueDefinition> inputValueDefinitions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                readNode();
+                InputValueDefinition.Builder builder = InputValueDefinition.newInputValueDefinition()
+                        .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                        .name(readString())
+                        .description(readDescription());
+                builder.type(readType());
+                if (readBoolean()) {
+                    builder.defaultValue(readValue());
+                }
+                inputValueDefinitions.add(builder.directives(readDirectives()).build());
+            }
+            return inputValueDefinitions;
+        }
+
+        private List<Directive> readDirectives() {
+            int count = readInt();
+            if (count == 0) {
+                return new ArrayList<>();
+            }
+            List<Directive> directives = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                readNode();
+                Directive.Builder builder = Directive.newDirective()
+                        .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                        .name(readString());
+                int argumentCount = readInt();
+                List<Argument> arguments = new ArrayList<>(argumentCount);
+                for (int j = 0; j < argumentCount; j++) {
+                    readNode();
+                    Argument.Builder argument = Argument.newArgument()
+                            .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                            .name(readString());
+                    arguments.add(argument.value(readValue()).build());
+                }
+                directives.add(builder.arguments(arguments).build());
+            }
+            return directives;
+        }
+
+        private List<Type> readTypes() {
+            int count = readInt();
+            List<Type> types = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                types.add(readType());
+            }
+            return types;
+        }
+
+        private Type<?> readType() {
+            byte kind = buffer.get();
+            readNode();
+            switch (kind) {
+                case TYPE_NAME:
+                    return TypeName.newTypeName()
+                            .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                            .name(readString())
+                            .build();
+                case LIST_TYPE: {
+                    ListType.Builder builder = ListType.newListType()
+                            .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData);
+                    return builder.type(readType()).build();
+                }
+                case NON_NULL_TYPE: {
+                    NonNullType.Builder builder = NonNullType.newNonNullType()
+                            .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData);
+                    return builder.type(readType()).build();
+                }
+                default:
+                    return assertShouldNeverHappen("Unexpected type kind %s", kind);
+            }
+        }
+
+        private Value<?> readValue() {
+            byte kind = buffer.get();
+            readNode();
+            switch (kind) {
+                case STRING_VALUE:
+                    return StringValue.newStringValue()
+                            .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                            .value(readString())
+                            .build();
+                case INT_VALUE:
+                    return IntValue.newIntValue()
+                            .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                            .value(new BigInteger(readString()))
+                            .build();
+                case FLOAT_VALUE:
+                    return FloatValue.newFloatValue()
+                            .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                            .value(new BigDecimal(readString()))
+                            .build();
+                case BOOLEAN_VALUE:
+                    return BooleanValue.newBooleanValue()
+                            .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                            .value(readBoolean())
+                            .build();
+                case NULL_VALUE:
+                    return NullValue.newNullValue()
+                            .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                            .build();
+                case ENUM_VALUE:
+                    return EnumValue.newEnumValue()
+                            .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                            .name(readString())
+                            .build();
+                case ARRAY_VALUE: {
+                    ArrayValue.Builder builder = ArrayValue.newArrayValue()
+                            .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData);
+                    int count = readInt();
+                    List<Value> values = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        values.add(readValue());
+                    }
+                    return builder.values(values).build();
+                }
+                case OBJECT_VALUE: {
+                    ObjectValue.Builder builder = ObjectValue.newObjectValue()
+                            .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData);
+                    int count = readInt();
+                    List<ObjectField> objectFields = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        readNode();
+                        ObjectField.Builder objectField = ObjectField.newObjectField()
+                                .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                                .name(readString());
+                        objectFields.add(objectField.value(readValue()).build());
+                    }
+                    return builder.objectFields(objectFields).build();
+                }
+                case VARIABLE_REFERENCE:
+                    return VariableReference.newVariableReference()
+                            .sourceLocation(sourceLocation).comments(comments).additionalData(additionalData)
+                            .name(readString())
+                            .build();
+                default:
+                    return assertShouldNeverHappen("Unexpected value kind %s", kind);
+            }
+        }
+
+        /**
+         * Reads the parts common to all nodes into {@link #sourceLocation}, {@link #comments} and {@link #additionalData},
+         * which must be used before the next node is read
+         */
+        private void readNode() {
+            int flags = buffer.get();
+            sourceLocation = (flags & HAS_SOURCE_LOCATION) != 0 ? readSourceLocation() : null;
+            if ((flags & HAS_COMMENTS) != 0) {
+                int count = readInt();
+                comments = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    String content = readString();
+                    comments.add(new Comment(content, readBoolean() ? readSourceLocation() : null));
+                }
+            } else {
+                comments = new ArrayList<>();
+            }
+            if ((flags & HAS_ADDITIONAL_DATA) != 0) {
+                int count = readInt();
+                additionalData = new LinkedHashMap<>();
+                for (int i = 0; i < count; i++) {
+                    additionalData.put(readString(), readString());
+                }
+            } else {
+                additionalData = new LinkedHashMap<>();
+            }
+        }
+
+        private Description readDescription() {
+            if (!readBoolean()) {
+                return null;
+            }
+            String content = readString();
+            boolean multiLine = readBoolean();
+            return new Description(content, readBoolean() ? readSourceLocation() : null, multiLine);
+        }
+
+        private SourceLocation readSourceLocation() {
+            int line = readInt();
+            int column = readInt();
+            return new SourceLocation((line >>> 1) ^ -(line & 1), (column >>> 1) ^ -(column & 1), readString());
+        }
+
+        private String readString() {
+            return strings[readInt()];
+        }
+
+        private boolean readBoolean() {
+            return buffer.get() != 0;
+        }
+
+        private int readInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get();
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        private String readUtf8(int length) {
+            if (buffer.hasArray()) {
+                String string = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+                return string;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
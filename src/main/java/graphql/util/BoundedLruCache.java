@@ -0,0 +1,343 @@
+package graphql.util;
+
+import graphql.Internal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * A concurrent, size and weight bounded, least recently used cache of values that are expensive to compute.  Values
+ * can optionally expire a fixed time after they were loaded.
+ * <p>
+ * Lookups go through a {@link ConcurrentHashMap} and never block on each other.  Loading is "single flight" - concurrent
+ * callers asking for the same missing key share the one in flight load via a {@link CompletableFuture} and the loader is
+ * run outside any map bin lock, so a slow load never blocks unrelated keys.
+ * <p>
+ * The recency order is kept in a doubly linked list guarded by a lock.  Reads only reorder the list if they can get the
+ * lock without waiting, which makes the eviction order an approximation of LRU under heavy contention but keeps
+ * cache hits free of lock contention.
+ * <p>
+ * Values that expire are also kept in a second list in the order they were loaded, and every load removes the values
+ * at the front of it that have expired, so values that are never asked for again do not outlive their time to live
+ * by more than the time until the next load.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+@Internal
+public class BoundedLruCache<K, V> {
+
+    private final long maximumSize;
+    private final long maximumWeight;
+    private final ToLongFunction<V> weigher;
+    private final long expireAfterWriteNanos;
+    private final LongSupplier nanoTicker;
+
+    private final ConcurrentHashMap<K, Node<K, V>> map = new ConcurrentHashMap<>();
+    private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+    // sentinel node of the circular recency list - head.next is the most recently used
+    private final Node<K, V> head = new Node<>(null);
+    // sentinel node of the circular list of expiring values in load order - writeHead.next was loaded the longest ago
+    private final Node<K, V> writeHead = new Node<>(null);
+
+    // guarded by lock
+    private long totalWeight;
+    private long linkedCount;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTimeNanos = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param maximumSize   the maximum number of entries to keep or {@link Long#MAX_VALUE} for no limit
+     * @param maximumWeight the maximum total weight of the entries to keep or {@link Long#MAX_VALUE} for no limit
+     * @param weigher       a function that gives the weight of a value
+     */
+    public BoundedLruCache(long maximumSize, long maximumWeight, ToLongFunction<V> weigher) {
+        this(maximumSize, maximumWeight, weigher, Long.MAX_VALUE, System::nanoTime);
+    }
+
+    /**
+     * @param maximumSize           the maximum number of entries to keep or {@link Long#MAX_VALUE} for no limit
+     * @param maximumWeight         the maximum total weight of the entries to keep or {@link Long#MAX_VALUE} for no limit
+     * @param weigher               a function that gives the weight of a value
+     * @param expireAfterWriteNanos how long a value is kept after it was loaded or {@link Long#MAX_VALUE} to never expire
+     * @param nanoTicker            the source of time for expiry, typically {@link System#nanoTime()}
+     */
+    public BoundedLruCache(long maximumSize, long maximumWeight, ToLongFunction<V> weigher, long expireAfterWriteNanos, LongSupplier nanoTicker) {
+        assertTrue(maximumSize > 0, "maximumSize must be greater than zero");
+        assertTrue(maximumWeight > 0, "maximumWeight must be greater than zero");
+        assertTrue(expireAfterWriteNanos > 0, "expireAfterWriteNanos must be greater than zero");
+        this.maximumSize = maximumSize;
+        this.maximumWeight = maximumWeight;
+        this.weigher = assertNotNull(weigher);
+        this.expireAfterWriteNanos = expireAfterWriteNanos;
+        this.nanoTicker = assertNotNull(nanoTicker);
+        head.prev = head;
+        head.next = head;
+        writeHead.writePrev = writeHead;
+        writeHead.writeNext = writeHead;
+    }
+
+    /**
+     * Gets the value for the key, loading it if it's not present.  The loader is run on the calling thread and only
+     * one load per key is ever in flight.
+     * <p>
+     * If the loader throws an exception, it is thrown to the caller that ran the load and any concurrent callers waiting
+     * on that load will get an exceptionally completed future.  Nothing is cached in that case.
+     *
+     * @param key         the key to look up
+     * @param loader      the function to compute the value on a cache miss
+     * @param shouldCache a predicate that decides if a freshly loaded value should be retained in the cache
+     *
+     * @return a promise to the value
+     */
+    public CompletableFuture<V> get(K key, Function<K, V> loader, Predicate<V> shouldCache) {
+        Node<K, V> node = map.get(key);
+        if (node != null && isExpired(node)) {
+            expire(node);
+            node = null;
+        }
+        if (node != null) {
+            hitCount.increment();
+            touch(node);
+            return node.value;
+        }
+        Node<K, V> newNode = new Node<>(key);
+        node = map.putIfAbsent(key, newNode);
+        if (node != null) {
+            hitCount.increment();
+            touch(node);
+            return node.value;
+        }
+        missCount.increment();
+        return load(newNode, loader, shouldCache);
+    }
+
+    private CompletableFuture<V> load(Node<K, V> node, Function<K, V> loader, Predicate<V> shouldCache) {
+        long startNanos = System.nanoTime();
+        V value;
+        try {
+            value = loader.apply(node.key);
+        } catch (RuntimeException | Error e) {
+            totalLoadTimeNanos.add(System.nanoTime() - startNanos);
+            loadFailureCount.increment();
+            map.remove(node.key, node);
+            node.value.completeExceptionally(e);
+            throw e;
+        }
+        totalLoadTimeNanos.add(System.nanoTime() - startNanos);
+        loadCount.increment();
+
+        if (value != null && shouldCache.test(value)) {
+            node.weight = Math.max(0, weigher.applyAsLong(value));
+            node.loadedAtNanos = nanoTicker.getAsLong();
+            lock.runLocked(() -> {
+                // it may have been invalidated while we were loading
+                if (map.get(node.key) == node) {
+                    linkFirst(node);
+                    if (expireAfterWriteNanos != Long.MAX_VALUE) {
+                        linkLast(node);
+                    }
+                    evictExpired(node.loadedAtNanos);
+                    evictIfNeeded();
+                }
+            });
+        } else {
+            map.remove(node.key, node);
+        }
+        node.value.complete(value);
+        return node.value;
+    }
+
+    private boolean isExpired(Node<K, V> node) {
+        if (expireAfterWriteNanos == Long.MAX_VALUE || !node.value.isDone()) {
+            return false;
+        }
+        return nanoTicker.getAsLong() - node.loadedAtNanos >= expireAfterWriteNanos;
+    }
+
+    private void expire(Node<K, V> node) {
+        lock.runLocked(() -> {
+            if (map.remove(node.key, node)) {
+                if (node.linked) {
+                    remove(node);
+                }
+                evictionCount.increment();
+            }
+        });
+    }
+
+    private void touch(Node<K, V> node) {
+        // reordering is best effort - we never wait on the lock for a cache hit
+        if (lock.tryLock()) {
+            try {
+                if (node.linked) {
+                    unlink(node);
+                    linkFirst(node);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // guarded by lock
+    private void evictIfNeeded() {
+        while ((totalWeight > maximumWeight || linkedCount > maximumSize) && head.prev != head) {
+            Node<K, V> eldest = head.prev;
+            remove(eldest);
+            map.remove(eldest.key, eldest);
+            evictionCount.increment();
+        }
+    }
+
+    // guarded by lock
+    private void evictExpired(long nowNanos) {
+        while (writeHead.writeNext != writeHead && nowNanos - writeHead.writeNext.loadedAtNanos >= expireAfterWriteNanos) {
+            Node<K, V> oldest = writeHead.writeNext;
+            remove(oldest);
+            map.remove(oldest.key, oldest);
+            evictionCount.increment();
+        }
+    }
+
+    // guarded by lock
+    private void remove(Node<K, V> node) {
+        unlink(node);
+        if (node.writePrev != null) {
+            node.writePrev.writeNext = node.writeNext;
+            node.writeNext.writePrev = node.writePrev;
+            node.writePrev = null;
+            node.writeNext = null;
+        }
+    }
+
+    // guarded by lock
+    private void linkLast(Node<K, V> node) {
+        node.writeNext = writeHead;
+        node.writePrev = writeHead.writePrev;
+        writeHead.writePrev.writeNext = node;
+        writeHead.writePrev = node;
+    }
+
+    // guarded by lock
+    private void linkFirst(Node<K, V> node) {
+        node.prev = head;
+        node.next = head.next;
+        head.next.prev = node;
+        head.next = node;
+        node.linked = true;
+        totalWeight += node.weight;
+        linkedCount++;
+    }
+
+    // guarded by lock
+    private void unlink(Node<K, V> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+        node.linked = false;
+        totalWeight -= node.weight;
+        linkedCount--;
+    }
+
+    /**
+     * Removes the value for the key if it's present
+     *
+     * @param key the key to remove
+     */
+    public void invalidate(K key) {
+        lock.runLocked(() -> {
+            Node<K, V> node = map.remove(key);
+            if (node != null && node.linked) {
+                remove(node);
+            }
+        });
+    }
+
+    /**
+     * Removes all values from the cache
+     */
+    public void invalidateAll() {
+        lock.runLocked(() -> {
+            for (K key : map.keySet()) {
+                Node<K, V> node = map.remove(key);
+                if (node != null && node.linked) {
+                    remove(node);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the number of values currently held in the cache
+     */
+    public long size() {
+        return lock.callLocked(() -> linkedCount);
+    }
+
+    /**
+     * @return the total weight of the values currently held in the cache
+     */
+    public long weight() {
+        return lock.callLocked(() -> totalWeight);
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    public long getLoadFailureCount() {
+        return loadFailureCount.sum();
+    }
+
+    public long getTotalLoadTimeNanos() {
+        return totalLoadTimeNanos.sum();
+    }
+
+    /**
+     * @return the number of values removed because the cache was over its bounds or because they expired
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    private static class Node<K, V> {
+        private final K key;
+        private final CompletableFuture<V> value = new CompletableFuture<>();
+        // guarded by lock
+        private Node<K, V> prev;
+        private Node<K, V> next;
+        private Node<K, V> writePrev;
+        private Node<K, V> writeNext;
+        private long weight;
+        private boolean linked;
+        // written before the value future is completed and only read after it is done
+        private long loadedAtNanos;
+
+        private Node(K key) {
+            this.key = key;
+        }
+    }
+}
@@ -4,7 +4,11 @@ package graphql.validation;
 import graphql.ExperimentalApi;
 import graphql.Internal;
 import graphql.i18n.I18n;
+import graphql.language.Definition;
 import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.OperationDefinition;
 import graphql.schema.GraphQLSchema;
 import graphql.validation.rules.ArgumentsOfCorrectType;
 import graphql.validation.rules.DeferDirectiveLabel;
@@ -38,11 +42,20 @@ import graphql.validation.rules.VariableTypesMatch;
 import graphql.validation.rules.VariablesAreInputTypes;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import static graphql.collect.ImmutableKit.emptyList;
+import static java.util.Collections.singletonList;
+
 @Internal
 public class Validator {
 
@@ -70,6 +83,26 @@ public class Validator {
     }
 
     public List<ValidationError> validateDocument(GraphQLSchema schema, Document document, Predicate<Class<?>> applyRule, Locale locale) {
+        return validateDocument(schema, document, applyRule, locale, null);
+    }
+
+    /**
+     * Validates the document, optionally running the most expensive rule, {@link OverlappingFieldsCanBeMerged}, in
+     * parallel with the other rules.  It is run once per operation and fragment definition on the given executor, while
+     * the remaining rules are run on the calling thread.
+     * <p>
+     * The errors are the same as when validating on a single thread, but all the overlapping field errors come after
+     * the errors of the other rules, in document order.
+     *
+     * @param schema    the schema to validate against
+     * @param document  the document to validate
+     * @param applyRule the predicate that decides which rules are applied
+     * @param locale    the locale for error messages
+     * @param executor  the executor to run overlapping field checks on or null to validate on the calling thread
+     *
+     * @return the validation errors
+     */
+    public List<ValidationError> validateDocument(GraphQLSchema schema, Document document, Predicate<Class<?>> applyRule, Locale locale, Executor executor) {
         I18n i18n = I18n.i18n(I18n.BundleType.Validation, locale);
         ValidationContext validationContext = new ValidationContext(schema, document, i18n);
 
@@ -77,9 +110,16 @@ public class Validator {
         List<AbstractRule> rules = createRules(validationContext, validationErrorCollector);
         // filter out any rules they don't want applied
         rules = rules.stream().filter(r -> applyRule.test(r.getClass())).collect(Collectors.toList());
+
+        List<CompletableFuture<OverlappingFieldsResult>> overlappingFieldsResults = emptyList();
+        if (executor != null && rules.removeIf(rule -> rule instanceof OverlappingFieldsCanBeMerged)) {
+            overlappingFieldsResults = checkOverlappingFieldsAsync(schema, document, i18n, executor);
+        }
+
         LanguageTraversal languageTraversal = new LanguageTraversal();
         try {
             languageTraversal.traverse(document, new RulesVisitor(validationContext, rules));
+            mergeOverlappingFieldsResults(overlappingFieldsResults, validationErrorCollector);
         } catch (ValidationErrorCollector.MaxValidationErrorsReached ignored) {
             // if we have generated enough errors, then we can shortcut out
         }
@@ -87,6 +127,69 @@ public class Validator {
         return validationErrorCollector.getErrors();
     }
 
+    private List<CompletableFuture<OverlappingFieldsResult>> checkOverlappingFieldsAsync(GraphQLSchema schema, Document document, I18n i18n, Executor executor) {
+        List<CompletableFuture<OverlappingFieldsResult>> results = new ArrayList<>();
+        for (Definition<?> definition : document.getDefinitions()) {
+            if (definition instanceof OperationDefinition || definition instanceof FragmentDefinition) {
+                results.add(CompletableFuture.supplyAsync(() -> checkOverlappingFields(schema, document, i18n, definition), executor));
+            }
+        }
+        return results;
+    }
+
+    /*
+     * The rule only looks at the selection sets that are lexically inside a definition, so each definition can be
+     * checked on its own with its own traversal state
+     */
+    private OverlappingFieldsResult checkOverlappingFields(GraphQLSchema schema, Document document, I18n i18n, Definition<?> definition) {
+        ValidationContext validationContext = new ValidationContext(schema, document, i18n);
+        ValidationErrorCollector validationErrorCollector = new ValidationErrorCollector(MAX_VALIDATION_ERRORS);
+        OverlappingFieldsCanBeMerged rule = new OverlappingFieldsCanBeMerged(validationContext, validationErrorCollector);
+        try {
+            new LanguageTraversal().traverse(definition, new RulesVisitor(validationContext, singletonList(rule)));
+        } catch (ValidationErrorCollector.MaxValidationErrorsReached ignored) {
+            // the merge will stop at the overall maximum anyway
+        }
+        return new OverlappingFieldsResult(rule.getConflictsReported(), validationErrorCollector.getErrors());
+    }
+
+    /*
+     * The same conflict can be found from more than one definition, such as in a fragment and in an operation that
+     * spreads it, and is only reported the first time it is found in document order, as a single pass would
+     */
+    private void mergeOverlappingFieldsResults(List<CompletableFuture<OverlappingFieldsResult>> results, ValidationErrorCollector validationErrorCollector) {
+        Set<Set<Field>> conflictsReported = new HashSet<>();
+        for (CompletableFuture<OverlappingFieldsResult> resultFuture : results) {
+            OverlappingFieldsResult result = joinUnwrapped(resultFuture);
+            for (int i = 0; i < result.errors.size(); i++) {
+                if (conflictsReported.add(result.conflicts.get(i))) {
+                    validationErrorCollector.addError(result.errors.get(i));
+                }
+            }
+        }
+    }
+
+    private static <T> T joinUnwrapped(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static class OverlappingFieldsResult {
+        private final List<Set<Field>> conflicts;
+        private final List<ValidationError> errors;
+
+        private OverlappingFieldsResult(Collection<Set<Field>> conflicts, List<ValidationError> errors) {
+            this.conflicts = new ArrayList<>(conflicts);
+            this.errors = errors;
+        }
+    }
+
     public List<AbstractRule> createRules(ValidationContext validationContext, ValidationErrorCollector validationErrorCollector) {
         List<AbstractRule> rules = new ArrayList<>();
 
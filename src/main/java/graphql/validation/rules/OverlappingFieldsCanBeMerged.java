@@ -2,6 +2,7 @@ package graphql.validation.rules;
 
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import graphql.Internal;
 import graphql.execution.TypeFromAST;
 import graphql.language.Argument;
@@ -26,6 +27,8 @@ import graphql.validation.ValidationErrorCollector;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -57,15 +60,35 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
     private final Set<Set<FieldAndType>> sameForCommonParentsChecked = new LinkedHashSet<>();
     private final Set<Set<Field>> conflictsReported = new LinkedHashSet<>();
 
+    /*
+     * The fields collected per selection set and parent type, and per fragment.  Nested selection sets and fragments
+     * that are spread in many places are otherwise collected again for every selection set they are reachable from,
+     * which is quadratic in the nesting depth and in the number of spreads.  The collected maps are never changed
+     * once cached.
+     */
+    private final Map<SelectionSet, Map<GraphQLType, Map<String, Set<FieldAndType>>>> selectionSetFields = new HashMap<>();
+    private final Map<String, Map<String, Set<FieldAndType>>> fragmentFields = new HashMap<>();
+    private final Set<String> fragmentsBeingCollected = new HashSet<>();
+    private int fragmentCyclesCut;
+
     public OverlappingFieldsCanBeMerged(ValidationContext validationContext, ValidationErrorCollector validationErrorCollector) {
         super(validationContext, validationErrorCollector);
     }
 
+    /**
+     * @return an unmodifiable copy of the fields of each conflict reported so far, in the order they were reported
+     */
+    public Set<Set<Field>> getConflictsReported() {
+        ImmutableSet.Builder<Set<Field>> conflicts = ImmutableSet.builderWithExpectedSize(conflictsReported.size());
+        for (Set<Field> fields : conflictsReported) {
+            conflicts.add(ImmutableSet.copyOf(fields));
+        }
+        return conflicts.build();
+    }
+
     @Override
     public void leaveSelectionSet(SelectionSet selectionSet) {
-        Map<String, Set<FieldAndType>> fieldMap = new LinkedHashMap<>();
-        Set<String> visitedFragmentSpreads = new LinkedHashSet<>();
-        collectFields(fieldMap, selectionSet, getValidationContext().getOutputType(), visitedFragmentSpreads);
+        Map<String, Set<FieldAndType>> fieldMap = getCollectedFields(selectionSet, getValidationContext().getOutputType());
         List<Conflict> conflicts = findConflicts(fieldMap);
         for (Conflict conflict : conflicts) {
             if (conflictsReported.contains(conflict.fields)) {
@@ -78,6 +101,21 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
         }
     }
 
+    private Map<String, Set<FieldAndType>> getCollectedFields(SelectionSet selectionSet, GraphQLType parentType) {
+        Map<GraphQLType, Map<String, Set<FieldAndType>>> fieldsByParentType = selectionSetFields.computeIfAbsent(selectionSet, key -> new HashMap<>(2));
+        Map<String, Set<FieldAndType>> fieldMap = fieldsByParentType.get(parentType);
+        if (fieldMap == null) {
+            int cyclesCut = fragmentCyclesCut;
+            fieldMap = new LinkedHashMap<>();
+            collectFields(fieldMap, selectionSet, parentType, new LinkedHashSet<>());
+            // fields collected while a fragment cycle was cut short depend on where the cycle was entered
+            if (cyclesCut == fragmentCyclesCut) {
+                fieldsByParentType.put(parentType, fieldMap);
+            }
+        }
+        return fieldMap;
+    }
+
     private void collectFields(Map<String, Set<FieldAndType>> fieldMap, SelectionSet selectionSet, GraphQLType parentType, Set<String> visitedFragmentSpreads) {
 
         for (Selection selection : selectionSet.getSelections()) {
@@ -98,12 +136,39 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
         if (fragment == null) {
             return;
         }
-        if (visitedFragmentSpreads.contains(fragment.getName())) {
+        if (!visitedFragmentSpreads.add(fragment.getName())) {
             return;
         }
-        visitedFragmentSpreads.add(fragment.getName());
-        GraphQLType graphQLType = getGraphQLTypeForFragmentDefinition(fragment);
-        collectFields(fieldMap, fragment.getSelectionSet(), graphQLType, visitedFragmentSpreads);
+        mergeFields(fieldMap, getFragmentFields(fragment));
+    }
+
+    private Map<String, Set<FieldAndType>> getFragmentFields(FragmentDefinition fragment) {
+        String fragmentName = fragment.getName();
+        Map<String, Set<FieldAndType>> fieldMap = fragmentFields.get(fragmentName);
+        if (fieldMap != null) {
+            return fieldMap;
+        }
+        if (!fragmentsBeingCollected.add(fragmentName)) {
+            // a fragment cycle, which is reported by NoFragmentCycles
+            fragmentCyclesCut++;
+            return Collections.emptyMap();
+        }
+        int cyclesCut = fragmentCyclesCut;
+        fieldMap = new LinkedHashMap<>();
+        Set<String> visitedFragmentSpreads = new LinkedHashSet<>();
+        visitedFragmentSpreads.add(fragmentName);
+        collectFields(fieldMap, fragment.getSelectionSet(), getGraphQLTypeForFragmentDefinition(fragment), visitedFragmentSpreads);
+        fragmentsBeingCollected.remove(fragmentName);
+        if (cyclesCut == fragmentCyclesCut) {
+            fragmentFields.put(fragmentName, fieldMap);
+        }
+        return fieldMap;
+    }
+
+    private static void mergeFields(Map<String, Set<FieldAndType>> fieldMap, Map<String, Set<FieldAndType>> fields) {
+        for (Map.Entry<String, Set<FieldAndType>> entry : fields.entrySet()) {
+            fieldMap.computeIfAbsent(entry.getKey(), key -> new LinkedHashSet<>()).addAll(entry.getValue());
+        }
     }
 
     private GraphQLType getGraphQLTypeForFragmentDefinition(FragmentDefinition fragment) {
@@ -157,11 +222,10 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
 
     private void sameResponseShapeByName(Map<String, Set<FieldAndType>> fieldMap, ImmutableList<String> currentPath, List<Conflict> conflictsResult) {
         for (Map.Entry<String, Set<FieldAndType>> entry : fieldMap.entrySet()) {
-            if (sameResponseShapeChecked.contains(entry.getValue())) {
+            if (!sameResponseShapeChecked.add(entry.getValue())) {
                 continue;
             }
             ImmutableList<String> newPath = addToList(currentPath, entry.getKey());
-            sameResponseShapeChecked.add(entry.getValue());
             Conflict conflict = requireSameOutputTypeShape(newPath, entry.getValue());
             if (conflict != null) {
                 conflictsResult.add(conflict);
@@ -173,11 +237,15 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
     }
 
     private Map<String, Set<FieldAndType>> mergeSubSelections(Set<FieldAndType> sameNameFields) {
+        if (sameNameFields.size() == 1) {
+            FieldAndType fieldAndType = sameNameFields.iterator().next();
+            SelectionSet selectionSet = fieldAndType.field.getSelectionSet();
+            return selectionSet != null ? getCollectedFields(selectionSet, fieldAndType.graphQLType) : Collections.emptyMap();
+        }
         Map<String, Set<FieldAndType>> fieldMap = new LinkedHashMap<>();
         for (FieldAndType fieldAndType : sameNameFields) {
             if (fieldAndType.field.getSelectionSet() != null) {
-                Set<String> visitedFragmentSpreads = new LinkedHashSet<>();
-                collectFields(fieldMap, fieldAndType.field.getSelectionSet(), fieldAndType.graphQLType, visitedFragmentSpreads);
+                mergeFields(fieldMap, getCollectedFields(fieldAndType.field.getSelectionSet(), fieldAndType.graphQLType));
             }
         }
         return fieldMap;
@@ -188,10 +256,9 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
             List<Set<FieldAndType>> groups = groupByCommonParents(entry.getValue());
             ImmutableList<String> newPath = addToList(currentPath, entry.getKey());
             for (Set<FieldAndType> group : groups) {
-                if (sameForCommonParentsChecked.contains(group)) {
+                if (!sameForCommonParentsChecked.add(group)) {
                     continue;
                 }
-                sameForCommonParentsChecked.add(group);
                 Conflict conflict = requireSameNameAndArguments(newPath, group);
                 if (conflict != null) {
                     conflictsResult.add(conflict);
@@ -0,0 +1,154 @@
+package graphql.analysis
+
+import graphql.ExecutionInput
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.instrumentation.InstrumentationContext
+import graphql.execution.instrumentation.InstrumentationState
+import graphql.execution.instrumentation.SimplePerformantInstrumentation
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters
+import graphql.execution.preparsed.CachingPreparsedDocumentProvider
+import org.jetbrains.annotations.Nullable
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class QueryCostAnalyzerTest extends Specification {
+
+    def sdl = '''
+        directive @cost(weight: String!) on FIELD_DEFINITION | OBJECT | INTERFACE | UNION | SCALAR | ENUM
+        directive @listSize(assumedSize: Int, slicingArguments: [String!]) on FIELD_DEFINITION
+
+        type Query {
+            user: User
+            users(first: Int, last: Int): [User] @listSize(slicingArguments: ["first", "last"])
+            search: [SearchResult] @listSize(assumedSize: 5)
+            expensive: String @cost(weight: "10")
+            tags: [String]
+        }
+
+        type User @cost(weight: "2") {
+            name: String
+            friends(first: Int = 3): [User] @listSize(slicingArguments: ["first"])
+        }
+
+        type Post {
+            title: String
+            author: User @cost(weight: "5")
+        }
+
+        union SearchResult = User | Post
+    '''
+
+    def schema = TestUtil.schema(sdl)
+
+    static class CostCapturingInstrumentation extends SimplePerformantInstrumentation {
+        QueryCostAnalyzer analyzer
+        List<Long> costs = []
+
+        @Override
+        @Nullable
+        InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+            costs.add(analyzer.calculateCost(parameters.executionContext))
+            return super.beginExecuteOperation(parameters, state)
+        }
+    }
+
+    def costOf(QueryCostAnalyzer analyzer, GraphQL graphQL, String query, Map<String, Object> variables = [:]) {
+        def instrumentation = new CostCapturingInstrumentation(analyzer: analyzer)
+        graphQL.transform({ it.instrumentation(instrumentation) })
+                .execute(ExecutionInput.newExecutionInput(query).variables(variables).build())
+        return instrumentation.costs[0]
+    }
+
+    @Unroll
+    def "calculates the cost of '#query'"() {
+        def analyzer = QueryCostAnalyzer.newQueryCostAnalyzer().build()
+        def graphQL = GraphQL.newGraphQL(schema).build()
+
+        expect:
+        costOf(analyzer, graphQL, query, variables) == cost
+
+        where:
+        query                                                                                                  | variables  | cost
+        '{ user { name } }'                                                                                    | [:]        | 2
+        '{ expensive }'                                                                                        | [:]        | 10
+        '{ tags __typename }'                                                                                  | [:]        | 0
+        'query q($n: Int) { users(first: $n) { name } }'                                                       | [n: 10]    | 20
+        'query q($n: Int) { users(first: $n) { name } }'                                                       | [:]        | 2
+        '{ users(first: 2, last: 4) { name } }'                                                                | [:]        | 8
+        '{ user { friends { name } } }'                                                                        | [:]        | 8
+        '{ search { ... on User { name friends(first: 1) { name } } ... on Post { title author { name } } } }' | [:]        | 40
+    }
+
+    def "the default list size applies to list fields without @listSize"() {
+        def analyzer = QueryCostAnalyzer.newQueryCostAnalyzer().defaultListSize(10).build()
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema("type Query { users : [User] } type User { name : String }")).build()
+
+        expect:
+        costOf(analyzer, graphQL, '{ users { name } }') == 10
+    }
+
+    def "operations are compiled once per document and evaluated against the variables of every execution"() {
+        def analyzer = QueryCostAnalyzer.newQueryCostAnalyzer().build()
+        def graphQL = GraphQL.newGraphQL(schema)
+                .preparsedDocumentProvider(CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build())
+                .build()
+        def query = 'query q($n: Int, $skip: Boolean!) { users(first: $n) { name } expensive @skip(if: $skip) }'
+
+        expect:
+        costOf(analyzer, graphQL, query, [n: 10, skip: false]) == 30
+        costOf(analyzer, graphQL, query, [n: 5, skip: false]) == 20
+        costOf(analyzer, graphQL, query, [n: 5, skip: true]) == 10
+        costOf(analyzer, graphQL, query, [n: 1, skip: false]) == 12
+        analyzer.size() == 1
+    }
+
+    def "operations are compiled once per query without a caching document provider"() {
+        def analyzer = QueryCostAnalyzer.newQueryCostAnalyzer().build()
+        def graphQL = GraphQL.newGraphQL(schema).build()
+        def query = 'query q($n: Int) { users(first: $n) { name } }'
+
+        expect:
+        costOf(analyzer, graphQL, query, [n: 10]) == 20
+        costOf(analyzer, graphQL, query, [n: 2]) == 4
+        analyzer.size() == 1
+        costOf(analyzer, graphQL, '{ user { name } }') == 2
+        analyzer.size() == 2
+    }
+
+    def "a @cost weight that is not a number aborts the execution"() {
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema('''
+            directive @cost(weight: String!) on FIELD_DEFINITION
+            type Query { field: String @cost(weight: "lots") }
+        '''))
+                .instrumentation(new MaxQueryCostInstrumentation(10))
+                .build()
+
+        when:
+        def result = graphQL.execute('{ field }')
+
+        then:
+        result.errors.size() == 1
+        result.errors[0].message == "the @cost weight 'lots' of 'field' is not a number"
+    }
+
+    def "aborts operations that cost too much"() {
+        def graphQL = GraphQL.newGraphQL(schema)
+                .instrumentation(new MaxQueryCostInstrumentation(10))
+                .build()
+
+        when:
+        def result = graphQL.execute('{ users(first: 5) { name } }')
+
+        then:
+        result.errors.size() == 0
+
+        when:
+        result = graphQL.execute('{ users(first: 6) { name } }')
+
+        then:
+        result.errors.size() == 1
+        result.errors[0].message == "maximum query cost exceeded 12 > 10"
+    }
+}
@@ -0,0 +1,199 @@
+package graphql.execution
+
+import graphql.ExecutionInput
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.pubsub.CapturingSubscriber
+import graphql.schema.DataFetcher
+import graphql.schema.idl.RuntimeWiring
+import io.reactivex.Flowable
+import org.awaitility.Awaitility
+import org.dataloader.BatchLoader
+import org.dataloader.DataLoaderFactory
+import org.dataloader.DataLoaderRegistry
+import org.reactivestreams.Publisher
+import spock.lang.Specification
+
+import java.time.Instant
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
+
+class ExecutionCancellationTest extends Specification {
+
+    def sdl = '''
+        type Query {
+            fast : String
+            slow : String
+            items : [Item]
+        }
+
+        type Item {
+            name : String
+            slow : String
+        }
+
+        type Subscription {
+            ticks : Int
+        }
+    '''
+
+    AtomicInteger fetches = new AtomicInteger()
+    List<CompletableFuture<Object>> slowFetches = [].asSynchronized()
+
+    GraphQL graphQL() {
+        DataFetcher fast = { env ->
+            fetches.incrementAndGet()
+            "fast"
+        }
+        DataFetcher slow = { env ->
+            fetches.incrementAndGet()
+            def future = CompletableFuture.supplyAsync({ "slow" }, CompletableFuture.delayedExecutor(5, TimeUnit.SECONDS))
+            slowFetches.add(future)
+            future
+        }
+        DataFetcher items = { env ->
+            fetches.incrementAndGet()
+            CompletableFuture.supplyAsync({ [[:], [:]] }, CompletableFuture.delayedExecutor(5, TimeUnit.SECONDS))
+        }
+        def runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                        .dataFetcher("fast", fast)
+                        .dataFetcher("slow", slow)
+                        .dataFetcher("items", items))
+                .type(newTypeWiring("Item")
+                        .dataFetcher("name", fast)
+                        .dataFetcher("slow", slow))
+                .type(newTypeWiring("Subscription")
+                        .dataFetcher("ticks", { env -> Flowable.range(1, 3) } as DataFetcher))
+                .build()
+        GraphQL.newGraphQL(TestUtil.schema(sdl, runtimeWiring)).build()
+    }
+
+    def "cancelling the token completes the execution straight away without cancelling the pending fetches"() {
+        def cancellationToken = new CancellationToken()
+        def executionInput = ExecutionInput.newExecutionInput("{ fast slow }")
+                .cancellationToken(cancellationToken)
+                .build()
+
+        when:
+        def result = graphQL().executeAsync(executionInput)
+
+        then:
+        !result.isDone()
+        slowFetches.size() == 1
+
+        when:
+        cancellationToken.cancel()
+        def executionResult = result.join()
+
+        then:
+        executionResult.data == null
+        executionResult.errors.size() == 1
+        executionResult.errors[0] instanceof ExecutionCancelledException
+        executionResult.errors[0].message == "Execution was cancelled"
+        !(executionResult.errors[0] as ExecutionCancelledException).deadlineExceeded
+        // the data fetcher's own promise may be shared, so only the engine's promise that depends on it is cancelled
+        !slowFetches[0].isCancelled()
+    }
+
+    def "no more fields are fetched once the deadline has passed"() {
+        def executionInput = ExecutionInput.newExecutionInput("{ items { name slow } }")
+                .deadline(Instant.now().plusMillis(100))
+                .build()
+
+        when:
+        def executionResult = graphQL().executeAsync(executionInput).get(2, TimeUnit.SECONDS)
+
+        then:
+        executionResult.errors.size() == 1
+        executionResult.errors[0].message == "Execution did not finish before its deadline"
+        (executionResult.errors[0] as ExecutionCancelledException).deadlineExceeded
+        // only the items were fetched and the execution stopped waiting for them before any item fields were
+        fetches.get() == 1
+        slowFetches.isEmpty()
+    }
+
+    def "an execution that is cancelled before it starts fetches nothing"() {
+        def cancellationToken = new CancellationToken()
+        cancellationToken.cancel()
+
+        when:
+        def executionResult = graphQL().execute(ExecutionInput.newExecutionInput("{ fast }").cancellationToken(cancellationToken))
+
+        then:
+        executionResult.errors[0] instanceof ExecutionCancelledException
+        fetches.get() == 0
+    }
+
+    def "an execution that finishes before being cancelled is not affected"() {
+        def cancellationToken = new CancellationToken()
+
+        when:
+        def executionResult = graphQL().execute(ExecutionInput.newExecutionInput("{ fast }")
+                .cancellationToken(cancellationToken)
+                .deadline(Instant.now().plusSeconds(60)))
+        cancellationToken.cancel()
+
+        then:
+        executionResult.errors.isEmpty()
+        executionResult.data == [fast: "fast"]
+    }
+
+    def "the loads of a cancelled execution are still dispatched on its data loader registry"() {
+        def cancellationToken = new CancellationToken()
+        def loadedKeys = [].asSynchronized()
+        def dataLoader = DataLoaderFactory.newDataLoader({ keys ->
+            loadedKeys.addAll(keys)
+            CompletableFuture.completedFuture(keys)
+        } as BatchLoader<String, String>)
+        def dataLoaderRegistry = new DataLoaderRegistry()
+        dataLoaderRegistry.register("loader", dataLoader)
+        CompletableFuture<String> load = null
+        DataFetcher loaded = { env ->
+            cancellationToken.cancel()
+            load = env.getDataLoader("loader").load("key")
+            load
+        }
+        def runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("loaded", loaded))
+                .build()
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema("type Query { loaded : String }", runtimeWiring)).build()
+
+        when:
+        def executionResult = graphQL.execute(ExecutionInput.newExecutionInput("{ loaded }")
+                .cancellationToken(cancellationToken)
+                .dataLoaderRegistry(dataLoaderRegistry))
+
+        then:
+        executionResult.errors[0] instanceof ExecutionCancelledException
+        // the registry may be shared with other executions, so its queued loads must not be stranded
+        Awaitility.await().until({ load.isDone() })
+        load.join() == "key"
+        loadedKeys == ["key"]
+    }
+
+    def "a subscription stays cancellable until its publisher completes"() {
+        def cancellationToken = new CancellationToken()
+
+        when:
+        def executionResult = graphQL().execute(ExecutionInput.newExecutionInput("subscription { ticks }")
+                .cancellationToken(cancellationToken))
+        Publisher<ExecutionResult> publisher = executionResult.data
+
+        then:
+        cancellationToken.listeners.size() == 1
+
+        when:
+        def subscriber = new CapturingSubscriber<ExecutionResult>()
+        publisher.subscribe(subscriber)
+        Awaitility.await().untilTrue(subscriber.isDone())
+
+        then:
+        subscriber.events.collect { it.data } == [[ticks: 1], [ticks: 2], [ticks: 3]]
+        cancellationToken.listeners.isEmpty()
+    }
+}
@@ -0,0 +1,206 @@
+package graphql.execution
+
+import graphql.ExecutionInput
+import graphql.ExperimentalApi
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.preparsed.CachingPreparsedDocumentProvider
+import graphql.language.Field
+import graphql.language.FragmentDefinition
+import graphql.language.OperationDefinition
+import graphql.parser.Parser
+import graphql.schema.idl.RuntimeWiring
+import spock.lang.Specification
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
+
+class ExecutionPlanCacheTest extends Specification {
+
+    def sdl = """
+        type Query {
+            hero : Character
+            heroes : [Character]
+        }
+
+        interface Character {
+            name : String
+            friends : [Character]
+        }
+
+        type Human implements Character {
+            name : String
+            friends : [Character]
+            homePlanet : String
+        }
+
+        type Droid implements Character {
+            name : String
+            friends : [Character]
+            primaryFunction : String
+        }
+    """
+
+    def luke = [name: "Luke", homePlanet: "Tatooine", type: "Human"]
+    def r2 = [name: "R2-D2", primaryFunction: "Astromech", type: "Droid"]
+    def han = [name: "Han", homePlanet: "Corellia", type: "Human"]
+
+    def setup() {
+        luke.friends = [r2, han]
+        r2.friends = [luke]
+        han.friends = [luke, r2]
+    }
+
+    GraphQL buildGraphQL(ExecutionPlanCache planCache) {
+        def wiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                        .dataFetcher("hero", { env -> r2 })
+                        .dataFetcher("heroes", { env -> [luke, r2, han] }))
+                .type(newTypeWiring("Character")
+                        .typeResolver({ env -> env.getSchema().getObjectType(env.getObject().type) }))
+                .build()
+        def schema = TestUtil.schema(sdl, wiring)
+        return GraphQL.newGraphQL(schema)
+                .preparsedDocumentProvider(CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build())
+                .executionPlanCache(planCache)
+                .build()
+    }
+
+    def query = '''
+        query Q($withFriends : Boolean!, $skipName : Boolean!) {
+            heroes {
+                name @skip(if : $skipName)
+                ... on Human { homePlanet }
+                ... DroidFields
+                friends @include(if : $withFriends) {
+                    name
+                }
+            }
+        }
+
+        fragment DroidFields on Droid {
+            primaryFunction
+        }
+    '''
+
+    def "produces the same results as without a plan and reuses the plan"() {
+        def planCache = ExecutionPlanCache.newExecutionPlanCache().build()
+        def withPlan = buildGraphQL(planCache)
+        def withoutPlan = buildGraphQL(null)
+
+        when:
+        def results = []
+        def expected = []
+        for (def variables : [
+                [withFriends: true, skipName: false],
+                [withFriends: false, skipName: false],
+                [withFriends: true, skipName: true],
+                [withFriends: true, skipName: false],
+        ]) {
+            def ei = { ExecutionInput.newExecutionInput(query).variables(variables).build() }
+            results.add(withPlan.execute(ei()))
+            expected.add(withoutPlan.execute(ei()))
+        }
+
+        then:
+        results.collect { it.errors } == [[], [], [], []]
+        results.collect { it.data } == expected.collect { it.data }
+        results[0].data == [heroes: [
+                [name: "Luke", homePlanet: "Tatooine", friends: [[name: "R2-D2"], [name: "Han"]]],
+                [name: "R2-D2", primaryFunction: "Astromech", friends: [[name: "Luke"]]],
+                [name: "Han", homePlanet: "Corellia", friends: [[name: "Luke"], [name: "R2-D2"]]],
+        ]]
+        results[1].data == [heroes: [
+                [name: "Luke", homePlanet: "Tatooine"],
+                [name: "R2-D2", primaryFunction: "Astromech"],
+                [name: "Han", homePlanet: "Corellia"],
+        ]]
+        results[2].data.heroes[0] == [homePlanet: "Tatooine", friends: [[name: "R2-D2"], [name: "Han"]]]
+
+        planCache.size() == 1
+    }
+
+    def "plans track the variables that selections depend on"() {
+        def planCache = ExecutionPlanCache.newExecutionPlanCache().build()
+        def graphQL = buildGraphQL(planCache)
+
+        when:
+        def count = 0
+        def document = Parser.parse(query)
+        def operation = document.getDefinitionsOfType(OperationDefinition)[0]
+        def fragments = [DroidFields: document.getDefinitionsOfType(FragmentDefinition)[0]]
+        def planForDoc = planCache.getExecutionPlan(document, operation, graphQL.graphQLSchema, fragments)
+        def rootType = graphQL.graphQLSchema.queryType
+        def collect = { count++; MergedSelectionSet.newMergedSelectionSet().build() }
+        planForDoc.getRootFields(operation.selectionSet, rootType, [withFriends: true, skipName: false], collect)
+        planForDoc.getRootFields(operation.selectionSet, rootType, [withFriends: false, skipName: true], collect)
+
+        then:
+        planCache.size() == 1
+        // the root selection has no conditional directives so variables don't matter
+        count == 1
+
+        when:
+        def heroesField = MergedField.newMergedField(operation.selectionSet.selections[0] as Field).build()
+        def human = graphQL.graphQLSchema.getObjectType("Human")
+        def droid = graphQL.graphQLSchema.getObjectType("Droid")
+        planForDoc.getSubFields(heroesField, human, [withFriends: true, skipName: false], collect)
+        planForDoc.getSubFields(heroesField, human, [withFriends: true, skipName: false, other: "x"], collect)
+        planForDoc.getSubFields(heroesField, human, [withFriends: false, skipName: false], collect)
+        planForDoc.getSubFields(heroesField, droid, [withFriends: true, skipName: false], collect)
+
+        then:
+        count == 4
+        planForDoc.plannedSelectionCount == 3
+    }
+
+    def "plans only depend on the variables of skip and include directives and hold so many of their values"() {
+        def planCache = ExecutionPlanCache.newExecutionPlanCache().build()
+        def graphQL = buildGraphQL(planCache)
+        def document = Parser.parse('''
+            query Q($tag : String, $skip : Boolean!) {
+                heroes {
+                    name @deprecated(reason : $tag)
+                    homePlanet @skip(if : $skip)
+                }
+            }
+        ''')
+        def operation = document.getDefinitionsOfType(OperationDefinition)[0]
+        def planForDoc = planCache.getExecutionPlan(document, operation, graphQL.graphQLSchema, [:])
+        def heroesField = MergedField.newMergedField(operation.selectionSet.selections[0] as Field).build()
+        def human = graphQL.graphQLSchema.getObjectType("Human")
+        def count = 0
+        def collect = { count++; MergedSelectionSet.newMergedSelectionSet().build() }
+
+        when:
+        (0..<10).each { planForDoc.getSubFields(heroesField, human, [tag: "tag" + it, skip: false], collect) }
+
+        then:
+        count == 1
+
+        when:
+        count = 0
+        def plan = new ExecutionPlan([:])
+        def valueCount = ExecutionPlan.MAXIMUM_DIRECTIVE_VARIABLE_COMBINATIONS + 10
+        (0..<valueCount).each { plan.getSubFields(heroesField, human, [skip: "value" + it], collect) }
+        (0..<valueCount).each { plan.getSubFields(heroesField, human, [skip: "value" + it], collect) }
+
+        then: "the values beyond the maximum are collected again every time"
+        count == valueCount + 10
+    }
+
+    def "plans are not used with incremental support enabled"() {
+        def planCache = ExecutionPlanCache.newExecutionPlanCache().build()
+        def graphQL = buildGraphQL(planCache)
+
+        when:
+        def ei = ExecutionInput.newExecutionInput(query)
+                .variables([withFriends: true, skipName: false])
+                .graphQLContext([(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT): true])
+                .build()
+        def result = graphQL.execute(ei)
+
+        then:
+        result.errors.isEmpty()
+        planCache.size() == 0
+    }
+}
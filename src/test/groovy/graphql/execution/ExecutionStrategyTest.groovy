@@ -20,6 +20,7 @@ import graphql.language.SourceLocation
 import graphql.language.StringValue
 import graphql.parser.Parser
 import graphql.schema.Coercing
+import graphql.schema.CoercingSerializeException
 import graphql.schema.DataFetcher
 import graphql.schema.DataFetchingEnvironment
 import graphql.schema.FieldCoordinates
@@ -386,6 +387,161 @@ class ExecutionStrategyTest extends Specification {
         executionResult == result
     }
 
+    def "completes a list of scalars with nulls and serialization errors"() {
+        given:
+        ExecutionContext executionContext = buildContext()
+        def fieldType = list(Scalars.GraphQLInt)
+        def fldDef = newFieldDefinition().name("test").type(fieldType).build()
+        def executionStepInfo = ExecutionStepInfo.newExecutionStepInfo().type(fieldType).path(ResultPath.parse("/test")).fieldDefinition(fldDef).build()
+        NonNullableFieldValidator nullableFieldValidator = new NonNullableFieldValidator(executionContext, executionStepInfo)
+        def result = [1, null, "not a number", Optional.of(4), DataFetcherResult.newResult().data(5).build()]
+        def parameters = newParameters()
+                .executionStepInfo(executionStepInfo)
+                .path(ResultPath.parse("/test"))
+                .source(result)
+                .nonNullFieldValidator(nullableFieldValidator)
+                .fields(mergedSelectionSet(["fld": []]))
+                .field(mergedField(new Field("test")))
+                .build()
+
+        when:
+        def fieldValueInfo = executionStrategy.completeValue(executionContext, parameters)
+
+        then:
+        fieldValueInfo.completeValueType == FieldValueInfo.CompleteValueType.LIST
+        fieldValueInfo.fieldValueFuture.join() == [1, null, null, 4, 5]
+        executionContext.errors.size() == 1
+        executionContext.errors[0] instanceof SerializationError
+        executionContext.errors[0].path == ["test", 2]
+    }
+
+    def "completing a list of non null enums with a null element nulls the list"() {
+        given:
+        ExecutionContext executionContext = buildContext()
+        GraphQLEnumType enumType = newEnum().name("Enum").value("A").value("B").build()
+        def fieldType = list(nonNull(enumType))
+        def fldDef = newFieldDefinition().name("test").type(fieldType).build()
+        def executionStepInfo = ExecutionStepInfo.newExecutionStepInfo().type(fieldType).path(ResultPath.parse("/test")).fieldDefinition(fldDef).build()
+        NonNullableFieldValidator nullableFieldValidator = new NonNullableFieldValidator(executionContext, executionStepInfo)
+        def parameters = newParameters()
+                .executionStepInfo(executionStepInfo)
+                .path(ResultPath.parse("/test"))
+                .source(["A", null, "B"])
+                .nonNullFieldValidator(nullableFieldValidator)
+                .fields(mergedSelectionSet(["fld": []]))
+                .field(mergedField(new Field("test")))
+                .build()
+
+        when:
+        def executionResult = executionStrategy.completeValue(executionContext, parameters).fieldValueFuture.join()
+
+        then:
+        executionResult == null
+        executionContext.errors.size() == 1
+        executionContext.errors[0] instanceof NonNullableFieldWasNullError
+        executionContext.errors[0].path == ["test", 1]
+    }
+
+    def "a list of scalars has a field value info for every element"() {
+        given:
+        ExecutionContext executionContext = buildContext()
+        def fieldType = list(Scalars.GraphQLInt)
+        def fldDef = newFieldDefinition().name("test").type(fieldType).build()
+        def executionStepInfo = ExecutionStepInfo.newExecutionStepInfo().type(fieldType).path(ResultPath.parse("/test")).fieldDefinition(fldDef).build()
+        NonNullableFieldValidator nullableFieldValidator = new NonNullableFieldValidator(executionContext, executionStepInfo)
+        def parameters = newParameters()
+                .executionStepInfo(executionStepInfo)
+                .path(ResultPath.parse("/test"))
+                .source([1, null, 3])
+                .nonNullFieldValidator(nullableFieldValidator)
+                .fields(mergedSelectionSet(["fld": []]))
+                .field(mergedField(new Field("test")))
+                .build()
+
+        when:
+        def fieldValueInfo = executionStrategy.completeValue(executionContext, parameters)
+
+        then:
+        fieldValueInfo.fieldValueInfos.size() == 3
+        fieldValueInfo.fieldValueInfos.collect { it.completeValueType } == [FieldValueInfo.CompleteValueType.SCALAR, FieldValueInfo.CompleteValueType.NULL, FieldValueInfo.CompleteValueType.SCALAR]
+        fieldValueInfo.fieldValueInfos.collect { it.fieldValueObject } == [1, null, 3]
+    }
+
+    def "a strategy that overrides how scalars are completed has it called for every element of a list of scalars"() {
+        given:
+        def scalarCompletions = 0
+        def strategy = new ExecutionStrategy(dataFetcherExceptionHandler) {
+            @Override
+            CompletableFuture<ExecutionResult> execute(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+                return Assert.assertShouldNeverHappen("should not be called")
+            }
+
+            @Override
+            protected Object completeValueForScalar(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLScalarType scalarType, Object result) {
+                scalarCompletions++
+                return super.completeValueForScalar(executionContext, parameters, scalarType, result)
+            }
+        }
+        ExecutionContext executionContext = buildContext()
+        def fieldType = list(Scalars.GraphQLInt)
+        def fldDef = newFieldDefinition().name("test").type(fieldType).build()
+        def executionStepInfo = ExecutionStepInfo.newExecutionStepInfo().type(fieldType).path(ResultPath.parse("/test")).fieldDefinition(fldDef).build()
+        NonNullableFieldValidator nullableFieldValidator = new NonNullableFieldValidator(executionContext, executionStepInfo)
+        def parameters = newParameters()
+                .executionStepInfo(executionStepInfo)
+                .path(ResultPath.parse("/test"))
+                .source([1, 2, 3])
+                .nonNullFieldValidator(nullableFieldValidator)
+                .fields(mergedSelectionSet(["fld": []]))
+                .field(mergedField(new Field("test")))
+                .build()
+
+        when:
+        def fieldValueInfo = strategy.completeValue(executionContext, parameters)
+
+        then:
+        fieldValueInfo.fieldValueFuture.join() == [1, 2, 3]
+        scalarCompletions == 3
+    }
+
+    def "an element of a list of scalars that fails to serialize is serialized once"() {
+        given:
+        def serializeCalls = 0
+        def countedType = GraphQLScalarType.newScalar().name("Counted").coercing(new Coercing<Object, Object>() {
+            @Override
+            Object serialize(Object input) {
+                serializeCalls++
+                if (input == "bad") {
+                    throw new CoercingSerializeException("bad value")
+                }
+                return input == "none" ? null : input
+            }
+        }).build()
+        ExecutionContext executionContext = buildContext()
+        def fieldType = list(countedType)
+        def fldDef = newFieldDefinition().name("test").type(fieldType).build()
+        def executionStepInfo = ExecutionStepInfo.newExecutionStepInfo().type(fieldType).path(ResultPath.parse("/test")).fieldDefinition(fldDef).build()
+        NonNullableFieldValidator nullableFieldValidator = new NonNullableFieldValidator(executionContext, executionStepInfo)
+        def parameters = newParameters()
+                .executionStepInfo(executionStepInfo)
+                .path(ResultPath.parse("/test"))
+                .source(["good", "bad", "none"])
+                .nonNullFieldValidator(nullableFieldValidator)
+                .fields(mergedSelectionSet(["fld": []]))
+                .field(mergedField(new Field("test")))
+                .build()
+
+        when:
+        def fieldValueInfo = executionStrategy.completeValue(executionContext, parameters)
+
+        then:
+        fieldValueInfo.fieldValueFuture.join() == ["good", null, null]
+        serializeCalls == 3
+        executionContext.errors.size() == 1
+        executionContext.errors[0] instanceof SerializationError
+        executionContext.errors[0].path == ["test", 1]
+    }
+
     def "completing value with serializing throwing exception"() {
         given:
         ExecutionContext executionContext = buildContext()
@@ -280,4 +280,43 @@ class ResultPathTest extends Specification {
         then:
         newPath.toList() == ["a", "b", "x"]
     }
+
+    def "segment accessors"() {
+        when:
+        def path = ResultPath.parse("/a[0]/b")
+
+        then:
+        path.isNamedSegment()
+        !path.isListSegment()
+        path.getSegmentName() == "b"
+        path.getSegmentValue() == "b"
+
+        path.parent.isListSegment()
+        !path.parent.isNamedSegment()
+        path.parent.getSegmentIndex() == 0
+        path.parent.getSegmentValue() == 0
+
+        !ResultPath.rootPath().isListSegment()
+        !ResultPath.rootPath().isNamedSegment()
+
+        when:
+        path.getSegmentIndex()
+
+        then:
+        thrown(ClassCastException)
+
+        when:
+        path.parent.getSegmentName()
+
+        then:
+        thrown(ClassCastException)
+    }
+
+    def "paths with the same segments have the same hash code"() {
+        expect:
+        ResultPath.parse("/a[1]/b").hashCode() == ResultPath.fromList(["a", 1, "b"]).hashCode()
+        ResultPath.parse("/a[1]/b").hashCode() == 31 * (31 * (31 * (31 + "b".hashCode()) + 1) + "a".hashCode())
+        ResultPath.parse("/a[1]") != ResultPath.parse("/a[2]")
+        ResultPath.parse("/a[0]") != ResultPath.parse("/a/b")
+    }
 }
@@ -1,5 +1,6 @@
 package graphql.execution
 
+import graphql.AssertException
 import graphql.ErrorType
 import graphql.ExecutionInput
 import graphql.ExecutionResult
@@ -16,6 +17,7 @@ import graphql.execution.pubsub.Message
 import graphql.execution.pubsub.ReactiveStreamsMessagePublisher
 import graphql.execution.pubsub.ReactiveStreamsObjectPublisher
 import graphql.execution.pubsub.RxJavaMessagePublisher
+import graphql.execution.reactive.SubscriptionEventMapping
 import graphql.execution.reactive.SubscriptionPublisher
 import graphql.schema.DataFetcher
 import graphql.schema.DataFetchingEnvironment
@@ -27,6 +29,7 @@ import spock.lang.Specification
 import spock.lang.Unroll
 
 import java.util.concurrent.CompletableFuture
+import java.util.concurrent.atomic.AtomicInteger
 
 import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
 
@@ -628,4 +631,120 @@ class SubscriptionExecutionStrategyTest extends Specification {
         instrumentResultCalls.size() == 11 // one for the initial execution and then one for each stream event
     }
 
+    def "a fan out executes each event once per group of identical subscriptions"() {
+        given:
+        def messages = (0..<5).collect { new Message("sender" + it, "text" + it) }
+        def senderCalls = new AtomicInteger()
+        DataFetcher newMessageDF = { env -> new ReactiveStreamsObjectPublisher(5, { at -> messages[at] }) }
+        DataFetcher senderDF = { env ->
+            senderCalls.incrementAndGet()
+            (env.getSource() as Message).sender + "/" + env.getGraphQlContext().get("user")
+        }
+        RuntimeWiring runtimeWiring = buildBaseSubscriptionWiring(senderDF, PropertyDataFetcher.fetching("text"))
+                .type(newTypeWiring("Subscription").dataFetcher("newMessage", newMessageDF).build())
+                .build()
+
+        def fanOut = SubscriptionFanOut.newSubscriptionFanOut()
+                .partitionKey({ executionInput -> executionInput.getGraphQLContext().get("user") })
+                .build()
+        GraphQL graphQL = TestUtil.graphQL(idl, runtimeWiring)
+                .subscriptionExecutionStrategy(new SubscriptionExecutionStrategy(new SimpleDataFetcherExceptionHandler(), fanOut))
+                .build()
+
+        when:
+        def subscribers = ["user1", "user1", "user1", "user2"].collect { user ->
+            def executionInput = ExecutionInput.newExecutionInput()
+                    .query('subscription NewMessages($roomId : Int) { newMessage(roomId: $roomId) { sender text } }')
+                    .variables([roomId: 123])
+                    .graphQLContext([user: user])
+                    .build()
+            Publisher<ExecutionResult> msgStream = graphQL.execute(executionInput).getData()
+            def capturingSubscriber = new CapturingSubscriber<ExecutionResult>()
+            msgStream.subscribe(capturingSubscriber)
+            capturingSubscriber
+        }
+
+        then:
+        fanOut.groupCount == 2
+        subscribers.each { Awaitility.await().untilTrue(it.isDone()) }
+
+        subscribers[0].events.collect { it.data } == (0..<5).collect { [newMessage: [sender: "sender" + it + "/user1", text: "text" + it]] }
+        subscribers[1].events.collect { it.data } == subscribers[0].events.collect { it.data }
+        subscribers[2].events.collect { it.data } == subscribers[0].events.collect { it.data }
+        subscribers[3].events.collect { it.data } == (0..<5).collect { [newMessage: [sender: "sender" + it + "/user2", text: "text" + it]] }
+
+        // once per event for each of the two groups rather than once per event for each of the four subscriptions
+        senderCalls.get() == 10
+    }
+
+    def "a fan out executes an event object that is published again rather than reusing its earlier result"() {
+        given:
+        def message = new Message("sender", "text")
+        def senderCalls = new AtomicInteger()
+        DataFetcher newMessageDF = { env -> new ReactiveStreamsObjectPublisher(2, { at -> message }) }
+        DataFetcher senderDF = { env -> (env.getSource() as Message).sender + senderCalls.incrementAndGet() }
+        RuntimeWiring runtimeWiring = buildBaseSubscriptionWiring(senderDF, PropertyDataFetcher.fetching("text"))
+                .type(newTypeWiring("Subscription").dataFetcher("newMessage", newMessageDF).build())
+                .build()
+
+        def fanOut = SubscriptionFanOut.newSubscriptionFanOut().build()
+        GraphQL graphQL = TestUtil.graphQL(idl, runtimeWiring)
+                .subscriptionExecutionStrategy(new SubscriptionExecutionStrategy(new SimpleDataFetcherExceptionHandler(), fanOut))
+                .build()
+
+        when:
+        Publisher<ExecutionResult> msgStream = graphQL.execute('subscription NewMessages { newMessage(roomId: 123) { sender text } }').getData()
+        def capturingSubscriber = new CapturingSubscriber<ExecutionResult>()
+        msgStream.subscribe(capturingSubscriber)
+        Awaitility.await().untilTrue(capturingSubscriber.isDone())
+
+        then:
+        capturingSubscriber.events.collect { it.data } == [
+                [newMessage: [sender: "sender1", text: "text"]],
+                [newMessage: [sender: "sender2", text: "text"]]
+        ]
+        senderCalls.get() == 2
+    }
+
+    def "an event mapping can be used without a fan out"() {
+        given:
+        def messages = (0..<5).collect { new Message("sender" + it, "text" + it) }
+        DataFetcher newMessageDF = { env -> new ReactiveStreamsObjectPublisher(5, { at -> messages[at] }) }
+        DataFetcher senderDF = { env ->
+            def message = env.getSource() as Message
+            // the earlier events take longer to execute than the later ones
+            CompletableFuture.supplyAsync({
+                Thread.sleep(50 - 10 * messages.indexOf(message))
+                message.sender
+            })
+        }
+        RuntimeWiring runtimeWiring = buildBaseSubscriptionWiring(senderDF, PropertyDataFetcher.fetching("text"))
+                .type(newTypeWiring("Subscription").dataFetcher("newMessage", newMessageDF).build())
+                .build()
+
+        def eventMapping = SubscriptionEventMapping.newSubscriptionEventMapping()
+                .mode(SubscriptionEventMapping.Mode.ORDERED)
+                .maxInFlight(5)
+                .build()
+        GraphQL graphQL = TestUtil.graphQL(idl, runtimeWiring)
+                .subscriptionExecutionStrategy(new SubscriptionExecutionStrategy(new SimpleDataFetcherExceptionHandler(), eventMapping))
+                .build()
+
+        when:
+        Publisher<ExecutionResult> msgStream = graphQL.execute('subscription NewMessages { newMessage(roomId: 123) { sender text } }').getData()
+        def capturingSubscriber = new CapturingSubscriber<ExecutionResult>()
+        msgStream.subscribe(capturingSubscriber)
+        Awaitility.await().untilTrue(capturingSubscriber.isDone())
+
+        then:
+        capturingSubscriber.events.collect { it.data } == (0..<5).collect { [newMessage: [sender: "sender" + it, text: "text" + it]] }
+    }
+
+    def "a fan out must be given along with an event mapping"() {
+        when:
+        new SubscriptionExecutionStrategy(new SimpleDataFetcherExceptionHandler(), null as SubscriptionFanOut, SubscriptionEventMapping.newSubscriptionEventMapping().build())
+
+        then:
+        thrown(AssertException)
+    }
 }
@@ -1,12 +1,15 @@
 package graphql.execution.incremental
 
 
+import graphql.AssertException
 import graphql.ExecutionResultImpl
 import graphql.execution.ResultPath
 import graphql.incremental.DelayedIncrementalPartialResult
+import graphql.incremental.IncrementalBatching
 import org.awaitility.Awaitility
 import spock.lang.Specification
 
+import java.time.Duration
 import java.util.concurrent.CompletableFuture
 import java.util.function.Supplier
 
@@ -195,6 +198,47 @@ class IncrementalCallStateDeferTest extends Specification {
         results.any { it.incremental[0].data["c"] == "C" }
     }
 
+    def "ready payloads are published together when batching is on"() {
+        given:
+        def incrementalCallState = new IncrementalCallState()
+        incrementalCallState.enqueue(offThread("A", 10, "/field/path"))
+        incrementalCallState.enqueue(offThread("B", 20, "/field/path"))
+        incrementalCallState.enqueue(offThread("C", 30, "/field/path"))
+        incrementalCallState.enqueue(offThread("D", 1000, "/field/path"))
+        incrementalCallState.enqueue(offThread("E", 1010, "/field/path"))
+
+        def batching = IncrementalBatching.newIncrementalBatching()
+                .maxBatchSize(2)
+                .maxDelay(Duration.ofMillis(500))
+                .build()
+
+        when:
+        def subscriber = new graphql.execution.pubsub.CapturingSubscriber<DelayedIncrementalPartialResult>()
+        incrementalCallState.startDeferredCalls(batching).subscribe(subscriber)
+        Awaitility.await().untilTrue(subscriber.isDone())
+        def results = subscriber.getEvents()
+
+        then: "A and B fill a batch, C is published after the delay and D and E are the last of the payloads"
+        assertResultsSizeAndHasNextRule(3, results)
+        results[0].incremental.collect { it.data.keySet()[0] } == ["a", "b"]
+        results[1].incremental.collect { it.data.keySet()[0] } == ["c"]
+        results[2].incremental.collect { it.data.keySet()[0] } == ["d", "e"]
+    }
+
+    def "batching needs a delay to collect payloads over"() {
+        when:
+        IncrementalBatching.newIncrementalBatching().maxBatchSize(2).build()
+
+        then:
+        thrown(AssertException)
+
+        when:
+        def batching = IncrementalBatching.newIncrementalBatching().maxBatchSize(1).build()
+
+        then:
+        batching.maxDelay == Duration.ZERO
+    }
+
     private static DeferredFragmentCall offThread(String data, int sleepTime, String path) {
         def callSupplier = new Supplier<CompletableFuture<DeferredFragmentCall.FieldWithExecutionResult>>() {
             @Override
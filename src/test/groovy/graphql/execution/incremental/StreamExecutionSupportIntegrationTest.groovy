@@ -0,0 +1,352 @@
+package graphql.execution.incremental
+
+import graphql.Directives
+import graphql.ExecutionInput
+import graphql.ExecutionResult
+import graphql.ExperimentalApi
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.pubsub.CapturingSubscriber
+import graphql.incremental.DelayedIncrementalPartialResult
+import graphql.incremental.IncrementalExecutionResult
+import graphql.schema.DataFetcher
+import graphql.schema.idl.RuntimeWiring
+import io.reactivex.Flowable
+import org.awaitility.Awaitility
+import org.dataloader.DataLoaderRegistry
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.stream.Stream
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
+
+class StreamExecutionSupportIntegrationTest extends Specification {
+    def schemaSpec = '''
+            type Query {
+                posts(count: Int!): [Post]
+                ids: [ID!]
+                numbers: [Int]
+                words: [String]
+            }
+
+            type Post {
+                id: ID!
+            }
+        '''
+
+    GraphQL graphQL = null
+    AtomicInteger postsRead = new AtomicInteger()
+    AtomicInteger numbersRequested = new AtomicInteger()
+    AtomicBoolean numbersCancelled = new AtomicBoolean()
+    AtomicBoolean wordsClosed = new AtomicBoolean()
+    Set<Thread> postReaders = ConcurrentHashMap.newKeySet()
+
+    void setup() {
+        DataFetcher posts = { env ->
+            int count = env.getArgument("count")
+            // an iterator that counts how many posts have been read from it
+            return new Iterator<Object>() {
+                int index = 0
+
+                @Override
+                boolean hasNext() {
+                    return index < count
+                }
+
+                @Override
+                Object next() {
+                    postsRead.incrementAndGet()
+                    postReaders.add(Thread.currentThread())
+                    return [id: "100" + (index++)]
+                }
+            }
+        }
+        DataFetcher ids = { env -> ["1", "2", null, "4"] }
+        DataFetcher numbers = { env ->
+            Flowable.range(1, 1000)
+                    .doOnRequest { numbersRequested.addAndGet(it as int) }
+                    .doOnCancel { numbersCancelled.set(true) }
+        }
+        DataFetcher words = { env -> Stream.of("a", "b", "c").onClose { wordsClosed.set(true) } }
+        def runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                        .dataFetcher("posts", posts)
+                        .dataFetcher("ids", ids)
+                        .dataFetcher("numbers", numbers)
+                        .dataFetcher("words", words)
+                )
+                .build()
+
+        def schema = TestUtil.schema(schemaSpec, runtimeWiring)
+                .transform({ builder -> builder.additionalDirective(Directives.StreamDirective) })
+        this.graphQL = GraphQL.newGraphQL(schema).build()
+    }
+
+    def "simple stream with initial count and label"() {
+        def query = '''
+            query {
+                posts(count: 3) @stream(initialCount: 1, label: "more") {
+                    id
+                }
+            }
+        '''
+
+        when:
+        IncrementalExecutionResult initialResult = executeQuery(query)
+
+        then:
+        initialResult.toSpecification() == [
+                data   : [posts: [[id: "1000"]]],
+                hasNext: true
+        ]
+
+        when:
+        def incrementalResults = getIncrementalResults(initialResult)
+
+        then:
+        incrementalResults == [
+                [
+                        hasNext    : true,
+                        incremental: [[path: ["posts", 1], label: "more", items: [[id: "1001"]]]]
+                ],
+                [
+                        hasNext    : false,
+                        incremental: [[path: ["posts", 2], label: "more", items: [[id: "1002"]]]]
+                ]
+        ]
+    }
+
+    def "list items are only read as the subscriber asks for them"() {
+        def query = '''
+            query {
+                posts(count: 1000) @stream(initialCount: 2) {
+                    id
+                }
+            }
+        '''
+
+        when:
+        IncrementalExecutionResult initialResult = executeQuery(query)
+        def subscriber = new RequestingSubscriber()
+        initialResult.incrementalItemPublisher.subscribe(subscriber)
+
+        then:
+        initialResult.toSpecification().data == [posts: [[id: "1000"], [id: "1001"]]]
+        postsRead.get() == 2
+
+        when:
+        subscriber.subscription.request(3)
+
+        then:
+        Awaitility.await().until { subscriber.events.size() == 3 }
+        subscriber.events.collect { it.toSpecification().incremental[0].path } == [["posts", 2], ["posts", 3], ["posts", 4]]
+        postsRead.get() == 5
+
+        when:
+        subscriber.subscription.cancel()
+        subscriber.subscription.request(10)
+
+        then:
+        postsRead.get() == 5
+        subscriber.events.size() == 3
+    }
+
+    def "list items are not read on the thread of the subscriber asking for them"() {
+        def query = '''
+            query {
+                posts(count: 10) @stream(initialCount: 1) {
+                    id
+                }
+            }
+        '''
+
+        when:
+        IncrementalExecutionResult initialResult = executeQuery(query)
+        def subscriber = new RequestingSubscriber()
+        initialResult.incrementalItemPublisher.subscribe(subscriber)
+        postReaders.clear()
+        subscriber.subscription.request(3)
+
+        then:
+        Awaitility.await().until { subscriber.events.size() == 3 }
+        !postReaders.isEmpty()
+        !postReaders.contains(Thread.currentThread())
+    }
+
+    def "a stream is closed once all of its items have been read"() {
+        def query = '''
+            query {
+                words @stream(initialCount: 1)
+            }
+        '''
+
+        when:
+        IncrementalExecutionResult initialResult = executeQuery(query)
+
+        then:
+        initialResult.toSpecification().data == [words: ["a"]]
+        !wordsClosed.get()
+
+        when:
+        def incrementalResults = getIncrementalResults(initialResult)
+
+        then:
+        incrementalResults.collect { it.incremental[0].items } == [["b"], ["c"]]
+        wordsClosed.get()
+    }
+
+    def "data loaders cannot be used to resolve streamed fields"() {
+        when:
+        graphQL.execute(
+                ExecutionInput.newExecutionInput()
+                        .graphQLContext([(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT): true])
+                        .dataLoaderRegistry(new DataLoaderRegistry())
+                        .query('{ words @stream(initialCount: 1) }')
+                        .build()
+        )
+
+        then:
+        def exception = thrown(UnsupportedOperationException)
+        exception.message == "Data Loaders cannot be used to resolve streamed fields"
+    }
+
+    def "a null item of a non null list ends the stream with an error"() {
+        def query = '''
+            query {
+                ids @stream(initialCount: 1)
+            }
+        '''
+
+        when:
+        IncrementalExecutionResult initialResult = executeQuery(query)
+
+        then:
+        initialResult.toSpecification() == [
+                data   : [ids: ["1"]],
+                hasNext: true
+        ]
+
+        when:
+        def incrementalResults = getIncrementalResults(initialResult)
+
+        then:
+        incrementalResults.size() == 2
+        incrementalResults[0] == [hasNext: true, incremental: [[path: ["ids", 1], items: ["2"]]]]
+        incrementalResults[1].hasNext == false
+        incrementalResults[1].incremental[0].path == ["ids", 2]
+        incrementalResults[1].incremental[0].errors[0].extensions.classification == "NullValueInNonNullableField"
+    }
+
+    def "a publisher is read one item ahead of the subscriber and cancelled with it"() {
+        def query = '''
+            query {
+                numbers @stream(initialCount: 2)
+            }
+        '''
+
+        when:
+        IncrementalExecutionResult initialResult = executeQuery(query)
+        def subscriber = new RequestingSubscriber()
+        initialResult.incrementalItemPublisher.subscribe(subscriber)
+
+        then:
+        initialResult.toSpecification().data == [numbers: [1, 2]]
+        // the third number is read to know that there is one
+        numbersRequested.get() == 3
+
+        when:
+        subscriber.subscription.request(2)
+
+        then:
+        Awaitility.await().until { subscriber.events.size() == 2 }
+        subscriber.events.collect { it.toSpecification().incremental[0].items } == [[3], [4]]
+        numbersRequested.get() == 5
+        !numbersCancelled.get()
+
+        when:
+        subscriber.subscription.cancel()
+
+        then:
+        numbersCancelled.get()
+    }
+
+    def "stream is ignored if support for incremental delivery is disabled or if is false"() {
+        when:
+        ExecutionResult result = executeQuery('''
+            query {
+                posts(count: 3) @stream(initialCount: 1) {
+                    id
+                }
+            }
+        ''', false)
+
+        then:
+        !(result instanceof IncrementalExecutionResult)
+        result.toSpecification() == [data: [posts: [[id: "1000"], [id: "1001"], [id: "1002"]]]]
+
+        when:
+        result = executeQuery('''
+            query {
+                posts(count: 2) @stream(if: false) {
+                    id
+                }
+            }
+        ''', true)
+
+        then:
+        !(result instanceof IncrementalExecutionResult)
+        result.toSpecification() == [data: [posts: [[id: "1000"], [id: "1001"]]]]
+    }
+
+    private ExecutionResult executeQuery(String query) {
+        return this.executeQuery(query, true)
+    }
+
+    private ExecutionResult executeQuery(String query, boolean incrementalSupport) {
+        return graphQL.execute(
+                ExecutionInput.newExecutionInput()
+                        .graphQLContext([(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT): incrementalSupport])
+                        .query(query)
+                        .build()
+        )
+    }
+
+    private static List<Map<String, Object>> getIncrementalResults(IncrementalExecutionResult initialResult) {
+        def subscriber = new CapturingSubscriber<DelayedIncrementalPartialResult>()
+
+        initialResult.incrementalItemPublisher.subscribe(subscriber)
+
+        Awaitility.await().untilTrue(subscriber.isDone())
+
+        return subscriber.getEvents()
+                .collect { it.toSpecification() }
+    }
+
+    static class RequestingSubscriber implements Subscriber<DelayedIncrementalPartialResult> {
+        Subscription subscription
+        List<DelayedIncrementalPartialResult> events = Collections.synchronizedList([])
+
+        @Override
+        void onSubscribe(Subscription subscription) {
+            this.subscription = subscription
+        }
+
+        @Override
+        void onNext(DelayedIncrementalPartialResult result) {
+            events.add(result)
+        }
+
+        @Override
+        void onError(Throwable t) {
+        }
+
+        @Override
+        void onComplete() {
+        }
+    }
+}
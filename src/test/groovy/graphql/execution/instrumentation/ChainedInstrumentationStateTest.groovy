@@ -7,7 +7,9 @@ import graphql.StarWarsSchema
 import graphql.execution.AsyncExecutionStrategy
 import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters
 import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters
+import graphql.schema.PropertyDataFetcher
 import graphql.validation.ValidationError
 import spock.lang.Specification
 
@@ -281,6 +283,44 @@ class ChainedInstrumentationStateTest extends Specification {
     }
 
 
+    static class FetchRecordingInstrumentation extends SimplePerformantInstrumentation {
+        String name
+        List<String> fetches
+
+        @Override
+        InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+            fetches.add(name + ":" + parameters.executionStepInfo.path)
+            return SimpleInstrumentationContext.whenCompleted({ result, t -> fetches.add(name + " done") })
+        }
+    }
+
+    def "only instrumentations that override a per field hook are called for it"() {
+        def fetches = []
+        def a = new FetchRecordingInstrumentation(name: "A", fetches: fetches)
+        def b = new FetchRecordingInstrumentation(name: "B", fetches: fetches)
+        def chainedInstrumentation = new ChainedInstrumentation([new SimplePerformantInstrumentation(), a, new SimplePerformantInstrumentation(), b])
+
+        when:
+        def state = chainedInstrumentation.createStateAsync(null).join()
+        def completionCtx = chainedInstrumentation.beginFieldCompletion(null, state)
+        def dataFetcher = chainedInstrumentation.instrumentDataFetcher(PropertyDataFetcher.fetching("id"), null, state)
+
+        then:
+        completionCtx == SimpleInstrumentationContext.noOp()
+        dataFetcher instanceof PropertyDataFetcher
+
+        when:
+        def graphQL = GraphQL
+                .newGraphQL(StarWarsSchema.starWarsSchema)
+                .instrumentation(chainedInstrumentation)
+                .build()
+        def er = graphQL.execute('{ hero { id } }')
+
+        then:
+        er.errors.isEmpty()
+        fetches == ["A:/hero", "B:/hero", "A done", "B done", "A:/hero/id", "B:/hero/id", "A done", "B done"]
+    }
+
     class StringInstrumentationState implements InstrumentationState {
         StringInstrumentationState(String value) {
             this.value = value
@@ -258,8 +258,8 @@ class DataLoaderDispatcherTest extends Specification {
         def dummyDataloaderRegistry = new DataLoaderRegistry()
         def graphql = GraphQL.newGraphQL(support.schema())
                 .build()
-        // FieldLevelTrackingApproach uses LevelMaps with a default size of 16.
-        // Use a value greater than 16 to ensure that the underlying LevelMaps are resized
+        // PerLevelDataLoaderDispatchStrategy keeps its levels in an array with a default size of 16.
+        // Use a value greater than 16 to ensure that the underlying array is grown
         // as expected
         def depth = 50
 
@@ -0,0 +1,224 @@
+package graphql.execution.instrumentation.dataloader
+
+import graphql.ExecutionInput
+import graphql.TestUtil
+import graphql.execution.instrumentation.ExecuteObjectInstrumentationContext
+import graphql.execution.instrumentation.InstrumentationState
+import graphql.execution.instrumentation.SimplePerformantInstrumentation
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionStrategyParameters
+import graphql.schema.DataFetcher
+import graphql.schema.idl.RuntimeWiring
+import org.dataloader.BatchLoader
+import org.dataloader.DataLoaderFactory
+import org.dataloader.DataLoaderRegistry
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
+
+class EagerDataLoaderDispatchStrategyTest extends Specification {
+
+    def sdl = """
+        type Query {
+            slow : String
+            slowLoaded : String
+            items : [Item]
+        }
+        type Item {
+            id : ID
+            detail : Detail
+            chained : String
+        }
+        type Detail {
+            name : String
+            more : Detail
+        }
+    """
+
+    def executor = Executors.newFixedThreadPool(4)
+    def batches = new CopyOnWriteArrayList()
+    def releaseSlowField = new CountDownLatch(1)
+
+    def cleanup() {
+        releaseSlowField.countDown()
+        executor.shutdownNow()
+    }
+
+    def asyncBatchLoader(String name) {
+        return { keys ->
+            batches.add([name, keys.toList()])
+            CompletableFuture.supplyAsync({ keys.collect { name + "-" + it } }, executor)
+        } as BatchLoader
+    }
+
+    def buildRegistry() {
+        def registry = new DataLoaderRegistry()
+        registry.register("detail", DataLoaderFactory.newDataLoader(asyncBatchLoader("detail")))
+        registry.register("a", DataLoaderFactory.newDataLoader(asyncBatchLoader("a")))
+        registry.register("b", DataLoaderFactory.newDataLoader(asyncBatchLoader("b")))
+        registry.register("slow", DataLoaderFactory.newDataLoader({ keys ->
+            batches.add(["slow", keys.toList()])
+            CompletableFuture.supplyAsync({
+                releaseSlowField.await(10, TimeUnit.SECONDS)
+                return keys.collect { "slow-" + it }
+            }, executor)
+        } as BatchLoader))
+        return registry
+    }
+
+    def buildGraphQL() {
+        buildGraphQL(new SimplePerformantInstrumentation())
+    }
+
+    def buildGraphQL(SimplePerformantInstrumentation instrumentation) {
+        def wiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                        .dataFetcher("slow", { env ->
+                            CompletableFuture.supplyAsync({
+                                releaseSlowField.await(10, TimeUnit.SECONDS)
+                                return "slow"
+                            }, executor)
+                        } as DataFetcher)
+                        .dataFetcher("slowLoaded", { env -> env.getDataLoader("slow").load("x") } as DataFetcher)
+                        .dataFetcher("items", { env -> [[id: "1"], [id: "2"], [id: "3"]] } as DataFetcher))
+                .type(newTypeWiring("Item")
+                        .dataFetcher("detail", { env ->
+                            env.getDataLoader("detail").load(env.source.id).thenApply({ [name: it] })
+                        } as DataFetcher)
+                        .dataFetcher("chained", { env ->
+                            def b = env.getDataLoader("b")
+                            env.getDataLoader("a").load(env.source.id).thenCompose({ b.load(it) })
+                        } as DataFetcher))
+                .type(newTypeWiring("Detail")
+                        .dataFetcher("more", { env ->
+                            env.getDataLoader("detail").load(env.source.name).thenApply({ [name: it] })
+                        } as DataFetcher))
+                .build()
+        return TestUtil.graphQL(sdl, wiring).instrumentation(instrumentation).build()
+    }
+
+    def detailKeysLoaded() {
+        batches.findAll { it[0] == "detail" }.collectMany { it[1] } as Set
+    }
+
+    def allDetailKeys = ["1", "2", "3", "detail-1", "detail-2", "detail-3"] as Set
+
+    def "loads are dispatched without waiting for a slow field on the same level"() {
+        def graphQL = buildGraphQL()
+        def executionInput = ExecutionInput.newExecutionInput("{ slow items { id detail { name more { name } } } }")
+                .dataLoaderRegistry(buildRegistry())
+                .graphQLContext([(DataLoaderDispatchingContextKeys.ENABLE_EAGER_DISPATCH): true])
+                .build()
+
+        when:
+        def resultCF = graphQL.executeAsync(executionInput)
+        // both levels of details are loaded while the slow field is still outstanding
+        def deadline = System.currentTimeMillis() + 10_000
+        while (detailKeysLoaded() != allDetailKeys && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+        def detailKeysBeforeSlowFieldCompleted = detailKeysLoaded()
+        releaseSlowField.countDown()
+        def result = resultCF.join()
+
+        then:
+        !resultCF.isCompletedExceptionally()
+        batches[0] == ["detail", ["1", "2", "3"]]
+        detailKeysBeforeSlowFieldCompleted == allDetailKeys
+        result.errors.isEmpty()
+        result.data == [slow : "slow",
+                        items: [
+                                [id: "1", detail: [name: "detail-1", more: [name: "detail-detail-1"]]],
+                                [id: "2", detail: [name: "detail-2", more: [name: "detail-detail-2"]]],
+                                [id: "3", detail: [name: "detail-3", more: [name: "detail-detail-3"]]],
+                        ]]
+    }
+
+    def "loads are dispatched without waiting for a slow batch that is in flight"() {
+        def graphQL = buildGraphQL()
+        def executionInput = ExecutionInput.newExecutionInput("{ slowLoaded items { id detail { name more { name } } } }")
+                .dataLoaderRegistry(buildRegistry())
+                .graphQLContext([(DataLoaderDispatchingContextKeys.ENABLE_EAGER_DISPATCH): true])
+                .build()
+
+        when:
+        def resultCF = graphQL.executeAsync(executionInput)
+        def deadline = System.currentTimeMillis() + 10_000
+        while (detailKeysLoaded() != allDetailKeys && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+        def detailKeysBeforeSlowBatchCompleted = detailKeysLoaded()
+        releaseSlowField.countDown()
+        def result = resultCF.get(10, TimeUnit.SECONDS)
+
+        then:
+        detailKeysBeforeSlowBatchCompleted == allDetailKeys
+        result.errors.isEmpty()
+        result.data.slowLoaded == "slow-x"
+        result.data.items[2] == [id: "3", detail: [name: "detail-3", more: [name: "detail-detail-3"]]]
+    }
+
+    def "loads are still dispatched when an object execution fails before fetching its fields"() {
+        def instrumentation = new SimplePerformantInstrumentation() {
+            @Override
+            ExecuteObjectInstrumentationContext beginExecuteObject(InstrumentationExecutionStrategyParameters parameters, InstrumentationState state) {
+                if (parameters.executionStrategyParameters.path.toString() == "/items[0]/detail") {
+                    throw new RuntimeException("bang")
+                }
+                return super.beginExecuteObject(parameters, state)
+            }
+        }
+        def graphQL = buildGraphQL(instrumentation)
+        releaseSlowField.countDown()
+        def executionInput = ExecutionInput.newExecutionInput("{ items { id detail { name more { name } } } }")
+                .dataLoaderRegistry(buildRegistry())
+                .graphQLContext([(DataLoaderDispatchingContextKeys.ENABLE_EAGER_DISPATCH): true])
+                .build()
+
+        when:
+        // the other details have to be dispatched for the execution to finish, whether it fails or not
+        graphQL.executeAsync(executionInput).handle({ result, exception -> result }).get(10, TimeUnit.SECONDS)
+
+        then:
+        notThrown(TimeoutException)
+        detailKeysLoaded().containsAll(["detail-2", "detail-3"])
+    }
+
+    def "loads chained off other loads are dispatched"() {
+        def graphQL = buildGraphQL()
+        releaseSlowField.countDown()
+        def executionInput = ExecutionInput.newExecutionInput("{ slow items { chained } }")
+                .dataLoaderRegistry(buildRegistry())
+                .graphQLContext([(DataLoaderDispatchingContextKeys.ENABLE_EAGER_DISPATCH): true])
+                .build()
+
+        when:
+        def result = graphQL.executeAsync(executionInput).get(10, TimeUnit.SECONDS)
+
+        then:
+        result.errors.isEmpty()
+        result.data == [slow: "slow", items: [[chained: "b-a-1"], [chained: "b-a-2"], [chained: "b-a-3"]]]
+        batches == [["a", ["1", "2", "3"]], ["b", ["a-1", "a-2", "a-3"]]]
+    }
+
+    def "eager dispatch is only used when enabled"() {
+        def graphQL = buildGraphQL()
+        releaseSlowField.countDown()
+        def executionInput = ExecutionInput.newExecutionInput("{ items { detail { name } } }")
+                .dataLoaderRegistry(buildRegistry())
+                .build()
+
+        when:
+        def result = graphQL.executeAsync(executionInput).get(10, TimeUnit.SECONDS)
+
+        then:
+        result.errors.isEmpty()
+        batches == [["detail", ["1", "2", "3"]]]
+    }
+}
@@ -0,0 +1,165 @@
+package graphql.execution.instrumentation.dataloader
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.ExecutionContextBuilder
+import graphql.execution.ExecutionId
+import graphql.execution.ExecutionStepInfo
+import graphql.execution.ExecutionStrategyParameters
+import graphql.execution.ResultPath
+import graphql.language.Field
+import graphql.schema.DataFetcher
+import graphql.schema.idl.RuntimeWiring
+import org.dataloader.BatchLoader
+import org.dataloader.DataLoaderFactory
+import org.dataloader.DataLoaderRegistry
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import static graphql.Scalars.GraphQLString
+import static graphql.schema.GraphQLFieldDefinition.newFieldDefinition
+import static graphql.schema.GraphQLObjectType.newObject
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
+
+class PerLevelDataLoaderDispatchStrategyTest extends Specification {
+
+    def threadCount = 8
+    def executor = Executors.newFixedThreadPool(threadCount)
+
+    def cleanup() {
+        executor.shutdownNow()
+    }
+
+    def "fetches that finish a level at the same time on many threads dispatch it once, after all of them"() {
+        given:
+        def fetchesPerThread = 50
+        def fetched = new AtomicInteger()
+        def dispatchedAfterFetches = new CopyOnWriteArrayList()
+        def registry = new DataLoaderRegistry() {
+            @Override
+            void dispatchAll() {
+                dispatchedAfterFetches.add(fetched.get())
+            }
+        }
+        def executionContext = ExecutionContextBuilder.newExecutionContextBuilder()
+                .executionId(ExecutionId.generate())
+                .dataLoaderRegistry(registry)
+                .build()
+        def queryType = newObject().name("Query")
+                .field(newFieldDefinition().name("field").type(GraphQLString))
+                .build()
+        def fields = (1..threadCount * fetchesPerThread).collectEntries { ["field$it".toString(), TestUtil.mergedField(new Field("field"))] }
+        def rootParameters = ExecutionStrategyParameters.newParameters()
+                .executionStepInfo(ExecutionStepInfo.newExecutionStepInfo().type(queryType).path(ResultPath.rootPath()).build())
+                .fields(TestUtil.mergedSelectionSet(fields))
+                .path(ResultPath.rootPath())
+                .build()
+        def fieldParameters = rootParameters.transform { it.path(ResultPath.rootPath().segment("field")) }
+
+        expect:
+        (1..100).every {
+            fetched.set(0)
+            dispatchedAfterFetches.clear()
+            def strategy = new PerLevelDataLoaderDispatchStrategy(executionContext)
+            strategy.executionStrategy(executionContext, rootParameters)
+
+            def start = new CountDownLatch(1)
+            def threads = (1..threadCount).collect {
+                CompletableFuture.runAsync({
+                    start.await()
+                    fetchesPerThread.times {
+                        fetched.incrementAndGet()
+                        strategy.fieldFetched(executionContext, fieldParameters, null, null)
+                    }
+                }, executor)
+            }
+            start.countDown()
+            CompletableFuture.allOf(threads as CompletableFuture[]).get(10, TimeUnit.SECONDS)
+
+            assert dispatchedAfterFetches == [threadCount * fetchesPerThread]
+            true
+        }
+    }
+
+    def "loads made by objects completing on many threads are all dispatched once"() {
+        given:
+        def sdl = """
+            type Query {
+                items : [Item]
+            }
+            type Item {
+                id : ID
+                child : Child
+            }
+            type Child {
+                detail : Detail
+            }
+            type Detail {
+                name : String
+                more : Detail
+            }
+        """
+        DataFetcher items = { env ->
+            CompletableFuture.supplyAsync({ (1..20).collect { [id: it] } }, executor)
+        }
+        // the children complete at different times on different threads, and so does the level they are on
+        DataFetcher child = { env ->
+            CompletableFuture.supplyAsync({
+                Thread.sleep(ThreadLocalRandom.current().nextInt(3))
+                env.source
+            }, executor)
+        }
+        DataFetcher detail = { env -> env.getDataLoader("detail").load(env.source.id) }
+        DataFetcher more = { env -> env.getDataLoader("more").load(env.source.id) }
+        def wiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("items", items))
+                .type(newTypeWiring("Item").dataFetcher("child", child))
+                .type(newTypeWiring("Child").dataFetcher("detail", detail))
+                .type(newTypeWiring("Detail").dataFetcher("more", more))
+                .build()
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, wiring)).build()
+        def query = "{ items { id child { detail { name more { name } } } } }"
+        def keys = (1..20).toList()
+
+        expect:
+        (1..50).every {
+            def loadedKeys = [detail: [].asSynchronized(), more: [].asSynchronized()]
+            def batchLoader = { String name ->
+                { batchKeys ->
+                    loadedKeys[name].addAll(batchKeys)
+                    CompletableFuture.supplyAsync({ batchKeys.collect { [id: it, name: name + "-" + it] } }, executor)
+                } as BatchLoader
+            }
+            def dispatches = new AtomicInteger()
+            def registry = new DataLoaderRegistry() {
+                @Override
+                void dispatchAll() {
+                    dispatches.incrementAndGet()
+                    super.dispatchAll()
+                }
+            }
+            registry.register("detail", DataLoaderFactory.newDataLoader(batchLoader("detail")))
+            registry.register("more", DataLoaderFactory.newDataLoader(batchLoader("more")))
+
+            // a level that was never seen to be ready would leave its loads undispatched and the execution would not finish
+            def executionResult = graphQL.executeAsync(ExecutionInput.newExecutionInput(query).dataLoaderRegistry(registry))
+                    .get(10, TimeUnit.SECONDS)
+
+            assert executionResult.errors.isEmpty()
+            assert executionResult.data.items.collect { it.child.detail.more.name } == keys.collect { "more-" + it }
+            assert loadedKeys.detail.sort() == keys
+            assert loadedKeys.more.sort() == keys
+            // the five levels of the query and the one below them are each dispatched at most once
+            assert dispatches.get() <= 6
+            true
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package graphql.execution.instrumentation.metrics
+
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.schema.DataFetcher
+import spock.lang.Specification
+
+import java.util.function.LongSupplier
+
+import static graphql.schema.FieldCoordinates.coordinates
+
+class FieldMetricsInstrumentationTest extends Specification {
+
+    def sdl = '''
+        type Query {
+            user : User
+            users : [User]
+            fail : String
+        }
+        type User {
+            name : String
+        }
+    '''
+
+    def dataFetchers = [
+            Query: [
+                    user : { env -> [name: "a"] } as DataFetcher,
+                    users: { env -> [[name: "a"], [name: "b"], [name: "c"]] } as DataFetcher,
+                    fail : { env -> throw new RuntimeException("bang") } as DataFetcher,
+            ]
+    ]
+
+    def schema = TestUtil.schema(sdl, dataFetchers)
+
+    // every call to the clock advances it by 10 nanos
+    def clock = new LongSupplier() {
+        long now = 0
+
+        @Override
+        long getAsLong() {
+            now += 10
+            return now
+        }
+    }
+
+    def "records the fetch and completion times, list sizes and errors of fields"() {
+        def instrumentation = FieldMetricsInstrumentation.newFieldMetricsInstrumentation().nanoTime(clock).build()
+        def graphQL = GraphQL.newGraphQL(schema).instrumentation(instrumentation).build()
+
+        when:
+        graphQL.execute('{ user { name } users { name } fail }')
+        graphQL.execute('{ user { name } }')
+        def snapshot = instrumentation.getSnapshot()
+
+        then:
+        snapshot[coordinates("Query", "user")].fetchTime.count == 2
+        snapshot[coordinates("Query", "user")].fetchTime.max == 10
+        snapshot[coordinates("Query", "user")].completionTime.count == 2
+        snapshot[coordinates("Query", "user")].errorCount == 0
+
+        snapshot[coordinates("Query", "users")].listSize.count == 1
+        snapshot[coordinates("Query", "users")].listSize.max == 3
+
+        snapshot[coordinates("Query", "fail")].fetchTime.count == 1
+        snapshot[coordinates("Query", "fail")].errorCount == 1
+
+        // trivial data fetchers are not timed but their completion is
+        snapshot[coordinates("User", "name")].fetchTime.count == 0
+        snapshot[coordinates("User", "name")].completionTime.count == 5
+        snapshot[coordinates("User", "name")].listSize.count == 0
+    }
+
+    def "trivial data fetchers can be included"() {
+        def instrumentation = FieldMetricsInstrumentation.newFieldMetricsInstrumentation().includeTrivialDataFetchers(true).build()
+        def graphQL = GraphQL.newGraphQL(schema).instrumentation(instrumentation).build()
+
+        when:
+        graphQL.execute('{ users { name } }')
+
+        then:
+        instrumentation.getSnapshot()[coordinates("User", "name")].fetchTime.count == 3
+    }
+
+    def "operations that are not sampled are not recorded"() {
+        def instrumentation = FieldMetricsInstrumentation.newFieldMetricsInstrumentation().sampleRate(0).build()
+        def graphQL = GraphQL.newGraphQL(schema).instrumentation(instrumentation).build()
+
+        when:
+        def result = graphQL.execute('{ user { name } }')
+
+        then:
+        result.data == [user: [name: "a"]]
+        instrumentation.getSnapshot().isEmpty()
+    }
+
+    def "metrics can be reset"() {
+        def instrumentation = FieldMetricsInstrumentation.newFieldMetricsInstrumentation().build()
+        def graphQL = GraphQL.newGraphQL(schema).instrumentation(instrumentation).build()
+        graphQL.execute('{ user { name } }')
+
+        when:
+        instrumentation.reset()
+
+        then:
+        instrumentation.getSnapshot()[coordinates("Query", "user")].fetchTime.count == 0
+        instrumentation.getSnapshot()[coordinates("Query", "user")].fetchTime.max == 0
+    }
+
+    def "histograms report percentiles to within a bucket"() {
+        def histogram = new Histogram()
+
+        when:
+        (1..100).each { histogram.record(it) }
+        def snapshot = histogram.snapshot()
+
+        then:
+        snapshot.count == 100
+        snapshot.sum == 5050
+        snapshot.mean == 50.5d
+        snapshot.max == 100
+        snapshot.getValueAtPercentile(0) == 1
+        snapshot.getValueAtPercentile(10) == 10
+        snapshot.getValueAtPercentile(50) == 51
+        snapshot.getValueAtPercentile(99) == 99
+        snapshot.getValueAtPercentile(100) == 100
+    }
+
+    def "histogram buckets cover every value"() {
+        expect:
+        Histogram.bucketIndex(value) == index
+        Histogram.bucketUpperBound(index) >= value
+
+        where:
+        value                                | index
+        0                                    | 0
+        15                                   | 15
+        16                                   | 16
+        31                                   | 31
+        32                                   | 32
+        33                                   | 32
+        1000                                 | 111
+        Histogram.MAX_TRACKABLE_VALUE - 1    | Histogram.BUCKET_COUNT - 1
+    }
+}
@@ -0,0 +1,153 @@
+package graphql.execution.instrumentation.threadpools
+
+import graphql.ExecutionInput
+import graphql.TestUtil
+import graphql.schema.DataFetcher
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+
+class VirtualThreadInstrumentationTest extends Specification {
+
+    def sdl = """
+        type Query {
+            slow1 : String
+            slow2 : String
+            slow3 : String
+            slow4 : String
+            slow5 : String
+            slow6 : String
+            async : String
+            trivial : Thing
+        }
+        type Thing {
+            name : String
+        }
+    """
+
+    def inFlight = new AtomicInteger()
+    def maxInFlight = new AtomicInteger()
+    def fetchThreads = ConcurrentHashMap.newKeySet()
+
+    DataFetcher blockingFetcher(String value) {
+        return { env ->
+            fetchThreads.add(Thread.currentThread())
+            def now = inFlight.incrementAndGet()
+            maxInFlight.accumulateAndGet(now, { a, b -> Math.max(a, b) })
+            Thread.sleep(50)
+            inFlight.decrementAndGet()
+            return value
+        } as DataFetcher
+    }
+
+    def buildGraphQL(VirtualThreadInstrumentation instrumentation) {
+        def fetchers = [:]
+        (1..6).each { fetchers["slow" + it] = blockingFetcher("v" + it) }
+        fetchers["async"] = { env -> CompletableFuture.completedFuture("async") } as DataFetcher
+        fetchers["trivial"] = { env -> [name: "thing"] } as DataFetcher
+        TestUtil.graphQL(sdl, [Query: fetchers]).instrumentation(instrumentation).build()
+    }
+
+    def query = "{ slow1 slow2 slow3 slow4 slow5 slow6 async trivial { name } }"
+
+    def "blocking data fetchers are run off the calling thread"() {
+        def instrumentation = VirtualThreadInstrumentation.newVirtualThreadInstrumentation().build()
+        def graphQL = buildGraphQL(instrumentation)
+
+        when:
+        def result = graphQL.executeAsync(ExecutionInput.newExecutionInput(query).build()).join()
+
+        then:
+        result.errors.isEmpty()
+        result.data == [slow1: "v1", slow2: "v2", slow3: "v3", slow4: "v4", slow5: "v5", slow6: "v6", async: "async", trivial: [name: "thing"]]
+        !fetchThreads.contains(Thread.currentThread())
+        maxInFlight.get() > 1
+    }
+
+    def "fetches per request are capped"() {
+        def instrumentation = VirtualThreadInstrumentation.newVirtualThreadInstrumentation()
+                .maxConcurrentFetchesPerRequest(2)
+                .build()
+        def graphQL = buildGraphQL(instrumentation)
+
+        when:
+        def result = graphQL.executeAsync(ExecutionInput.newExecutionInput(query).build()).join()
+
+        then:
+        result.errors.isEmpty()
+        result.data.slow6 == "v6"
+        maxInFlight.get() <= 2
+        inFlight.get() == 0
+    }
+
+    def "asynchronous fetches count against the cap until their value completes"() {
+        def instrumentation = VirtualThreadInstrumentation.newVirtualThreadInstrumentation()
+                .maxConcurrentFetchesPerRequest(2)
+                .build()
+        def executor = Executors.newFixedThreadPool(6)
+        def fetchers = [:]
+        (1..6).each { i ->
+            fetchers["slow" + i] = { env ->
+                def now = inFlight.incrementAndGet()
+                maxInFlight.accumulateAndGet(now, { a, b -> Math.max(a, b) })
+                CompletableFuture.supplyAsync({
+                    Thread.sleep(50)
+                    inFlight.decrementAndGet()
+                    return "v" + i
+                }, executor)
+            } as DataFetcher
+        }
+        def graphQL = TestUtil.graphQL(sdl, [Query: fetchers]).instrumentation(instrumentation).build()
+
+        when:
+        def result = graphQL.executeAsync(ExecutionInput.newExecutionInput("{ slow1 slow2 slow3 slow4 slow5 slow6 }").build()).join()
+
+        then:
+        result.errors.isEmpty()
+        result.data == [slow1: "v1", slow2: "v2", slow3: "v3", slow4: "v4", slow5: "v5", slow6: "v6"]
+        maxInFlight.get() <= 2
+        inFlight.get() == 0
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "the fallback executor is used when virtual threads are not available"() {
+        def fallback = Executors.newFixedThreadPool(2)
+
+        when:
+        def instrumentation = VirtualThreadInstrumentation.newVirtualThreadInstrumentation()
+                .fallbackExecutor(fallback)
+                .build()
+
+        then:
+        if (VirtualThreadInstrumentation.isVirtualThreadsSupported()) {
+            assert instrumentation.fetchExecutor != fallback
+        } else {
+            assert instrumentation.fetchExecutor == fallback
+        }
+
+        cleanup:
+        fallback.shutdown()
+    }
+
+    def "exceptions from data fetchers are reported as field errors"() {
+        def instrumentation = VirtualThreadInstrumentation.newVirtualThreadInstrumentation()
+                .maxConcurrentFetchesPerRequest(1)
+                .build()
+        def graphQL = TestUtil.graphQL(sdl, [Query: [slow1: { env -> throw new RuntimeException("bang") } as DataFetcher,
+                                                     slow2: blockingFetcher("v2")]])
+                .instrumentation(instrumentation).build()
+
+        when:
+        def result = graphQL.executeAsync(ExecutionInput.newExecutionInput("{ slow1 slow2 }").build()).join()
+
+        then:
+        result.errors.size() == 1
+        result.errors[0].path == ["slow1"]
+        result.data == [slow1: null, slow2: "v2"]
+    }
+}
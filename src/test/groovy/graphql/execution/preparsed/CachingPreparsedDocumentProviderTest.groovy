@@ -0,0 +1,205 @@
+package graphql.execution.preparsed
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.StarWarsSchema
+import graphql.TestUtil
+import graphql.parser.Parser
+import graphql.validation.ValidationError
+import graphql.validation.ValidationErrorType
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.function.Function
+
+import static graphql.ExecutionInput.newExecutionInput
+
+class CachingPreparsedDocumentProviderTest extends Specification {
+
+    def countingParser(List<String> parsed) {
+        return { ExecutionInput ei ->
+            parsed.add(ei.getQuery())
+            return new PreparsedDocumentEntry(Parser.parse(ei.getQuery()))
+        } as Function<ExecutionInput, PreparsedDocumentEntry>
+    }
+
+    def "caches documents and counts hits and misses"() {
+        given:
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+        def parsed = []
+        def parser = countingParser(parsed)
+        def schema = TestUtil.dummySchema
+
+        when:
+        def entry1 = provider.getDocumentAsync(newExecutionInput("{ a }").build(), schema, parser).join()
+        def entry2 = provider.getDocumentAsync(newExecutionInput("{ a }").build(), schema, parser).join()
+        def entry3 = provider.getDocumentAsync(newExecutionInput("{ b }").build(), schema, parser).join()
+        def stats = provider.getStats()
+
+        then:
+        entry1 === entry2
+        entry1 !== entry3
+        parsed == ["{ a }", "{ b }"]
+        stats.hitCount == 1
+        stats.missCount == 2
+        stats.loadCount == 2
+        stats.size == 2
+        Math.abs(stats.hitRate - 1d / 3d) < 0.0001d
+    }
+
+    def "keys on operation name and schema identity"() {
+        given:
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+        def parsed = []
+        def parser = countingParser(parsed)
+        def query = "query A { a } query B { b }"
+        def schema1 = TestUtil.schema("type Query { a : String b : String }")
+        def schema2 = TestUtil.schema("type Query { a : String b : String }")
+
+        when:
+        provider.getDocumentAsync(newExecutionInput(query).operationName("A").build(), schema1, parser).join()
+        provider.getDocumentAsync(newExecutionInput(query).operationName("B").build(), schema1, parser).join()
+        provider.getDocumentAsync(newExecutionInput(query).operationName("A").build(), schema2, parser).join()
+        provider.getDocumentAsync(newExecutionInput(query).operationName("A").build(), schema1, parser).join()
+
+        then:
+        parsed.size() == 3
+        provider.getStats().hitCount == 1
+    }
+
+    def "evicts least recently used documents when the maximum weight is exceeded"() {
+        given:
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider()
+                .maximumWeight(2)
+                .weigher({ entry -> 1L })
+                .build()
+        def parsed = []
+        def parser = countingParser(parsed)
+        def schema = TestUtil.dummySchema
+
+        when:
+        provider.getDocumentAsync(newExecutionInput("{ a }").build(), schema, parser).join()
+        provider.getDocumentAsync(newExecutionInput("{ b }").build(), schema, parser).join()
+        // touch a so that b is the eldest
+        provider.getDocumentAsync(newExecutionInput("{ a }").build(), schema, parser).join()
+        provider.getDocumentAsync(newExecutionInput("{ c }").build(), schema, parser).join()
+        provider.getDocumentAsync(newExecutionInput("{ a }").build(), schema, parser).join()
+        provider.getDocumentAsync(newExecutionInput("{ b }").build(), schema, parser).join()
+        def stats = provider.getStats()
+
+        then:
+        parsed == ["{ a }", "{ b }", "{ c }", "{ b }"]
+        stats.evictionCount == 2
+        stats.size == 2
+        stats.weight == 2
+    }
+
+    def "evicts when the maximum size is exceeded"() {
+        given:
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider()
+                .maximumSize(1)
+                .build()
+        def parsed = []
+        def parser = countingParser(parsed)
+
+        when:
+        provider.getDocumentAsync(newExecutionInput("{ a }").build(), parser).join()
+        provider.getDocumentAsync(newExecutionInput("{ b }").build(), parser).join()
+        provider.getDocumentAsync(newExecutionInput("{ a }").build(), parser).join()
+
+        then:
+        parsed == ["{ a }", "{ b }", "{ a }"]
+        provider.getStats().evictionCount == 2
+        provider.getStats().size == 1
+    }
+
+    def "invalid documents are not cached by default"() {
+        given:
+        def parser = { ExecutionInput ei ->
+            new PreparsedDocumentEntry(Parser.parse(ei.getQuery()), [ValidationError.newValidationError()
+                    .validationErrorType(ValidationErrorType.UnknownType)
+                    .description("Test ValidationError")
+                    .build()])
+        } as Function<ExecutionInput, PreparsedDocumentEntry>
+
+        when:
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+        provider.getDocumentAsync(newExecutionInput("{ a }").build(), parser).join()
+        provider.getDocumentAsync(newExecutionInput("{ a }").build(), parser).join()
+
+        then:
+        provider.getStats().missCount == 2
+        provider.getStats().size == 0
+
+        when:
+        provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().cacheInvalidDocuments(true).build()
+        provider.getDocumentAsync(newExecutionInput("{ a }").build(), parser).join()
+        provider.getDocumentAsync(newExecutionInput("{ a }").build(), parser).join()
+
+        then:
+        provider.getStats().missCount == 1
+        provider.getStats().size == 1
+    }
+
+    def "concurrent requests for the same query share the one load"() {
+        given:
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+        def loadStarted = new CountDownLatch(1)
+        def releaseLoad = new CountDownLatch(1)
+        def loads = 0
+        def parser = { ExecutionInput ei ->
+            loads++
+            loadStarted.countDown()
+            releaseLoad.await(10, TimeUnit.SECONDS)
+            return new PreparsedDocumentEntry(Parser.parse(ei.getQuery()))
+        } as Function<ExecutionInput, PreparsedDocumentEntry>
+
+        when:
+        def first = CompletableFuture.supplyAsync({
+            provider.getDocumentAsync(newExecutionInput("{ a }").build(), parser).join()
+        })
+        loadStarted.await(10, TimeUnit.SECONDS)
+        def second = provider.getDocumentAsync(newExecutionInput("{ a }").build(), parser)
+
+        then:
+        !second.isDone()
+
+        when:
+        releaseLoad.countDown()
+
+        then:
+        first.join() === second.join()
+        loads == 1
+    }
+
+    def "estimates weight from the size of the AST"() {
+        when:
+        def small = CachingPreparsedDocumentProvider.estimateWeight(new PreparsedDocumentEntry(Parser.parse("{ a }")))
+        def large = CachingPreparsedDocumentProvider.estimateWeight(new PreparsedDocumentEntry(Parser.parse("{ a b c d { e f } }")))
+
+        then:
+        small == 4 // document, operation, selection set, field
+        large > small
+    }
+
+    def "works with the graphql engine"() {
+        given:
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema)
+                .preparsedDocumentProvider(provider)
+                .build()
+
+        when:
+        def result1 = graphQL.execute("{ hero { name } }")
+        def result2 = graphQL.execute("{ hero { name } }")
+
+        then:
+        result1.errors.isEmpty()
+        result1.data == [hero: [name: "R2-D2"]]
+        result2.data == result1.data
+        provider.getStats().hitCount == 1
+        provider.getStats().missCount == 1
+    }
+}
@@ -55,4 +55,78 @@ class InMemoryPersistedQueryCacheTest extends Specification {
         then:
         printAstCompact(doc) == "{foo bar baz}"
     }
+
+    def "is unbounded by default and counts hits and misses"() {
+        def inMemCache = InMemoryPersistedQueryCache.newInMemoryPersistedQueryCache().build()
+
+        when:
+        (1..100).each {
+            inMemCache.getPersistedQueryDocumentAsync("hash" + it, mkEI("hash" + it, "{ f$it }"), onMiss).join()
+        }
+        inMemCache.getPersistedQueryDocumentAsync("hash1", mkEI("hash1", PersistedQuerySupport.PERSISTED_QUERY_MARKER), onMiss).join()
+        def stats = inMemCache.getStats()
+
+        then:
+        stats.size == 100
+        stats.missCount == 100
+        stats.hitCount == 1
+        stats.evictionCount == 0
+    }
+
+    def "evicts the least recently used queries when bounded by size"() {
+        def inMemCache = InMemoryPersistedQueryCache.newInMemoryPersistedQueryCache()
+                .addQuery("hash1", "{ one }")
+                .addQuery("hash2", "{ two }")
+                .addQuery("hash3", "{ three }")
+                .maximumSize(2)
+                .build()
+        def misses = []
+        PersistedQueryCacheMiss countingMiss = { String query ->
+            misses.add(query)
+            onMiss.apply(query)
+        }
+        def marker = PersistedQuerySupport.PERSISTED_QUERY_MARKER
+
+        when:
+        inMemCache.getPersistedQueryDocumentAsync("hash1", mkEI("hash1", marker), countingMiss).join()
+        inMemCache.getPersistedQueryDocumentAsync("hash2", mkEI("hash2", marker), countingMiss).join()
+        inMemCache.getPersistedQueryDocumentAsync("hash1", mkEI("hash1", marker), countingMiss).join()
+        inMemCache.getPersistedQueryDocumentAsync("hash3", mkEI("hash3", marker), countingMiss).join()
+        inMemCache.getPersistedQueryDocumentAsync("hash2", mkEI("hash2", marker), countingMiss).join()
+
+        then:
+        misses == ["{ one }", "{ two }", "{ three }", "{ two }"]
+        inMemCache.getStats().evictionCount == 2
+        inMemCache.getStats().size == 2
+    }
+
+    def "evicts when bounded by weight"() {
+        def inMemCache = InMemoryPersistedQueryCache.newInMemoryPersistedQueryCache()
+                .maximumWeight(10)
+                .build()
+
+        when:
+        inMemCache.getPersistedQueryDocumentAsync("small", mkEI("small", "{ a }"), onMiss).join()
+        inMemCache.getPersistedQueryDocumentAsync("large", mkEI("large", "{ a b c d }"), onMiss).join()
+        def stats = inMemCache.getStats()
+
+        then:
+        // 4 AST nodes plus 7 AST nodes is over budget so the small one goes
+        stats.evictionCount == 1
+        stats.size == 1
+        stats.weight == 7
+    }
+
+    def "not found queries are not cached"() {
+        def inMemCache = InMemoryPersistedQueryCache.newInMemoryPersistedQueryCache().build()
+        def ei = mkEI("unknown", PersistedQuerySupport.PERSISTED_QUERY_MARKER)
+
+        when:
+        inMemCache.getPersistedQueryDocumentAsync("unknown", ei, onMiss)
+
+        then:
+        thrown(PersistedQueryNotFound)
+        inMemCache.getStats().size == 0
+        inMemCache.getStats().loadFailureCount == 1
+    }
 }
@@ -0,0 +1,174 @@
+package graphql.execution.reactive
+
+import graphql.execution.pubsub.CapturingSubscriber
+import io.reactivex.Flowable
+import io.reactivex.processors.PublishProcessor
+import org.reactivestreams.Publisher
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionStage
+import java.util.function.Function
+
+import static graphql.execution.reactive.SubscriptionEventMapping.Mode.LATEST
+import static graphql.execution.reactive.SubscriptionEventMapping.Mode.ORDERED
+import static graphql.execution.reactive.SubscriptionEventMapping.Mode.UNORDERED
+
+class BoundedCompletionStageMappingPublisherTest extends Specification {
+
+    Map<Integer, CompletableFuture<String>> futures = [:]
+
+    def mapper = new Function<Integer, CompletionStage<String>>() {
+        @Override
+        CompletionStage<String> apply(Integer integer) {
+            def future = new CompletableFuture<String>()
+            futures.put(integer, future)
+            return future
+        }
+    }
+
+    static SubscriptionEventMapping eventMapping(SubscriptionEventMapping.Mode mode, int maxInFlight) {
+        SubscriptionEventMapping.newSubscriptionEventMapping().mode(mode).maxInFlight(maxInFlight).build()
+    }
+
+    def "no more than max in flight events are requested from upstream"() {
+        def requests = []
+        Publisher<Integer> rxIntegers = Flowable.range(0, 10).doOnRequest({ requests.add(it) })
+
+        when:
+        Publisher<String> rxStrings = new BoundedCompletionStageMappingPublisher<String, Integer>(rxIntegers, mapper, eventMapping(UNORDERED, 3))
+        def capturingSubscriber = new CapturingSubscriber<>()
+        rxStrings.subscribe(capturingSubscriber)
+        capturingSubscriber.subscription.request(100)
+
+        then:
+        futures.keySet() == [0, 1, 2] as Set
+        // one for the first request of the subscriber and then up to the max in flight
+        requests == [1L, 2L]
+
+        when:
+        futures[2].complete("2")
+        futures[1].complete("1")
+
+        then:
+        capturingSubscriber.events == ["2", "1"]
+        futures.keySet() == [0, 1, 2, 3, 4] as Set
+    }
+
+    def "ordered mode publishes in the order of the events"() {
+        Publisher<Integer> rxIntegers = Flowable.range(0, 3)
+
+        when:
+        Publisher<String> rxStrings = new BoundedCompletionStageMappingPublisher<String, Integer>(rxIntegers, mapper, eventMapping(ORDERED, 3))
+        def capturingSubscriber = new CapturingSubscriber<>()
+        rxStrings.subscribe(capturingSubscriber)
+        capturingSubscriber.subscription.request(100)
+
+        futures[2].complete("2")
+        futures[1].complete("1")
+
+        then:
+        capturingSubscriber.events == []
+
+        when:
+        futures[0].complete("0")
+
+        then:
+        capturingSubscriber.events == ["0", "1", "2"]
+        capturingSubscriber.isDone().get()
+        capturingSubscriber.throwable == null
+    }
+
+    def "ordered mode publishes a mapping error in the order of the events"() {
+        Publisher<Integer> rxIntegers = Flowable.range(0, 3)
+
+        when:
+        Publisher<String> rxStrings = new BoundedCompletionStageMappingPublisher<String, Integer>(rxIntegers, mapper, eventMapping(ORDERED, 3))
+        def capturingSubscriber = new CapturingSubscriber<>()
+        rxStrings.subscribe(capturingSubscriber)
+        capturingSubscriber.subscription.request(100)
+
+        futures[1].completeExceptionally(new RuntimeException("Bang"))
+        futures[2].complete("2")
+
+        then:
+        capturingSubscriber.events == []
+        !capturingSubscriber.isDone().get()
+
+        when:
+        futures[0].complete("0")
+
+        then:
+        capturingSubscriber.events == ["0"]
+        capturingSubscriber.throwable.message == "Bang"
+    }
+
+    def "latest mode only maps and publishes the latest events"() {
+        def processor = PublishProcessor.<Integer> create()
+
+        when:
+        Publisher<String> rxStrings = new BoundedCompletionStageMappingPublisher<String, Integer>(processor, mapper, eventMapping(LATEST, 1))
+        def capturingSubscriber = new CapturingSubscriber<>()
+        rxStrings.subscribe(capturingSubscriber)
+        (0..<5).each { processor.onNext(it) }
+
+        then: "the events that arrived while one was being mapped are replaced by the latest"
+        futures.keySet() == [0] as Set
+
+        when:
+        futures[0].complete("0")
+
+        then:
+        capturingSubscriber.events == ["0"]
+        futures.keySet() == [0, 4] as Set
+
+        when: "results that are not requested yet are replaced by newer ones"
+        capturingSubscriber.subscription.cancel()
+        def slowSubscriber = new SlowSubscriber()
+        futures.clear()
+        rxStrings.subscribe(slowSubscriber)
+        processor.onNext(5)
+        futures[5].complete("5")
+        processor.onNext(6)
+        futures[6].complete("6")
+        processor.onComplete()
+
+        then:
+        slowSubscriber.events == []
+        slowSubscriber.completed == false
+
+        when:
+        slowSubscriber.subscription.request(10)
+
+        then:
+        slowSubscriber.events == ["6"]
+        slowSubscriber.completed
+    }
+
+    static class SlowSubscriber implements Subscriber<String> {
+        Subscription subscription
+        List<String> events = []
+        boolean completed = false
+
+        @Override
+        void onSubscribe(Subscription subscription) {
+            this.subscription = subscription
+        }
+
+        @Override
+        void onNext(String s) {
+            events.add(s)
+        }
+
+        @Override
+        void onError(Throwable t) {
+        }
+
+        @Override
+        void onComplete() {
+            completed = true
+        }
+    }
+}
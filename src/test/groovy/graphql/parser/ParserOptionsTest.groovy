@@ -101,4 +101,35 @@ class ParserOptionsTest extends Specification {
         currentDefaultSdlOptions.isCaptureIgnoredChars()
         currentDefaultSdlOptions.isReaderTrackData()
     }
+
+    def "transforming options keeps every option that is not changed"() {
+        def parsingListener = { token -> } as ParsingListener
+        def options = ParserOptions.newParserOptions()
+                .captureIgnoredChars(true)
+                .captureSourceLocation(false)
+                .captureLineComments(false)
+                .readerTrackData(false)
+                .maxCharacters(100)
+                .maxTokens(200)
+                .maxWhitespaceTokens(300)
+                .maxRuleDepth(400)
+                .parsingListener(parsingListener)
+                .recursiveDescentParsing(true)
+                .build()
+
+        when:
+        def transformed = options.transform({ it.maxTokens(250) })
+
+        then:
+        transformed.getMaxTokens() == 250
+        transformed.isCaptureIgnoredChars()
+        !transformed.isCaptureSourceLocation()
+        !transformed.isCaptureLineComments()
+        !transformed.isReaderTrackData()
+        transformed.getMaxCharacters() == 100
+        transformed.getMaxWhitespaceTokens() == 300
+        transformed.getMaxRuleDepth() == 400
+        transformed.getParsingListener() == parsingListener
+        transformed.isRecursiveDescentParsing()
+    }
 }
@@ -0,0 +1,241 @@
+package graphql.parser
+
+import graphql.language.AstComparator
+import graphql.language.AstPrinter
+import graphql.language.Document
+import graphql.language.Node
+import graphql.language.OperationDefinition
+import graphql.parser.exceptions.ParseCancelledException
+import graphql.parser.exceptions.ParseCancelledTooDeepException
+import graphql.parser.exceptions.ParseCancelledTooManyCharsException
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class RecursiveDescentParserTest extends Specification {
+
+    static ParserOptions antlrOptions = ParserOptions.newParserOptions()
+            .captureIgnoredChars(true)
+            .build()
+    static ParserOptions recursiveDescentOptions = antlrOptions.transform({ it.recursiveDescentParsing(true) })
+
+    static Document parse(String query, ParserOptions parserOptions) {
+        def environment = ParserEnvironment.newParserEnvironment()
+                .document(query)
+                .parserOptions(parserOptions)
+                .build()
+        return new Parser().parseDocument(environment)
+    }
+
+    /*
+     * everything about the nodes that AstComparator does not compare
+     */
+    static List commonData(Node node) {
+        def data = [[
+                            node.class.simpleName,
+                            node.sourceLocation,
+                            node.comments.collect { [it.content, it.sourceLocation] },
+                            node.ignoredChars.left,
+                            node.ignoredChars.right
+                    ]]
+        node.children.each { data.addAll(commonData(it)) }
+        return data
+    }
+
+    @Unroll
+    def "produces the same AST as the ANTLR parser for '#query'"() {
+        when:
+        def expected = parse(query, antlrOptions)
+        def actual = parse(query, recursiveDescentOptions)
+
+        then:
+        AstComparator.isEqual(actual, expected)
+        AstPrinter.printAst(actual) == AstPrinter.printAst(expected)
+        commonData(actual) == commonData(expected)
+
+        where:
+        query << [
+                '{ hello }',
+                '{ a, b\t,c }',
+                'query { a }',
+                'query Named($a: Int = 1, $b: [String!]! @dir, $c: [[ID]!]) @op(x: 1) { a(a: $a, b: $b) }',
+                'mutation M { change(input: {a: 1, b: [1.5, -2e10, "s", true, null, ENUM, on], c: {d: """block"""}}) { id } }',
+                'subscription S { events { ...F ... on Event { id } ... @include(if: $x) { name } } }',
+                'fragment F on Event @dir { id alias: name(arg: "\\u00e9\\n") }',
+                '# leading comment\nquery A {\n  # field comment\n  a # trailing comment\n}\n# between\nquery B { b }',
+                '{ query: fragment, type: on, true: null(false: true) }',
+                '{ a(s: """\n    multi\n    line \\""" block\n  """) }',
+                '{ emoji(s: "😀") after: b }',
+                '\uFEFF{ a }\r\n{ b }',
+        ]
+    }
+
+    def "documents with type system definitions are parsed by the ANTLR parser"() {
+        def sdl = '''
+            """ description """
+            type Query { a : Int }
+            extend type Query { b : String }
+        '''
+
+        when:
+        def document = parse(sdl, recursiveDescentOptions)
+
+        then:
+        document.definitions.size() == 2
+        AstPrinter.printAst(document) == AstPrinter.printAst(parse(sdl, antlrOptions))
+
+        when: "the type system definition comes after executable ones"
+        def mixed = "{ a } fragment F on Query { a } type Query { a : Int }"
+        document = parse(mixed, recursiveDescentOptions)
+
+        then:
+        document.definitions.size() == 3
+        commonData(document) == commonData(parse(mixed, antlrOptions))
+    }
+
+    def "multiple sources keep their source names"() {
+        def reader = MultiSourceReader.newMultiSourceReader()
+                .string("query A {\n a }\n", "a.graphql")
+                .string("query B {\n b }\n", "b.graphql")
+                .build()
+        def environment = ParserEnvironment.newParserEnvironment()
+                .document(reader)
+                .parserOptions(recursiveDescentOptions)
+                .build()
+
+        when:
+        def document = new Parser().parseDocument(environment)
+        def b = document.definitions[1] as OperationDefinition
+
+        then:
+        b.sourceLocation.sourceName == "b.graphql"
+        b.sourceLocation.line == 1
+        b.selectionSet.selections[0].sourceLocation.line == 2
+    }
+
+    @Unroll
+    def "reports the same syntax error as the ANTLR parser for '#query'"() {
+        when:
+        parse(query, antlrOptions)
+
+        then:
+        def expected = thrown(InvalidSyntaxException)
+
+        when:
+        parse(query, recursiveDescentOptions)
+
+        then:
+        def actual = thrown(InvalidSyntaxException)
+        actual.class == expected.class
+        actual.location == expected.location
+
+        where:
+        query << [
+                '{ a ',
+                '{ }',
+                '{ a } }',
+                '{ a(x: ) }',
+                'query Q($a: Int = $b) { a }',
+                'fragment on on T { a }',
+                '{ a(x: 01) }',
+                '{ a(x: "unterminated) }',
+                '{ a ~ }',
+                'notAKeyword { a }',
+        ]
+    }
+
+    def "honours the token limits"() {
+        def options = recursiveDescentOptions.transform({ it.maxTokens(10).maxWhitespaceTokens(10) })
+
+        when:
+        parse("{ a b c d e f g h i j k }", options)
+
+        then:
+        def e = thrown(ParseCancelledException)
+        e.message.contains("'grammar'")
+
+        when:
+        parse("{ a           }", options)
+
+        then:
+        e = thrown(ParseCancelledException)
+        e.message.contains("'whitespace'")
+    }
+
+    def "honours the character limit"() {
+        def options = recursiveDescentOptions.transform({ it.maxCharacters(10) })
+
+        when:
+        parse("{ aVeryLongFieldName }", options)
+
+        then:
+        thrown(ParseCancelledTooManyCharsException)
+    }
+
+    def "honours the rule depth limit like the ANTLR parser"() {
+        def query = "{ a " * depth + "}" * depth
+        def options = { ParserOptions parserOptions -> parserOptions.transform({ it.maxRuleDepth(maxRuleDepth) }) }
+
+        when:
+        def antlrError = null
+        try {
+            parse(query, options(antlrOptions))
+        } catch (ParseCancelledTooDeepException e) {
+            antlrError = e
+        }
+        def recursiveDescentError = null
+        try {
+            parse(query, options(recursiveDescentOptions))
+        } catch (ParseCancelledTooDeepException e) {
+            recursiveDescentError = e
+        }
+
+        then:
+        (antlrError == null) == (recursiveDescentError == null)
+        antlrError == null || antlrError.location == recursiveDescentError.location
+
+        where:
+        depth | maxRuleDepth
+        5     | 100
+        31    | 100
+        32    | 100
+        1000  | 500
+    }
+
+    def "notifies the parsing listener of every token"() {
+        def antlrTokens = []
+        def recursiveDescentTokens = []
+        def query = "query Q(\$a: Int) { a(x: \$a) { ...F } }"
+
+        when:
+        parse(query, antlrOptions.transform({ it.parsingListener({ antlrTokens.add([it.text, it.line, it.charPositionInLine]) }) }))
+        parse(query, recursiveDescentOptions.transform({ it.parsingListener({ recursiveDescentTokens.add([it.text, it.line, it.charPositionInLine]) }) }))
+
+        then:
+        !recursiveDescentTokens.isEmpty()
+        recursiveDescentTokens == antlrTokens
+    }
+
+    def "tokens are not reported twice when the ANTLR parser takes over"() {
+        def antlrTokens = []
+        def recursiveDescentTokens = []
+        def query = "{ a } fragment F on Query { a } type Query { a : Int }"
+
+        when:
+        parse(query, antlrOptions.transform({ it.parsingListener({ antlrTokens.add([it.text, it.line, it.charPositionInLine]) }) }))
+        parse(query, recursiveDescentOptions.transform({ it.parsingListener({ recursiveDescentTokens.add([it.text, it.line, it.charPositionInLine]) }) }))
+
+        then:
+        recursiveDescentTokens == antlrTokens
+    }
+
+    def "an out of range float value is reported where it is"() {
+        when:
+        parse("{\n  a(x: 1e9999999999) }", recursiveDescentOptions)
+
+        then:
+        def exception = thrown(InvalidSyntaxException)
+        exception.location.line == 2
+        exception.location.column == 8
+        exception.offendingToken == "1e9999999999"
+    }
+}
@@ -0,0 +1,145 @@
+package graphql.relay
+
+import graphql.schema.DataFetchingEnvironment
+import spock.lang.Specification
+
+import static graphql.schema.DataFetchingEnvironmentImpl.newDataFetchingEnvironment
+
+class WindowedConnectionTest extends Specification {
+
+    def data = (0..<10).collect { "item" + it }
+
+    DataFetchingEnvironment env(Map<String, Object> arguments) {
+        newDataFetchingEnvironment().arguments(arguments).build()
+    }
+
+    def cursor(int offset) {
+        new SimpleListConnection(data).cursorForObjectInConnection(data[offset]).value
+    }
+
+    def "pages the same way as SimpleListConnection"() {
+        def arguments = [:]
+        if (after != null) {
+            arguments.after = cursor(after)
+        }
+        if (before != null) {
+            arguments.before = cursor(before)
+        }
+        if (first != null) {
+            arguments.first = first
+        }
+        if (last != null) {
+            arguments.last = last
+        }
+
+        when:
+        def expected = new SimpleListConnection(data).get(env(arguments))
+        def actual = new WindowedConnection(data).get(env(arguments))
+
+        then:
+        actual.edges == expected.edges
+        actual.pageInfo == expected.pageInfo
+
+        where:
+        after | before | first | last
+        null  | null   | null  | null
+        null  | null   | 3     | null
+        null  | null   | null  | 3
+        null  | null   | 20    | null
+        null  | null   | null  | 20
+        null  | null   | 0     | null
+        2     | null   | 3     | null
+        2     | null   | null  | 3
+        null  | 7      | 3     | null
+        null  | 7      | null  | 3
+        2     | 7      | null  | null
+        2     | 7      | 2     | 1
+        9     | null   | 3     | null
+        null  | 0      | null  | 3
+        7     | 2      | null  | null
+    }
+
+    def "cursors are interchangeable with SimpleListConnection"() {
+        def simpleConnection = new SimpleListConnection(data, "prefix")
+        def windowedConnection = new WindowedConnection(data, "prefix")
+
+        when:
+        def page = windowedConnection.get(env([first: 2]))
+        def nextPage = simpleConnection.get(env([first: 2, after: page.pageInfo.endCursor.value]))
+
+        then:
+        page.edges*.node == ["item0", "item1"]
+        nextPage.edges*.node == ["item2", "item3"]
+        windowedConnection.get(env([first: 2, after: page.pageInfo.endCursor.value])).edges == nextPage.edges
+    }
+
+    def "only the page is read from the data source"() {
+        def slices = []
+        def dataSource = new OffsetConnectionDataSource<Integer>() {
+            @Override
+            int getTotalCount(DataFetchingEnvironment environment) {
+                return 100_000
+            }
+
+            @Override
+            List<Integer> getSlice(DataFetchingEnvironment environment, int offset, int count) {
+                slices.add([offset, count])
+                return (offset..<(offset + count)).toList()
+            }
+        }
+        def connection = new WindowedConnection<Integer>(dataSource)
+
+        when:
+        def page = connection.get(env([first: 20]))
+
+        then:
+        slices == [[0, 20]]
+        page.edges*.node == (0..<20).toList()
+        !page.pageInfo.hasPreviousPage
+        page.pageInfo.hasNextPage
+
+        when:
+        def lastPage = connection.get(env([last: 5, after: page.pageInfo.endCursor.value]))
+
+        then:
+        slices == [[0, 20], [99_995, 5]]
+        lastPage.edges*.node == (99_995..<100_000).toList()
+        lastPage.pageInfo.hasPreviousPage
+        !lastPage.pageInfo.hasNextPage
+    }
+
+    def "empty windows do not read from the data source"() {
+        def dataSource = Mock(OffsetConnectionDataSource)
+
+        when:
+        def connection = new WindowedConnection(dataSource).get(env([first: 0]))
+
+        then:
+        1 * dataSource.getTotalCount(_) >> 10
+        0 * dataSource.getSlice(_, _, _)
+        connection.edges.isEmpty()
+        !connection.pageInfo.hasNextPage
+    }
+
+    def "invalid arguments throw exceptions"() {
+        def connection = new WindowedConnection(data)
+
+        when:
+        connection.get(env([after: "not-base64"]))
+
+        then:
+        thrown(InvalidCursorException)
+
+        when:
+        connection.get(env([first: -1]))
+
+        then:
+        thrown(InvalidPageSizeException)
+
+        when:
+        connection.get(env([last: -1]))
+
+        then:
+        thrown(InvalidPageSizeException)
+    }
+}
@@ -0,0 +1,89 @@
+package graphql.schema
+
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.schema.visibility.BlockedFields
+import spock.lang.Specification
+
+import static graphql.schema.FieldCoordinates.coordinates
+
+class FieldDispatchTableTest extends Specification {
+
+    def sdl = """
+        type Query {
+            hello : String
+            factoryField : String
+        }
+    """
+
+    GraphQLSchema withCodeRegistry(Closure<?> builderConsumer) {
+        def schema = TestUtil.schema(sdl)
+        def codeRegistry = schema.getCodeRegistry().transform({ builderConsumer(it) })
+        return schema.transform({ it.codeRegistry(codeRegistry) })
+    }
+
+    def "resolves field definitions like Introspection.getFieldDefinition"() {
+        def schema = TestUtil.schema(sdl)
+        def table = schema.getFieldDispatchTable()
+        def queryType = schema.getQueryType()
+
+        expect:
+        table.getFieldDefinition(queryType, "hello") == queryType.getFieldDefinition("hello")
+        table.getFieldDefinition(queryType, "__schema") == schema.getIntrospectionSchemaFieldDefinition()
+        table.getFieldDefinition(queryType, "__type") == schema.getIntrospectionTypeFieldDefinition()
+        table.getFieldDefinition(queryType, "__typename") == schema.getIntrospectionTypenameFieldDefinition()
+        table.getFieldDefinition(queryType, "unknown") == null
+    }
+
+    def "only object types of the schema are resolved"() {
+        def schema = TestUtil.schema(sdl)
+        def otherQueryType = TestUtil.schema(sdl).getQueryType()
+
+        expect:
+        schema.getFieldDispatchTable().getFieldDefinition(otherQueryType, "hello") == null
+        schema.getFieldDispatchTable().getDataFetcher(otherQueryType, otherQueryType.getFieldDefinition("hello")) == null
+    }
+
+    def "data fetchers are only resolved when their factory always returns the same data fetcher"() {
+        DataFetcher helloDataFetcher = { env -> "world" }
+        def schema = withCodeRegistry {
+            it.dataFetcher(coordinates("Query", "hello"), helloDataFetcher)
+                    .dataFetcher(coordinates("Query", "factoryField"), { env -> { e -> "factory" } as DataFetcher } as DataFetcherFactory)
+        }
+        def table = schema.getFieldDispatchTable()
+        def queryType = schema.getQueryType()
+
+        expect:
+        table.getDataFetcher(queryType, queryType.getFieldDefinition("hello")) == helloDataFetcher
+        table.getDataFetcher(queryType, queryType.getFieldDefinition("factoryField")) == null
+        table.getDataFetcher(queryType, schema.getIntrospectionTypenameFieldDefinition()) != null
+        table.getDataFetcher(queryType, schema.getIntrospectionSchemaFieldDefinition()) != null
+    }
+
+    def "data fetcher factories are still called for every fetch"() {
+        def factoryCalls = 0
+        def schema = withCodeRegistry {
+            it.dataFetcher(coordinates("Query", "factoryField"), { env -> factoryCalls++; { e -> "factory" } as DataFetcher } as DataFetcherFactory)
+        }
+        def graphQL = GraphQL.newGraphQL(schema).build()
+
+        when:
+        def result1 = graphQL.execute("{ factoryField hello }")
+        def result2 = graphQL.execute("{ factoryField hello }")
+
+        then:
+        result1.data == [factoryField: "factory", hello: null]
+        result2.data == result1.data
+        factoryCalls == 2
+    }
+
+    def "field definitions are not resolved with a field visibility"() {
+        def schema = withCodeRegistry {
+            it.fieldVisibility(BlockedFields.newBlock().addPattern("Query.hello").build())
+        }
+
+        expect:
+        schema.getFieldDispatchTable().getFieldDefinition(schema.getQueryType(), "factoryField") == null
+        schema.getFieldDispatchTable().getDataFetcher(schema.getQueryType(), schema.getQueryType().getFieldDefinition("factoryField")) instanceof PropertyDataFetcher
+    }
+}
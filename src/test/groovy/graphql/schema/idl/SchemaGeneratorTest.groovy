@@ -1,5 +1,6 @@
 package graphql.schema.idl
 
+import graphql.GraphQL
 import graphql.TestUtil
 import graphql.introspection.Introspection
 import graphql.language.Node
@@ -7,6 +8,7 @@ import graphql.schema.DataFetcher
 import graphql.schema.DataFetcherFactory
 import graphql.schema.DataFetcherFactoryEnvironment
 import graphql.schema.DataFetchingEnvironment
+import graphql.schema.FieldCoordinates
 import graphql.schema.GraphQLAppliedDirective
 import graphql.schema.GraphQLCodeRegistry
 import graphql.schema.GraphQLDirectiveContainer
@@ -28,9 +30,11 @@ import graphql.schema.GraphqlTypeComparatorRegistry
 import graphql.schema.idl.errors.NotAnInputTypeError
 import graphql.schema.idl.errors.NotAnOutputTypeError
 import graphql.schema.idl.errors.SchemaProblem
+import graphql.schema.validation.InvalidSchemaException
 import graphql.schema.visibility.GraphqlFieldVisibility
 import spock.lang.Specification
 
+import java.util.concurrent.ForkJoinPool
 import java.util.function.UnaryOperator
 
 import static graphql.Scalars.GraphQLBoolean
@@ -2532,4 +2536,152 @@ class SchemaGeneratorTest extends Specification {
         inputObjectType.isOneOf()
         inputObjectType.hasAppliedDirective("oneOf")
     }
+
+    def "schemas can be checked and validated in parallel"() {
+        def sdl = """
+            type Query {
+                node(id : ID) : Node
+                search(filter : Filter) : [Result]
+            }
+            interface Node {
+                id : ID!
+            }
+            type User implements Node {
+                id : ID!
+                name : String
+                friends(first : Int = 10) : [User]
+            }
+            type Post implements Node {
+                id : ID!
+                title : String
+                author : User
+            }
+            union Result = User | Post
+            input Filter {
+                text : String
+                kind : Kind = USER
+            }
+            enum Kind { USER POST }
+        """
+        def forkJoinPool = new ForkJoinPool(4)
+        def parallelOptions = defaultOptions().forkJoinPool(forkJoinPool)
+
+        when:
+        def sequentialSchema = new SchemaGenerator().makeExecutableSchema(defaultOptions(), new SchemaParser().parse(sdl), RuntimeWiring.MOCKED_WIRING)
+        def parallelSchema = new SchemaGenerator().makeExecutableSchema(parallelOptions, new SchemaParser().parse(sdl), RuntimeWiring.MOCKED_WIRING)
+
+        then:
+        new SchemaPrinter().print(parallelSchema) == new SchemaPrinter().print(sequentialSchema)
+
+        when:
+        def brokenSdl = sdl + """
+            type Broken implements Node {
+                id : Missing
+                other : AlsoMissing
+            }
+        """
+        def sequentialProblem = null
+        try {
+            new SchemaGenerator().makeExecutableSchema(defaultOptions(), new SchemaParser().parse(brokenSdl), RuntimeWiring.MOCKED_WIRING)
+        } catch (SchemaProblem problem) {
+            sequentialProblem = problem
+        }
+        new SchemaGenerator().makeExecutableSchema(parallelOptions, new SchemaParser().parse(brokenSdl), RuntimeWiring.MOCKED_WIRING)
+
+        then:
+        def parallelProblem = thrown(SchemaProblem)
+        sequentialProblem != null
+        parallelProblem.errors.collect { it.message } == sequentialProblem.errors.collect { it.message }
+
+        when:
+        def invalidSdl = sdl + """
+            extend type Query {
+                required(arg : Required = {}) : String
+            }
+            input Required {
+                required : String!
+            }
+        """
+        new SchemaGenerator().makeExecutableSchema(parallelOptions, new SchemaParser().parse(invalidSdl), RuntimeWiring.MOCKED_WIRING)
+
+        then:
+        thrown(InvalidSchemaException)
+
+        cleanup:
+        forkJoinPool.shutdown()
+    }
+
+    def "a schema can be rebuilt from only the changed type definitions"() {
+        def sdl = """
+            type Query {
+                user : User
+                post : Post
+                search : Result
+            }
+            type User {
+                name : String
+                address : Address
+            }
+            type Address {
+                street : String
+            }
+            type Post {
+                title : String
+            }
+            union Result = User | Post
+            type Detached {
+                id : ID
+            }
+        """
+        def wiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                        .dataFetcher("post", { env -> [title: "t"] } as DataFetcher)
+                        .dataFetcher("search", { env -> [title: "s"] } as DataFetcher))
+                .type(newTypeWiring("Address").dataFetcher("city", { env -> "city" } as DataFetcher))
+                .type(newTypeWiring("Result").typeResolver({ env -> env.getSchema().getObjectType("Post") }))
+                .build()
+        def typeRegistry = new SchemaParser().parse(sdl)
+        def previousSchema = new SchemaGenerator().makeExecutableSchema(typeRegistry, wiring)
+
+        when:
+        def changedAddress = new SchemaParser().parse("type Address { street : String city : String }").getType("Address").get()
+        def newType = new SchemaParser().parse("type Comment { text : String }").getType("Comment").get()
+        typeRegistry.remove(typeRegistry.getType("Address").get())
+        typeRegistry.add(changedAddress)
+        typeRegistry.add(newType)
+        def schema = new SchemaGenerator().rebuildExecutableSchema(previousSchema, typeRegistry, wiring, [changedAddress, newType])
+
+        then:
+        new SchemaPrinter().print(schema) == new SchemaPrinter().print(new SchemaGenerator().makeExecutableSchema(typeRegistry, wiring))
+        schema.getAdditionalTypes().collect { (it as GraphQLNamedType).name } as Set == ["Detached", "Comment"] as Set
+
+        // the changed type and the types that refer to it are rebuilt
+        !schema.getType("Address").is(previousSchema.getType("Address"))
+        !schema.getType("User").is(previousSchema.getType("User"))
+        !schema.getType("Result").is(previousSchema.getType("Result"))
+        !schema.getQueryType().is(previousSchema.getQueryType())
+
+        // and the other types are reused
+        schema.getType("Post").is(previousSchema.getType("Post"))
+        schema.getType("Detached").is(previousSchema.getType("Detached"))
+
+        when:
+        def result = GraphQL.newGraphQL(schema).build().execute("{ post { title } search { ... on Post { title } } }")
+
+        then:
+        result.errors.isEmpty()
+        result.data == [post: [title: "t"], search: [title: "s"]]
+        schema.getCodeRegistry().getDataFetcher(FieldCoordinates.coordinates("Address", "city"), (schema.getType("Address") as GraphQLObjectType).getFieldDefinition("city")).get(null) == "city"
+
+        when:
+        def changedUser = new SchemaParser().parse("type User { name : String }").getType("User").get()
+        typeRegistry.remove(typeRegistry.getType("User").get())
+        typeRegistry.add(changedUser)
+        def rebuiltAgain = new SchemaGenerator().rebuildExecutableSchema(schema, typeRegistry, wiring, [changedUser])
+
+        then: "types that are no longer reachable are kept as additional types"
+        new SchemaPrinter().print(rebuiltAgain) == new SchemaPrinter().print(new SchemaGenerator().makeExecutableSchema(typeRegistry, wiring))
+        rebuiltAgain.getType("Address").is(schema.getType("Address"))
+        rebuiltAgain.getAdditionalTypes().collect { (it as GraphQLNamedType).name } as Set == ["Detached", "Comment", "Address"] as Set
+    }
 }
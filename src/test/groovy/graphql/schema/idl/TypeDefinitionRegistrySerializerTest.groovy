@@ -0,0 +1,192 @@
+package graphql.schema.idl
+
+import graphql.AssertException
+import graphql.language.AstPrinter
+import graphql.language.InputObjectTypeDefinition
+import graphql.language.ObjectTypeDefinition
+import graphql.parser.MultiSourceReader
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+
+class TypeDefinitionRegistrySerializerTest extends Specification {
+
+    def sdl1 = '''
+        schema {
+            query : Query
+        }
+
+        # the query type
+        type Query implements Node {
+            id : ID!
+            "the node"
+            node(id : ID!, filter : Filter = {names : ["a", "b"], limit : 10, ratio : 1.5, exact : true, missing : null, kind : LARGE}) : Node
+            items : [Item!]! @deprecated(reason : "a \\"reason\\" ü")
+        }
+
+        interface Node {
+            id : ID!
+        }
+
+        """
+        A multi line
+        description
+        """
+        type Item implements Node {
+            id : ID!
+            kind : Kind
+            value : Date
+        }
+    '''
+
+    def sdl2 = '''
+        union Result = Item
+
+        enum Kind {
+            SMALL
+            LARGE @deprecated
+        }
+
+        scalar Date
+
+        input Filter {
+            names : [String]
+            limit : Int = 5
+            ratio : Float
+            exact : Boolean
+            missing : String
+            kind : Kind
+        }
+
+        directive @cost(weight : Int = 1) repeatable on SCHEMA | FIELD_DEFINITION | OBJECT | INTERFACE | SCALAR
+
+        extend type Item @cost {
+            extra : String
+        }
+
+        extend enum Kind {
+            MEDIUM
+        }
+
+        extend scalar Date @cost(weight : 2)
+
+        extend input Filter {
+            after : String
+        }
+
+        extend interface Node @cost
+
+        extend union Result = Query
+
+        extend schema @cost
+    '''
+
+    def registry = new SchemaParser().parse(MultiSourceReader.newMultiSourceReader()
+            .string(sdl1, "source1")
+            .string(sdl2, "source2")
+            .build())
+
+    def serializer = new TypeDefinitionRegistrySerializer()
+
+    static String print(TypeDefinitionRegistry registry) {
+        def definitions = []
+        registry.schemaDefinition().ifPresent({ definitions.add(it) })
+        definitions.addAll(registry.getSchemaExtensionDefinitions())
+        definitions.addAll(registry.getDirectiveDefinitions().values())
+        definitions.addAll(registry.types().values())
+        definitions.addAll(registry.scalars().values())
+        [registry.objectTypeExtensions(), registry.interfaceTypeExtensions(), registry.unionTypeExtensions(),
+         registry.enumTypeExtensions(), registry.scalarTypeExtensions(), registry.inputObjectTypeExtensions()].each {
+            it.values().each { definitions.addAll(it) }
+        }
+        definitions.collect { AstPrinter.printAst(it) }.join("\n")
+    }
+
+    def "a registry can be written and read back"() {
+        when:
+        def bytes = serializer.serialize(registry)
+        def readRegistry = serializer.deserialize(bytes)
+
+        then:
+        print(readRegistry) == print(registry)
+        readRegistry.scalars().keySet() == registry.scalars().keySet()
+        readRegistry.getParseOrder().getInNameOrder().collectEntries { k, v -> [k, v.collect { it.name }] } ==
+                registry.getParseOrder().getInNameOrder().collectEntries { k, v -> [k, v.collect { it.name }] }
+        readRegistry.getParseOrder().getInOrder().collectEntries { k, v -> [k, v.collect { it.class }] } ==
+                registry.getParseOrder().getInOrder().collectEntries { k, v -> [k, v.collect { it.class }] }
+
+        and: "the source locations, comments and descriptions are kept"
+        def query = readRegistry.getType("Query", ObjectTypeDefinition).get()
+        query.sourceLocation == registry.getType("Query").get().sourceLocation
+        query.sourceLocation.sourceName == "source1"
+        query.comments.collect { it.content } == [" the query type"]
+        query.comments[0].sourceLocation == registry.getType("Query").get().comments[0].sourceLocation
+        query.fieldDefinitions[1].description.content == "the node"
+        !query.fieldDefinitions[1].description.multiLine
+
+        def item = readRegistry.getType("Item", ObjectTypeDefinition).get()
+        item.description.multiLine
+        item.description.content == registry.getType("Item", ObjectTypeDefinition).get().description.content
+
+        def filter = readRegistry.getType("Filter", InputObjectTypeDefinition).get()
+        filter.inputValueDefinitions.find { it.name == "limit" }.defaultValue.isEqualTo(
+                registry.getType("Filter", InputObjectTypeDefinition).get().inputValueDefinitions.find { it.name == "limit" }.defaultValue)
+    }
+
+    def "a schema made from a read registry is the same as one made from the original"() {
+        def printer = new SchemaPrinter(SchemaPrinter.Options.defaultOptions().includeSchemaDefinition(true))
+
+        when:
+        def readRegistry = serializer.deserialize(serializer.serialize(registry))
+
+        then:
+        printer.print(new SchemaGenerator().makeExecutableSchema(readRegistry, RuntimeWiring.MOCKED_WIRING)) ==
+                printer.print(new SchemaGenerator().makeExecutableSchema(registry, RuntimeWiring.MOCKED_WIRING))
+    }
+
+    def "a registry can be read from a direct buffer"() {
+        def outputStream = new ByteArrayOutputStream()
+        serializer.serialize(registry, outputStream)
+        def bytes = outputStream.toByteArray()
+
+        def buffer = ByteBuffer.allocateDirect(bytes.length + 3)
+        buffer.put([1, 2, 3] as byte[])
+        buffer.put(bytes)
+        buffer.position(3)
+
+        when:
+        def readRegistry = serializer.deserialize(buffer)
+
+        then:
+        print(readRegistry) == print(registry)
+        buffer.position() == 3
+    }
+
+    def "the binary form is smaller than java serialisation"() {
+        when:
+        def bytes = serializer.serialize(registry)
+        def javaSerialised = new ByteArrayOutputStream()
+        new ObjectOutputStream(javaSerialised).writeObject(registry)
+
+        then:
+        bytes.length < javaSerialised.size() / 4
+    }
+
+    def "data that is not a registry or has another version is rejected"() {
+        when:
+        serializer.deserialize("not a registry".bytes)
+
+        then:
+        def e = thrown(AssertException)
+        e.message == "The data is not a serialized TypeDefinitionRegistry"
+
+        when:
+        def bytes = serializer.serialize(registry)
+        bytes[7] = TypeDefinitionRegistrySerializer.FORMAT_VERSION + 1
+        serializer.deserialize(bytes)
+
+        then:
+        e = thrown(AssertException)
+        e.message == "The TypeDefinitionRegistry was serialized with format version 2 but only version 1 can be read"
+    }
+}
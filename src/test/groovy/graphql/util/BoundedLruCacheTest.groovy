@@ -0,0 +1,123 @@
+package graphql.util
+
+import spock.lang.Specification
+
+import java.util.function.LongSupplier
+
+class BoundedLruCacheTest extends Specification {
+
+    def "loads values once and evicts the least recently used"() {
+        def loads = []
+        def cache = new BoundedLruCache<String, String>(2, Long.MAX_VALUE, { v -> 1L })
+        def loader = { String k -> loads.add(k); return k.toUpperCase() }
+
+        when:
+        def a = cache.get("a", loader, { v -> true }).join()
+        cache.get("b", loader, { v -> true })
+        cache.get("a", loader, { v -> true })
+        cache.get("c", loader, { v -> true })
+        cache.get("b", loader, { v -> true })
+
+        then:
+        a == "A"
+        loads == ["a", "b", "c", "b"]
+        cache.getHitCount() == 1
+        cache.getMissCount() == 4
+        cache.getEvictionCount() == 2
+        cache.size() == 2
+    }
+
+    def "values can expire after they are loaded"() {
+        def now = 0L
+        def loads = 0
+        def cache = new BoundedLruCache<String, String>(Long.MAX_VALUE, Long.MAX_VALUE, { v -> 1L }, 100L, { now } as LongSupplier)
+        def loader = { String k -> loads++; return k }
+
+        when:
+        cache.get("a", loader, { v -> true })
+        now = 99
+        cache.get("a", loader, { v -> true })
+
+        then:
+        loads == 1
+
+        when:
+        now = 100
+        cache.get("a", loader, { v -> true })
+
+        then:
+        loads == 2
+        cache.getEvictionCount() == 1
+        cache.size() == 1
+    }
+
+    def "expired values that are not asked for again are removed by later loads"() {
+        def now = 0L
+        def cache = new BoundedLruCache<String, String>(Long.MAX_VALUE, Long.MAX_VALUE, { v -> 1L }, 100L, { now } as LongSupplier)
+        def loader = { String k -> k }
+
+        when:
+        cache.get("a", loader, { v -> true })
+        now = 50
+        cache.get("b", loader, { v -> true })
+        // a recent read of "a" does not change when it expires
+        cache.get("a", loader, { v -> true })
+        now = 120
+        cache.get("c", loader, { v -> true })
+
+        then:
+        cache.size() == 2
+        cache.getEvictionCount() == 1
+
+        when:
+        now = 500
+        cache.get("d", loader, { v -> true })
+
+        then:
+        cache.size() == 1
+        cache.getEvictionCount() == 3
+    }
+
+    def "failed loads are not cached and are rethrown"() {
+        def cache = new BoundedLruCache<String, String>(Long.MAX_VALUE, Long.MAX_VALUE, { v -> 1L })
+
+        when:
+        cache.get("a", { k -> throw new IllegalStateException("bang") }, { v -> true })
+
+        then:
+        thrown(IllegalStateException)
+        cache.size() == 0
+        cache.getLoadFailureCount() == 1
+
+        when:
+        def value = cache.get("a", { k -> "ok" }, { v -> true }).join()
+
+        then:
+        value == "ok"
+    }
+
+    def "values can be invalidated"() {
+        def cache = new BoundedLruCache<String, String>(Long.MAX_VALUE, Long.MAX_VALUE, { v -> 2L })
+
+        when:
+        cache.get("a", { k -> k }, { v -> true })
+        cache.get("b", { k -> k }, { v -> true })
+
+        then:
+        cache.weight() == 4
+
+        when:
+        cache.invalidate("a")
+
+        then:
+        cache.size() == 1
+        cache.weight() == 2
+
+        when:
+        cache.invalidateAll()
+
+        then:
+        cache.size() == 0
+        cache.weight() == 0
+    }
+}
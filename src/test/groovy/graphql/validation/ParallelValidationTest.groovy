@@ -0,0 +1,149 @@
+package graphql.validation
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.ParseAndValidate
+import graphql.TestUtil
+import graphql.parser.Parser
+import graphql.validation.rules.OverlappingFieldsCanBeMerged
+import spock.lang.Specification
+
+import java.util.concurrent.Executors
+
+class ParallelValidationTest extends Specification {
+
+    def schema = TestUtil.schema("""
+        type Query {
+            dog : Dog
+            cat : Cat
+        }
+        type Dog {
+            name : String
+            nickname : String
+            barkVolume : Int
+        }
+        type Cat {
+            name : String
+            meowVolume : Int
+        }
+    """)
+
+    def executor = Executors.newFixedThreadPool(4)
+
+    def cleanup() {
+        executor.shutdownNow()
+    }
+
+    def validate(String query, executor) {
+        def document = new Parser().parseDocument(query)
+        return new Validator().validateDocument(schema, document, { r -> true }, Locale.ENGLISH, executor)
+    }
+
+    def "parallel validation reports the same errors as sequential validation"() {
+        def query = """
+            query one {
+                dog { name: nickname name }
+                unknownField
+            }
+            query two {
+                cat { ...catFields name: meowVolume }
+            }
+            fragment catFields on Cat {
+                name
+                unknownCatField
+            }
+            fragment dogFields on Dog {
+                barkVolume: name
+                barkVolume
+            }
+        """
+
+        when:
+        def sequentialErrors = validate(query, null)
+        def parallelErrors = validate(query, executor)
+
+        then:
+        sequentialErrors.size() == 6
+        parallelErrors.size() == sequentialErrors.size()
+        parallelErrors.toSet() == sequentialErrors.toSet()
+    }
+
+    def "overlapping field errors come after other errors in document order"() {
+        def query = """
+            query one {
+                dog { name: nickname name }
+            }
+            query two {
+                cat { name: meowVolume name }
+                unknownField
+            }
+            fragment dogFields on Dog {
+                barkVolume: name
+                barkVolume
+            }
+        """
+
+        when:
+        def errors = validate(query, executor)
+
+        then:
+        errors.size() == 5
+        errors[0].validationErrorType == ValidationErrorType.FieldUndefined
+        errors[1].validationErrorType == ValidationErrorType.UnusedFragment
+        errors[2..4].every { it.validationErrorType == ValidationErrorType.FieldsConflict }
+        errors[2].description.contains("'nickname' and 'name'")
+        errors[3].description.contains("'meowVolume' and 'name'")
+        errors[4].description.contains("'name' and 'barkVolume'")
+
+        when: "validated again"
+        def againErrors = validate(query, executor)
+
+        then:
+        againErrors == errors
+    }
+
+    def "a conflict in a fragment spread into an operation is reported once"() {
+        def query = """
+            query one {
+                dog { ...dogFields }
+            }
+            fragment dogFields on Dog {
+                name: nickname
+                name
+            }
+        """
+
+        when:
+        def sequentialErrors = validate(query, null)
+        def parallelErrors = validate(query, executor)
+
+        then:
+        sequentialErrors.size() == 1
+        parallelErrors == sequentialErrors
+    }
+
+    def "the rule predicate is respected"() {
+        def query = "{ dog { name: nickname name } }"
+        def document = new Parser().parseDocument(query)
+
+        when:
+        def errors = new Validator().validateDocument(schema, document, { r -> r != OverlappingFieldsCanBeMerged }, Locale.ENGLISH, executor)
+
+        then:
+        errors.isEmpty()
+    }
+
+    def "the validation executor can be supplied via the graphql context"() {
+        def graphQL = GraphQL.newGraphQL(schema).build()
+        def executionInput = ExecutionInput.newExecutionInput("{ dog { name: nickname name } }")
+                .graphQLContext([(ParseAndValidate.VALIDATION_EXECUTOR): executor])
+                .build()
+
+        when:
+        def result = graphQL.execute(executionInput)
+
+        then:
+        result.errors.size() == 1
+        (result.errors[0] as ValidationError).validationErrorType == ValidationErrorType.FieldsConflict
+    }
+}
@@ -6,6 +6,8 @@ import graphql.language.SourceLocation
 import graphql.parser.Parser
 import graphql.schema.GraphQLCodeRegistry
 import graphql.schema.GraphQLSchema
+import graphql.schema.idl.RuntimeWiring
+import graphql.schema.visibility.GraphqlFieldVisibility
 import graphql.validation.LanguageTraversal
 import graphql.validation.RulesVisitor
 import graphql.validation.ValidationContext
@@ -20,6 +22,7 @@ import static graphql.schema.GraphQLList.list
 import static graphql.schema.GraphQLNonNull.nonNull
 import static graphql.schema.GraphQLObjectType.newObject
 import static graphql.schema.GraphQLUnionType.newUnionType
+import static graphql.schema.visibility.DefaultGraphqlFieldVisibility.DEFAULT_FIELD_VISIBILITY
 
 class OverlappingFieldsCanBeMergedTest extends Specification {
 
@@ -42,6 +45,7 @@ class OverlappingFieldsCanBeMergedTest extends Specification {
         LanguageTraversal languageTraversal = new LanguageTraversal()
 
         languageTraversal.traverse(document, new RulesVisitor(validationContext, [overlappingFieldsCanBeMerged]))
+        return overlappingFieldsCanBeMerged
     }
 
     def "identical fields are ok"() {
@@ -59,6 +63,101 @@ class OverlappingFieldsCanBeMergedTest extends Specification {
         errorCollector.errors.isEmpty()
     }
 
+    def "the conflicts reported cannot be changed by the caller"() {
+        given:
+        def query = """
+            fragment f on Test{
+                myName : name
+                myName : nickname
+            }
+        """
+        when:
+        def conflicts = traverse(query, null).getConflictsReported()
+
+        then:
+        conflicts.size() == 1
+        conflicts[0].collect { it.name } == ["name", "nickname"]
+
+        when:
+        conflicts[0].clear()
+
+        then:
+        thrown(UnsupportedOperationException)
+
+        when:
+        conflicts.clear()
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+
+    def "a fragment spread in many selection sets has its fields collected once"() {
+        given:
+        def lookups = [:].withDefault { 0 }
+        def countingVisibility = [
+                getFieldDefinitions: { container -> DEFAULT_FIELD_VISIBILITY.getFieldDefinitions(container) },
+                getFieldDefinition : { container, String fieldName ->
+                    lookups[fieldName]++
+                    DEFAULT_FIELD_VISIBILITY.getFieldDefinition(container, fieldName)
+                }
+        ] as GraphqlFieldVisibility
+        def schema = schema('''
+            type Query {
+                node : Node
+            }
+            type Node {
+                name : String
+                node : Node
+            }
+        ''', RuntimeWiring.newRuntimeWiring().fieldVisibility(countingVisibility))
+
+        def spreads = { int count -> (1..count).collect { "n$it : node { ...f }" }.join("\n") + " } fragment f on Node { name }" }
+
+        when:
+        traverse("{ " + spreads(1), schema)
+        def lookupsForOneSpread = lookups["name"]
+        lookups.clear()
+        traverse("{ " + spreads(20), schema)
+        def lookupsForTwentySpreads = lookups["name"]
+
+        then:
+        errorCollector.errors.isEmpty()
+        lookupsForOneSpread > 0
+        lookupsForTwentySpreads == lookupsForOneSpread
+    }
+
+    def "cyclic fragments are collected without looping and report the same conflicts as acyclic ones"() {
+        given:
+        def schema = schema('''
+            type Query {
+                node : Node
+            }
+            type Node {
+                name : String
+                nickname : String
+                node : Node
+            }
+        ''')
+        def cyclicQuery = '''
+            { node { ...a } }
+            fragment a on Node { x : name ...b }
+            fragment b on Node { x : nickname ...a }
+        '''
+        def acyclicQuery = '''
+            { node { ...a } }
+            fragment a on Node { x : name ...b }
+            fragment b on Node { x : nickname }
+        '''
+
+        when:
+        def cyclicConflicts = traverse(cyclicQuery, schema).getConflictsReported()
+        def acyclicConflicts = traverse(acyclicQuery, schema).getConflictsReported()
+
+        then:
+        cyclicConflicts.collect { conflict -> conflict.collect { it.name } as Set } == [["name", "nickname"] as Set]
+        cyclicConflicts.collect { conflict -> conflict.collect { it.name } as Set } == acyclicConflicts.collect { conflict -> conflict.collect { it.name } as Set }
+    }
+
     def "two aliases with different targets"() {
         given:
         def query = """
@@ -11,11 +11,16 @@ import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
 
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 
+@State(Scope.Benchmark)
 @Warmup(iterations = 2, time = 5)
 @Measurement(iterations = 3)
 @Fork(3)
@@ -23,23 +28,77 @@ public class CreateSchemaBenchmark {
 
     static String largeSDL = BenchmarkUtils.loadResource("large-schema-3.graphqls");
 
+    static String generatedSDL = generateSdl(8000);
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
     @Benchmark
     @BenchmarkMode(Mode.Throughput)
     @OutputTimeUnit(TimeUnit.MINUTES)
     public void benchmarkLargeSchemaCreate(Blackhole blackhole) {
-        blackhole.consume(createSchema(largeSDL));
+        blackhole.consume(createSchema(largeSDL, parallel));
     }
 
     @Benchmark
     @BenchmarkMode(Mode.AverageTime)
     @OutputTimeUnit(TimeUnit.MILLISECONDS)
     public void benchmarkLargeSchemaCreateAvgTime(Blackhole blackhole) {
-        blackhole.consume(createSchema(largeSDL));
+        blackhole.consume(createSchema(largeSDL, parallel));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchmarkGeneratedSchemaCreateAvgTime(Blackhole blackhole) {
+        blackhole.consume(createSchema(generatedSDL, parallel));
     }
 
     private static GraphQLSchema createSchema(String sdl) {
+        return createSchema(sdl, false);
+    }
+
+    private static GraphQLSchema createSchema(String sdl, boolean parallel) {
         TypeDefinitionRegistry registry = new SchemaParser().parse(sdl);
-        return new SchemaGenerator().makeExecutableSchema(registry, RuntimeWiring.MOCKED_WIRING);
+        SchemaGenerator.Options options = SchemaGenerator.Options.defaultOptions();
+        if (parallel) {
+            options = options.forkJoinPool(ForkJoinPool.commonPool());
+        }
+        return new SchemaGenerator().makeExecutableSchema(options, registry, RuntimeWiring.MOCKED_WIRING);
+    }
+
+    /*
+     * a schema of object types that implement an interface and refer to each other, with enum and input types
+     * mixed in, where each type only refers to types before it so that building it does not recurse too deeply
+     */
+    private static String generateSdl(int typeCount) {
+        StringBuilder sdl = new StringBuilder();
+        sdl.append("type Query {\n");
+        for (int i = 0; i < 100; i++) {
+            sdl.append("  type").append(i).append("(filter: Filter").append(i).append("): Type").append(typeCount - 1 - i).append("\n");
+        }
+        sdl.append("}\n");
+        sdl.append("interface Node {\n  id: ID!\n}\n");
+        for (int i = 0; i < 50; i++) {
+            sdl.append("enum Status").append(i).append(" {\n  ACTIVE\n  INACTIVE\n}\n");
+        }
+        for (int i = 0; i < 100; i++) {
+            sdl.append("input Filter").append(i).append(" {\n")
+                    .append("  name: String\n")
+                    .append("  status: Status").append(i % 50).append(" = ACTIVE\n")
+                    .append("  and: Filter").append((i + 1) % 100).append("\n")
+                    .append("}\n");
+        }
+        for (int i = 0; i < typeCount; i++) {
+            sdl.append("type Type").append(i).append(" implements Node {\n")
+                    .append("  id: ID!\n")
+                    .append("  name: String @deprecated(reason: \"generated\")\n")
+                    .append("  status: Status").append(i % 50).append("\n")
+                    .append("  parent: Type").append(i / 2).append("\n")
+                    .append("  related(first: Int = 10, filter: Filter").append(i % 100).append("): [Type").append(i / 3).append("!]\n")
+                    .append("}\n");
+        }
+        return sdl.toString();
     }
 
     @SuppressWarnings("InfiniteLoopStatement")
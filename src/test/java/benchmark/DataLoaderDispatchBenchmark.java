@@ -0,0 +1,132 @@
+package benchmark;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring;
+
+/**
+ * Measures the per level data loader dispatching on queries where many fields at the same level are loaded via
+ * data loaders whose batches complete concurrently on other threads.
+ * <p>
+ * The wide query has few levels with many objects each and the deep query has many levels with fewer objects.
+ */
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(3)
+@Threads(4)
+public class DataLoaderDispatchBenchmark {
+
+    private static final ExecutorService BATCH_EXECUTOR = Executors.newFixedThreadPool(8, runnable -> {
+        Thread thread = new Thread(runnable, "batch-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final String SDL = "type Query { root : [Node] } type Node { id : ID children : [Node] }";
+
+    private static final GraphQL WIDE = buildGraphQL(20);
+    private static final String WIDE_QUERY = buildQuery(3);
+
+    private static final GraphQL DEEP = buildGraphQL(2);
+    private static final String DEEP_QUERY = buildQuery(10);
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ExecutionResult benchMarkWideDataLoaderQuery() {
+        return execute(WIDE, WIDE_QUERY, 10);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ExecutionResult benchMarkDeepDataLoaderQuery() {
+        return execute(DEEP, DEEP_QUERY, 2);
+    }
+
+    private static ExecutionResult execute(GraphQL graphQL, String query, int branching) {
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        registry.register("children", childrenDataLoader(branching));
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput(query)
+                .dataLoaderRegistry(registry)
+                .build();
+        return graphQL.executeAsync(executionInput).join();
+    }
+
+    private static DataLoader<String, List<Map<String, Object>>> childrenDataLoader(int branching) {
+        BatchLoader<String, List<Map<String, Object>>> batchLoader = keys -> CompletableFuture.supplyAsync(() -> {
+            List<List<Map<String, Object>>> result = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                result.add(nodes(key, branching));
+            }
+            return result;
+        }, BATCH_EXECUTOR);
+        return DataLoaderFactory.newDataLoader(batchLoader);
+    }
+
+    private static List<Map<String, Object>> nodes(String parentId, int count) {
+        List<Map<String, Object>> nodes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            nodes.add(Map.of("id", parentId + "." + i));
+        }
+        return nodes;
+    }
+
+    private static String buildQuery(int depth) {
+        StringBuilder query = new StringBuilder("{ root { id ");
+        for (int i = 0; i < depth; i++) {
+            query.append("children { id ");
+        }
+        for (int i = 0; i < depth; i++) {
+            query.append("} ");
+        }
+        return query.append("} }").toString();
+    }
+
+    private static GraphQL buildGraphQL(int rootCount) {
+        TypeDefinitionRegistry definitionRegistry = new SchemaParser().parse(SDL);
+
+        DataFetcher<?> rootDataFetcher = env -> nodes("root", rootCount);
+        DataFetcher<?> childrenDataFetcher = env -> {
+            Map<String, Object> source = env.getSource();
+            DataLoader<String, List<Map<String, Object>>> dataLoader = env.getDataLoader("children");
+            return dataLoader.load((String) source.get("id"));
+        };
+
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("root", rootDataFetcher))
+                .type(newTypeWiring("Node").dataFetcher("children", childrenDataFetcher))
+                .build();
+
+        GraphQLSchema graphQLSchema = new SchemaGenerator().makeExecutableSchema(definitionRegistry, runtimeWiring);
+        return GraphQL.newGraphQL(graphQLSchema).build();
+    }
+}
@@ -0,0 +1,106 @@
+package benchmark;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.ExecutionPlanCache;
+import graphql.execution.preparsed.CachingPreparsedDocumentProvider;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.TypeResolver;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring;
+
+/**
+ * Compares executing a cached document with and without an {@link ExecutionPlanCache}
+ */
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(3)
+public class ExecutionPlanBenchmark {
+
+    private static final int NUMBER_OF_FRIENDS = 10 * 100;
+    private static final String QUERY = "query Q($withName : Boolean = true) { hero { name friends { name @include(if : $withName) ... on Human { homePlanet } friends { name } } } }";
+
+    private static final GraphQL GRAPHQL_WITHOUT_PLANS = buildGraphQL(null);
+    private static final GraphQL GRAPHQL_WITH_PLANS = buildGraphQL(ExecutionPlanCache.newExecutionPlanCache().build());
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public ExecutionResult benchMarkWithoutExecutionPlans() {
+        return GRAPHQL_WITHOUT_PLANS.execute(QUERY);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public ExecutionResult benchMarkWithExecutionPlans() {
+        return GRAPHQL_WITH_PLANS.execute(QUERY);
+    }
+
+    private static GraphQL buildGraphQL(ExecutionPlanCache executionPlanCache) {
+        TypeDefinitionRegistry definitionRegistry = new SchemaParser().parse(BenchmarkUtils.loadResource("starWarsSchema.graphqls"));
+
+        DataFetcher<CharacterDTO> heroDataFetcher = environment -> CharacterDTO.mkCharacter("r2d2", NUMBER_OF_FRIENDS);
+        TypeResolver typeResolver = env -> env.getSchema().getObjectType("Human");
+
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("QueryType").dataFetcher("hero", heroDataFetcher))
+                .type(newTypeWiring("Character").typeResolver(typeResolver))
+                .build();
+
+        GraphQLSchema graphQLSchema = new SchemaGenerator().makeExecutableSchema(definitionRegistry, runtimeWiring);
+
+        return GraphQL.newGraphQL(graphQLSchema)
+                .preparsedDocumentProvider(CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build())
+                .executionPlanCache(executionPlanCache)
+                .build();
+    }
+
+    static class CharacterDTO {
+        private final String name;
+        private final String homePlanet;
+        private final List<CharacterDTO> friends;
+
+        CharacterDTO(String name, List<CharacterDTO> friends) {
+            this.name = name;
+            this.homePlanet = "Tatooine";
+            this.friends = friends;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getHomePlanet() {
+            return homePlanet;
+        }
+
+        public List<CharacterDTO> getFriends() {
+            return friends;
+        }
+
+        static CharacterDTO mkCharacter(String name, int friendCount) {
+            List<CharacterDTO> friends = new ArrayList<>(friendCount);
+            for (int i = 0; i < friendCount; i++) {
+                friends.add(mkCharacter("friend" + i, 0));
+            }
+            return new CharacterDTO(name, friends);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package benchmark;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring;
+
+/**
+ * Executes a query that returns a long list of objects, so that the per field and per list element work of the
+ * execution strategy (paths, step infos and strategy parameters) dominates.
+ * <p>
+ * Run it with the gc profiler (-prof gc) to see the allocation rate per operation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ListExecutionBenchmark {
+
+    private static final int NUMBER_OF_FIELDS = 10;
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    private GraphQL graphQL;
+    private String query;
+
+    @Setup
+    public void setup() {
+        StringBuilder sdl = new StringBuilder("type Query { items : [Item!]! }\ntype Item {\n");
+        StringBuilder selection = new StringBuilder("{ items { ");
+        for (int i = 0; i < NUMBER_OF_FIELDS; i++) {
+            sdl.append("  f").append(i).append(" : String\n");
+            selection.append("f").append(i).append(" ");
+        }
+        sdl.append("}");
+        query = selection.append("} }").toString();
+
+        List<Map<String, Object>> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            for (int f = 0; f < NUMBER_OF_FIELDS; f++) {
+                item.put("f" + f, "value" + i);
+            }
+            items.add(item);
+        }
+
+        TypeDefinitionRegistry definitionRegistry = new SchemaParser().parse(sdl.toString());
+        DataFetcher<?> itemsDataFetcher = environment -> items;
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("items", itemsDataFetcher))
+                .build();
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(definitionRegistry, runtimeWiring);
+        graphQL = GraphQL.newGraphQL(schema).build();
+    }
+
+    @Benchmark
+    public ExecutionResult executeList() {
+        return graphQL.execute(query);
+    }
+}
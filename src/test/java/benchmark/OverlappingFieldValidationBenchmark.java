@@ -62,6 +62,72 @@ public class OverlappingFieldValidationBenchmark {
         }
     }
 
+    /**
+     * Queries that are cheap to execute but used to be super-linear to validate: the same fragments spread at
+     * every level of a deep query, and many aliases of the same fields spread in several places.
+     */
+    @State(Scope.Benchmark)
+    public static class PathologicalState {
+
+        private static final String SDL = "type Query { node : Node } " +
+                "type Node { id : ID name : String value : Int child : Node children : [Node] }";
+
+        GraphQLSchema schema;
+        Document repeatedFragments;
+        Document wideAliases;
+
+        @Setup
+        public void setup() {
+            schema = SchemaGenerator.createdMockedSchema(SDL);
+            repeatedFragments = Parser.parse(repeatedFragmentsQuery(20, 15));
+            wideAliases = Parser.parse(wideAliasesQuery(300));
+        }
+
+        private static String repeatedFragmentsQuery(int fragmentCount, int depth) {
+            StringBuilder spreads = new StringBuilder();
+            StringBuilder fragments = new StringBuilder();
+            for (int i = 0; i < fragmentCount; i++) {
+                spreads.append("...F").append(i).append(" ");
+                // each fragment also spreads the one before it
+                fragments.append("fragment F").append(i).append(" on Node { id name child { id ")
+                        .append(i > 0 ? "...F" + (i - 1) : "").append(" } } ");
+            }
+            StringBuilder query = new StringBuilder("{ node { ");
+            for (int i = 0; i < depth; i++) {
+                query.append(spreads).append("children { ");
+            }
+            query.append(spreads);
+            for (int i = 0; i < depth; i++) {
+                query.append("} ");
+            }
+            return query.append("} } ").append(fragments).toString();
+        }
+
+        private static String wideAliasesQuery(int aliasCount) {
+            StringBuilder aliases = new StringBuilder();
+            for (int i = 0; i < aliasCount; i++) {
+                aliases.append("a").append(i).append(": ").append(i % 2 == 0 ? "name" : "id").append(" ");
+            }
+            return "{ node { ...A child { ...A } children { ...A ...B } ...B } } " +
+                    "fragment A on Node { " + aliases + "child { " + aliases + "} } " +
+                    "fragment B on Node { " + aliases + "child { ...A } } ";
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void repeatedFragmentsAvgTime(PathologicalState state, Blackhole blackhole) {
+        blackhole.consume(validateQuery(state.schema, state.repeatedFragments));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void wideAliasesAvgTime(PathologicalState state, Blackhole blackhole) {
+        blackhole.consume(validateQuery(state.schema, state.wideAliases));
+    }
+
     @Benchmark
     @BenchmarkMode(Mode.AverageTime)
     public void overlappingFieldValidationAbgTime(MyState myState, Blackhole blackhole) {
@@ -0,0 +1,63 @@
+package benchmark;
+
+import graphql.language.Document;
+import graphql.parser.Parser;
+import graphql.parser.ParserEnvironment;
+import graphql.parser.ParserOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ANTLR parser with the recursive descent parser for executable documents
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(3)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParserBenchmark {
+
+    @Param({"large-schema-4-query.graphql", "many-fragments-query.graphql", "extra-large-schema-1-query.graphql"})
+    public String query;
+
+    private String document;
+    private ParserOptions antlrOptions;
+    private ParserOptions recursiveDescentOptions;
+
+    @Setup
+    public void setup() {
+        document = BenchmarkUtils.loadResource(query);
+        antlrOptions = ParserOptions.getDefaultOperationParserOptions().transform(builder -> builder.maxTokens(Integer.MAX_VALUE));
+        recursiveDescentOptions = antlrOptions.transform(builder -> builder.recursiveDescentParsing(true));
+    }
+
+    @Benchmark
+    public Document antlr() {
+        return parse(antlrOptions);
+    }
+
+    @Benchmark
+    public Document recursiveDescent() {
+        return parse(recursiveDescentOptions);
+    }
+
+    private Document parse(ParserOptions parserOptions) {
+        ParserEnvironment environment = ParserEnvironment.newParserEnvironment()
+                .document(document)
+                .parserOptions(parserOptions)
+                .build();
+        return new Parser().parseDocument(environment);
+    }
+}
@@ -0,0 +1,69 @@
+package benchmark;
+
+import graphql.relay.Connection;
+import graphql.relay.SimpleListConnection;
+import graphql.relay.WindowedConnection;
+import graphql.schema.DataFetchingEnvironment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static graphql.schema.DataFetchingEnvironmentImpl.newDataFetchingEnvironment;
+
+/**
+ * Compares fetching a page of 20 edges from the middle of a list with {@link SimpleListConnection} and {@link WindowedConnection}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RelayConnectionBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int size;
+
+    private SimpleListConnection<Integer> simpleListConnection;
+    private WindowedConnection<Integer> windowedConnection;
+    private DataFetchingEnvironment environment;
+
+    @Setup
+    public void setup() {
+        List<Integer> data = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            data.add(i);
+        }
+        simpleListConnection = new SimpleListConnection<>(data);
+        windowedConnection = new WindowedConnection<>(data);
+
+        Map<String, Object> arguments = new LinkedHashMap<>();
+        arguments.put("after", simpleListConnection.cursorForObjectInConnection(size / 2).getValue());
+        arguments.put("first", 20);
+        environment = newDataFetchingEnvironment().arguments(arguments).build();
+    }
+
+    @Benchmark
+    public Connection<Integer> simpleListConnection() {
+        return simpleListConnection.get(environment);
+    }
+
+    @Benchmark
+    public Connection<Integer> windowedConnection() {
+        return windowedConnection.get(environment);
+    }
+}
@@ -16,9 +16,13 @@ import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
 
 import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import static graphql.Assert.assertTrue;
@@ -47,9 +51,11 @@ public class ValidatorBenchmark {
         Scenario largeSchema1;
         Scenario largeSchema4;
         Scenario manyFragments;
+        ExecutorService executor;
 
         @Setup
         public void setup() {
+            executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
             largeSchema1 = load("large-schema-1.graphqls", "large-schema-1-query.graphql");
             largeSchema4 = load("large-schema-4.graphqls", "large-schema-4-query.graphql");
             manyFragments = load("many-fragments.graphqls", "many-fragments-query.graphql");
@@ -72,6 +78,10 @@ public class ValidatorBenchmark {
             }
         }
 
+        @TearDown
+        public void tearDown() {
+            executor.shutdown();
+        }
     }
 
     private void run(Scenario scenario) {
@@ -79,6 +89,11 @@ public class ValidatorBenchmark {
         validator.validateDocument(scenario.schema, scenario.document, Locale.ENGLISH);
     }
 
+    private void runParallel(Scenario scenario, Executor executor) {
+        Validator validator = new Validator();
+        validator.validateDocument(scenario.schema, scenario.document, r -> true, Locale.ENGLISH, executor);
+    }
+
     @Benchmark
     public void largeSchema1(MyState state) {
         run(state.largeSchema1);
@@ -93,4 +108,19 @@ public class ValidatorBenchmark {
     public void manyFragments(MyState state) {
         run(state.manyFragments);
     }
+
+    @Benchmark
+    public void largeSchema1Parallel(MyState state) {
+        runParallel(state.largeSchema1, state.executor);
+    }
+
+    @Benchmark
+    public void largeSchema4Parallel(MyState state) {
+        runParallel(state.largeSchema4, state.executor);
+    }
+
+    @Benchmark
+    public void manyFragmentsParallel(MyState state) {
+        runParallel(state.manyFragments, state.executor);
+    }
 }